@@ -0,0 +1,62 @@
+package com.larplaner.benchmarks;
+
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.tag.AppliedTag;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link AppliedTag#isTagActive()} and {@link GameRoleState#getAllActiveTags()}, which entity-based
+ * code paths (mappers, role state updates) still call for every applied tag.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppliedTagBenchmark {
+
+  @Param({"10", "80"})
+  private int roles;
+
+  @Param({"32", "256"})
+  private int tags;
+
+  private List<GameRoleState> gameRoleStates;
+  private List<AppliedTag> appliedTags;
+
+  @Setup
+  public void setUp() {
+    gameRoleStates = SyntheticScenario.generate(roles, tags, 0).getRoles();
+    appliedTags = gameRoleStates.stream()
+        .flatMap(gameRoleState -> gameRoleState.getAppliedTags().stream())
+        .toList();
+  }
+
+  @Benchmark
+  public void isTagActive(Blackhole blackhole) {
+    for (AppliedTag appliedTag : appliedTags) {
+      blackhole.consume(appliedTag.isTagActive());
+    }
+  }
+
+  @Benchmark
+  public void getAllActiveTags(Blackhole blackhole) {
+    for (GameRoleState gameRoleState : gameRoleStates) {
+      blackhole.consume(gameRoleState.getAllActiveTags());
+    }
+  }
+}
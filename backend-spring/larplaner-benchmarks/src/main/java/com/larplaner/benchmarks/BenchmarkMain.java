@@ -0,0 +1,36 @@
+package com.larplaner.benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the usual JMH command line options, always adding the GC profiler, so
+ * every result comes with its allocation rate ({@code gc.alloc.rate.norm} is bytes per operation).
+ */
+public class BenchmarkMain {
+
+  public static void main(String[] args)
+      throws CommandLineOptionException, RunnerException, IOException {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    if (commandLineOptions.shouldHelp()) {
+      commandLineOptions.showHelp();
+      return;
+    }
+
+    Runner runner = new Runner(new OptionsBuilder()
+        .parent(commandLineOptions)
+        .addProfiler(GCProfiler.class)
+        .build());
+    if (commandLineOptions.shouldList()) {
+      runner.list();
+      return;
+    }
+
+    runner.run();
+  }
+}
@@ -0,0 +1,74 @@
+package com.larplaner.benchmarks;
+
+import com.larplaner.dto.game.GameSessionDetailedResponseDTO;
+import com.larplaner.mapper.action.ActionMapper;
+import com.larplaner.mapper.game.GameSessionMapper;
+import com.larplaner.mapper.game.item.GameItemStateMapper;
+import com.larplaner.mapper.game.role.GameRoleStateMapper;
+import com.larplaner.mapper.role.RoleMapper;
+import com.larplaner.mapper.scenario.ScenarioItemActionMapper;
+import com.larplaner.mapper.scenario.ScenarioItemMapper;
+import com.larplaner.mapper.scenario.ScenarioRoleMapper;
+import com.larplaner.mapper.tag.AppliedTagMapper;
+import com.larplaner.mapper.tag.TagMapper;
+import com.larplaner.model.game.GameSession;
+import com.larplaner.service.tag.helper.TagHelper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The mapper chain behind {@code GET /api/game/{id}}, on an already loaded session, so only the
+ * mapping and its allocations are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameSessionMapperBenchmark {
+
+  @Param({"10", "80"})
+  private int roles;
+
+  @Param({"32", "256"})
+  private int tags;
+
+  @Param({"20", "200"})
+  private int actions;
+
+  private GameSession gameSession;
+  private GameSessionMapper gameSessionMapper;
+
+  @Setup
+  public void setUp() {
+    gameSession = SyntheticScenario.generate(roles, tags, actions).getGameSession();
+
+    // Repositories and the back references are not used by toDetailedDTO
+    TagMapper tagMapper = new TagMapper();
+    ActionMapper actionMapper = new ActionMapper(tagMapper, new TagHelper(null, 0));
+    ScenarioItemMapper scenarioItemMapper = new ScenarioItemMapper(
+        new ScenarioItemActionMapper(actionMapper));
+    ScenarioRoleMapper scenarioRoleMapper = new ScenarioRoleMapper(null, new RoleMapper(tagMapper));
+    GameRoleStateMapper gameRoleStateMapper = new GameRoleStateMapper(null,
+        new AppliedTagMapper(tagMapper), null, scenarioRoleMapper);
+    GameItemStateMapper gameItemStateMapper = new GameItemStateMapper(scenarioItemMapper, null,
+        null);
+    gameSessionMapper = new GameSessionMapper(gameRoleStateMapper, gameItemStateMapper);
+  }
+
+  @Benchmark
+  public GameSessionDetailedResponseDTO toDetailedDTO() {
+    return gameSessionMapper.toDetailedDTO(gameSession);
+  }
+}
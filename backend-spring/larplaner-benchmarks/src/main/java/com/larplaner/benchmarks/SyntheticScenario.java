@@ -0,0 +1,146 @@
+package com.larplaner.benchmarks;
+
+import com.larplaner.model.action.Action;
+import com.larplaner.model.game.GameItemState;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSession;
+import com.larplaner.model.role.Role;
+import com.larplaner.model.scenario.Scenario;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioItem;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import com.larplaner.model.scenario.ScenarioRole;
+import com.larplaner.model.tag.AppliedTag;
+import com.larplaner.model.tag.Tag;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory scenario and game session, built from entities without a database. Generation is
+ * seeded, so the same counts always produce the same scenario.
+ * <ul>
+ *   <li>every fourth tag expires after 30 minutes, the rest never expire</li>
+ *   <li>every action requires and forbids a few random tags</li>
+ *   <li>there is one item with three actions per ten scenario actions</li>
+ *   <li>every role has a quarter of all tags applied, some of them already expired</li>
+ * </ul>
+ */
+public class SyntheticScenario {
+
+  private static final long SEED = 42;
+  private static final int ACTIONS_PER_ITEM = 3;
+
+  private final List<Tag> tags = new ArrayList<>();
+  private final Scenario scenario;
+  private final GameSession gameSession;
+
+  private SyntheticScenario(int roleCount, int tagCount, int actionCount) {
+    Random random = new Random(SEED);
+    ZonedDateTime now = ZonedDateTime.now();
+
+    for (int i = 0; i < tagCount; i++) {
+      tags.add(Tag.builder()
+          .value("tag-" + i)
+          .expiresAfterMinutes(i % 4 == 0 ? 30 : 0)
+          .build());
+    }
+
+    scenario = Scenario.builder().name("synthetic").description("synthetic").build();
+    for (int i = 0; i < actionCount; i++) {
+      scenario.addScenarioAction(withRandomTags(ScenarioAction.builder(), "action-" + i, random)
+          .build());
+    }
+    for (int i = 0; i < Math.max(1, actionCount / 10); i++) {
+      ScenarioItem item = ScenarioItem.builder().name("item-" + i).description("item").build();
+      for (int j = 0; j < ACTIONS_PER_ITEM; j++) {
+        item.addScenarioItemAction(
+            withRandomTags(ScenarioItemAction.builder(), "item-action-" + j, random).build());
+      }
+      scenario.addScenarioItem(item);
+    }
+
+    gameSession = GameSession.builder().startTime(now).build();
+    for (int i = 0; i < roleCount; i++) {
+      Role role = Role.builder().name("role-" + i).description("role").build();
+      ScenarioRole scenarioRole = ScenarioRole.builder().role(role).build();
+      scenario.addScenarioRole(scenarioRole);
+
+      String userID = "user-" + i;
+      String email = userID + "@example.com";
+      List<AppliedTag> appliedTags = randomTags(tagCount / 4, tagCount / 4, random).stream()
+          .map(tag -> AppliedTag.builder()
+              .tag(tag)
+              .userID(userID)
+              .userEmail(email)
+              .appliedToUserAt(now.minusMinutes(random.nextInt(60)))
+              .build())
+          .collect(Collectors.toCollection(ArrayList::new));
+
+      gameSession.getAssignedRoles().add(GameRoleState.builder()
+          .gameSession(gameSession)
+          .scenarioRole(scenarioRole)
+          .assignedEmail(email)
+          .assignedUserID(userID)
+          .appliedTags(appliedTags)
+          .build());
+    }
+    for (ScenarioItem item : scenario.getItems()) {
+      gameSession.getItems().add(GameItemState.builder()
+          .gameSession(gameSession)
+          .scenarioItem(item)
+          .build());
+    }
+  }
+
+  public static SyntheticScenario generate(int roleCount, int tagCount, int actionCount) {
+    return new SyntheticScenario(roleCount, tagCount, actionCount);
+  }
+
+  public List<Tag> getTags() {
+    return tags;
+  }
+
+  public Scenario getScenario() {
+    return scenario;
+  }
+
+  public GameSession getGameSession() {
+    return gameSession;
+  }
+
+  public List<ScenarioAction> getActions() {
+    return scenario.getActions();
+  }
+
+  public List<GameRoleState> getRoles() {
+    return gameSession.getAssignedRoles();
+  }
+
+  private <B extends Action.ActionBuilder<?, ?>> B withRandomTags(B builder, String name,
+      Random random) {
+    builder.name(name)
+        .description(name)
+        .messageOnSuccess("success")
+        .messageOnFailure("failure")
+        .requiredTagsToDisplay(randomTags(0, 2, random))
+        .forbiddenTagsToDisplay(randomTags(0, 1, random))
+        .requiredTagsToSucceed(randomTags(0, 3, random))
+        .forbiddenTagsToSucceed(randomTags(0, 1, random))
+        .tagsToApplyOnSuccess(randomTags(1, 1, random))
+        .tagsToApplyOnFailure(new ArrayList<>())
+        .tagsToRemoveOnSuccess(randomTags(0, 1, random))
+        .tagsToRemoveOnFailure(new ArrayList<>());
+    return builder;
+  }
+
+  private List<Tag> randomTags(int min, int max, Random random) {
+    List<Tag> shuffled = new ArrayList<>(tags);
+    Collections.shuffle(shuffled, random);
+    int count = Math.min(tags.size(), min + random.nextInt(max - min + 1));
+    return new ArrayList<>(shuffled.subList(0, count));
+  }
+}
@@ -0,0 +1,139 @@
+package com.larplaner.benchmarks;
+
+import com.larplaner.model.action.Action;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.service.game.engine.AppliedTagState;
+import com.larplaner.service.game.engine.CompiledAction;
+import com.larplaner.service.game.engine.GameSessionEngine;
+import com.larplaner.service.game.engine.GameSessionStateLoader;
+import com.larplaner.service.game.engine.RoleState;
+import com.larplaner.service.game.engine.TagMask;
+import com.larplaner.service.game.engine.TagOrdinals;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Tag evaluation of {@code GameSessionServiceImpl.performAction} and of listing available actions:
+ * the compiled {@link TagMask} checks the {@link GameSessionEngine} uses, next to the {@code Tag}
+ * list checks they replaced as a baseline. {@link TagOrdinals} are built the way
+ * {@link GameSessionStateLoader} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagEvaluationBenchmark {
+
+  @Param({"10", "80"})
+  private int roles;
+
+  @Param({"32", "256"})
+  private int tags;
+
+  @Param({"20", "200"})
+  private int actions;
+
+  private List<GameRoleState> gameRoleStates;
+  private List<ScenarioAction> scenarioActions;
+  private List<RoleState> roleStates;
+  private List<CompiledAction<ScenarioAction>> compiledActions;
+
+  @Setup
+  public void setUp() {
+    SyntheticScenario scenario = SyntheticScenario.generate(roles, tags, actions);
+    gameRoleStates = scenario.getRoles();
+    scenarioActions = scenario.getActions();
+
+    TagOrdinals tagOrdinals = new TagOrdinals();
+    tagOrdinals.registerAll(scenario.getTags());
+
+    ZonedDateTime now = ZonedDateTime.now();
+    roleStates = gameRoleStates.stream()
+        .map(gameRoleState -> new RoleState(gameRoleState,
+            gameRoleState.getAppliedTags().stream()
+                .map(appliedTag -> AppliedTagState.fromEntity(appliedTag, appliedTag.getTag(),
+                    tagOrdinals.ordinalOf(appliedTag.getTag()), now))
+                .toList(),
+            tagOrdinals))
+        .toList();
+    compiledActions = scenarioActions.stream()
+        .map(action -> new CompiledAction<>(action, tagOrdinals))
+        .toList();
+  }
+
+  /**
+   * Available actions of every role, as the engine computes them.
+   */
+  @Benchmark
+  public void availableActionsCompiled(Blackhole blackhole) {
+    for (RoleState roleState : roleStates) {
+      long[] activeTags = roleState.getActiveTagMask();
+      for (CompiledAction<ScenarioAction> action : compiledActions) {
+        blackhole.consume(action.canBeDisplayed(activeTags));
+      }
+    }
+  }
+
+  /**
+   * Success check of every action for every role, as in {@code performAction}, including
+   * rebuilding the active tag mask after tags changed.
+   */
+  @Benchmark
+  public void performActionCompiled(Blackhole blackhole) {
+    for (RoleState roleState : roleStates) {
+      roleState.markAppliedTagsChanged();
+      long[] activeTags = roleState.getActiveTagMask();
+      for (CompiledAction<ScenarioAction> action : compiledActions) {
+        blackhole.consume(action.succeeds(activeTags));
+      }
+    }
+  }
+
+  /**
+   * Baseline: available actions computed from {@link GameRoleState#getAllActiveTags()} and the
+   * actions' tag lists, like {@code canActionBeDisplayedForUser} did.
+   */
+  @Benchmark
+  public void availableActionsFromTagLists(Blackhole blackhole) {
+    for (GameRoleState gameRoleState : gameRoleStates) {
+      Collection<Tag> activeTags = gameRoleState.getAllActiveTags();
+      for (Action action : scenarioActions) {
+        blackhole.consume(activeTags.containsAll(action.getRequiredTagsToDisplay())
+            && Collections.disjoint(activeTags, action.getForbiddenTagsToDisplay()));
+      }
+    }
+  }
+
+  /**
+   * Baseline: success check from tag lists, like {@code performAction} did.
+   */
+  @Benchmark
+  public void performActionFromTagLists(Blackhole blackhole) {
+    for (GameRoleState gameRoleState : gameRoleStates) {
+      Collection<Tag> activeTags = gameRoleState.getAllActiveTags();
+      for (Action action : scenarioActions) {
+        blackhole.consume(activeTags.containsAll(action.getRequiredTagsToSucceed())
+            && Collections.disjoint(activeTags, action.getForbiddenTagsToSucceed()));
+      }
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.larplaner.benchmarks;
+
+import com.larplaner.model.TimeOrderedUuid;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserts rows shaped like {@code game_action_logs} into a table that already holds
+ * {@code existingRows} rows, keyed by random (version 4) or {@link TimeOrderedUuid} (version 7)
+ * IDs. Scores are rows per second.
+ * <p>
+ * Runs against an H2 file database in the temp directory by default. To measure Postgres, pass
+ * {@code -p jdbcUrl=jdbc:postgresql://host/db -p user=... -p password=...}; the benchmark creates
+ * and drops its own {@code uuid_insert_benchmark} table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+  private static final int BATCH_SIZE = 1000;
+
+  @Param({"random", "time-ordered"})
+  private String keys;
+
+  @Param({"200000"})
+  private int existingRows;
+
+  @Param({""})
+  private String jdbcUrl;
+
+  @Param({"sa"})
+  private String user;
+
+  @Param({""})
+  private String password;
+
+  private Supplier<UUID> keyGenerator;
+  private Connection connection;
+  private PreparedStatement insert;
+  private UUID gameSessionId;
+
+  @Setup
+  public void setUp() throws SQLException {
+    keyGenerator = "random".equals(keys) ? UUID::randomUUID : TimeOrderedUuid::next;
+    gameSessionId = keyGenerator.get();
+
+    String url = jdbcUrl.isEmpty()
+        ? "jdbc:h2:file:" + Path.of(System.getProperty("java.io.tmpdir"), "larplaner-uuid-insert")
+        : jdbcUrl;
+    connection = DriverManager.getConnection(url, user, password);
+    connection.setAutoCommit(false);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("drop table if exists uuid_insert_benchmark");
+      statement.execute("""
+          create table uuid_insert_benchmark (
+            id uuid primary key,
+            session_id uuid not null,
+            message varchar(255)
+          )""");
+    }
+    connection.commit();
+
+    insert = connection.prepareStatement(
+        "insert into uuid_insert_benchmark (id, session_id, message) values (?, ?, ?)");
+    for (int i = 0; i < existingRows; i += BATCH_SIZE) {
+      insertBatch();
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("drop table uuid_insert_benchmark");
+    }
+    connection.commit();
+    connection.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void insertBatch() throws SQLException {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      insert.setObject(1, keyGenerator.get());
+      insert.setObject(2, gameSessionId);
+      insert.setString(3, "Success");
+      insert.addBatch();
+    }
+    insert.executeBatch();
+    connection.commit();
+  }
+
+  @Benchmark
+  public UUID generateKey() {
+    return keyGenerator.get();
+  }
+}
@@ -0,0 +1,71 @@
+package com.larplaner.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+
+/**
+ * JSON over HTTP against the REST API, authenticated with a load test token.
+ */
+public class ApiClient {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final String baseUrl;
+  private final String token;
+
+  public ApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+      String token) {
+    this.httpClient = httpClient;
+    this.objectMapper = objectMapper;
+    this.baseUrl = baseUrl;
+    this.token = token;
+  }
+
+  public JsonNode get(String path) throws IOException, InterruptedException {
+    return send("GET", path, BodyPublishers.noBody());
+  }
+
+  public JsonNode post(String path, Object body) throws IOException, InterruptedException {
+    return send("POST", path, json(body));
+  }
+
+  public JsonNode put(String path, Object body) throws IOException, InterruptedException {
+    return send("PUT", path, json(body));
+  }
+
+  private JsonNode send(String method, String path, BodyPublisher body)
+      throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(TIMEOUT)
+        .header("Authorization", "Bearer " + token)
+        .header("Content-Type", "application/json")
+        .header("Accept", "application/json")
+        .method(method, body)
+        .build();
+
+    HttpResponse<byte[]> response = httpClient.send(request, BodyHandlers.ofByteArray());
+    if (response.statusCode() / 100 != 2) {
+      throw new IOException(String.format("%s %s returned %d: %s", method, path,
+          response.statusCode(), new String(response.body())));
+    }
+    return response.body().length == 0
+        ? objectMapper.nullNode()
+        : objectMapper.readTree(response.body());
+  }
+
+  private BodyPublisher json(Object body) throws JsonProcessingException {
+    return BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+  }
+}
@@ -0,0 +1,51 @@
+package com.larplaner.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects latencies in microseconds. Every sample is kept, so percentiles are exact.
+ */
+public class LatencyRecorder {
+
+  private final String name;
+  private long[] samples = new long[1024];
+  private int count = 0;
+
+  public LatencyRecorder(String name) {
+    this.name = name;
+  }
+
+  public synchronized void record(long micros) {
+    if (count == samples.length) {
+      samples = Arrays.copyOf(samples, count * 2);
+    }
+    samples[count++] = Math.max(micros, 0);
+  }
+
+  public synchronized int getCount() {
+    return count;
+  }
+
+  /**
+   * @return one line with the count, p50, p99 and max, in milliseconds
+   */
+  public synchronized String summary() {
+    if (count == 0) {
+      return String.format("%-22s count=0", name);
+    }
+
+    long[] sorted = Arrays.copyOf(samples, count);
+    Arrays.sort(sorted);
+    return String.format("%-22s count=%-8d p50=%8.2f ms  p99=%8.2f ms  max=%8.2f ms", name, count,
+        percentile(sorted, 50) / 1000.0, percentile(sorted, 99) / 1000.0,
+        sorted[count - 1] / 1000.0);
+  }
+
+  /**
+   * Nearest-rank percentile.
+   */
+  private static long percentile(long[] sorted, int percentile) {
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+}
@@ -0,0 +1,123 @@
+package com.larplaner.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * An active game session set up through the REST API the way a game master would: tags, one role
+ * per player, a scenario with random actions, and an event with every player assigned, switched to
+ * active.
+ */
+public class LiveGame {
+
+  private static final long SEED = 42;
+
+  private final UUID gameSessionId;
+  private final List<Player> players;
+
+  private LiveGame(UUID gameSessionId, List<Player> players) {
+    this.gameSessionId = gameSessionId;
+    this.players = players;
+  }
+
+  public record Player(String email, UUID gameRoleStateId, UUID scenarioRoleId) {
+
+  }
+
+  /**
+   * Every action requires, applies and removes at most one random tag, so the actions available to
+   * a player keep changing while it plays.
+   */
+  public static LiveGame create(ApiClient admin, int playerCount, int tagCount, int actionCount)
+      throws IOException, InterruptedException {
+    Random random = new Random(SEED);
+    String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    List<Map<String, Object>> tagRequests = new ArrayList<>();
+    for (int i = 0; i < tagCount; i++) {
+      tagRequests.add(Map.of(
+          "value", "load-test-" + runId + "-" + i,
+          "expiresAfterMinutes", i % 4 == 0 ? 1 : 0));
+    }
+    List<String> tagIds = new ArrayList<>();
+    admin.post("/api/tags", tagRequests).forEach(tag -> tagIds.add(tag.get("id").asText()));
+
+    List<Map<String, Object>> scenarioRoles = new ArrayList<>();
+    for (int i = 0; i < playerCount; i++) {
+      JsonNode role = admin.post("/api/roles", Map.of(
+          "name", "Load test role " + runId + " " + i,
+          "description", "Load test role",
+          "tags", List.of(randomTag(tagIds, random))));
+      scenarioRoles.add(Map.of("roleId", role.get("id").asText()));
+    }
+
+    List<Map<String, Object>> actions = new ArrayList<>();
+    for (int i = 0; i < actionCount; i++) {
+      Map<String, Object> action = new HashMap<>();
+      action.put("name", "Load test action " + i);
+      action.put("description", "Load test action");
+      action.put("messageOnSuccess", "Success");
+      action.put("messageOnFailure", "Failure");
+      action.put("requiredTagsToDisplay", maybeTag(tagIds, random, 0.3));
+      action.put("forbiddenTagsToSucceed", maybeTag(tagIds, random, 0.3));
+      action.put("tagsToApplyOnSuccess", List.of(randomTag(tagIds, random)));
+      action.put("tagsToRemoveOnSuccess", maybeTag(tagIds, random, 0.5));
+      actions.add(action);
+    }
+
+    JsonNode scenario = admin.post("/api/scenarios", Map.of(
+        "name", "Load test " + runId,
+        "description", "Load test scenario",
+        "roles", scenarioRoles,
+        "items", List.of(),
+        "actions", actions));
+
+    List<Map<String, Object>> assignedRoles = new ArrayList<>();
+    JsonNode createdScenarioRoles = scenario.get("roles");
+    for (int i = 0; i < createdScenarioRoles.size(); i++) {
+      assignedRoles.add(Map.of(
+          "scenarioRoleId", createdScenarioRoles.get(i).get("id").asText(),
+          "assignedEmail", "player-" + i + "@" + runId + ".loadtest.local"));
+    }
+
+    JsonNode event = admin.post("/api/events", Map.of(
+        "name", "Load test " + runId,
+        "description", "Load test event",
+        "date", OffsetDateTime.now().plusDays(1).toString(),
+        "scenarioId", scenario.get("id").asText(),
+        "assignedRoles", assignedRoles));
+    UUID gameSessionId = UUID.fromString(admin.put(
+            "/api/events/" + event.get("id").asText() + "/status", Map.of("status", "ACTIVE"))
+        .get("gameSessionId").asText());
+
+    List<Player> players = new ArrayList<>();
+    admin.get("/api/game/" + gameSessionId).get("assignedRoles").forEach(role -> players.add(
+        new Player(role.get("assignedEmail").asText(),
+            UUID.fromString(role.get("id").asText()),
+            UUID.fromString(role.get("scenarioRole").get("id").asText()))));
+    return new LiveGame(gameSessionId, players);
+  }
+
+  public UUID getGameSessionId() {
+    return gameSessionId;
+  }
+
+  public List<Player> getPlayers() {
+    return players;
+  }
+
+  private static String randomTag(List<String> tagIds, Random random) {
+    return tagIds.get(random.nextInt(tagIds.size()));
+  }
+
+  private static List<String> maybeTag(List<String> tagIds, Random random, double probability) {
+    return random.nextDouble() < probability ? List.of(randomTag(tagIds, random)) : List.of();
+  }
+}
@@ -0,0 +1,26 @@
+package com.larplaner.loadtest;
+
+import com.larplaner.service.admin.security.FirebaseAuthenticationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Beans the load test replaces in the application it boots.
+ */
+@Configuration
+public class LoadTestConfiguration {
+
+  @Bean
+  @Primary
+  public FirebaseAuthenticationService stubFirebaseAuthenticationService(
+      ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${loadtest.identity-latency-ms:0}") long identityLatencyMillis) {
+    return new StubFirebaseAuthenticationService(meterRegistry,
+        Duration.ofMillis(identityLatencyMillis));
+  }
+}
@@ -0,0 +1,65 @@
+package com.larplaner.loadtest;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What the virtual players measured, shared by all of them.
+ */
+public class LoadTestResults {
+
+  private final LatencyRecorder availableActions = new LatencyRecorder("availableActions");
+  private final LatencyRecorder performAction = new LatencyRecorder("performAction");
+  private final LatencyRecorder fanOutLag = new LatencyRecorder("broadcast fan-out lag");
+  private final AtomicLong failedActions = new AtomicLong();
+  private final AtomicLong noActionAvailable = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final AtomicLong actionNotifications = new AtomicLong();
+
+  public LatencyRecorder getAvailableActions() {
+    return availableActions;
+  }
+
+  public LatencyRecorder getPerformAction() {
+    return performAction;
+  }
+
+  /**
+   * From the moment the engine performed an action until the performer received the role delta
+   * holding it, recorded once per action.
+   */
+  public LatencyRecorder getFanOutLag() {
+    return fanOutLag;
+  }
+
+  public void actionFailed() {
+    failedActions.incrementAndGet();
+  }
+
+  public void noActionAvailable() {
+    noActionAvailable.incrementAndGet();
+  }
+
+  public void error() {
+    errors.incrementAndGet();
+  }
+
+  public void actionNotificationReceived() {
+    actionNotifications.incrementAndGet();
+  }
+
+  public void print(PrintStream out, int playerCount, double elapsedSeconds) {
+    int performed = performAction.getCount();
+    out.println();
+    out.printf("%d players, %.1f s%n", playerCount, elapsedSeconds);
+    out.println(availableActions.summary());
+    out.println(performAction.summary());
+    out.println(fanOutLag.summary());
+    out.printf("throughput             %.1f actions/s (%d performed, %d failed on tags)%n",
+        performed / elapsedSeconds, performed, failedActions.get());
+    out.printf("action notifications   %d received (%.1f per player per second)%n",
+        actionNotifications.get(), actionNotifications.get() / elapsedSeconds / playerCount);
+    out.printf("no action available    %d polls%n", noActionAvailable.get());
+    out.printf("errors                 %d%n", errors.get());
+  }
+}
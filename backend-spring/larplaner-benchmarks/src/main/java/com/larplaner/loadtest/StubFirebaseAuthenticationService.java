@@ -0,0 +1,91 @@
+package com.larplaner.loadtest;
+
+import com.google.firebase.auth.FirebaseToken;
+import com.larplaner.security.FirebaseAuthenticationToken;
+import com.larplaner.service.admin.firebase.impl.InMemoryUserDirectory;
+import com.larplaner.service.admin.security.FirebaseAuthenticationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Accepts the tokens of {@link #tokenFor} without asking Firebase. The user ID is the one the
+ * {@link InMemoryUserDirectory} assigns to the email, so membership checks work as in production.
+ * <p>
+ * Every token takes {@code identityLatency} to accept, blocking the calling thread like a
+ * round-trip to a slow identity provider would.
+ */
+public class StubFirebaseAuthenticationService extends FirebaseAuthenticationService {
+
+  private static final String ADMIN_PREFIX = "admin:";
+  private static final String USER_PREFIX = "user:";
+
+  private final Duration identityLatency;
+
+  public StubFirebaseAuthenticationService(ObjectProvider<MeterRegistry> meterRegistry,
+      Duration identityLatency) {
+    super(0, meterRegistry);
+    this.identityLatency = identityLatency;
+  }
+
+  public static String tokenFor(String email, boolean admin) {
+    return (admin ? ADMIN_PREFIX : USER_PREFIX) + email;
+  }
+
+  @Override
+  public Authentication getAuthentication(String idToken) {
+    boolean admin = idToken.startsWith(ADMIN_PREFIX);
+    if (!admin && !idToken.startsWith(USER_PREFIX)) {
+      throw new IllegalArgumentException("Not a load test token: " + idToken);
+    }
+
+    simulateIdentityProvider();
+    String email = idToken.substring(idToken.indexOf(':') + 1);
+    List<GrantedAuthority> authorities = new ArrayList<>();
+    authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+    if (admin) {
+      authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    }
+
+    return new FirebaseAuthenticationToken(newFirebaseToken(Map.of(
+        "sub", InMemoryUserDirectory.userIdFor(email),
+        "email", email,
+        "isAdmin", admin)), authorities);
+  }
+
+  private void simulateIdentityProvider() {
+    if (identityLatency.isZero()) {
+      return;
+    }
+
+    try {
+      Thread.sleep(identityLatency.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the identity provider", e);
+    }
+  }
+
+  /**
+   * {@link FirebaseToken} has no public constructor, since only the SDK is meant to decode tokens.
+   */
+  private static FirebaseToken newFirebaseToken(Map<String, Object> claims) {
+    try {
+      Constructor<FirebaseToken> constructor = FirebaseToken.class.getDeclaredConstructor(
+          Map.class);
+      constructor.setAccessible(true);
+      return constructor.newInstance(claims);
+    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException
+             | InvocationTargetException e) {
+      throw new IllegalStateException("Could not create a Firebase token", e);
+    }
+  }
+}
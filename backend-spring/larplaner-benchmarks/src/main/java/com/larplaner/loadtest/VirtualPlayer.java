@@ -0,0 +1,177 @@
+package com.larplaner.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.larplaner.loadtest.LiveGame.Player;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * One player of the live game: subscribed to the game's topics over STOMP, polling the actions it
+ * can perform and performing a random one of them, with a pause in between.
+ */
+public class VirtualPlayer implements Runnable {
+
+  private final Player player;
+  private final UUID gameSessionId;
+  private final ApiClient api;
+  private final LoadTestResults results;
+  private final Duration thinkTime;
+  private final Random random;
+
+  private StompSession stompSession;
+  private volatile Instant deadline;
+
+  public VirtualPlayer(Player player, UUID gameSessionId, ApiClient api, LoadTestResults results,
+      Duration thinkTime, long seed) {
+    this.player = player;
+    this.gameSessionId = gameSessionId;
+    this.api = api;
+    this.results = results;
+    this.thinkTime = thinkTime;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Connects to {@code /ws} and subscribes to the game's action topic and to the delta topic of
+   * the player's role. Only messages received before the deadline are counted.
+   */
+  public void connect(WebSocketStompClient stompClient, String url, String origin)
+      throws ExecutionException, InterruptedException, TimeoutException {
+    WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+    handshakeHeaders.setOrigin(origin);
+    StompHeaders connectHeaders = new StompHeaders();
+    connectHeaders.add("Authorization",
+        "Bearer " + StubFirebaseAuthenticationService.tokenFor(player.email(), false));
+
+    stompSession = stompClient.connectAsync(url, handshakeHeaders, connectHeaders,
+        new ErrorCountingHandler()).get(30, TimeUnit.SECONDS);
+
+    stompSession.subscribe(String.format("/topic/game/%s/action", gameSessionId),
+        new TopicHandler(String.class, payload -> results.actionNotificationReceived()));
+    stompSession.subscribe(String.format("/topic/game/%s/role/%s/delta", gameSessionId,
+            player.gameRoleStateId()),
+        new TopicHandler(JsonNode.class, payload -> recordFanOutLag((JsonNode) payload)));
+  }
+
+  public void setDeadline(Instant deadline) {
+    this.deadline = deadline;
+  }
+
+  public void disconnect() {
+    if (stompSession != null && stompSession.isConnected()) {
+      stompSession.disconnect();
+    }
+  }
+
+  @Override
+  public void run() {
+    while (Instant.now().isBefore(deadline)) {
+      try {
+        playOnce();
+        Thread.sleep(thinkTime.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (IOException | RuntimeException e) {
+        results.error();
+      }
+    }
+  }
+
+  private void playOnce() throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    JsonNode availableActions = api.get(
+        "/api/game/roles/" + player.gameRoleStateId() + "/availableActions");
+    results.getAvailableActions().record(micros(start));
+
+    if (availableActions.isEmpty()) {
+      results.noActionAvailable();
+      return;
+    }
+
+    String actionId = availableActions.get(random.nextInt(availableActions.size()))
+        .get("id").asText();
+    start = System.nanoTime();
+    JsonNode gameActionLog = api.post("/api/game/" + gameSessionId + "/perform-action", Map.of(
+        "performerRoleId", player.scenarioRoleId(),
+        "actionId", actionId));
+    results.getPerformAction().record(micros(start));
+
+    if (!gameActionLog.path("success").asBoolean()) {
+      results.actionFailed();
+    }
+  }
+
+  private void recordFanOutLag(JsonNode delta) {
+    Instant received = Instant.now();
+    delta.path("actions").forEach(action -> results.getFanOutLag().record(
+        Duration.between(parseTimestamp(action.get("timestamp")), received).toNanos() / 1000));
+  }
+
+  private static Instant parseTimestamp(JsonNode timestamp) {
+    if (timestamp.isNumber()) {
+      return Instant.ofEpochSecond(0, timestamp.decimalValue().movePointRight(9).longValue());
+    }
+    return ZonedDateTime.parse(timestamp.asText()).toInstant();
+  }
+
+  private static long micros(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1000;
+  }
+
+  private class ErrorCountingHandler extends StompSessionHandlerAdapter {
+
+    @Override
+    public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+        byte[] payload, Throwable exception) {
+      System.err.println("STOMP error of " + player.email() + ": " + exception);
+      results.error();
+    }
+
+    @Override
+    public void handleTransportError(StompSession session, Throwable exception) {
+      System.err.println("STOMP transport error of " + player.email() + ": " + exception);
+      results.error();
+    }
+  }
+
+  private class TopicHandler implements StompFrameHandler {
+
+    private final Class<?> payloadType;
+    private final Consumer<Object> consumer;
+
+    TopicHandler(Class<?> payloadType, Consumer<Object> consumer) {
+      this.payloadType = payloadType;
+      this.consumer = consumer;
+    }
+
+    @Override
+    public Type getPayloadType(StompHeaders headers) {
+      return payloadType;
+    }
+
+    @Override
+    public void handleFrame(StompHeaders headers, Object payload) {
+      if (deadline != null && Instant.now().isBefore(deadline)) {
+        consumer.accept(payload);
+      }
+    }
+  }
+}
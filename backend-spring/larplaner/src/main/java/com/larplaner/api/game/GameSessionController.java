@@ -3,7 +3,9 @@ package com.larplaner.api.game;
 import com.larplaner.dto.game.GameSessionDetailedResponseDTO;
 import com.larplaner.dto.game.action.GameActionRequestDTO;
 import com.larplaner.dto.game.actionLog.GameActionLogDetailedResponseDTO;
+import com.larplaner.dto.game.actionLog.GameActionLogPageResponseDTO;
 import com.larplaner.dto.game.actionLog.GameActionLogSummaryResponseDTO;
+import com.larplaner.dto.game.roleState.GameRoleStateAtResponseDTO;
 import com.larplaner.dto.game.roleState.GameRoleStateSummaryResponseDTO;
 import com.larplaner.dto.game.roleState.UpdateGameRoleStateRequestDTO;
 import com.larplaner.dto.scenario.action.ScenarioActionResponseDTO;
@@ -15,8 +17,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,6 +29,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Game Session", description = "Game session management APIs")
 @SecurityRequirement(name = "bearer-key")
@@ -54,6 +61,28 @@ public interface GameSessionController {
   ResponseEntity<Void> deleteGameSession(
       @Parameter(description = "ID of the game session to delete") @PathVariable UUID id);
 
+  @Operation(summary = "Get a page of game history across all game sessions, newest first")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved game history page"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor")
+  })
+  @GetMapping("/history")
+  ResponseEntity<GameActionLogPageResponseDTO> getAllGameHistoryPage(
+      @Parameter(description = "Cursor returned with the previous page")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Maximum number of logs in the page (at most 500)")
+      @RequestParam(defaultValue = "50") int limit,
+      @Parameter(description = "Only logs performed by this game role state")
+      @RequestParam(required = false) UUID roleId,
+      @Parameter(description = "Only logs targeting this game item state")
+      @RequestParam(required = false) UUID itemId,
+      @Parameter(description = "Only successful or only failed actions")
+      @RequestParam(required = false) Boolean success,
+      @Parameter(description = "Only logs at or after this time")
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime from,
+      @Parameter(description = "Only logs before this time")
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime to);
+
   @Operation(summary = "Get game history by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved game history"),
@@ -72,6 +101,47 @@ public interface GameSessionController {
   ResponseEntity<List<GameActionLogDetailedResponseDTO>> getGameHistoryByGameId(
       @Parameter(description = "ID of the game to retrieve history for") @PathVariable UUID gameId);
 
+  @Operation(summary = "Get a page of game history by game ID, newest first")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved game history page"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor")
+  })
+  @GetMapping("/{gameId}/history")
+  ResponseEntity<GameActionLogPageResponseDTO> getGameHistoryPage(
+      @Parameter(description = "ID of the game to retrieve history for") @PathVariable UUID gameId,
+      @Parameter(description = "Cursor returned with the previous page")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Maximum number of logs in the page (at most 500)")
+      @RequestParam(defaultValue = "50") int limit,
+      @Parameter(description = "Only logs performed by this game role state")
+      @RequestParam(required = false) UUID roleId,
+      @Parameter(description = "Only logs targeting this game item state")
+      @RequestParam(required = false) UUID itemId,
+      @Parameter(description = "Only successful or only failed actions")
+      @RequestParam(required = false) Boolean success,
+      @Parameter(description = "Only logs at or after this time")
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime from,
+      @Parameter(description = "Only logs before this time")
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime to);
+
+  @Operation(summary = "Export game history by game ID as newline-delimited JSON, newest first")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Game history is streamed")
+  })
+  @GetMapping(value = "/{gameId}/history/export", produces = "application/x-ndjson")
+  ResponseEntity<StreamingResponseBody> exportGameHistory(
+      @Parameter(description = "ID of the game to export history for") @PathVariable UUID gameId,
+      @Parameter(description = "Only logs performed by this game role state")
+      @RequestParam(required = false) UUID roleId,
+      @Parameter(description = "Only logs targeting this game item state")
+      @RequestParam(required = false) UUID itemId,
+      @Parameter(description = "Only successful or only failed actions")
+      @RequestParam(required = false) Boolean success,
+      @Parameter(description = "Only logs at or after this time")
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime from,
+      @Parameter(description = "Only logs before this time")
+      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime to);
+
   @Operation(summary = "Get game history by user ID and game ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved game history"),
@@ -102,6 +172,18 @@ public interface GameSessionController {
       @RequestBody @Valid
       GameActionRequestDTO actionRequestDTO);
 
+  @Operation(summary = "Perform multiple actions at once, e.g. the same action for many roles")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully processed all action requests"),
+      @ApiResponse(responseCode = "400", description = "More than 500 actions in one request"),
+      @ApiResponse(responseCode = "404", description = "Game session, role, item or action not found")
+  })
+  @PostMapping("/{gameSessionId}/perform-actions")
+  ResponseEntity<List<GameActionLogSummaryResponseDTO>> performActionsInGameSession(
+      @Parameter(description = "ID of the game session in which to perform actions") @PathVariable UUID gameSessionId,
+      @RequestBody @Valid
+      List<GameActionRequestDTO> actionRequestDTOs);
+
   @Operation(summary = "Update the state/details of a specific scenario role within a game session")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully updated game session role state"),
@@ -115,6 +197,18 @@ public interface GameSessionController {
       @RequestBody @Valid
       UpdateGameRoleStateRequestDTO requestDTO);
 
+  @Operation(summary = "Get the tags a game session role had at a point in time")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully rebuilt game session role state"),
+      @ApiResponse(responseCode = "404", description = "Game session role not found, or no state known at that time")
+  })
+  @GetMapping("/roles/{gameSessionRoleId}/state")
+  ResponseEntity<GameRoleStateAtResponseDTO> getGameSessionRoleStateAt(
+      @Parameter(description = "ID of the game session role whose state is to be rebuilt")
+      @PathVariable UUID gameSessionRoleId,
+      @Parameter(description = "Point in time to rebuild the state at")
+      @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) ZonedDateTime at);
+
   @Operation(summary = "Get all available actions for user in game session by user role state ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved actions"),
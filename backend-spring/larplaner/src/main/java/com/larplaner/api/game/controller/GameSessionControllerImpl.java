@@ -1,30 +1,37 @@
 package com.larplaner.api.game.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.larplaner.api.game.GameSessionController;
 import com.larplaner.dto.game.GameSessionDetailedResponseDTO;
 import com.larplaner.dto.game.action.GameActionRequestDTO;
 import com.larplaner.dto.game.actionLog.GameActionLogDetailedResponseDTO;
+import com.larplaner.dto.game.actionLog.GameActionLogPageResponseDTO;
 import com.larplaner.dto.game.actionLog.GameActionLogSummaryResponseDTO;
+import com.larplaner.dto.game.roleState.GameRoleStateAtResponseDTO;
 import com.larplaner.dto.game.roleState.GameRoleStateSummaryResponseDTO;
 import com.larplaner.dto.game.roleState.UpdateGameRoleStateRequestDTO;
 import com.larplaner.dto.scenario.action.ScenarioActionResponseDTO;
 import com.larplaner.dto.scenario.itemAction.ScenarioItemActionResponseDTO;
-import com.larplaner.mapper.tag.AppliedTagMapper;
-import com.larplaner.model.tag.AppliedTag;
 import com.larplaner.repository.game.GameRoleStateRepository;
 import com.larplaner.service.game.GameSessionService;
+import com.larplaner.service.game.metrics.GameMetrics;
+import com.larplaner.service.game.readmodel.GameActionHistoryQuery;
 import jakarta.persistence.EntityNotFoundException;
-import java.util.Comparator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/game")
@@ -35,7 +42,8 @@ public class GameSessionControllerImpl implements GameSessionController {
   private final GameSessionService gameSessionService;
   private final SimpMessagingTemplate messagingTemplate;
   private final GameRoleStateRepository gameRoleStateRepository;
-  private final AppliedTagMapper appliedTagMapper;
+  private final ObjectMapper objectMapper;
+  private final GameMetrics gameMetrics;
 
   @Override
   public ResponseEntity<List<GameSessionDetailedResponseDTO>> getAllGameSessions() {
@@ -58,6 +66,15 @@ public class GameSessionControllerImpl implements GameSessionController {
     return ResponseEntity.noContent().build();
   }
 
+  @Override
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<GameActionLogPageResponseDTO> getAllGameHistoryPage(String cursor,
+      int limit, UUID roleId, UUID itemId, Boolean success, ZonedDateTime from,
+      ZonedDateTime to) {
+    GameActionHistoryQuery query = buildHistoryQuery(null, roleId, itemId, success, from, to);
+    return ResponseEntity.ok(gameSessionService.getGameHistoryPage(query, cursor, limit));
+  }
+
   @Override
   @PreAuthorize("hasAuthority('ROLE_ADMIN')")
   public ResponseEntity<GameActionLogSummaryResponseDTO> getGameHistoryById(UUID id) {
@@ -74,6 +91,42 @@ public class GameSessionControllerImpl implements GameSessionController {
     return ResponseEntity.ok(gameSessionService.getGameHistoryByGameId(gameId));
   }
 
+  @Override
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<GameActionLogPageResponseDTO> getGameHistoryPage(UUID gameId,
+      String cursor, int limit, UUID roleId, UUID itemId, Boolean success, ZonedDateTime from,
+      ZonedDateTime to) {
+    GameActionHistoryQuery query = buildHistoryQuery(gameId, roleId, itemId, success, from, to);
+    return ResponseEntity.ok(gameSessionService.getGameHistoryPage(query, cursor, limit));
+  }
+
+  @Override
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<StreamingResponseBody> exportGameHistory(UUID gameId, UUID roleId,
+      UUID itemId, Boolean success, ZonedDateTime from, ZonedDateTime to) {
+    GameActionHistoryQuery query = buildHistoryQuery(gameId, roleId, itemId, success, from, to);
+    ObjectWriter writer = objectMapper.writerFor(GameActionLogSummaryResponseDTO.class);
+
+    StreamingResponseBody body = outputStream -> {
+      try {
+        gameSessionService.exportGameHistory(query, gameActionLog -> {
+          try {
+            outputStream.write(writer.writeValueAsBytes(gameActionLog));
+            outputStream.write('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+        .body(body);
+  }
+
   @Override
   @PreAuthorize("hasAuthority('ROLE_ADMIN')")
   public ResponseEntity<List<GameActionLogSummaryResponseDTO>> getGameHistoryByUserIdAndGameId(
@@ -94,21 +147,15 @@ public class GameSessionControllerImpl implements GameSessionController {
   public ResponseEntity<GameActionLogSummaryResponseDTO> performActionInGameSession(
       UUID gameSessionId,
       GameActionRequestDTO actionRequestDTO) {
-    var actionResult = gameSessionService.performAction(gameSessionId, actionRequestDTO);
-    var gameSessionRole = gameRoleStateRepository.findById(actionResult.getPerformerRoleId())
-        .orElseThrow(EntityNotFoundException::new);
-
-    messagingTemplate.convertAndSend(
-        String.format("/topic/game/%s/action", actionResult.getGameSessionId()),
-        "User performed action");
+    return ResponseEntity.ok(gameSessionService.performAction(gameSessionId, actionRequestDTO));
+  }
 
-    messagingTemplate.convertAndSend(
-        String.format("/topic/game/%s/action/byUserId/%s", actionResult.getGameSessionId(),
-            SecurityContextHolder.getContext().getAuthentication().getName()),
-        gameSessionRole.getAppliedTags().stream()
-            .sorted(Comparator.comparing(AppliedTag::getAppliedToUserAt).reversed())
-            .map(appliedTagMapper::toDTO).toList());
-    return ResponseEntity.ok(actionResult);
+  @Override
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<List<GameActionLogSummaryResponseDTO>> performActionsInGameSession(
+      UUID gameSessionId,
+      List<GameActionRequestDTO> actionRequestDTOs) {
+    return ResponseEntity.ok(gameSessionService.performActions(gameSessionId, actionRequestDTOs));
   }
 
   @Override
@@ -121,13 +168,21 @@ public class GameSessionControllerImpl implements GameSessionController {
     var gameSessionRole = gameRoleStateRepository.findById(gameSessionRoleId).orElseThrow(
         EntityNotFoundException::new);
 
-    messagingTemplate.convertAndSendToUser(gameSessionRole.getAssignedUserID(),
+    gameMetrics.timeStompSend("role", () -> messagingTemplate.convertAndSendToUser(
+        gameSessionRole.getAssignedUserID(),
         "/topic/game/role",
-        "Admin modified role");
+        "Admin modified role"));
 
     return ResponseEntity.ok(updatedGameSession);
   }
 
+  @Override
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<GameRoleStateAtResponseDTO> getGameSessionRoleStateAt(
+      UUID gameSessionRoleId, ZonedDateTime at) {
+    return ResponseEntity.ok(gameSessionService.getRoleStateAt(gameSessionRoleId, at));
+  }
+
   @Override
   @PreAuthorize("hasAuthority('ROLE_ADMIN') or @securityService.isUserAssignedToGameSessionRole(#gameSessionRoleId)")
   public ResponseEntity<List<ScenarioActionResponseDTO>> getAvailableActionsForUser(
@@ -152,4 +207,16 @@ public class GameSessionControllerImpl implements GameSessionController {
       String userId) {
     return ResponseEntity.ok(gameSessionService.getUserRoleStateForUserId(gameId, userId));
   }
-}
\ No newline at end of file
+
+  private static GameActionHistoryQuery buildHistoryQuery(UUID gameId, UUID roleId, UUID itemId,
+      Boolean success, ZonedDateTime from, ZonedDateTime to) {
+    return GameActionHistoryQuery.builder()
+        .gameSessionId(gameId)
+        .performerRoleId(roleId)
+        .targetItemId(itemId)
+        .success(success)
+        .from(from)
+        .to(to)
+        .build();
+  }
+}
@@ -17,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -70,6 +71,18 @@ public interface ScenarioController {
       @Parameter(description = "ID of the scenario to update") @PathVariable UUID id,
       @Parameter(description = "Updated scenario data") @Valid @RequestBody UpdateScenarioRequestDTO scenarioDTO);
 
+  @Operation(summary = "Partially update an existing scenario",
+      description = "Fields and lists left out of the request are not changed")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Scenario updated successfully"),
+      @ApiResponse(responseCode = "404", description = "Scenario not found"),
+      @ApiResponse(responseCode = "400", description = "Invalid input")
+  })
+  @PatchMapping("/{id}")
+  ResponseEntity<ScenarioResponseDTO> patchScenario(
+      @Parameter(description = "ID of the scenario to update") @PathVariable UUID id,
+      @Parameter(description = "Changed scenario data") @RequestBody UpdateScenarioRequestDTO scenarioDTO);
+
   @Operation(summary = "Delete a scenario")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "204", description = "Scenario deleted successfully"),
@@ -66,6 +66,13 @@ public class ScenarioControllerImpl implements ScenarioController {
         : ResponseEntity.notFound().build();
   }
 
+  @Override
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<ScenarioResponseDTO> patchScenario(UUID id,
+      UpdateScenarioRequestDTO scenarioDTO) {
+    return ResponseEntity.ok(scenarioService.patchScenario(id, scenarioDTO));
+  }
+
   @Override
   @PreAuthorize("hasAuthority('ROLE_ADMIN')")
   public ResponseEntity<Void> deleteScenario(UUID id) {
@@ -1,5 +1,6 @@
 package com.larplaner.api.tag;
 
+import com.larplaner.dto.tag.TagPageResponseDTO;
 import com.larplaner.dto.tag.TagRequestDTO;
 import com.larplaner.dto.tag.TagResponseDTO;
 import com.larplaner.dto.tag.UpdateTagRequestDTO;
@@ -34,6 +35,19 @@ public interface TagController {
       @RequestParam(name = "search", required = false) String searchTerm
   );
 
+  @Operation(summary = "Search tags by value, best matches first")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved matching tags")
+  })
+  @GetMapping("/search")
+  ResponseEntity<TagPageResponseDTO> searchTags(
+      @Parameter(description = "Text the tag value has to contain, case-insensitive")
+      @RequestParam(name = "query", defaultValue = "") String query,
+      @Parameter(description = "Zero-based page number")
+      @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Maximum number of tags in the page (at most 100)")
+      @RequestParam(defaultValue = "20") int size);
+
   @Operation(summary = "Get tag by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved tag"),
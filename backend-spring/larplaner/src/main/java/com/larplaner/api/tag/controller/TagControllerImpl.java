@@ -1,6 +1,7 @@
 package com.larplaner.api.tag.controller;
 
 import com.larplaner.api.tag.TagController;
+import com.larplaner.dto.tag.TagPageResponseDTO;
 import com.larplaner.dto.tag.TagRequestDTO;
 import com.larplaner.dto.tag.TagResponseDTO;
 import com.larplaner.dto.tag.UpdateTagRequestDTO;
@@ -27,6 +28,12 @@ public class TagControllerImpl implements TagController {
     return ResponseEntity.ok(tagService.getAllTags(searchTerm));
   }
 
+  @Override
+  @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+  public ResponseEntity<TagPageResponseDTO> searchTags(String query, int page, int size) {
+    return ResponseEntity.ok(tagService.searchTags(query, page, size));
+  }
+
   @Override
   @PreAuthorize("hasAuthority('ROLE_USER')")
   public ResponseEntity<TagResponseDTO> getTagById(UUID id) {
@@ -0,0 +1,38 @@
+package com.larplaner.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.time.Duration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+  public static final String METER_PREFIX = "larplaner.";
+
+  /**
+   * Publishes histogram buckets for our timers, so Prometheus can compute percentiles across
+   * instances and time windows.
+   */
+  @Bean
+  public MeterFilter larplanerTimerHistograms() {
+    return new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(Meter.Id id,
+          DistributionStatisticConfig config) {
+        if (id.getType() != Meter.Type.TIMER || !id.getName().startsWith(METER_PREFIX)) {
+          return config;
+        }
+
+        return DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+            .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+            .build()
+            .merge(config);
+      }
+    };
+  }
+}
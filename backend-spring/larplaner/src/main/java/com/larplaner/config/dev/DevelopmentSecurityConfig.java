@@ -3,9 +3,13 @@ package com.larplaner.config.dev;
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
 import com.larplaner.security.FirebaseTokenFilter;
+import com.larplaner.service.admin.security.FirebaseAuthenticationService;
 import java.util.Arrays;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -29,12 +33,14 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class DevelopmentSecurityConfig {
 
   @Bean
-  public FirebaseTokenFilter firebaseTokenFilter() {
-    return new FirebaseTokenFilter();
+  public FirebaseTokenFilter firebaseTokenFilter(
+      FirebaseAuthenticationService firebaseAuthenticationService) {
+    return new FirebaseTokenFilter(firebaseAuthenticationService);
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http,
+      FirebaseTokenFilter firebaseTokenFilter) throws Exception {
     http
         // Disable CSRF for stateless APIs
         .csrf(AbstractHttpConfigurer::disable)
@@ -49,6 +55,8 @@ public class DevelopmentSecurityConfig {
             .requestMatchers(toH2Console()).permitAll()
             .requestMatchers("/", "/index.html", "/swagger-ui/**", "/v3/api-docs/**",
                 "/swagger-ui.html").permitAll()
+            .requestMatchers(EndpointRequest.to(HealthEndpoint.class,
+                PrometheusScrapeEndpoint.class)).permitAll()
             // --- WS Authorization Rules ---
             .requestMatchers("/ws/**").permitAll()
             // --- API Authorization Rules ---
@@ -58,7 +66,7 @@ public class DevelopmentSecurityConfig {
         )
         // Allow frames for H2 console
         .headers(headers -> headers.frameOptions(FrameOptionsConfig::sameOrigin))
-        .addFilterBefore(firebaseTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(firebaseTokenFilter, UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
   }
@@ -1,9 +1,13 @@
 package com.larplaner.config.prod;
 
 import com.larplaner.security.FirebaseTokenFilter;
+import com.larplaner.service.admin.security.FirebaseAuthenticationService;
 import java.util.Arrays;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -26,12 +30,14 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
 
   @Bean
-  public FirebaseTokenFilter firebaseTokenFilter() {
-    return new FirebaseTokenFilter();
+  public FirebaseTokenFilter firebaseTokenFilter(
+      FirebaseAuthenticationService firebaseAuthenticationService) {
+    return new FirebaseTokenFilter(firebaseAuthenticationService);
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http,
+      FirebaseTokenFilter firebaseTokenFilter) throws Exception {
     http
         // Disable CSRF for stateless APIs
         .csrf(AbstractHttpConfigurer::disable)
@@ -45,6 +51,8 @@ public class SecurityConfig {
             // --- Public endpoints ---
             .requestMatchers("/", "/index.html", "/swagger-ui/**", "/v3/api-docs/**",
                 "/swagger-ui.html").permitAll()
+            .requestMatchers(EndpointRequest.to(HealthEndpoint.class,
+                PrometheusScrapeEndpoint.class)).permitAll()
 
             // --- WS Authorization Rules ---
             .requestMatchers("/ws/**").permitAll()
@@ -55,7 +63,7 @@ public class SecurityConfig {
             // Fallback: any other request must be authenticated
             .anyRequest().authenticated()
         )
-        .addFilterBefore(firebaseTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(firebaseTokenFilter, UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
   }
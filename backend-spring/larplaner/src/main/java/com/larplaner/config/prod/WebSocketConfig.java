@@ -1,6 +1,9 @@
 package com.larplaner.config.prod;
 
+import com.larplaner.config.websocket.WebSocketBrokerTuning;
 import com.larplaner.security.AuthChannelInterceptor;
+import com.larplaner.service.broker.BrokerRelayBridge;
+import com.larplaner.service.game.broadcast.AvailableActionsSubscriptionInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -9,6 +12,7 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -17,15 +21,29 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
   private final AuthChannelInterceptor authChannelInterceptor;
+  private final BrokerRelayBridge brokerRelayBridge;
+  private final AvailableActionsSubscriptionInterceptor availableActionsSubscriptionInterceptor;
+  private final WebSocketBrokerTuning webSocketBrokerTuning;
 
   @Override
   public void configureClientInboundChannel(ChannelRegistration registration) {
-    registration.interceptors(authChannelInterceptor);
+    registration.interceptors(authChannelInterceptor, availableActionsSubscriptionInterceptor);
+  }
+
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    webSocketBrokerTuning.configureClientOutboundChannel(registration);
+  }
+
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    webSocketBrokerTuning.configureWebSocketTransport(registration);
   }
 
   @Override
   public void configureMessageBroker(MessageBrokerRegistry config) {
-    config.enableSimpleBroker("/topic");
+    webSocketBrokerTuning.configureMessageBroker(config);
+    config.configureBrokerChannel().interceptors(brokerRelayBridge);
 
     config.setApplicationDestinationPrefixes("/app");
   }
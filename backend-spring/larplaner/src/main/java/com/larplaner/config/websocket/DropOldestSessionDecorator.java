@@ -0,0 +1,172 @@
+package com.larplaner.config.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+/**
+ * Outbound queue of one WebSocket session. {@link #sendMessage} only queues the message; a thread of
+ * the flush executor writes it, so a client that stops reading holds up neither the outbound channel
+ * nor the other sessions.
+ * <p>
+ * When more than {@code bufferSizeLimit} bytes are queued, the oldest messages are dropped. A
+ * session whose current write has taken longer than {@code sendTimeLimit} is closed by the next
+ * {@link #checkSendTimeLimit()}, which runs on a timer, so a stalled client holds a flush thread no
+ * longer than that even if nothing else is sent to it. If the flush executor has no room, the
+ * messages stay queued and the flush is started again by the next message or check.
+ */
+@Slf4j
+public class DropOldestSessionDecorator extends WebSocketSessionDecorator {
+
+  private final Executor flushExecutor;
+  private final int sendTimeLimit;
+  private final int bufferSizeLimit;
+  private final Counter droppedMessages;
+
+  private final Deque<WebSocketMessage<?>> buffer = new ArrayDeque<>();
+  private int bufferSize;
+  private boolean flushing;
+
+  private volatile long sendStartTime;
+  private volatile boolean closing;
+
+  public DropOldestSessionDecorator(WebSocketSession session, Executor flushExecutor,
+      int sendTimeLimit, int bufferSizeLimit, Counter droppedMessages) {
+    super(session);
+    this.flushExecutor = flushExecutor;
+    this.sendTimeLimit = sendTimeLimit;
+    this.bufferSizeLimit = bufferSizeLimit;
+    this.droppedMessages = droppedMessages;
+  }
+
+  /**
+   * @return number of messages waiting to be written
+   */
+  public int getBufferedMessageCount() {
+    synchronized (buffer) {
+      return buffer.size();
+    }
+  }
+
+  @Override
+  public void sendMessage(WebSocketMessage<?> message) throws IOException {
+    if (closing) {
+      return;
+    }
+
+    boolean startFlush;
+    synchronized (buffer) {
+      buffer.add(message);
+      bufferSize += message.getPayloadLength();
+      // the newest message is always kept, even if it is larger than the limit on its own
+      while (bufferSize > bufferSizeLimit && buffer.size() > 1) {
+        bufferSize -= buffer.poll().getPayloadLength();
+        droppedMessages.increment();
+      }
+      startFlush = !flushing;
+      flushing = true;
+    }
+
+    if (startFlush) {
+      startFlush();
+    } else {
+      checkSendTime();
+    }
+  }
+
+  /**
+   * Closes the session if its current write has taken longer than {@code sendTimeLimit}, and
+   * starts a flush the executor had no room for.
+   */
+  public void checkSendTimeLimit() {
+    if (closing) {
+      return;
+    }
+
+    if (isSendTimeExceeded()) {
+      discard();
+      try {
+        getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+      } catch (IOException | RuntimeException e) {
+        log.debug("Could not close WebSocket session {}", getId(), e);
+      }
+      return;
+    }
+
+    boolean startFlush;
+    synchronized (buffer) {
+      startFlush = !flushing && !buffer.isEmpty();
+      flushing = flushing || startFlush;
+    }
+    if (startFlush) {
+      startFlush();
+    }
+  }
+
+  private void startFlush() {
+    try {
+      flushExecutor.execute(this::flush);
+    } catch (RejectedExecutionException e) {
+      synchronized (buffer) {
+        flushing = false;
+      }
+    }
+  }
+
+  private void flush() {
+    while (true) {
+      WebSocketMessage<?> message;
+      synchronized (buffer) {
+        message = buffer.poll();
+        if (Objects.isNull(message) || closing) {
+          flushing = false;
+          return;
+        }
+        bufferSize -= message.getPayloadLength();
+      }
+
+      sendStartTime = System.currentTimeMillis();
+      try {
+        getDelegate().sendMessage(message);
+      } catch (IOException | RuntimeException e) {
+        log.debug("Could not send message to WebSocket session {}", getId(), e);
+        discard();
+        return;
+      } finally {
+        sendStartTime = 0;
+      }
+    }
+  }
+
+  private void checkSendTime() throws SessionLimitExceededException {
+    if (isSendTimeExceeded()) {
+      discard();
+      throw new SessionLimitExceededException(String.format(
+          "Send time for session '%s' exceeded the allowed limit %d", getId(), sendTimeLimit),
+          CloseStatus.SESSION_NOT_RELIABLE);
+    }
+  }
+
+  private boolean isSendTimeExceeded() {
+    long started = sendStartTime;
+    return started > 0 && System.currentTimeMillis() - started > sendTimeLimit;
+  }
+
+  private void discard() {
+    closing = true;
+    synchronized (buffer) {
+      buffer.clear();
+      bufferSize = 0;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+package com.larplaner.config.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.SimpleBrokerRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+/**
+ * Thread pools, limits and heartbeats of the simple broker, shared by the WebSocket configs of all
+ * profiles:
+ * <ul>
+ *   <li>the broker channel runs on its own thread, so {@code convertAndSend} only queues the
+ *   message, and with one thread (the default) messages keep the order they were sent in</li>
+ *   <li>every session gets a {@link DropOldestSessionDecorator}, so a client that stops reading
+ *   loses its oldest messages and is eventually closed instead of holding up the others. Writes
+ *   run on the flush pool, whose queue is bounded by {@code flush.queue-capacity}, and every
+ *   {@code send-time-limit-millis} / 2 the send time of every session is checked, so a stalled
+ *   client holds a flush thread for at most about 1.5 times the limit</li>
+ *   <li>STOMP heartbeats are sent and expected every {@code heartbeat-millis}</li>
+ * </ul>
+ * Queue depths are published as {@code larplaner.stomp.queued} (by {@code channel}) and dropped
+ * messages as {@code larplaner.stomp.dropped}.
+ */
+@Component
+public class WebSocketBrokerTuning {
+
+  private final long heartbeatMillis;
+  private final int brokerPoolSize;
+  private final int brokerQueueCapacity;
+  private final int outboundPoolSize;
+  private final int sendTimeLimit;
+  private final int sendBufferSizeLimit;
+
+  private final ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+  private final ThreadPoolTaskScheduler sendTimeScheduler = new ThreadPoolTaskScheduler();
+  private final ThreadPoolTaskExecutor brokerExecutor = new ThreadPoolTaskExecutor();
+  private final ThreadPoolTaskExecutor outboundExecutor = new ThreadPoolTaskExecutor();
+  private final ThreadPoolTaskExecutor flushExecutor = new ThreadPoolTaskExecutor();
+
+  private final Set<DropOldestSessionDecorator> sessions = ConcurrentHashMap.newKeySet();
+  private final Counter droppedMessages;
+
+  public WebSocketBrokerTuning(MeterRegistry meterRegistry,
+      @Value("${larplaner.websocket.heartbeat-millis:10000}") long heartbeatMillis,
+      @Value("${larplaner.websocket.broker.pool-size:1}") int brokerPoolSize,
+      @Value("${larplaner.websocket.broker.queue-capacity:10000}") int brokerQueueCapacity,
+      @Value("${larplaner.websocket.outbound.pool-size:8}") int outboundPoolSize,
+      @Value("${larplaner.websocket.flush.pool-size:16}") int flushPoolSize,
+      @Value("${larplaner.websocket.flush.queue-capacity:1000}") int flushQueueCapacity,
+      @Value("${larplaner.websocket.send-time-limit-millis:10000}") int sendTimeLimit,
+      @Value("${larplaner.websocket.send-buffer-size-limit-bytes:524288}") int sendBufferSizeLimit) {
+    this.heartbeatMillis = heartbeatMillis;
+    this.brokerPoolSize = brokerPoolSize;
+    this.brokerQueueCapacity = brokerQueueCapacity;
+    this.outboundPoolSize = outboundPoolSize;
+    this.sendTimeLimit = sendTimeLimit;
+    this.sendBufferSizeLimit = sendBufferSizeLimit;
+
+    heartbeatScheduler.setPoolSize(1);
+    heartbeatScheduler.setThreadNamePrefix("stomp-heartbeat-");
+    heartbeatScheduler.setDaemon(true);
+    heartbeatScheduler.initialize();
+
+    brokerExecutor.setThreadNamePrefix("stomp-broker-");
+    outboundExecutor.setThreadNamePrefix("stomp-outbound-");
+
+    flushExecutor.setCorePoolSize(flushPoolSize);
+    flushExecutor.setMaxPoolSize(flushPoolSize);
+    flushExecutor.setQueueCapacity(flushQueueCapacity);
+    flushExecutor.setThreadNamePrefix("stomp-flush-");
+    flushExecutor.setDaemon(true);
+    flushExecutor.initialize();
+
+    sendTimeScheduler.setPoolSize(1);
+    sendTimeScheduler.setThreadNamePrefix("stomp-send-time-");
+    sendTimeScheduler.setDaemon(true);
+    sendTimeScheduler.initialize();
+    sendTimeScheduler.scheduleAtFixedRate(
+        () -> sessions.forEach(DropOldestSessionDecorator::checkSendTimeLimit),
+        Duration.ofMillis(Math.max(sendTimeLimit / 2, 1)));
+
+    this.droppedMessages = Counter.builder("larplaner.stomp.dropped")
+        .description("Messages dropped because a WebSocket session did not read them in time")
+        .register(meterRegistry);
+    Map.of("broker", brokerExecutor, "outbound", outboundExecutor, "flush", flushExecutor)
+        .forEach((channel, executor) -> registerQueueGauge(meterRegistry, channel,
+            () -> queueSize(executor)));
+    registerQueueGauge(meterRegistry, "session", () -> sessions.stream()
+        .mapToInt(DropOldestSessionDecorator::getBufferedMessageCount)
+        .sum());
+  }
+
+  @PreDestroy
+  void stop() {
+    heartbeatScheduler.shutdown();
+    sendTimeScheduler.shutdown();
+    flushExecutor.shutdown();
+  }
+
+  /**
+   * Enables the simple broker for {@code /topic}.
+   */
+  public SimpleBrokerRegistration configureMessageBroker(MessageBrokerRegistry config) {
+    config.configureBrokerChannel().taskExecutor(brokerExecutor)
+        .corePoolSize(brokerPoolSize)
+        .maxPoolSize(brokerPoolSize)
+        .queueCapacity(brokerQueueCapacity);
+    // the outbound channel has several threads, this keeps the messages of a session in order
+    config.setPreservePublishOrder(true);
+
+    return config.enableSimpleBroker("/topic")
+        .setTaskScheduler(heartbeatScheduler)
+        .setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis});
+  }
+
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    registration.taskExecutor(outboundExecutor)
+        .corePoolSize(outboundPoolSize)
+        .maxPoolSize(outboundPoolSize);
+  }
+
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    registration
+        .setSendTimeLimit(sendTimeLimit)
+        .setSendBufferSizeLimit(sendBufferSizeLimit)
+        .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+          private final Map<String, DropOldestSessionDecorator> decorated =
+              new ConcurrentHashMap<>();
+
+          @Override
+          public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            DropOldestSessionDecorator decorator = decorate(session);
+            decorated.put(session.getId(), decorator);
+            super.afterConnectionEstablished(decorator);
+          }
+
+          @Override
+          public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus)
+              throws Exception {
+            DropOldestSessionDecorator decorator = decorated.remove(session.getId());
+            if (Objects.nonNull(decorator)) {
+              sessions.remove(decorator);
+            }
+            super.afterConnectionClosed(session, closeStatus);
+          }
+        });
+  }
+
+  DropOldestSessionDecorator decorate(WebSocketSession session) {
+    DropOldestSessionDecorator decorator = new DropOldestSessionDecorator(session, flushExecutor,
+        sendTimeLimit, sendBufferSizeLimit, droppedMessages);
+    sessions.add(decorator);
+    return decorator;
+  }
+
+  private static int queueSize(ThreadPoolTaskExecutor executor) {
+    try {
+      return executor.getQueueSize();
+    } catch (IllegalStateException e) {
+      // not initialized yet
+      return 0;
+    }
+  }
+
+  private static void registerQueueGauge(MeterRegistry meterRegistry, String channel,
+      IntSupplier size) {
+    Gauge.builder("larplaner.stomp.queued", size, IntSupplier::getAsInt)
+        .description("Messages waiting to be sent to WebSocket clients")
+        .tag("channel", channel)
+        .register(meterRegistry);
+  }
+}
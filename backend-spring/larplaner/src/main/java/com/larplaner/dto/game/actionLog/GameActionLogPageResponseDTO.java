@@ -0,0 +1,24 @@
+package com.larplaner.dto.game.actionLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder.Default;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * One page of game history, newest first. Pass {@code nextCursor} back to get the next (older) page;
+ * it is null on the last page.
+ */
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+public class GameActionLogPageResponseDTO {
+
+  @Default
+  private List<GameActionLogSummaryResponseDTO> items = new ArrayList<>();
+
+  private String nextCursor;
+}
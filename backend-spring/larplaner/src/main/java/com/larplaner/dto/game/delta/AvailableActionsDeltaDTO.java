@@ -0,0 +1,42 @@
+package com.larplaner.dto.game.delta;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Builder.Default;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Change of the actions a role can see, sent to
+ * {@code /topic/game/{gameSessionId}/role/{gameRoleStateId}/actions}. A {@code full} delta lists
+ * every visible action as added and replaces what the client knew; it is sent when a client
+ * subscribes. A {@code resync} delta carries no actions: the role's game session was reloaded,
+ * so what the client knew may be outdated, and the next delta sent is a full one. Sequence numbers
+ * increase by one per role, so a client that sees a gap or a resync must resubscribe or fetch the
+ * available actions again.
+ */
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+public class AvailableActionsDeltaDTO {
+
+  private UUID gameRoleStateId;
+  private long sequence;
+  private boolean full;
+  private boolean resync;
+
+  @Default
+  private Set<UUID> addedActionIds = new HashSet<>();
+
+  @Default
+  private Set<UUID> removedActionIds = new HashSet<>();
+
+  @Default
+  private Set<UUID> addedItemActionIds = new HashSet<>();
+
+  @Default
+  private Set<UUID> removedItemActionIds = new HashSet<>();
+}
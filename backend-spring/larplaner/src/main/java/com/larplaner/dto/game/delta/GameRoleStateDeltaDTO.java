@@ -0,0 +1,48 @@
+package com.larplaner.dto.game.delta;
+
+import com.larplaner.dto.tag.AppliedTagResponseDTO;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Builder.Default;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * One change of a role's applied tags. Clients apply the fields in declaration order.
+ */
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+public class GameRoleStateDeltaDTO {
+
+  private UUID gameRoleStateId;
+
+  /**
+   * IDs of {@code Tag}s whose applied tags were removed from the role.
+   */
+  @Default
+  private Set<UUID> removedTagIds = new HashSet<>();
+
+  @Default
+  private List<AppliedTagResponseDTO> addedAppliedTags = new ArrayList<>();
+
+  /**
+   * New {@code appliedToUserAt} keyed by applied tag ID.
+   */
+  @Default
+  private Map<UUID, ZonedDateTime> refreshedAppliedTags = new HashMap<>();
+
+  /**
+   * IDs of applied tags that are no longer active.
+   */
+  @Default
+  private Set<UUID> expiredAppliedTagIds = new HashSet<>();
+}
@@ -0,0 +1,42 @@
+package com.larplaner.dto.game.delta;
+
+import com.larplaner.dto.game.actionLog.GameActionLogSummaryResponseDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Builder.Default;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Changes of a game session since the previous delta: of every role on the session topic, or of
+ * one role ({@code gameRoleStateId}) on its role topic. Sequence numbers are per topic and
+ * increase by one with every delta, so a client that sees a gap (or {@code resyncRequired}) must
+ * fetch the game session or role again.
+ */
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+public class GameSessionDeltaDTO {
+
+  private UUID gameSessionId;
+
+  /**
+   * Role the delta is limited to, or null on the session topic.
+   */
+  private UUID gameRoleStateId;
+
+  private long sequence;
+  private boolean resyncRequired;
+
+  @Default
+  private List<GameActionLogSummaryResponseDTO> actions = new ArrayList<>();
+
+  /**
+   * Role changes in the order they happened. A role can appear more than once.
+   */
+  @Default
+  private List<GameRoleStateDeltaDTO> roles = new ArrayList<>();
+}
@@ -0,0 +1,35 @@
+package com.larplaner.dto.game.roleState;
+
+import com.larplaner.dto.BaseResponseDTO;
+import com.larplaner.dto.tag.AppliedTagResponseDTO;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * The tags a game role state had at a point in time. {@code id} is the ID of the game role state.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+public class GameRoleStateAtResponseDTO extends BaseResponseDTO {
+
+  private UUID gameSessionId;
+  private ZonedDateTime at;
+
+  /**
+   * Sequence number of the last game session event the state includes.
+   */
+  private long sequenceNumber;
+
+  /**
+   * Applied tags that were active at {@code at}, most recently applied first.
+   */
+  private List<AppliedTagResponseDTO> appliedTags;
+}
@@ -0,0 +1,30 @@
+package com.larplaner.dto.tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Builder.Default;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * One page of tag search results, best matches first.
+ */
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+public class TagPageResponseDTO {
+
+  @Default
+  private List<TagResponseDTO> items = new ArrayList<>();
+
+  private int page;
+
+  private int size;
+
+  /**
+   * Number of matching tags on all pages.
+   */
+  private long totalElements;
+}
@@ -7,11 +7,13 @@ import com.larplaner.mapper.tag.TagMapper;
 import com.larplaner.model.action.Action;
 import com.larplaner.model.tag.Tag;
 import com.larplaner.service.tag.helper.TagHelper;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.function.Consumer;
-import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -83,10 +85,38 @@ public class ActionMapper {
   }
 
   /**
-   * Updates an existing Action entity from an UpdateActionRequestDTO. Tag associations are handled
-   * separately in the service layer.
+   * IDs in all eight tag lists of the DTO, for {@link TagHelper#preload}.
+   */
+  public Stream<UUID> referencedTagIds(ActionRequestDTO dto) {
+    return Stream.of(
+            dto.getRequiredTagsToDisplay(),
+            dto.getRequiredTagsToSucceed(),
+            dto.getForbiddenTagsToDisplay(),
+            dto.getForbiddenTagsToSucceed(),
+            dto.getTagsToApplyOnSuccess(),
+            dto.getTagsToApplyOnFailure(),
+            dto.getTagsToRemoveOnSuccess(),
+            dto.getTagsToRemoveOnFailure())
+        .filter(Objects::nonNull)
+        .flatMap(List::stream);
+  }
+
+  /**
+   * Updates an existing Action entity from an UpdateActionRequestDTO. Tag lists that are null or
+   * empty in the DTO are cleared.
    */
   public void updateEntityFromDTO(ActionRequestDTO dto, Action entity) {
+    updateEntityFromDTO(dto, entity, false);
+  }
+
+  /**
+   * Like {@link #updateEntityFromDTO}, but tag lists that are null in the DTO are left as they are.
+   */
+  public void patchEntityFromDTO(ActionRequestDTO dto, Action entity) {
+    updateEntityFromDTO(dto, entity, true);
+  }
+
+  private void updateEntityFromDTO(ActionRequestDTO dto, Action entity, boolean patch) {
     if (dto == null || entity == null) {
       return;
     }
@@ -103,26 +133,37 @@ public class ActionMapper {
     if (dto.getMessageOnFailure() != null) {
       entity.setMessageOnFailure(dto.getMessageOnFailure());
     }
-    updateIfNotEmpty(dto::getRequiredTagsToDisplay, entity::setRequiredTagsToDisplay);
-    updateIfNotEmpty(dto::getRequiredTagsToSucceed, entity::setRequiredTagsToSucceed);
-    updateIfNotEmpty(dto::getForbiddenTagsToDisplay, entity::setForbiddenTagsToDisplay);
-    updateIfNotEmpty(dto::getForbiddenTagsToSucceed, entity::setForbiddenTagsToSucceed);
-    updateIfNotEmpty(dto::getTagsToApplyOnFailure, entity::setTagsToApplyOnFailure);
-    updateIfNotEmpty(dto::getTagsToApplyOnSuccess, entity::setTagsToApplyOnSuccess);
-    updateIfNotEmpty(dto::getTagsToRemoveOnSuccess, entity::setTagsToRemoveOnSuccess);
-    updateIfNotEmpty(dto::getTagsToRemoveOnFailure, entity::setTagsToRemoveOnFailure);
-
+    updateTags(dto.getRequiredTagsToDisplay(), entity.getRequiredTagsToDisplay(), patch);
+    updateTags(dto.getRequiredTagsToSucceed(), entity.getRequiredTagsToSucceed(), patch);
+    updateTags(dto.getForbiddenTagsToDisplay(), entity.getForbiddenTagsToDisplay(), patch);
+    updateTags(dto.getForbiddenTagsToSucceed(), entity.getForbiddenTagsToSucceed(), patch);
+    updateTags(dto.getTagsToApplyOnFailure(), entity.getTagsToApplyOnFailure(), patch);
+    updateTags(dto.getTagsToApplyOnSuccess(), entity.getTagsToApplyOnSuccess(), patch);
+    updateTags(dto.getTagsToRemoveOnSuccess(), entity.getTagsToRemoveOnSuccess(), patch);
+    updateTags(dto.getTagsToRemoveOnFailure(), entity.getTagsToRemoveOnFailure(), patch);
   }
 
-  public void updateIfNotEmpty(
-      Supplier<List<UUID>> idSupplier,
-      Consumer<List<Tag>> entityConsumer) {
-    if (idSupplier.get() == null || idSupplier.get().isEmpty()) {
-      entityConsumer.accept(new ArrayList<>());
+  /**
+   * Changes {@code tags} in place to the tags with the given IDs. Hibernate then only writes the
+   * join rows of lists that really changed; setting a new list would delete and insert all of them
+   * even if it held the same tags. Only tags that are not in the list yet are loaded.
+   *
+   * @param keepIfNull whether a null {@code ids} leaves the list as it is instead of clearing it
+   */
+  private void updateTags(List<UUID> ids, List<Tag> tags, boolean keepIfNull) {
+    if (ids == null && keepIfNull) {
       return;
     }
 
-    List<UUID> ids = idSupplier.get();
-    entityConsumer.accept(tagHelper.processTags(ids));
+    Set<UUID> requestedIds = ids == null ? Set.of() : new HashSet<>(ids);
+    tags.removeIf(tag -> !requestedIds.contains(tag.getId()));
+
+    Set<UUID> presentIds = tags.stream().map(Tag::getId).collect(Collectors.toSet());
+    List<UUID> missingIds = requestedIds.stream()
+        .filter(id -> !presentIds.contains(id))
+        .toList();
+    if (!missingIds.isEmpty()) {
+      tags.addAll(tagHelper.processTags(missingIds));
+    }
   }
-}
\ No newline at end of file
+}
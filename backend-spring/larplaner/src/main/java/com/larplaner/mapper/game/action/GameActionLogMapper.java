@@ -10,6 +10,7 @@ import com.larplaner.mapper.game.item.GameItemStateMapper;
 import com.larplaner.mapper.game.role.GameRoleStateMapper;
 import com.larplaner.mapper.tag.TagMapper;
 import com.larplaner.model.game.GameActionLog;
+import com.larplaner.service.game.engine.PerformedAction;
 import java.util.stream.Collectors;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
@@ -60,6 +61,29 @@ public class GameActionLogMapper {
         .build();
   }
 
+  public GameActionLogSummaryResponseDTO toDTO(PerformedAction performedAction) {
+    if (performedAction == null) {
+      return null;
+    }
+
+    return GameActionLogSummaryResponseDTO.builder()
+        .id(performedAction.getLogId())
+        .gameSessionId(performedAction.getGameSessionId())
+        .actionId(performedAction.getActionId())
+        .timestamp(performedAction.getTimestamp())
+        .performerRoleId(performedAction.getPerformerRoleId())
+        .targetItemId(performedAction.getTargetItemId())
+        .success(performedAction.isSuccess())
+        .message(performedAction.getMessage())
+        .appliedTags(performedAction.getAppliedTags().stream()
+            .map(tagMapper::toDTO)
+            .collect(Collectors.toList()))
+        .removedTags(performedAction.getRemovedTags().stream()
+            .map(tagMapper::toDTO)
+            .collect(Collectors.toList()))
+        .build();
+  }
+
   public GameActionLogDetailedResponseDTO toDetailedDTO(GameActionLog gameActionLog) {
     if (gameActionLog == null) {
       return null;
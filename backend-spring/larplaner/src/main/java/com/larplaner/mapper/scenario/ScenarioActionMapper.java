@@ -54,4 +54,15 @@ public class ScenarioActionMapper {
 
     actionMapper.updateEntityFromDTO(dto, entity);
   }
+
+  /**
+   * Like {@link #updateEntityFromDTO}, but tag lists that are null in the DTO are left as they are.
+   */
+  public void patchEntityFromDTO(UpdateScenarioActionRequestDTO dto, ScenarioAction entity) {
+    if (dto == null || entity == null) {
+      return;
+    }
+
+    actionMapper.patchEntityFromDTO(dto, entity);
+  }
 }
\ No newline at end of file
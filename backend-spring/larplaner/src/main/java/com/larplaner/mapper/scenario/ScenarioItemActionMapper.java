@@ -56,4 +56,15 @@ public class ScenarioItemActionMapper {
     actionMapper.updateEntityFromDTO(dto, entity);
   }
 
+  /**
+   * Like {@link #updateEntityFromDTO}, but tag lists that are null in the DTO are left as they are.
+   */
+  public void patchEntityFromDTO(UpdateScenarioItemActionRequestDTO dto,
+      ScenarioItemAction entity) {
+    if (dto == null || entity == null) {
+      return;
+    }
+
+    actionMapper.patchEntityFromDTO(dto, entity);
+  }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.larplaner.mapper.tag;
 
 import com.larplaner.dto.tag.AppliedTagResponseDTO;
 import com.larplaner.model.tag.AppliedTag;
+import com.larplaner.service.game.engine.AppliedTagState;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -20,4 +21,14 @@ public class AppliedTagMapper {
         .tag(tagMapper.toDTO(appliedTag.getTag()))
         .build();
   }
+
+  public AppliedTagResponseDTO toDTO(AppliedTagState appliedTag) {
+    return AppliedTagResponseDTO.builder()
+        .id(appliedTag.getId())
+        .appliedToUserAt(appliedTag.getAppliedToUserAt())
+        .userID(appliedTag.getUserID())
+        .userEmail(appliedTag.getUserEmail())
+        .tag(tagMapper.toDTO(appliedTag.getTag()))
+        .build();
+  }
 }
@@ -3,12 +3,18 @@ package com.larplaner.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
 import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Builder.Default;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.springframework.data.domain.Persistable;
 
 @MappedSuperclass
 @SuperBuilder
@@ -16,10 +22,38 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id", callSuper = false)
-public class BaseEntity extends AbstractEntity<UUID> {
+public class BaseEntity extends AbstractEntity<UUID> implements Persistable<UUID> {
 
+  /**
+   * Generated on construction as a {@link TimeOrderedUuid}, but can be supplied through the builder
+   * when the id has to be known before the entity is persisted (e.g. game state written behind by
+   * the game session engine).
+   */
   @Id
   @Column(updatable = false, nullable = false)
-  private final UUID id = UUID.randomUUID();
+  @Setter(AccessLevel.NONE)
+  @Default
+  private UUID id = TimeOrderedUuid.next();
 
-}
\ No newline at end of file
+  /**
+   * The id is assigned before the entity is saved, so it cannot tell a new entity from a detached
+   * one. Without this flag {@code save} would merge every new entity, which selects each row of the
+   * cascade by id before inserting it.
+   */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private boolean persisted;
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostPersist
+  @PostLoad
+  void markPersisted() {
+    persisted = true;
+  }
+
+}
@@ -4,6 +4,7 @@ import com.larplaner.model.BaseEntity;
 import com.larplaner.model.action.Action;
 import com.larplaner.model.tag.Tag;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
@@ -19,7 +20,9 @@ import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "game_action_logs")
+@Table(name = "game_action_logs", indexes = {
+    @Index(name = "idx_game_action_logs_history", columnList = "session_id, timestamp, id"),
+    @Index(name = "idx_game_action_logs_timestamp", columnList = "timestamp, id")})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @SuperBuilder
 @Getter
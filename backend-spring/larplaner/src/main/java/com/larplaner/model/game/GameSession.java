@@ -3,6 +3,7 @@ package com.larplaner.model.game;
 import com.larplaner.model.BaseEntity;
 import com.larplaner.model.event.Event;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.OneToMany;
@@ -21,6 +22,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "game_sessions")
@@ -34,6 +36,14 @@ public class GameSession extends BaseEntity {
   private ZonedDateTime startTime;
   private ZonedDateTime endTime;
 
+  /**
+   * Sequence number of the last {@link GameSessionEvent} whose changes are reflected in the applied
+   * tags of the assigned roles. Later events still have to be applied.
+   */
+  @Column(nullable = false)
+  @ColumnDefault("0")
+  private long snapshotSequence;
+
   @OneToOne(mappedBy = "gameSession", cascade = CascadeType.ALL)
   private Event event;
 
@@ -0,0 +1,68 @@
+package com.larplaner.model.game;
+
+import com.larplaner.model.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * One entry of the append-only journal of a {@link GameSession}. Events are never updated or
+ * deleted on their own, and refer to other rows by ID only, so appending one is a single insert
+ * without join tables. The applied tags of {@link GameRoleState} are derived from these events and
+ * brought up to date up to {@link GameSession#getSnapshotSequence()}.
+ */
+@Entity
+@Table(name = "game_session_events",
+    uniqueConstraints = @UniqueConstraint(name = "uk_game_session_events_sequence",
+        columnNames = {"game_session_id", "sequence_number"}),
+    indexes = @Index(name = "idx_game_session_events_role",
+        columnList = "game_role_state_id, sequence_number"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+@Getter
+@ToString
+public class GameSessionEvent extends BaseEntity {
+
+  @Column(name = "game_session_id", nullable = false, updatable = false)
+  private UUID gameSessionId;
+
+  /**
+   * Position of the event in its game session, starting at 1 and without gaps as long as every
+   * journal write succeeds.
+   */
+  @Column(name = "sequence_number", nullable = false, updatable = false)
+  private long sequenceNumber;
+
+  @Column(nullable = false, updatable = false)
+  private GameSessionEventTypeEnum type;
+
+  @Column(name = "game_role_state_id", nullable = false, updatable = false)
+  private UUID gameRoleStateId;
+
+  @Column(updatable = false)
+  private UUID appliedTagId;
+
+  @Column(updatable = false)
+  private UUID tagId;
+
+  @Column(updatable = false)
+  private UUID actionId;
+
+  @Column(updatable = false)
+  private UUID targetItemId;
+
+  @Column(updatable = false)
+  private Boolean success;
+
+  @Column(nullable = false, updatable = false)
+  private ZonedDateTime occurredAt;
+}
@@ -0,0 +1,35 @@
+package com.larplaner.model.game;
+
+/**
+ * Kinds of {@link GameSessionEvent}. Stored by ordinal, so new kinds must be added at the end.
+ */
+public enum GameSessionEventTypeEnum {
+
+  /**
+   * A role performed an action. Sets {@code actionId}, {@code targetItemId} and {@code success}.
+   */
+  ACTION_PERFORMED,
+
+  /**
+   * A tag was applied to a role. Sets {@code appliedTagId} and {@code tagId}; the tag was applied
+   * at {@code occurredAt}.
+   */
+  TAG_APPLIED,
+
+  /**
+   * An applied tag that was still active was applied again, which restarts its expiry. Sets
+   * {@code appliedTagId}.
+   */
+  TAG_REFRESHED,
+
+  /**
+   * An applied tag was removed from a role. Sets {@code appliedTagId} and {@code tagId}.
+   */
+  TAG_REMOVED,
+
+  /**
+   * An admin set the tags of a role. Followed by the {@link #TAG_REMOVED} and {@link #TAG_APPLIED}
+   * events of the edit.
+   */
+  ROLE_EDITED
+}
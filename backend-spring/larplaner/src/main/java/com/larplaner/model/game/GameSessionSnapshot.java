@@ -0,0 +1,53 @@
+package com.larplaner.model.game;
+
+import com.larplaner.model.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Archived copy of the applied tags of every role of a {@link GameSession}, as they were after
+ * the {@link GameSessionEvent} with {@link #getSequenceNumber()}. The first one is taken when the
+ * session is created, at sequence number 0, and later ones every
+ * {@code larplaner.game.history.snapshot-interval} events, so the state at any point in time can
+ * be rebuilt from the closest snapshot and the few events after it.
+ */
+@Entity
+@Table(name = "game_session_snapshots", uniqueConstraints = @UniqueConstraint(
+    name = "uk_game_session_snapshots_sequence",
+    columnNames = {"game_session_id", "sequence_number"}))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+@Getter
+@ToString(exclude = "state")
+public class GameSessionSnapshot extends BaseEntity {
+
+  @Column(name = "game_session_id", nullable = false, updatable = false)
+  private UUID gameSessionId;
+
+  @Column(name = "sequence_number", nullable = false, updatable = false)
+  private long sequenceNumber;
+
+  /**
+   * When the last event included in the snapshot occurred.
+   */
+  @Column(nullable = false, updatable = false)
+  private ZonedDateTime takenAt;
+
+  /**
+   * Gzip-compressed JSON of the roles, see {@code GameSessionSnapshotCodec}.
+   */
+  @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+  @Column(nullable = false, updatable = false)
+  private byte[] state;
+}
@@ -14,7 +14,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
-import lombok.extern.slf4j.Slf4j;
 
 @Entity
 @Table(name = "applied_tag")
@@ -23,7 +22,6 @@ import lombok.extern.slf4j.Slf4j;
 @Getter
 @Setter
 @ToString
-@Slf4j
 public class AppliedTag extends BaseEntity {
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -37,21 +35,10 @@ public class AppliedTag extends BaseEntity {
   public boolean isTagActive() {
     Integer expiresAfter = tag.getExpiresAfterMinutes();
     if (Objects.isNull(expiresAfter) || expiresAfter == 0) {
-      log.debug("Expires after was set to {} on tag {} so AppliedTag is active",
-          expiresAfter,
-          tag.getId());
-
       return true;
     }
 
-    ZonedDateTime timeTagExpires = appliedToUserAt.plusMinutes(expiresAfter);
-    log.debug("appliedToUserAt = {} + {} min = {} isBefore {} = {} ",
-        appliedToUserAt,
-        expiresAfter,
-        timeTagExpires,
-        ZonedDateTime.now(),
-        timeTagExpires.isAfter(ZonedDateTime.now()));
-    return timeTagExpires.isAfter(ZonedDateTime.now());
+    return appliedToUserAt.plusMinutes(expiresAfter).isAfter(ZonedDateTime.now());
   }
 
 }
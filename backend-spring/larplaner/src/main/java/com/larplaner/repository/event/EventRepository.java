@@ -6,6 +6,8 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.larplaner.model.event.Event;
@@ -18,4 +20,14 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
   List<Event> findAllByAssignedRoles_AssignedEmail(String email);
 
   List<Event> findAllByScenario_IdAndStatus(UUID scenarioId, EventStatusEnum status);
+
+  @Query("select a.assignedEmail from AssignedRole a where a.event.id = :eventId")
+  List<String> findAssignedEmailsByEventId(@Param("eventId") UUID eventId);
+
+  @Query("select a.assignedEmail from AssignedRole a where a.event.scenario.id = :scenarioId")
+  List<String> findAssignedEmailsByScenarioId(@Param("scenarioId") UUID scenarioId);
+
+  @Query("select distinct a.assignedEmail from AssignedRole a join a.event.scenario.roles sr "
+      + "where sr.role.id = :roleId")
+  List<String> findAssignedEmailsByRoleId(@Param("roleId") UUID roleId);
 }
\ No newline at end of file
@@ -1,11 +1,25 @@
 package com.larplaner.repository.game;
 
 import com.larplaner.model.game.GameRoleState;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface GameRoleStateRepository extends JpaRepository<GameRoleState, UUID> {
 
   Optional<GameRoleState> findByGameSession_IdAndAssignedUserID(UUID gameId, String userId);
-}
\ No newline at end of file
+
+  List<GameRoleState> findByGameSession_Id(UUID gameSessionId);
+
+  @Query("select r.gameSession.id from GameRoleState r where r.id = :id")
+  Optional<UUID> findGameSessionIdById(@Param("id") UUID id);
+
+  @Query("select r.assignedUserID from GameRoleState r where r.gameSession.id = :gameSessionId")
+  List<String> findAssignedUserIDsByGameSessionId(@Param("gameSessionId") UUID gameSessionId);
+
+  @Query("select r.assignedUserID from GameRoleState r where r.id = :id")
+  Optional<String> findAssignedUserIDById(@Param("id") UUID id);
+}
@@ -0,0 +1,29 @@
+package com.larplaner.repository.game;
+
+import com.larplaner.model.game.GameSessionEvent;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface GameSessionEventRepository extends JpaRepository<GameSessionEvent, UUID> {
+
+  List<GameSessionEvent> findByGameSessionIdAndSequenceNumberGreaterThanOrderBySequenceNumber(
+      UUID gameSessionId, long sequenceNumber);
+
+  List<GameSessionEvent> findByGameRoleStateIdAndSequenceNumberGreaterThanAndOccurredAtLessThanEqualOrderBySequenceNumber(
+      UUID gameRoleStateId, long sequenceNumber, ZonedDateTime occurredAt);
+
+  @Query("select coalesce(max(e.sequenceNumber), 0) from GameSessionEvent e"
+      + " where e.gameSessionId = :gameSessionId")
+  long findLastSequenceNumber(@Param("gameSessionId") UUID gameSessionId);
+
+  @Transactional
+  @Modifying
+  @Query("delete from GameSessionEvent e where e.gameSessionId = :gameSessionId")
+  void deleteByGameSessionId(@Param("gameSessionId") UUID gameSessionId);
+}
@@ -1,12 +1,31 @@
 package com.larplaner.repository.game;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.larplaner.model.game.GameSession;
 
 public interface GameSessionRepository extends JpaRepository<GameSession, UUID> {
   Optional<GameSession> findByEventId(UUID id);
+
+  @Query("select s.snapshotSequence from GameSession s where s.id = :id")
+  Optional<Long> findSnapshotSequenceById(@Param("id") UUID id);
+
+  @Modifying
+  @Query("update GameSession s set s.snapshotSequence = :snapshotSequence where s.id = :id")
+  void updateSnapshotSequence(@Param("id") UUID id,
+      @Param("snapshotSequence") long snapshotSequence);
+
+  /**
+   * IDs of game sessions that have events after their snapshot.
+   */
+  @Query("select s.id from GameSession s where s.snapshotSequence < (select max(e.sequenceNumber)"
+      + " from GameSessionEvent e where e.gameSessionId = s.id)")
+  List<UUID> findIdsWithEventsAfterSnapshot();
 }
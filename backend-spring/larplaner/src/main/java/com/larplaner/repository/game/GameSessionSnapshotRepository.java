@@ -0,0 +1,29 @@
+package com.larplaner.repository.game;
+
+import com.larplaner.model.game.GameSessionSnapshot;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface GameSessionSnapshotRepository extends JpaRepository<GameSessionSnapshot, UUID> {
+
+  /**
+   * The latest snapshot that does not include anything that happened after {@code at}.
+   */
+  Optional<GameSessionSnapshot> findFirstByGameSessionIdAndTakenAtLessThanEqualOrderBySequenceNumberDesc(
+      UUID gameSessionId, ZonedDateTime at);
+
+  @Query("select max(s.sequenceNumber) from GameSessionSnapshot s"
+      + " where s.gameSessionId = :gameSessionId")
+  Optional<Long> findLastSequenceNumber(@Param("gameSessionId") UUID gameSessionId);
+
+  @Transactional
+  @Modifying
+  @Query("delete from GameSessionSnapshot s where s.gameSessionId = :gameSessionId")
+  void deleteByGameSessionId(@Param("gameSessionId") UUID gameSessionId);
+}
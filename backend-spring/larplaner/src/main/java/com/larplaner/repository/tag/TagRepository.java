@@ -10,8 +10,6 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TagRepository extends JpaRepository<Tag, UUID> {
 
-  List<Tag> findByValueContainingIgnoreCase(String value);
-
   List<Tag> findByValueInIgnoreCase(Collection<String> values);
 
 }
\ No newline at end of file
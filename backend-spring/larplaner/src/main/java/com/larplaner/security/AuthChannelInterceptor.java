@@ -1,6 +1,14 @@
 package com.larplaner.security;
 
 import com.larplaner.service.admin.security.FirebaseAuthenticationService;
+import com.larplaner.service.admin.security.MembershipIndex;
+import jakarta.persistence.EntityNotFoundException;
+import java.security.Principal;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -8,17 +16,54 @@ import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 /**
- * Custom Channel Interceptor for validating Web Socket requests over STOMP protocol
+ * Custom Channel Interceptor for validating Web Socket requests over STOMP protocol. Besides
+ * authenticating the connection, it authorizes subscriptions to game topics
+ * ({@code /topic/game/{gameSessionId}/...}), which carry the state of the players:
+ * <ul>
+ *   <li>{@code .../role/{gameRoleStateId}/...} only to the user assigned to the role</li>
+ *   <li>{@code .../action/byUserId/{uid}} only to that user, if they take part in the session</li>
+ *   <li>{@code .../delta}, the changes of every role, only to admins</li>
+ *   <li>any other game topic to users taking part in the session</li>
+ * </ul>
+ * Admins may subscribe to anything. Nobody else may subscribe with a pattern, as the broker would
+ * match it against the topics of every game.
  */
 public class AuthChannelInterceptor implements ChannelInterceptor {
 
+  private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+  /**
+   * Groups: game session ID, rest of the destination (may be empty).
+   */
+  private static final Pattern GAME_TOPIC = Pattern.compile("^/topic/game/([^/]+)(/.*)?$");
+
+  /**
+   * Groups: game role state ID.
+   */
+  private static final Pattern ROLE_TOPIC = Pattern.compile("^/role/([^/]+)(/.*)?$");
+
+  /**
+   * Groups: user ID.
+   */
+  private static final Pattern USER_TOPIC = Pattern.compile("^/action/byUserId/([^/]+)$");
+
+  private static final String SESSION_DELTA_TOPIC = "/delta";
+
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  private final FirebaseAuthenticationService firebaseAuthenticationService;
+  private final MembershipIndex membershipIndex;
+
   @Override
   public Message<?> preSend(Message<?> message, MessageChannel channel) {
     final StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message,
@@ -34,7 +79,8 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
       if (authHeader != null && authHeader.startsWith("Bearer ")) {
         String idToken = authHeader.substring(7);
         try {
-          Authentication authentication = FirebaseAuthenticationService.getAuthentication(idToken);
+          Authentication authentication = firebaseAuthenticationService.getAuthentication(
+              idToken);
           accessor.setUser(authentication);
         } catch (Exception e) {
           throw new BadCredentialsException(
@@ -43,7 +89,51 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
       } else {
         throw new BadCredentialsException("Missing Authorization header for STOMP connection.");
       }
+    } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+      authorizeSubscription(accessor.getUser(), accessor.getDestination());
     }
     return message;
   }
+
+  private void authorizeSubscription(Principal user, String destination) {
+    if (Objects.isNull(destination) || isAdmin(user)) {
+      return;
+    }
+
+    if (Objects.isNull(user) || PATH_MATCHER.isPattern(destination)) {
+      throw new AccessDeniedException("Not allowed to subscribe to " + destination);
+    }
+
+    Matcher gameTopic = GAME_TOPIC.matcher(destination);
+    if (gameTopic.matches() && !canSubscribeToGameTopic(user.getName(), gameTopic.group(1),
+        Objects.requireNonNullElse(gameTopic.group(2), ""))) {
+      throw new AccessDeniedException("Not allowed to subscribe to " + destination);
+    }
+  }
+
+  private boolean canSubscribeToGameTopic(String userID, String gameSessionId, String topic) {
+    try {
+      Matcher roleTopic = ROLE_TOPIC.matcher(topic);
+      if (roleTopic.matches()) {
+        return membershipIndex.isUserInGameRoleState(UUID.fromString(roleTopic.group(1)), userID);
+      }
+
+      Matcher userTopic = USER_TOPIC.matcher(topic);
+      if (userTopic.matches() && !userTopic.group(1).equals(userID)) {
+        return false;
+      }
+
+      return !SESSION_DELTA_TOPIC.equals(topic)
+          && membershipIndex.isUserInGameSession(UUID.fromString(gameSessionId), userID);
+    } catch (IllegalArgumentException | EntityNotFoundException e) {
+      // Not an ID, or nothing with that ID exists, so nothing will ever be sent there
+      return false;
+    }
+  }
+
+  private static boolean isAdmin(Principal user) {
+    return user instanceof Authentication authentication && authentication.getAuthorities()
+        .stream()
+        .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+  }
 }
\ No newline at end of file
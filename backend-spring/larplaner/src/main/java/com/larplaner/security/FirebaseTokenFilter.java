@@ -21,6 +21,8 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
 
   public static final String BEARER_TOKEN = "Bearer ";
 
+  private final FirebaseAuthenticationService firebaseAuthenticationService;
+
   @Override
   protected void doFilterInternal(HttpServletRequest request,
       HttpServletResponse response,
@@ -36,7 +38,7 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
     String idToken = header.substring(BEARER_TOKEN.length());
 
     try {
-      Authentication authentication = FirebaseAuthenticationService.getAuthentication(idToken);
+      Authentication authentication = firebaseAuthenticationService.getAuthentication(idToken);
       SecurityContextHolder.getContext().setAuthentication(authentication);
     } catch (FirebaseAuthException e) {
       response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
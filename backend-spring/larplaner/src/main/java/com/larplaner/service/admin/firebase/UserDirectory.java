@@ -0,0 +1,25 @@
+package com.larplaner.service.admin.firebase;
+
+import com.google.firebase.auth.UserInfo;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of registered users. The Firebase implementation is used unless
+ * {@code larplaner.users.directory=in-memory} selects the local stand-in.
+ */
+public interface UserDirectory {
+
+  /**
+   * @return UIDs keyed by the requested email. Emails without a registered user are left out.
+   */
+  Map<String, String> findUserIDsByEmails(Collection<String> emails);
+
+  /**
+   * @throws jakarta.persistence.EntityNotFoundException if there is no user with the UID
+   */
+  UserInfo getUserInfoById(String uid);
+
+  List<String> getAllUserEmails();
+}
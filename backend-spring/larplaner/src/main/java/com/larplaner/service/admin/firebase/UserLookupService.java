@@ -1,58 +1,47 @@
 package com.larplaner.service.admin.firebase;
 
-import com.google.firebase.auth.ExportedUserRecord;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.ListUsersPage;
 import com.google.firebase.auth.UserInfo;
-import com.google.firebase.auth.UserRecord;
 import com.larplaner.exception.firebase.UserEmailWasNotRegistered;
-import jakarta.persistence.EntityNotFoundException;
-import java.nio.file.attribute.UserPrincipalNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class UserLookupService {
 
-  public Map<String, String> getUserIDsByEmails(Collection<String> emails) {
-    Map<String, String> emailToUidMap = new HashMap<>();
+  private final UserDirectory userDirectory;
+  private final MeterRegistry meterRegistry;
 
-    for (String email : emails) {
-      try {
-        emailToUidMap.put(email, getUserIDByEmail(email));
-      } catch (Exception e) {
-        emailToUidMap.put(email, "");
-      }
-    }
+  /**
+   * @return UIDs keyed by email, with an empty string for emails that are not registered
+   */
+  public Map<String, String> getUserIDsByEmails(Collection<String> emails) {
+    Map<String, String> emailToUidMap = new HashMap<>(
+        timed("find_user_ids", () -> userDirectory.findUserIDsByEmails(emails)));
+    emails.forEach(email -> emailToUidMap.putIfAbsent(email, ""));
 
     return emailToUidMap;
   }
 
   public String getUserIDByEmail(String email) {
-    FirebaseAuth auth = FirebaseAuth.getInstance();
-    try {
-      UserRecord userRecord = auth.getUserByEmail(email);
-      log.debug("Found UID for email {}: {}", email, userRecord.getUid());
-
-      return userRecord.getUid();
-    } catch (FirebaseAuthException e) {
-      if (e.getErrorCode().name().equals("auth/user-not-found")) {
-        log.error("No user found for email: {}", email);
-        throw new UserEmailWasNotRegistered("No user found for email: " + email);
-      } else {
-        log.error("Error fetching user by email {}: {}", email, e.getMessage());
-        throw new RuntimeException(
-            String.format("Error fetching user by email %s: %s", email, e.getMessage()));
-      }
+    String userID = timed("find_user_id",
+        () -> userDirectory.findUserIDsByEmails(List.of(email))).get(email);
+    if (userID == null) {
+      log.error("No user found for email: {}", email);
+      throw new UserEmailWasNotRegistered("No user found for email: " + email);
     }
+
+    log.debug("Found UID for email {}: {}", email, userID);
+    return userID;
   }
 
   /**
@@ -63,44 +52,26 @@ public class UserLookupService {
    * @throws RuntimeException if there is an error communicating with Firebase.
    */
   public List<String> getAllUserEmails() {
-    log.info("Fetching all user emails from Firebase...");
-    try {
-      // listUsersAsync() returns an ApiFuture, which we can get() to block
-      // and wait for the result. iterateAll() handles fetching all pages.
-      FirebaseAuth firebaseAuth = FirebaseAuth.getInstance();
-      ListUsersPage page = firebaseAuth.listUsers(null);
-      Iterable<ExportedUserRecord> userRecords = page.iterateAll();
-
-      // Use Java Streams to map UserRecord to email and collect to a list
-      List<String> emails = StreamSupport.stream(userRecords.spliterator(), false)
-          .map(UserRecord::getEmail)
-          .collect(Collectors.toList());
-
-      log.info("Successfully fetched {} user emails.", emails.size());
-      return emails;
-
-    } catch (FirebaseAuthException e) {
-      log.error("Error listing users from Firebase", e);
-      throw new RuntimeException("Failed to retrieve users from Firebase.", e);
-    }
+    return timed("get_all_user_emails", userDirectory::getAllUserEmails);
   }
 
   public UserInfo getUserInfoById(String uid) {
-    FirebaseAuth auth = FirebaseAuth.getInstance();
-    try {
-      UserRecord userRecord = auth.getUser(uid);
-      log.debug("Found user {} for uid: {}", userRecord, userRecord.getUid());
+    return timed("get_user_info", () -> userDirectory.getUserInfoById(uid));
+  }
 
-      return userRecord;
-    } catch (FirebaseAuthException e) {
-      if (e.getErrorCode().name().equals("auth/user-not-found")) {
-        log.error("No user found for uid: {}", uid);
-        throw new EntityNotFoundException("No user found for uid: " + uid);
-      } else {
-        log.error("Error fetching user by uid {}: {}", uid, e.getMessage());
-        throw new RuntimeException(
-            String.format("Error fetching user by uid %s: %s", uid, e.getMessage()));
-      }
+  private <T> T timed(String operation, Supplier<T> lookup) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "error";
+    try {
+      T result = lookup.get();
+      outcome = "success";
+      return result;
+    } finally {
+      sample.stop(Timer.builder("larplaner.users.lookup")
+          .description("Time to look users up in the user directory")
+          .tag("operation", operation)
+          .tag("outcome", outcome)
+          .register(meterRegistry));
     }
   }
 }
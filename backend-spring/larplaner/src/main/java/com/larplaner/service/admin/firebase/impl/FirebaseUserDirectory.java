@@ -0,0 +1,223 @@
+package com.larplaner.service.admin.firebase.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.EmailIdentifier;
+import com.google.firebase.auth.ExportedUserRecord;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.GetUsersResult;
+import com.google.firebase.auth.ListUsersPage;
+import com.google.firebase.auth.UserIdentifier;
+import com.google.firebase.auth.UserInfo;
+import com.google.firebase.auth.UserRecord;
+import com.larplaner.service.admin.firebase.UserDirectory;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link UserDirectory} backed by Firebase Authentication. Emails are resolved with the batch
+ * {@code getUsers} lookup, in chunks of at most {@value #MAX_IDENTIFIERS_PER_REQUEST}, running at
+ * most {@code max-concurrent-requests} chunks at a time. Resolved users are cached for a short time,
+ * so resolving the same emails again (e.g. when activating an event) doesn't call Firebase.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "larplaner.users.directory", havingValue = "firebase",
+    matchIfMissing = true)
+public class FirebaseUserDirectory implements UserDirectory {
+
+  /**
+   * Limit of identifiers per {@link FirebaseAuth#getUsers} call.
+   */
+  static final int MAX_IDENTIFIERS_PER_REQUEST = 100;
+
+  private final Supplier<FirebaseAuth> firebaseAuth;
+  private final Cache<String, String> userIDsByEmail;
+  private final Cache<String, UserInfo> usersById;
+  private final ExecutorService executor;
+
+  @Autowired
+  public FirebaseUserDirectory(
+      @Value("${larplaner.users.cache.ttl-minutes:10}") long ttlMinutes,
+      @Value("${larplaner.users.cache.max-size:10000}") long maxSize,
+      @Value("${larplaner.users.max-concurrent-requests:4}") int maxConcurrentRequests) {
+    this(FirebaseAuth::getInstance, Ticker.systemTicker(), ttlMinutes, maxSize,
+        maxConcurrentRequests);
+  }
+
+  /**
+   * @param ticker time source of the cache expiry
+   */
+  FirebaseUserDirectory(Supplier<FirebaseAuth> firebaseAuth, Ticker ticker, long ttlMinutes,
+      long maxSize, int maxConcurrentRequests) {
+    this.firebaseAuth = firebaseAuth;
+    this.userIDsByEmail = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+        .maximumSize(maxSize)
+        .ticker(ticker)
+        .build();
+    this.usersById = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+        .maximumSize(maxSize)
+        .ticker(ticker)
+        .build();
+
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(maxConcurrentRequests, runnable -> {
+      Thread thread = new Thread(runnable, "firebase-user-lookup-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public Map<String, String> findUserIDsByEmails(Collection<String> emails) {
+    Map<String, String> userIDs = new HashMap<>();
+    // Firebase stores emails in lower case, requested emails may not be
+    Map<String, List<String>> uncachedEmails = new HashMap<>();
+
+    for (String email : emails) {
+      String userID = userIDsByEmail.getIfPresent(normalize(email));
+      if (Objects.nonNull(userID)) {
+        userIDs.put(email, userID);
+      } else {
+        uncachedEmails.computeIfAbsent(normalize(email), key -> new ArrayList<>()).add(email);
+      }
+    }
+
+    if (uncachedEmails.isEmpty()) {
+      return userIDs;
+    }
+
+    List<String> emailsToFetch = new ArrayList<>(uncachedEmails.keySet());
+    List<CompletableFuture<GetUsersResult>> requests = new ArrayList<>();
+    for (int i = 0; i < emailsToFetch.size(); i += MAX_IDENTIFIERS_PER_REQUEST) {
+      List<String> chunk = emailsToFetch.subList(i,
+          Math.min(i + MAX_IDENTIFIERS_PER_REQUEST, emailsToFetch.size()));
+      requests.add(CompletableFuture.supplyAsync(() -> getUsers(chunk), executor));
+    }
+
+    for (CompletableFuture<GetUsersResult> request : requests) {
+      for (UserRecord userRecord : join(request).getUsers()) {
+        cache(userRecord);
+        uncachedEmails.getOrDefault(normalize(userRecord.getEmail()), List.of())
+            .forEach(email -> userIDs.put(email, userRecord.getUid()));
+      }
+    }
+
+    log.debug("Resolved {} of {} emails, {} from Firebase", userIDs.size(), emails.size(),
+        emailsToFetch.size());
+    return userIDs;
+  }
+
+  @Override
+  public UserInfo getUserInfoById(String uid) {
+    UserInfo cached = usersById.getIfPresent(uid);
+    if (Objects.nonNull(cached)) {
+      return cached;
+    }
+
+    try {
+      UserRecord userRecord = firebaseAuth.get().getUser(uid);
+      log.debug("Found user {} for uid: {}", userRecord, userRecord.getUid());
+      cache(userRecord);
+
+      return userRecord;
+    } catch (FirebaseAuthException e) {
+      if (e.getAuthErrorCode() == AuthErrorCode.USER_NOT_FOUND) {
+        log.error("No user found for uid: {}", uid);
+        throw new EntityNotFoundException("No user found for uid: " + uid);
+      } else {
+        log.error("Error fetching user by uid {}: {}", uid, e.getMessage());
+        throw new RuntimeException(
+            String.format("Error fetching user by uid %s: %s", uid, e.getMessage()));
+      }
+    }
+  }
+
+  @Override
+  public List<String> getAllUserEmails() {
+    log.info("Fetching all user emails from Firebase...");
+    try {
+      // iterateAll() handles fetching all pages
+      ListUsersPage page = firebaseAuth.get().listUsers(null);
+      Iterable<ExportedUserRecord> userRecords = page.iterateAll();
+
+      List<String> emails = StreamSupport.stream(userRecords.spliterator(), false)
+          .peek(this::cache)
+          .map(UserRecord::getEmail)
+          .collect(Collectors.toList());
+
+      log.info("Successfully fetched {} user emails.", emails.size());
+      return emails;
+
+    } catch (FirebaseAuthException e) {
+      log.error("Error listing users from Firebase", e);
+      throw new RuntimeException("Failed to retrieve users from Firebase.", e);
+    }
+  }
+
+  private GetUsersResult getUsers(List<String> emails) {
+    List<UserIdentifier> identifiers = emails.stream()
+        .map(email -> (UserIdentifier) new EmailIdentifier(email))
+        .toList();
+    try {
+      return firebaseAuth.get().getUsers(identifiers);
+    } catch (FirebaseAuthException e) {
+      log.error("Error fetching {} users by email: {}", emails.size(), e.getMessage());
+      throw new RuntimeException(
+          String.format("Error fetching users by email: %s", e.getMessage()), e);
+    }
+  }
+
+  private void cache(UserRecord userRecord) {
+    usersById.put(userRecord.getUid(), userRecord);
+    if (Objects.nonNull(userRecord.getEmail())) {
+      userIDsByEmail.put(normalize(userRecord.getEmail()), userRecord.getUid());
+    }
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  private static String normalize(String email) {
+    return email.toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,100 @@
+package com.larplaner.service.admin.firebase.impl;
+
+import com.google.firebase.auth.UserInfo;
+import com.larplaner.service.admin.firebase.UserDirectory;
+import jakarta.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in for Firebase, for tests and local runs without a Firebase project. Users can be
+ * registered up front; with {@code larplaner.users.in-memory.auto-register} (on by default) any
+ * unknown email is registered on first lookup with a UID derived from the email.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "larplaner.users.directory", havingValue = "in-memory")
+public class InMemoryUserDirectory implements UserDirectory {
+
+  private final Map<String, LocalUserInfo> usersByEmail = new ConcurrentHashMap<>();
+  private final Map<String, LocalUserInfo> usersById = new ConcurrentHashMap<>();
+  private final boolean autoRegister;
+
+  public InMemoryUserDirectory(
+      @Value("${larplaner.users.in-memory.auto-register:true}") boolean autoRegister) {
+    this.autoRegister = autoRegister;
+    log.warn("Using in-memory user directory, users are not looked up in Firebase");
+  }
+
+  public UserInfo register(String uid, String email) {
+    LocalUserInfo user = new LocalUserInfo(uid, email, email, null, null, "local");
+    usersByEmail.put(normalize(email), user);
+    usersById.put(uid, user);
+    return user;
+  }
+
+  @Override
+  public Map<String, String> findUserIDsByEmails(Collection<String> emails) {
+    Map<String, String> userIDs = new HashMap<>();
+    for (String email : emails) {
+      LocalUserInfo user = usersByEmail.get(normalize(email));
+      if (Objects.isNull(user) && autoRegister) {
+        user = (LocalUserInfo) register(userIdFor(email), email);
+      }
+      if (Objects.nonNull(user)) {
+        userIDs.put(email, user.getUid());
+      }
+    }
+    return userIDs;
+  }
+
+  @Override
+  public UserInfo getUserInfoById(String uid) {
+    LocalUserInfo user = usersById.get(uid);
+    if (Objects.isNull(user)) {
+      throw new EntityNotFoundException("No user found for uid: " + uid);
+    }
+    return user;
+  }
+
+  @Override
+  public List<String> getAllUserEmails() {
+    return usersById.values().stream().map(LocalUserInfo::getEmail).toList();
+  }
+
+  /**
+   * Deterministic, so the same email gets the same UID across restarts.
+   */
+  public static String userIdFor(String email) {
+    return UUID.nameUUIDFromBytes(normalize(email).getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  private static String normalize(String email) {
+    return email.toLowerCase(Locale.ROOT);
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static class LocalUserInfo implements UserInfo {
+
+    private final String uid;
+    private final String displayName;
+    private final String email;
+    private final String phoneNumber;
+    private final String photoUrl;
+    private final String providerId;
+  }
+}
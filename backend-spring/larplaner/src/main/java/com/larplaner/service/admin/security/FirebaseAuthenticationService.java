@@ -1,17 +1,77 @@
 package com.larplaner.service.admin.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
 import com.larplaner.security.FirebaseAuthenticationToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
 
+/**
+ * Verifies Firebase ID tokens. Verified tokens are cached (keyed by a SHA-256 hash of the token)
+ * until their {@code exp} claim, so repeated requests with the same token skip signature
+ * verification and claim parsing. Failed verifications are never cached.
+ */
+@Slf4j
+@Service
 public class FirebaseAuthenticationService {
 
+  private static final String CACHE_NAME = "firebase.token.cache";
+
+  private final Supplier<FirebaseAuth> firebaseAuth;
+  private final Cache<String, FirebaseAuthenticationToken> verifiedTokens;
+  private final MeterRegistry meterRegistry;
+
+  @Autowired
+  public FirebaseAuthenticationService(
+      @Value("${larplaner.security.token-cache.max-size:10000}") long maxSize,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this(FirebaseAuth::getInstance, Clock.systemUTC(), Ticker.systemTicker(), maxSize,
+        meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+  }
+
+  /**
+   * @param clock  compared with the {@code exp} claim of a token when it is cached
+   * @param ticker time source of the cache expiry
+   */
+  FirebaseAuthenticationService(Supplier<FirebaseAuth> firebaseAuth, Clock clock, Ticker ticker,
+      long maxSize, MeterRegistry meterRegistry) {
+    this.firebaseAuth = firebaseAuth;
+    this.verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new TokenExpiry(clock))
+        .ticker(ticker)
+        .recordStats()
+        .build();
+    this.meterRegistry = meterRegistry;
+    CaffeineCacheMetrics.monitor(this.meterRegistry, verifiedTokens, CACHE_NAME);
+  }
+
   /**
    * Parses a Firebase ID token and returns a Spring Security Authentication object.
    *
@@ -19,8 +79,35 @@ public class FirebaseAuthenticationService {
    * @return A populated FirebaseAuthenticationToken.
    * @throws FirebaseAuthException if the token is invalid.
    */
-  public static Authentication getAuthentication(String idToken) throws FirebaseAuthException {
-    FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
+  public Authentication getAuthentication(String idToken) throws FirebaseAuthException {
+    String key = hash(idToken);
+    FirebaseAuthenticationToken cached = verifiedTokens.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "invalid";
+    FirebaseAuthenticationToken authentication;
+    try {
+      authentication = verify(idToken);
+      outcome = "valid";
+    } finally {
+      sample.stop(Timer.builder("larplaner.auth.token.verification")
+          .description("Time to verify a Firebase ID token that was not cached")
+          .tag("outcome", outcome)
+          .register(meterRegistry));
+    }
+    verifiedTokens.put(key, authentication);
+    return authentication;
+  }
+
+  public CacheStats getCacheStats() {
+    return verifiedTokens.stats();
+  }
+
+  private FirebaseAuthenticationToken verify(String idToken) throws FirebaseAuthException {
+    FirebaseToken decodedToken = firebaseAuth.get().verifyIdToken(idToken);
 
     List<GrantedAuthority> authorities = new ArrayList<>();
     authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
@@ -30,4 +117,47 @@ public class FirebaseAuthenticationService {
 
     return new FirebaseAuthenticationToken(decodedToken, authorities);
   }
-}
\ No newline at end of file
+
+  private static String hash(String idToken) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(idToken.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Keeps a verified token until its {@code exp} claim, independent of how often it is read.
+   */
+  @RequiredArgsConstructor
+  private static class TokenExpiry implements Expiry<String, FirebaseAuthenticationToken> {
+
+    private final Clock clock;
+
+    @Override
+    public long expireAfterCreate(String key, FirebaseAuthenticationToken authentication,
+        long currentTime) {
+      Object exp = authentication.getPrincipal().getClaims().get("exp");
+      if (!(exp instanceof Number expiresAtSeconds)) {
+        return 0;
+      }
+
+      long remainingMillis = expiresAtSeconds.longValue() * 1000 - clock.millis();
+      return Duration.ofMillis(Math.max(remainingMillis, 0)).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, FirebaseAuthenticationToken authentication,
+        long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(String key, FirebaseAuthenticationToken authentication,
+        long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package com.larplaner.service.admin.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.larplaner.repository.event.EventRepository;
+import com.larplaner.repository.game.GameRoleStateRepository;
+import com.larplaner.repository.game.GameSessionRepository;
+import com.larplaner.repository.role.RoleRepository;
+import com.larplaner.repository.scenario.ScenarioRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Who may access what, for {@link SecurityService}. Members of a game session (UIDs) and of an
+ * event, scenario or role (assigned emails) are loaded with one projection query the first time they
+ * are needed and kept until the services that change them call one of the {@code invalidate}
+ * methods. Entries also expire after {@code larplaner.security.membership-index.ttl-minutes}, as a
+ * bound on staleness if a change bypasses the services.
+ */
+@Component
+public class MembershipIndex {
+
+  private final EventRepository eventRepository;
+  private final GameSessionRepository gameSessionRepository;
+  private final GameRoleStateRepository gameRoleStateRepository;
+  private final RoleRepository roleRepository;
+  private final ScenarioRepository scenarioRepository;
+
+  private final Cache<UUID, Set<String>> userIDsByGameSessionId;
+  private final Cache<UUID, Optional<String>> userIDByGameRoleStateId;
+  private final Cache<UUID, Set<String>> emailsByEventId;
+  private final Cache<UUID, Set<String>> emailsByScenarioId;
+  private final Cache<UUID, Set<String>> emailsByRoleId;
+
+  /**
+   * Incremented by every invalidation, so a value loaded while one ran is not cached.
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  public MembershipIndex(EventRepository eventRepository,
+      GameSessionRepository gameSessionRepository,
+      GameRoleStateRepository gameRoleStateRepository,
+      RoleRepository roleRepository,
+      ScenarioRepository scenarioRepository,
+      @Value("${larplaner.security.membership-index.ttl-minutes:30}") long ttlMinutes,
+      @Value("${larplaner.security.membership-index.max-size:10000}") long maxSize) {
+    this.eventRepository = eventRepository;
+    this.gameSessionRepository = gameSessionRepository;
+    this.gameRoleStateRepository = gameRoleStateRepository;
+    this.roleRepository = roleRepository;
+    this.scenarioRepository = scenarioRepository;
+
+    this.userIDsByGameSessionId = newCache(ttlMinutes, maxSize);
+    this.userIDByGameRoleStateId = newCache(ttlMinutes, maxSize);
+    this.emailsByEventId = newCache(ttlMinutes, maxSize);
+    this.emailsByScenarioId = newCache(ttlMinutes, maxSize);
+    this.emailsByRoleId = newCache(ttlMinutes, maxSize);
+  }
+
+  /**
+   * @throws EntityNotFoundException if the game session doesn't exist
+   */
+  public boolean isUserInGameSession(UUID gameSessionId, String userID) {
+    return get(userIDsByGameSessionId, gameSessionId, id -> load(
+        gameRoleStateRepository.findAssignedUserIDsByGameSessionId(id),
+        () -> gameSessionRepository.existsById(id))).contains(userID);
+  }
+
+  /**
+   * @throws EntityNotFoundException if the game role state doesn't exist
+   */
+  public boolean isUserInGameRoleState(UUID gameRoleStateId, String userID) {
+    return get(userIDByGameRoleStateId, gameRoleStateId, id -> {
+      Optional<String> assignedUserID = gameRoleStateRepository.findAssignedUserIDById(id);
+      if (assignedUserID.isEmpty() && !gameRoleStateRepository.existsById(id)) {
+        throw new EntityNotFoundException();
+      }
+      return assignedUserID;
+    }).filter(assignedUserID -> assignedUserID.equals(userID)).isPresent();
+  }
+
+  /**
+   * @throws EntityNotFoundException if the event doesn't exist
+   */
+  public boolean isEmailInEvent(UUID eventId, String email) {
+    return get(emailsByEventId, eventId, id -> load(
+        eventRepository.findAssignedEmailsByEventId(id),
+        () -> eventRepository.existsById(id))).contains(email);
+  }
+
+  /**
+   * @return whether the email is assigned to any event of the scenario
+   * @throws EntityNotFoundException if the scenario doesn't exist
+   */
+  public boolean isEmailInScenario(UUID scenarioId, String email) {
+    return get(emailsByScenarioId, scenarioId, id -> load(
+        eventRepository.findAssignedEmailsByScenarioId(id),
+        () -> scenarioRepository.existsById(id))).contains(email);
+  }
+
+  /**
+   * @return whether the email is assigned to any event whose scenario contains the role
+   * @throws EntityNotFoundException if the role doesn't exist
+   */
+  public boolean isEmailInRole(UUID roleId, String email) {
+    return get(emailsByRoleId, roleId, id -> load(
+        eventRepository.findAssignedEmailsByRoleId(id),
+        () -> roleRepository.existsById(id))).contains(email);
+  }
+
+  /**
+   * Call when an event is created, deleted or its assigned emails change.
+   */
+  public void invalidateEvent(UUID eventId) {
+    afterCommit(() -> {
+      generation.incrementAndGet();
+      emailsByEventId.invalidate(eventId);
+      // scenario and role membership is derived from every event's assignments
+      emailsByScenarioId.invalidateAll();
+      emailsByRoleId.invalidateAll();
+    });
+  }
+
+  /**
+   * Call when a scenario's roles change. Events whose assignments were changed with it have to be
+   * invalidated separately.
+   */
+  public void invalidateScenario(UUID scenarioId) {
+    afterCommit(() -> {
+      generation.incrementAndGet();
+      emailsByScenarioId.invalidate(scenarioId);
+      emailsByRoleId.invalidateAll();
+    });
+  }
+
+  public void invalidateGameSession(UUID gameSessionId) {
+    afterCommit(() -> {
+      generation.incrementAndGet();
+      userIDsByGameSessionId.invalidate(gameSessionId);
+      userIDByGameRoleStateId.invalidateAll();
+    });
+  }
+
+  /**
+   * Like {@link Cache#get(Object, Function)}, but the query runs outside of the cache's compute,
+   * which holds a monitor while the mapping function runs and would pin a virtual thread to its
+   * carrier for the whole round-trip. Concurrent misses of the same key may both query.
+   */
+  private <V> V get(Cache<UUID, V> cache, UUID key, Function<UUID, V> loader) {
+    V cached = cache.getIfPresent(key);
+    if (Objects.nonNull(cached)) {
+      return cached;
+    }
+
+    long loadedGeneration = generation.get();
+    V loaded = loader.apply(key);
+    // invalidations increment the generation before removing entries, so either this sees the new
+    // generation or the invalidation removes what is put here
+    cache.asMap().compute(key, (id, current) ->
+        generation.get() == loadedGeneration ? loaded : current);
+    return loaded;
+  }
+
+  private static Set<String> load(Collection<String> members, BooleanSupplier exists) {
+    if (members.isEmpty() && !exists.getAsBoolean()) {
+      throw new EntityNotFoundException();
+    }
+    return members.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+  }
+
+  /**
+   * Invalidating before the transaction commits would let a concurrent check cache the old
+   * membership again.
+   */
+  private static void afterCommit(Runnable invalidation) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidation.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        invalidation.run();
+      }
+    });
+  }
+
+  private static <V> Cache<UUID, V> newCache(long ttlMinutes, long maxSize) {
+    return Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+        .maximumSize(maxSize)
+        .build();
+  }
+}
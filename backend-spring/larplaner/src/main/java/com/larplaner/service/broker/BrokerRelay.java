@@ -0,0 +1,23 @@
+package com.larplaner.service.broker;
+
+import java.util.function.Consumer;
+
+/**
+ * Pub/sub between backend nodes for STOMP messages, so a message sent on one node reaches
+ * subscribers connected to any node. Selected with {@code larplaner.websocket.relay}:
+ * {@code postgres} for {@code LISTEN/NOTIFY} on the application database, {@code in-memory} for the
+ * stand-in used by tests. Without it, the simple broker only reaches subscribers of this node.
+ */
+public interface BrokerRelay {
+
+  /**
+   * Sends the message to every node, including this one.
+   */
+  void publish(BrokerRelayMessage message);
+
+  /**
+   * Registers a listener for messages published by any node. Listeners are called on a thread of
+   * the relay, one message at a time, in the order the messages were published by each node.
+   */
+  void subscribe(Consumer<BrokerRelayMessage> listener);
+}
@@ -0,0 +1,112 @@
+package com.larplaner.service.broker;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+/**
+ * Connects the broker channel of this node to the {@link BrokerRelay}, if one is configured. Messages
+ * the application sends to {@code /topic} or to a user destination are published to the relay;
+ * messages other nodes published are sent to the local broker, which delivers them to the
+ * subscribers connected to this node. User destinations are relayed before they are resolved, since
+ * only the node a user is connected to knows the user's sessions.
+ * <p>
+ * Game sessions are kept in memory by the node that loads them, so requests of one session still
+ * have to be routed to the same node.
+ */
+@Slf4j
+@Component
+public class BrokerRelayBridge implements ChannelInterceptor {
+
+  /**
+   * Marks messages received from the relay, so they are not published again.
+   */
+  static final String RELAYED_FROM_HEADER = "larplanerRelayedFrom";
+
+  private static final List<String> RELAYED_PREFIXES = List.of("/topic/", "/user/");
+
+  private final BrokerRelay brokerRelay;
+  private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  public BrokerRelayBridge(ObjectProvider<BrokerRelay> brokerRelay,
+      ObjectProvider<SimpMessagingTemplate> messagingTemplate) {
+    this.brokerRelay = brokerRelay.getIfAvailable();
+    this.messagingTemplate = messagingTemplate;
+
+    if (Objects.nonNull(this.brokerRelay)) {
+      log.info("Relaying broker messages through {} as node {}",
+          this.brokerRelay.getClass().getSimpleName(), nodeId);
+      this.brokerRelay.subscribe(this::receive);
+    }
+  }
+
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    if (Objects.nonNull(brokerRelay) && isRelayed(message)) {
+      try {
+        brokerRelay.publish(toRelayMessage(message));
+      } catch (Exception e) {
+        log.error("Could not relay message to {}",
+            SimpMessageHeaderAccessor.getDestination(message.getHeaders()), e);
+      }
+    }
+    return message;
+  }
+
+  private boolean isRelayed(Message<?> message) {
+    String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    return SimpMessageType.MESSAGE.equals(
+        SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))
+        && Objects.nonNull(destination)
+        && RELAYED_PREFIXES.stream().anyMatch(destination::startsWith)
+        && !message.getHeaders().containsKey(RELAYED_FROM_HEADER)
+        // resolved copy of a user destination, the unresolved one is relayed
+        && !message.getHeaders().containsKey(SimpMessageHeaderAccessor.ORIGINAL_DESTINATION)
+        && (message.getPayload() instanceof byte[] || message.getPayload() instanceof String);
+  }
+
+  private BrokerRelayMessage toRelayMessage(Message<?> message) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+    byte[] payload = message.getPayload() instanceof String text
+        ? text.getBytes(StandardCharsets.UTF_8)
+        : (byte[]) message.getPayload();
+    MimeType contentType = accessor.getContentType();
+
+    return new BrokerRelayMessage(nodeId, accessor.getDestination(),
+        Objects.nonNull(contentType) ? contentType.toString() : null, payload);
+  }
+
+  private void receive(BrokerRelayMessage relayMessage) {
+    if (nodeId.equals(relayMessage.origin())) {
+      return;
+    }
+
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    accessor.setDestination(relayMessage.destination());
+    if (Objects.nonNull(relayMessage.contentType())) {
+      accessor.setContentType(MimeType.valueOf(relayMessage.contentType()));
+    }
+    accessor.setHeader(RELAYED_FROM_HEADER, relayMessage.origin());
+    accessor.setLeaveMutable(true);
+
+    try {
+      messagingTemplate.getObject().send(relayMessage.destination(),
+          MessageBuilder.createMessage(relayMessage.payload(), accessor.getMessageHeaders()));
+    } catch (Exception e) {
+      log.error("Could not deliver message relayed to {}", relayMessage.destination(), e);
+    }
+  }
+}
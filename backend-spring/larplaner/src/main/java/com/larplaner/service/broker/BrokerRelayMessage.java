@@ -0,0 +1,12 @@
+package com.larplaner.service.broker;
+
+/**
+ * A broker message as it is passed between nodes.
+ *
+ * @param origin      ID of the node that published the message
+ * @param contentType MIME type of the payload, may be null
+ */
+public record BrokerRelayMessage(String origin, String destination, String contentType,
+                                 byte[] payload) {
+
+}
@@ -0,0 +1,67 @@
+package com.larplaner.service.broker.impl;
+
+import com.larplaner.service.broker.BrokerRelay;
+import com.larplaner.service.broker.BrokerRelayMessage;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in for an external relay, for tests. Every instance in the JVM acts as a node: a
+ * message published by one is delivered to the listeners of all of them, each on its own thread,
+ * so several application contexts (or hand-made instances) can talk to each other.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "larplaner.websocket.relay", havingValue = "in-memory")
+public class InMemoryBrokerRelay implements BrokerRelay {
+
+  private static final Set<InMemoryBrokerRelay> NODES = new CopyOnWriteArraySet<>();
+
+  private final List<Consumer<BrokerRelayMessage>> listeners = new CopyOnWriteArrayList<>();
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "in-memory-broker-relay");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public InMemoryBrokerRelay() {
+    NODES.add(this);
+    log.warn("Using in-memory broker relay, messages only reach nodes in this JVM");
+  }
+
+  @PreDestroy
+  public void stop() {
+    NODES.remove(this);
+    executor.shutdownNow();
+  }
+
+  @Override
+  public void publish(BrokerRelayMessage message) {
+    NODES.forEach(node -> node.deliver(message));
+  }
+
+  @Override
+  public void subscribe(Consumer<BrokerRelayMessage> listener) {
+    listeners.add(listener);
+  }
+
+  private void deliver(BrokerRelayMessage message) {
+    executor.execute(() -> listeners.forEach(listener -> {
+      try {
+        listener.accept(message);
+      } catch (Exception e) {
+        log.error("Relay listener failed for {}", message.destination(), e);
+      }
+    }));
+  }
+}
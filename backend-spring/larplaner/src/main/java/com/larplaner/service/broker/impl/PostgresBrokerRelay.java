@@ -0,0 +1,205 @@
+package com.larplaner.service.broker.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.larplaner.service.broker.BrokerRelay;
+import com.larplaner.service.broker.BrokerRelayMessage;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link BrokerRelay} over Postgres {@code LISTEN/NOTIFY} on the application database, so nodes
+ * need nothing but the database they already share. One pooled connection is held for listening.
+ * <p>
+ * A notification carries at most 8000 bytes, so larger messages are split into chunks that are sent
+ * in one transaction and joined again by the listeners.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "larplaner.websocket.relay", havingValue = "postgres")
+public class PostgresBrokerRelay implements BrokerRelay {
+
+  /**
+   * Characters of the encoded message per notification, leaving room for the chunk header.
+   */
+  static final int CHUNK_SIZE = 7800;
+
+  private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+  private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+  private final DataSource dataSource;
+  private final ObjectMapper objectMapper;
+  private final String channel;
+  private final int pollMillis;
+
+  private final List<Consumer<BrokerRelayMessage>> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Chunks of messages that have not been received completely yet, by message ID.
+   */
+  private final Cache<String, String[]> pendingChunks = Caffeine.newBuilder()
+      .expireAfterWrite(Duration.ofMinutes(1))
+      .build();
+
+  private final Thread listenerThread;
+  private volatile boolean running = true;
+
+  public PostgresBrokerRelay(DataSource dataSource, ObjectMapper objectMapper,
+      @Value("${larplaner.websocket.relay.postgres.channel:larplaner_broker}") String channel,
+      @Value("${larplaner.websocket.relay.postgres.poll-millis:500}") int pollMillis) {
+    if (!CHANNEL_NAME.matcher(channel).matches()) {
+      throw new IllegalArgumentException("Invalid notification channel name: " + channel);
+    }
+    this.dataSource = dataSource;
+    this.objectMapper = objectMapper;
+    this.channel = channel;
+    this.pollMillis = pollMillis;
+
+    this.listenerThread = new Thread(this::listen, "postgres-broker-relay");
+    this.listenerThread.setDaemon(true);
+    this.listenerThread.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    listenerThread.interrupt();
+  }
+
+  @Override
+  public void publish(BrokerRelayMessage message) {
+    String encoded = encode(message);
+    String messageId = UUID.randomUUID().toString();
+    int chunkCount = Math.max(1, (encoded.length() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(chunkCount == 1);
+      try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+        for (int i = 0; i < chunkCount; i++) {
+          String chunk = encoded.substring(i * CHUNK_SIZE,
+              Math.min(encoded.length(), (i + 1) * CHUNK_SIZE));
+          statement.setString(1, channel);
+          statement.setString(2, messageId + ":" + i + ":" + chunkCount + ":" + chunk);
+          statement.execute();
+        }
+      }
+      if (chunkCount > 1) {
+        connection.commit();
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not publish message to " + message.destination(), e);
+    }
+  }
+
+  @Override
+  public void subscribe(Consumer<BrokerRelayMessage> listener) {
+    listeners.add(listener);
+  }
+
+  private void listen() {
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + channel);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        log.info("Listening for broker messages on channel {}", channel);
+
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+          if (Objects.nonNull(notifications)) {
+            for (PGNotification notification : notifications) {
+              try {
+                receive(notification.getParameter());
+              } catch (RuntimeException e) {
+                log.error("Could not handle notification on channel {}", channel, e);
+              }
+            }
+          }
+        }
+      } catch (SQLException e) {
+        if (!running) {
+          return;
+        }
+        log.error("Listening on channel {} failed, reconnecting in {}", channel, RECONNECT_DELAY,
+            e);
+        try {
+          Thread.sleep(RECONNECT_DELAY.toMillis());
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void receive(String notification) {
+    String[] parts = notification.split(":", 4);
+    if (parts.length != 4) {
+      log.warn("Ignoring malformed notification on channel {}", channel);
+      return;
+    }
+
+    String encoded;
+    int chunkCount = Integer.parseInt(parts[2]);
+    if (chunkCount == 1) {
+      encoded = parts[3];
+    } else {
+      String[] chunks = pendingChunks.get(parts[0], id -> new String[chunkCount]);
+      chunks[Integer.parseInt(parts[1])] = parts[3];
+      for (String chunk : chunks) {
+        if (Objects.isNull(chunk)) {
+          return;
+        }
+      }
+      pendingChunks.invalidate(parts[0]);
+      encoded = String.join("", chunks);
+    }
+
+    BrokerRelayMessage message = decode(encoded);
+    for (Consumer<BrokerRelayMessage> listener : listeners) {
+      try {
+        listener.accept(message);
+      } catch (Exception e) {
+        log.error("Relay listener failed for {}", message.destination(), e);
+      }
+    }
+  }
+
+  private String encode(BrokerRelayMessage message) {
+    try {
+      return objectMapper.writeValueAsString(message);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private BrokerRelayMessage decode(String encoded) {
+    try {
+      return objectMapper.readValue(encoded, BrokerRelayMessage.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
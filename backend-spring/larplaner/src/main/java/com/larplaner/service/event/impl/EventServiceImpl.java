@@ -17,7 +17,9 @@ import com.larplaner.model.event.EventStatusEnum;
 import com.larplaner.repository.event.EventRepository;
 import com.larplaner.repository.game.GameSessionRepository;
 import com.larplaner.service.admin.firebase.UserLookupService;
+import com.larplaner.service.admin.security.MembershipIndex;
 import com.larplaner.service.event.EventService;
+import com.larplaner.service.game.engine.GameSessionEngine;
 import com.larplaner.service.game.impl.GameSessionServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.ZonedDateTime;
@@ -45,6 +47,8 @@ public class EventServiceImpl implements EventService {
   private final AssignedRoleMapper assignedRoleMapper;
   private final GameSessionRepository gameSessionRepository;
   private final GameSessionServiceImpl gameSessionService;
+  private final GameSessionEngine gameSessionEngine;
+  private final MembershipIndex membershipIndex;
 
   @Override
   public List<EventResponseDTO> getAllEvents() {
@@ -68,7 +72,10 @@ public class EventServiceImpl implements EventService {
         assignedRoleRequestDTO -> event.addAssignedRoleToEvent(
             assignedRoleMapper.toEntity(assignedRoleRequestDTO)));
 
-    return eventMapper.toDTO(eventRepository.save(event));
+    Event savedEvent = eventRepository.save(event);
+    membershipIndex.invalidateEvent(savedEvent.getId());
+
+    return eventMapper.toDTO(savedEvent);
   }
 
   @Override
@@ -86,7 +93,10 @@ public class EventServiceImpl implements EventService {
 
     eventMapper.updateEntityFromDTO(eventDTO, event);
     updateAssignedRoles(event, eventDTO);
-    return eventMapper.toDTO(eventRepository.save(event));
+    Event savedEvent = eventRepository.save(event);
+    membershipIndex.invalidateEvent(id);
+
+    return eventMapper.toDTO(savedEvent);
   }
 
   @Override
@@ -97,6 +107,7 @@ public class EventServiceImpl implements EventService {
 
     try {
       eventRepository.deleteById(id);
+      membershipIndex.invalidateEvent(id);
     } catch (DataIntegrityViolationException e) {
       var game = gameSessionRepository.findByEventId(id).orElseThrow(EntityNotFoundException::new);
       throw new EntityCouldNotBeDeleted(
@@ -144,6 +155,7 @@ public class EventServiceImpl implements EventService {
     //TODO: This is archiving game session for now, in the future more complex
     // operation might be required and this should be moved to game session service
     event.getGameSession().setEndTime(ZonedDateTime.now());
+    gameSessionEngine.close(event.getGameSession().getId());
 
     return eventRepository.save(event);
   }
@@ -156,9 +168,25 @@ public class EventServiceImpl implements EventService {
 
     checkIfAllEmailsAreValidInEvent(event);
 
-    gameSessionService.createGameSession(event);
+    var gameSession = gameSessionService.createGameSession(event);
     event.setStatus(EventStatusEnum.ACTIVE);
-    return eventRepository.save(event);
+    var savedEvent = eventRepository.save(event);
+
+    warmUpGameSession(gameSession.getId());
+    return savedEvent;
+  }
+
+  /**
+   * Loads the new game session into the engine, which compiles the scenario's actions and builds
+   * their {@link com.larplaner.service.game.engine.ActionTagIndex}, so the first actions of the
+   * game don't have to. A failure only means the session is loaded on first use instead.
+   */
+  private void warmUpGameSession(UUID gameSessionId) {
+    try {
+      gameSessionEngine.getSession(gameSessionId);
+    } catch (RuntimeException e) {
+      log.warn("Could not warm up game session {}", gameSessionId, e);
+    }
   }
 
   private void checkIfAllEmailsAreValidInEvent(Event event) {
@@ -3,15 +3,20 @@ package com.larplaner.service.game;
 import com.larplaner.dto.game.GameSessionDetailedResponseDTO;
 import com.larplaner.dto.game.action.GameActionRequestDTO;
 import com.larplaner.dto.game.actionLog.GameActionLogDetailedResponseDTO;
+import com.larplaner.dto.game.actionLog.GameActionLogPageResponseDTO;
 import com.larplaner.dto.game.actionLog.GameActionLogSummaryResponseDTO;
+import com.larplaner.dto.game.roleState.GameRoleStateAtResponseDTO;
 import com.larplaner.dto.game.roleState.GameRoleStateSummaryResponseDTO;
 import com.larplaner.dto.game.roleState.UpdateGameRoleStateRequestDTO;
 import com.larplaner.dto.scenario.action.ScenarioActionResponseDTO;
 import com.larplaner.dto.scenario.itemAction.ScenarioItemActionResponseDTO;
 import com.larplaner.model.event.Event;
 import com.larplaner.model.game.GameActionLog;
+import com.larplaner.service.game.readmodel.GameActionHistoryQuery;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface GameSessionService {
 
@@ -23,12 +28,23 @@ public interface GameSessionService {
 
   void deleteGameSession(UUID id);
 
-  List<GameActionLogSummaryResponseDTO> getAllGameHistory();
-
   GameActionLogSummaryResponseDTO getGameHistoryById(UUID id);
 
   List<GameActionLogDetailedResponseDTO> getGameHistoryByGameId(UUID gameId);
 
+  /**
+   * A query without a game session pages through the history of every session.
+   */
+  GameActionLogPageResponseDTO getGameHistoryPage(GameActionHistoryQuery query, String cursor,
+      int limit);
+
+  /**
+   * Passes every matching log to the consumer, newest first, without holding all of them in
+   * memory.
+   */
+  void exportGameHistory(GameActionHistoryQuery query,
+      Consumer<GameActionLogSummaryResponseDTO> consumer);
+
   List<GameActionLogSummaryResponseDTO> getUserGameHistoryByGameId(String userId, UUID gameId);
 
   List<GameActionLogSummaryResponseDTO> getUserGameHistoryByGameId(UUID gameId);
@@ -37,9 +53,17 @@ public interface GameSessionService {
 
   GameActionLogSummaryResponseDTO performAction(UUID id, GameActionRequestDTO actionRequestDTO);
 
+  List<GameActionLogSummaryResponseDTO> performActions(UUID id,
+      List<GameActionRequestDTO> actionRequestDTOs);
+
   GameSessionDetailedResponseDTO updateRoleState(UUID roleStateID,
       UpdateGameRoleStateRequestDTO requestDTO);
 
+  /**
+   * Tags the role had at the given time, rebuilt from the game session's snapshots and events.
+   */
+  GameRoleStateAtResponseDTO getRoleStateAt(UUID roleStateID, ZonedDateTime at);
+
   List<ScenarioActionResponseDTO> getAvailableActionsForUser(UUID gameSessionRoleId);
 
   List<ScenarioItemActionResponseDTO> getAvailableItemActionsForUser(UUID gameSessionRoleId,
@@ -0,0 +1,261 @@
+package com.larplaner.service.game.broadcast;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.larplaner.dto.game.delta.AvailableActionsDeltaDTO;
+import com.larplaner.service.game.engine.AppliedTagsExpiredEvent;
+import com.larplaner.service.game.engine.GameActionsPerformedEvent;
+import com.larplaner.service.game.engine.GameSessionEngine;
+import com.larplaner.service.game.engine.GameSessionEvictedEvent;
+import com.larplaner.service.game.engine.PerformedAction;
+import com.larplaner.service.game.engine.VisibleActions;
+import com.larplaner.service.game.metrics.GameMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes the changes of the actions a role can see to
+ * {@code /topic/game/{gameSessionId}/role/{gameRoleStateId}/actions}, so players don't have to poll
+ * the available actions. A role's visible actions are only computed again when its active tags
+ * change (an action it performed or an applied tag that expired) and only the actions referencing
+ * one of the changed tags are checked again. Only the added and removed action IDs are sent, as an
+ * {@link AvailableActionsDeltaDTO}. A new subscription gets a full delta. After an admin edit of
+ * the session's roles, the reloaded roles are compared to what was sent and get a delta as well;
+ * only a scenario change, which may remove actions, sends a resync marker.
+ * <p>
+ * Only roles that were subscribed to are computed. The last visible actions sent are kept per role
+ * for {@code retention-minutes} after their last use; after that, the role is not computed again
+ * until the next subscription.
+ */
+@Component
+@Slf4j
+public class AvailableActionsBroadcaster {
+
+  /**
+   * Groups: game session ID, game role state ID.
+   */
+  public static final Pattern DESTINATION = Pattern.compile(
+      "^/topic/game/([^/]+)/role/([^/]+)/actions$");
+
+  private final SimpMessagingTemplate messagingTemplate;
+  private final GameSessionEngine gameSessionEngine;
+  private final GameMetrics gameMetrics;
+
+  private final Cache<UUID, SentActions> sentActionsByRoleId;
+
+  /**
+   * Roles waiting to be computed again, and whether a full delta is required.
+   */
+  private final Map<UUID, Boolean> pendingRoleIds = new ConcurrentHashMap<>();
+
+  /**
+   * Single thread, so deltas of one role are sent in sequence order.
+   */
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "available-actions-broadcaster");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public AvailableActionsBroadcaster(SimpMessagingTemplate messagingTemplate,
+      GameSessionEngine gameSessionEngine,
+      GameMetrics gameMetrics,
+      @Value("${larplaner.game.available-actions.retention-minutes:60}") long retentionMinutes) {
+    this.messagingTemplate = messagingTemplate;
+    this.gameSessionEngine = gameSessionEngine;
+    this.gameMetrics = gameMetrics;
+    this.sentActionsByRoleId = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(retentionMinutes))
+        .build();
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
+  }
+
+  @EventListener
+  public void onSubscribed(AvailableActionsSubscribedEvent event) {
+    enqueue(event.getGameRoleStateId(), true);
+  }
+
+  @EventListener
+  public void onActionsPerformed(GameActionsPerformedEvent event) {
+    event.getPerformedActions().stream()
+        .filter(performedAction -> !performedAction.getRemovedTagIds().isEmpty()
+            || !performedAction.getAddedAppliedTags().isEmpty())
+        .map(PerformedAction::getPerformerRoleId)
+        .distinct()
+        .filter(this::isSubscribed)
+        .forEach(roleId -> enqueue(roleId, false));
+  }
+
+  @EventListener
+  public void onAppliedTagsExpired(AppliedTagsExpiredEvent event) {
+    if (isSubscribed(event.getGameRoleStateId())) {
+      enqueue(event.getGameRoleStateId(), false);
+    }
+  }
+
+  /**
+   * The event is published once the change that evicted the session is complete. If only the
+   * state of its roles changed, the subscribed roles are computed again on the executor, which
+   * loads the session, and get a delta against what was sent. If the scenario changed, or the
+   * session was closed, subscribers get a resync marker and the role's next delta is a full one;
+   * a closed session must not be loaded again.
+   */
+  @EventListener
+  public void onGameSessionEvicted(GameSessionEvictedEvent event) {
+    sentActionsByRoleId.asMap().forEach((roleId, sentActions) -> {
+      if (!sentActions.gameSessionId().equals(event.getGameSessionId())) {
+        return;
+      }
+
+      if (event.getCause() == GameSessionEvictedEvent.Cause.STATE_CHANGED) {
+        enqueue(roleId, false);
+      } else {
+        executor.execute(() -> sendResync(roleId));
+      }
+    });
+  }
+
+  /**
+   * Roles nobody subscribed to within the retention time are not computed.
+   */
+  private boolean isSubscribed(UUID gameRoleStateId) {
+    return sentActionsByRoleId.asMap().containsKey(gameRoleStateId);
+  }
+
+  private void enqueue(UUID gameRoleStateId, boolean full) {
+    boolean[] scheduled = {false};
+    pendingRoleIds.compute(gameRoleStateId, (id, pendingFull) -> {
+      if (Objects.isNull(pendingFull)) {
+        scheduled[0] = true;
+        return full;
+      }
+      return pendingFull || full;
+    });
+
+    if (scheduled[0]) {
+      executor.execute(() -> send(gameRoleStateId));
+    }
+  }
+
+  private void send(UUID gameRoleStateId) {
+    Boolean full = pendingRoleIds.remove(gameRoleStateId);
+    if (Objects.isNull(full)) {
+      return;
+    }
+
+    try {
+      SentActions sent = sentActionsByRoleId.getIfPresent(gameRoleStateId);
+      VisibleActions previous = Objects.isNull(sent) ? null : sent.visibleActions();
+      VisibleActions visibleActions = gameSessionEngine.getVisibleActions(gameRoleStateId,
+          previous);
+      long sequence = Objects.isNull(sent) ? 1 : sent.sequence() + 1;
+      AvailableActionsDeltaDTO delta = full || Objects.isNull(previous)
+          ? fullDelta(gameRoleStateId, sequence, visibleActions)
+          : delta(gameRoleStateId, sequence, previous, visibleActions);
+      if (Objects.isNull(delta)) {
+        return;
+      }
+
+      sentActionsByRoleId.put(gameRoleStateId,
+          new SentActions(sequence, visibleActions.gameSessionId(), visibleActions));
+      gameMetrics.timeStompSend("available_actions", () -> messagingTemplate.convertAndSend(
+          String.format("/topic/game/%s/role/%s/actions", visibleActions.gameSessionId(),
+              gameRoleStateId),
+          delta));
+    } catch (EntityNotFoundException e) {
+      sentActionsByRoleId.invalidate(gameRoleStateId);
+    } catch (Exception e) {
+      log.error("Could not send available actions of game role state {}", gameRoleStateId, e);
+    }
+  }
+
+  private void sendResync(UUID gameRoleStateId) {
+    SentActions sent = sentActionsByRoleId.getIfPresent(gameRoleStateId);
+    if (Objects.isNull(sent) || Objects.isNull(sent.visibleActions())) {
+      // Not subscribed anymore, or the last message already was a resync
+      return;
+    }
+
+    try {
+      long sequence = sent.sequence() + 1;
+      sentActionsByRoleId.put(gameRoleStateId,
+          new SentActions(sequence, sent.gameSessionId(), null));
+      gameMetrics.timeStompSend("available_actions", () -> messagingTemplate.convertAndSend(
+          String.format("/topic/game/%s/role/%s/actions", sent.gameSessionId(), gameRoleStateId),
+          AvailableActionsDeltaDTO.builder()
+              .gameRoleStateId(gameRoleStateId)
+              .sequence(sequence)
+              .resync(true)
+              .build()));
+    } catch (Exception e) {
+      log.error("Could not send resync of game role state {}", gameRoleStateId, e);
+    }
+  }
+
+  private static AvailableActionsDeltaDTO fullDelta(UUID gameRoleStateId, long sequence,
+      VisibleActions visibleActions) {
+    return AvailableActionsDeltaDTO.builder()
+        .gameRoleStateId(gameRoleStateId)
+        .sequence(sequence)
+        .full(true)
+        .addedActionIds(new HashSet<>(visibleActions.actionIds()))
+        .addedItemActionIds(new HashSet<>(visibleActions.itemActionIds()))
+        .build();
+  }
+
+  /**
+   * @return null if nothing changed
+   */
+  private static AvailableActionsDeltaDTO delta(UUID gameRoleStateId, long sequence,
+      VisibleActions sent, VisibleActions current) {
+    Set<UUID> addedActionIds = difference(current.actionIds(), sent.actionIds());
+    Set<UUID> removedActionIds = difference(sent.actionIds(), current.actionIds());
+    Set<UUID> addedItemActionIds = difference(current.itemActionIds(), sent.itemActionIds());
+    Set<UUID> removedItemActionIds = difference(sent.itemActionIds(), current.itemActionIds());
+    if (addedActionIds.isEmpty() && removedActionIds.isEmpty() && addedItemActionIds.isEmpty()
+        && removedItemActionIds.isEmpty()) {
+      return null;
+    }
+
+    return AvailableActionsDeltaDTO.builder()
+        .gameRoleStateId(gameRoleStateId)
+        .sequence(sequence)
+        .addedActionIds(addedActionIds)
+        .removedActionIds(removedActionIds)
+        .addedItemActionIds(addedItemActionIds)
+        .removedItemActionIds(removedItemActionIds)
+        .build();
+  }
+
+  private static Set<UUID> difference(Set<UUID> ids, Set<UUID> without) {
+    Set<UUID> difference = new HashSet<>(ids);
+    difference.removeAll(without);
+    return difference;
+  }
+
+  /**
+   * @param visibleActions null after a resync, so the next delta is a full one
+   */
+  private record SentActions(long sequence, UUID gameSessionId, VisibleActions visibleActions) {
+
+  }
+}
@@ -0,0 +1,14 @@
+package com.larplaner.service.game.broadcast;
+
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Published once the broker registered a subscription to the available actions of a role, so the
+ * first delta sent after it reaches the new subscriber.
+ */
+@Value
+public class AvailableActionsSubscribedEvent {
+
+  UUID gameRoleStateId;
+}
@@ -0,0 +1,53 @@
+package com.larplaner.service.game.broadcast;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client inbound channel interceptor that announces subscriptions to
+ * {@link AvailableActionsBroadcaster#DESTINATION} with an {@link AvailableActionsSubscribedEvent}
+ * after the broker handled them. Spring's {@code SessionSubscribeEvent} is published before that,
+ * so a message sent in reaction to it may miss the new subscriber.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailableActionsSubscriptionInterceptor implements ExecutorChannelInterceptor {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Override
+  public void afterMessageHandled(Message<?> message, MessageChannel channel,
+      MessageHandler handler, Exception ex) {
+    if (Objects.nonNull(ex) || !(handler instanceof AbstractBrokerMessageHandler)
+        || !SimpMessageType.SUBSCRIBE.equals(
+        SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))) {
+      return;
+    }
+
+    String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    if (Objects.isNull(destination)) {
+      return;
+    }
+
+    Matcher matcher = AvailableActionsBroadcaster.DESTINATION.matcher(destination);
+    if (matcher.matches()) {
+      try {
+        eventPublisher.publishEvent(
+            new AvailableActionsSubscribedEvent(UUID.fromString(matcher.group(2))));
+      } catch (IllegalArgumentException e) {
+        // not a role ID, nothing will ever be sent there
+      }
+    }
+  }
+}
@@ -0,0 +1,340 @@
+package com.larplaner.service.game.broadcast;
+
+import com.larplaner.dto.game.delta.GameRoleStateDeltaDTO;
+import com.larplaner.dto.game.delta.GameSessionDeltaDTO;
+import com.larplaner.dto.tag.AppliedTagResponseDTO;
+import com.larplaner.mapper.game.action.GameActionLogMapper;
+import com.larplaner.mapper.tag.AppliedTagMapper;
+import com.larplaner.service.game.engine.AppliedTagState;
+import com.larplaner.service.game.engine.AppliedTagsExpiredEvent;
+import com.larplaner.service.game.engine.GameActionsPerformedEvent;
+import com.larplaner.service.game.engine.GameSessionClosedEvent;
+import com.larplaner.service.game.engine.GameSessionEvictedEvent;
+import com.larplaner.service.game.engine.PerformedAction;
+import com.larplaner.service.game.metrics.GameMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts game session changes over WebSocket. Changes of one session are collected for a short
+ * window and sent as a single {@link GameSessionDeltaDTO} to {@code /topic/game/{id}/delta}, which
+ * holds the changes of every role and is only open to admins, and as one delta per changed role to
+ * {@code /topic/game/{id}/role/{roleId}/delta}, which holds only the actions and changes of that
+ * role. Sequence numbers are per topic. The legacy topics ({@code /topic/game/{id}/action} and
+ * {@code /topic/game/{id}/action/byUserId/{uid}}) get at most one message per window as well.
+ * <p>
+ * A session never has more than one pending delta, and a delta holding more than
+ * {@code maxPendingChanges} changes is collapsed into a resync request, so a burst of actions
+ * cannot queue up an unbounded number of messages for slow subscribers. A resync request is also
+ * sent to every role that got a delta before.
+ * <p>
+ * Everything sent is taken from the events, so the sending thread never has to go back to the
+ * {@link com.larplaner.service.game.engine.GameSessionEngine}, which could load an evicted session
+ * and hold up the deltas of every other session meanwhile.
+ */
+@Component
+@Slf4j
+public class GameSessionBroadcaster {
+
+  private final SimpMessagingTemplate messagingTemplate;
+  private final GameActionLogMapper gameActionLogMapper;
+  private final AppliedTagMapper appliedTagMapper;
+  private final GameMetrics gameMetrics;
+  private final long coalesceWindowMillis;
+  private final int maxPendingChanges;
+
+  private final Map<UUID, PendingDelta> pendingDeltas = new ConcurrentHashMap<>();
+  private final Map<UUID, Sequences> sequences = new ConcurrentHashMap<>();
+
+  /**
+   * Single thread, so deltas of one session are sent in sequence order.
+   */
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "game-session-broadcaster");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  public GameSessionBroadcaster(SimpMessagingTemplate messagingTemplate,
+      GameActionLogMapper gameActionLogMapper,
+      AppliedTagMapper appliedTagMapper,
+      GameMetrics gameMetrics,
+      @Value("${larplaner.game.broadcast.coalesce-window-millis:50}") long coalesceWindowMillis,
+      @Value("${larplaner.game.broadcast.max-pending-changes:500}") int maxPendingChanges) {
+    this.messagingTemplate = messagingTemplate;
+    this.gameActionLogMapper = gameActionLogMapper;
+    this.appliedTagMapper = appliedTagMapper;
+    this.gameMetrics = gameMetrics;
+    this.coalesceWindowMillis = coalesceWindowMillis;
+    this.maxPendingChanges = maxPendingChanges;
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
+  }
+
+  @EventListener
+  public void onActionsPerformed(GameActionsPerformedEvent event) {
+    enqueue(event.getGameSessionId(), pendingDelta -> event.getPerformedActions()
+        .forEach(pendingDelta::addPerformedAction));
+  }
+
+  @EventListener
+  public void onAppliedTagsExpired(AppliedTagsExpiredEvent event) {
+    enqueue(event.getGameSessionId(), pendingDelta -> pendingDelta.addRoleDelta(
+        GameRoleStateDeltaDTO.builder()
+            .gameRoleStateId(event.getGameRoleStateId())
+            .expiredAppliedTagIds(Set.of(event.getExpiredAppliedTagId()))
+            .build(),
+        new RoleAppliedTags(event.getAssignedUserID(), event.getAppliedTags())));
+  }
+
+  @EventListener
+  public void onGameSessionEvicted(GameSessionEvictedEvent event) {
+    enqueue(event.getGameSessionId(), PendingDelta::requireResync);
+  }
+
+  /**
+   * The sequence numbers of the session are dropped once its last delta was sent.
+   */
+  @EventListener
+  public void onGameSessionClosed(GameSessionClosedEvent event) {
+    enqueue(event.getGameSessionId(), PendingDelta::close);
+  }
+
+  private void enqueue(UUID gameSessionId, Consumer<PendingDelta> change) {
+    pendingDeltas.compute(gameSessionId, (id, pendingDelta) -> {
+      if (Objects.isNull(pendingDelta)) {
+        pendingDelta = new PendingDelta();
+        executor.schedule(() -> send(id), coalesceWindowMillis, TimeUnit.MILLISECONDS);
+      }
+
+      change.accept(pendingDelta);
+      return pendingDelta;
+    });
+  }
+
+  private void send(UUID gameSessionId) {
+    PendingDelta pendingDelta = pendingDeltas.remove(gameSessionId);
+    if (Objects.isNull(pendingDelta)) {
+      return;
+    }
+
+    Sequences sessionSequences = sequences.computeIfAbsent(gameSessionId, id -> new Sequences());
+    try {
+      GameSessionDeltaDTO delta = pendingDelta.toDTO(gameSessionId, null,
+          sessionSequences.next(null));
+      gameMetrics.timeStompSend("delta", () -> messagingTemplate.convertAndSend(
+          String.format("/topic/game/%s/delta", gameSessionId), delta));
+
+      if (pendingDelta.isActionPerformed()) {
+        gameMetrics.timeStompSend("action", () -> messagingTemplate.convertAndSend(
+            String.format("/topic/game/%s/action", gameSessionId),
+            "User performed action"));
+      }
+
+    } catch (Exception e) {
+      log.error("Could not broadcast changes of game session {}", gameSessionId, e);
+    }
+
+    Set<UUID> roleIds = new LinkedHashSet<>(pendingDelta.getAffectedRoleIds());
+    if (pendingDelta.isResyncRequired()) {
+      roleIds.addAll(sessionSequences.getRoleIds());
+    }
+    roleIds.forEach(roleId -> {
+      try {
+        GameSessionDeltaDTO roleDelta = pendingDelta.toDTO(gameSessionId, roleId,
+            sessionSequences.next(roleId));
+        gameMetrics.timeStompSend("role_delta", () -> messagingTemplate.convertAndSend(
+            String.format("/topic/game/%s/role/%s/delta", gameSessionId, roleId), roleDelta));
+      } catch (Exception e) {
+        log.error("Could not broadcast changes of game role state {}", roleId, e);
+      }
+    });
+
+    pendingDelta.getAppliedTagsByRoleId().forEach((roleId, roleAppliedTags) -> {
+      try {
+        sendAppliedTags(gameSessionId, roleAppliedTags);
+      } catch (Exception e) {
+        log.error("Could not send applied tags of game role state {}", roleId, e);
+      }
+    });
+
+    if (pendingDelta.isClosed()) {
+      sequences.remove(gameSessionId);
+    }
+  }
+
+  /**
+   * Sends the role's latest applied tags to the user assigned to the role.
+   */
+  private void sendAppliedTags(UUID gameSessionId, RoleAppliedTags roleAppliedTags) {
+    if (Objects.isNull(roleAppliedTags.assignedUserID())) {
+      return;
+    }
+
+    List<AppliedTagResponseDTO> appliedTags = roleAppliedTags.appliedTags().stream()
+        .map(appliedTagMapper::toDTO)
+        .toList();
+    gameMetrics.timeStompSend("applied_tags", () -> messagingTemplate.convertAndSend(
+        String.format("/topic/game/%s/action/byUserId/%s", gameSessionId,
+            roleAppliedTags.assignedUserID()),
+        appliedTags));
+  }
+
+  /**
+   * Changes of one session waiting to be sent. Only accessed inside
+   * {@link ConcurrentHashMap#compute} and, once removed from the map, by the sending thread.
+   */
+  private class PendingDelta {
+
+    private final List<PerformedAction> performedActions = new ArrayList<>();
+    private final List<GameRoleStateDeltaDTO> roleDeltas = new ArrayList<>();
+    private final Set<UUID> affectedRoleIds = new LinkedHashSet<>();
+    private final Map<UUID, RoleAppliedTags> appliedTagsByRoleId = new LinkedHashMap<>();
+    private boolean actionPerformed;
+    private boolean resyncRequired;
+    private boolean closed;
+
+    void addPerformedAction(PerformedAction performedAction) {
+      actionPerformed = true;
+      affectedRoleIds.add(performedAction.getPerformerRoleId());
+      appliedTagsByRoleId.put(performedAction.getPerformerRoleId(), new RoleAppliedTags(
+          performedAction.getPerformerUserID(), performedAction.getPerformerAppliedTags()));
+      if (resyncRequired) {
+        return;
+      }
+
+      performedActions.add(performedAction);
+      roleDeltas.add(GameRoleStateDeltaDTO.builder()
+          .gameRoleStateId(performedAction.getPerformerRoleId())
+          .removedTagIds(performedAction.getRemovedTagIds())
+          .addedAppliedTags(performedAction.getAddedAppliedTags().stream()
+              .map(appliedTagMapper::toDTO)
+              .toList())
+          .refreshedAppliedTags(performedAction.getRefreshedAppliedTags())
+          .build());
+      collapseIfTooLarge();
+    }
+
+    void addRoleDelta(GameRoleStateDeltaDTO roleDelta, RoleAppliedTags roleAppliedTags) {
+      affectedRoleIds.add(roleDelta.getGameRoleStateId());
+      appliedTagsByRoleId.put(roleDelta.getGameRoleStateId(), roleAppliedTags);
+      if (resyncRequired) {
+        return;
+      }
+
+      roleDeltas.add(roleDelta);
+      collapseIfTooLarge();
+    }
+
+    void requireResync() {
+      resyncRequired = true;
+      performedActions.clear();
+      roleDeltas.clear();
+    }
+
+    boolean isActionPerformed() {
+      return actionPerformed;
+    }
+
+    void close() {
+      closed = true;
+    }
+
+    boolean isResyncRequired() {
+      return resyncRequired;
+    }
+
+    boolean isClosed() {
+      return closed;
+    }
+
+    Set<UUID> getAffectedRoleIds() {
+      return affectedRoleIds;
+    }
+
+    /**
+     * The latest applied tags of each affected role.
+     */
+    Map<UUID, RoleAppliedTags> getAppliedTagsByRoleId() {
+      return appliedTagsByRoleId;
+    }
+
+    private void collapseIfTooLarge() {
+      if (performedActions.size() + roleDeltas.size() > maxPendingChanges) {
+        log.debug("Too many pending changes, collapsing delta into a resync request");
+        requireResync();
+      }
+    }
+
+    /**
+     * @param gameRoleStateId role whose actions and changes the delta is limited to, or null for
+     *                        all of them
+     */
+    GameSessionDeltaDTO toDTO(UUID gameSessionId, UUID gameRoleStateId, long sequence) {
+      return GameSessionDeltaDTO.builder()
+          .gameSessionId(gameSessionId)
+          .gameRoleStateId(gameRoleStateId)
+          .sequence(sequence)
+          .resyncRequired(resyncRequired)
+          .actions(performedActions.stream()
+              .filter(performedAction -> Objects.isNull(gameRoleStateId)
+                  || gameRoleStateId.equals(performedAction.getPerformerRoleId()))
+              .map(gameActionLogMapper::toDTO)
+              .toList())
+          .roles(roleDeltas.stream()
+              .filter(roleDelta -> Objects.isNull(gameRoleStateId)
+                  || gameRoleStateId.equals(roleDelta.getGameRoleStateId()))
+              .toList())
+          .build();
+    }
+  }
+
+  private record RoleAppliedTags(String assignedUserID, List<AppliedTagState> appliedTags) {
+
+  }
+
+  /**
+   * Last sequence numbers sent for a session: of the session topic and of each role topic. Only
+   * used by the sending thread.
+   */
+  private static class Sequences {
+
+    private final AtomicLong session = new AtomicLong();
+    private final Map<UUID, AtomicLong> roles = new ConcurrentHashMap<>();
+
+    /**
+     * @param gameRoleStateId role of the topic, or null for the session topic
+     */
+    long next(UUID gameRoleStateId) {
+      return (Objects.isNull(gameRoleStateId)
+          ? session
+          : roles.computeIfAbsent(gameRoleStateId, id -> new AtomicLong())).incrementAndGet();
+    }
+
+    Set<UUID> getRoleIds() {
+      return roles.keySet();
+    }
+  }
+}
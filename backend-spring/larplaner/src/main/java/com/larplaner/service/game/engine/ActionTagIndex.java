@@ -0,0 +1,71 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.action.Action;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inverted index of a scenario's compiled actions by the tags their required and forbidden tag
+ * lists (to display and to succeed) reference, so a change of a role's active tags only has to
+ * check the actions that reference one of the changed tags again.
+ * <p>
+ * Built with the {@link GameSessionState} it belongs to and read-only afterwards. A scenario edit
+ * evicts the session, so the index is built again with the next load.
+ */
+public class ActionTagIndex {
+
+  private final List<List<CompiledAction<ScenarioAction>>> scenarioActionsByOrdinal;
+  private final List<List<CompiledAction<ScenarioItemAction>>> itemActionsByOrdinal;
+
+  public ActionTagIndex(TagOrdinals tagOrdinals,
+      Collection<CompiledAction<ScenarioAction>> scenarioActions,
+      Collection<CompiledAction<ScenarioItemAction>> itemActions) {
+    this.scenarioActionsByOrdinal = index(tagOrdinals, scenarioActions);
+    this.itemActionsByOrdinal = index(tagOrdinals, itemActions);
+  }
+
+  /**
+   * @param changedTags tags that were added or removed, see {@link TagMask#changed}
+   * @return scenario actions referencing any of the tags, each once, in scenario order per tag
+   */
+  public Set<CompiledAction<ScenarioAction>> scenarioActionsReferencing(long[] changedTags) {
+    return lookup(scenarioActionsByOrdinal, changedTags);
+  }
+
+  /**
+   * @param changedTags tags that were added or removed, see {@link TagMask#changed}
+   * @return item actions of all items referencing any of the tags, each once
+   */
+  public Set<CompiledAction<ScenarioItemAction>> itemActionsReferencing(long[] changedTags) {
+    return lookup(itemActionsByOrdinal, changedTags);
+  }
+
+  private static <A extends Action> List<List<CompiledAction<A>>> index(
+      TagOrdinals tagOrdinals, Collection<CompiledAction<A>> actions) {
+    List<List<CompiledAction<A>>> actionsByOrdinal = new ArrayList<>(tagOrdinals.size());
+    for (int i = 0; i < tagOrdinals.size(); i++) {
+      actionsByOrdinal.add(new ArrayList<>());
+    }
+
+    for (CompiledAction<A> action : actions) {
+      TagMask.forEach(TagMask.union(action.getRequiredToDisplay(), action.getForbiddenToDisplay(),
+              action.getRequiredToSucceed(), action.getForbiddenToSucceed()),
+          ordinal -> actionsByOrdinal.get(ordinal).add(action));
+    }
+
+    return actionsByOrdinal;
+  }
+
+  private static <A extends Action> Set<CompiledAction<A>> lookup(
+      List<List<CompiledAction<A>>> actionsByOrdinal, long[] changedTags) {
+    // CompiledAction has identity equality, which is what deduplication needs here
+    Set<CompiledAction<A>> actions = new LinkedHashSet<>();
+    TagMask.forEach(changedTags, ordinal -> actions.addAll(actionsByOrdinal.get(ordinal)));
+    return actions;
+  }
+}
@@ -0,0 +1,79 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.tag.AppliedTag;
+import com.larplaner.model.tag.Tag;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * In-memory counterpart of {@link AppliedTag} held by the {@link GameSessionEngine}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class AppliedTagState {
+
+  private final UUID id;
+  private final Tag tag;
+  private final int tagOrdinal;
+  private final String userID;
+  private final String userEmail;
+
+  @Setter
+  private ZonedDateTime appliedToUserAt;
+
+  /**
+   * Precomputed on load and flipped once by the {@link TagExpiryScheduler}, so hot paths don't
+   * have to compare expiry dates.
+   */
+  @Setter
+  @Builder.Default
+  private boolean active = true;
+
+  /**
+   * @param appliedTag - entity to copy
+   * @param tag        - the applied tag's {@link Tag}, already unproxied so it can be read after the
+   *                   persistence context is closed
+   * @param tagOrdinal - ordinal of the tag within the game session, see {@link TagOrdinals}
+   * @param now        - used to decide whether the tag is still active
+   */
+  public static AppliedTagState fromEntity(AppliedTag appliedTag, Tag tag, int tagOrdinal,
+      ZonedDateTime now) {
+    AppliedTagState appliedTagState = AppliedTagState.builder()
+        .id(appliedTag.getId())
+        .tag(tag)
+        .tagOrdinal(tagOrdinal)
+        .userID(appliedTag.getUserID())
+        .userEmail(appliedTag.getUserEmail())
+        .appliedToUserAt(appliedTag.getAppliedToUserAt())
+        .build();
+    appliedTagState.setActive(appliedTagState.isActiveAt(now));
+    return appliedTagState;
+  }
+
+  public boolean isActiveAt(ZonedDateTime now) {
+    ZonedDateTime expiresAt = getExpiresAt();
+    return Objects.isNull(expiresAt) || expiresAt.isAfter(now);
+  }
+
+  /**
+   * @return instant the tag stops being active, {@code null} if it never expires
+   */
+  public ZonedDateTime getExpiresAt() {
+    Integer expiresAfter = tag.getExpiresAfterMinutes();
+    if (Objects.isNull(expiresAfter) || expiresAfter == 0) {
+      return null;
+    }
+
+    return appliedToUserAt.plusMinutes(expiresAfter);
+  }
+
+  public AppliedTagState copy() {
+    return new AppliedTagState(id, tag, tagOrdinal, userID, userEmail, appliedToUserAt, active);
+  }
+}
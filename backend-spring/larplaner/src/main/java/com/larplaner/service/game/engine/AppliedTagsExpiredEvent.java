@@ -0,0 +1,22 @@
+package com.larplaner.service.game.engine;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Published by the {@link GameSessionEngine} after one of a role's applied tags expired.
+ */
+@Value
+public class AppliedTagsExpiredEvent {
+
+  UUID gameSessionId;
+  UUID gameRoleStateId;
+  UUID expiredAppliedTagId;
+  String assignedUserID;
+
+  /**
+   * Copies of the role's applied tags after the expiry, most recently applied first.
+   */
+  List<AppliedTagState> appliedTags;
+}
@@ -0,0 +1,36 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.action.Action;
+import lombok.Getter;
+
+/**
+ * An {@link Action} with its required and forbidden tag lists compiled to {@link TagMask} masks, so
+ * display and success checks don't have to compare {@code Tag} lists.
+ */
+@Getter
+public class CompiledAction<A extends Action> {
+
+  private final A action;
+  private final long[] requiredToDisplay;
+  private final long[] forbiddenToDisplay;
+  private final long[] requiredToSucceed;
+  private final long[] forbiddenToSucceed;
+
+  public CompiledAction(A action, TagOrdinals tagOrdinals) {
+    this.action = action;
+    this.requiredToDisplay = tagOrdinals.maskOf(action.getRequiredTagsToDisplay());
+    this.forbiddenToDisplay = tagOrdinals.maskOf(action.getForbiddenTagsToDisplay());
+    this.requiredToSucceed = tagOrdinals.maskOf(action.getRequiredTagsToSucceed());
+    this.forbiddenToSucceed = tagOrdinals.maskOf(action.getForbiddenTagsToSucceed());
+  }
+
+  public boolean canBeDisplayed(long[] activeTags) {
+    return TagMask.containsAll(activeTags, requiredToDisplay)
+        && !TagMask.intersects(activeTags, forbiddenToDisplay);
+  }
+
+  public boolean succeeds(long[] activeTags) {
+    return TagMask.containsAll(activeTags, requiredToSucceed)
+        && !TagMask.intersects(activeTags, forbiddenToSucceed);
+  }
+}
@@ -0,0 +1,114 @@
+package com.larplaner.service.game.engine;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.game.GameSessionEventTypeEnum;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.service.game.metrics.GameMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps journaled actions and events of a game session that the {@link GameActionJournal} could
+ * not write even after retrying. They were already acknowledged to the players, so they are
+ * appended as one JSON line per failed write to {@code larplaner.game.journal.dead-letter-file},
+ * from where they can be inspected and replayed by hand. If even that fails, the line is logged.
+ */
+@Component
+@Slf4j
+public class GameActionDeadLetters {
+
+  private final ObjectMapper objectMapper;
+  private final GameMetrics gameMetrics;
+  private final Path file;
+
+  public GameActionDeadLetters(ObjectMapper objectMapper, GameMetrics gameMetrics,
+      @Value("${larplaner.game.journal.dead-letter-file:data/journal-dead-letters.jsonl}")
+      String file) {
+    this.objectMapper = objectMapper;
+    this.gameMetrics = gameMetrics;
+    this.file = Path.of(file);
+  }
+
+  /**
+   * @param events events that do not belong to any of the actions
+   */
+  public void add(UUID gameSessionId, List<PerformedAction> performedActions,
+      List<GameSessionEvent> events, Exception cause) {
+    gameMetrics.recordJournalDeadLetters(performedActions.size() + events.size());
+    String line = toLine(new DeadLetter(gameSessionId, ZonedDateTime.now(),
+        String.valueOf(cause),
+        performedActions.stream().map(DeadAction::of).toList(),
+        events.stream().map(DeadEvent::of).toList()));
+
+    try {
+      Path parent = file.toAbsolutePath().getParent();
+      if (Objects.nonNull(parent)) {
+        Files.createDirectories(parent);
+      }
+      Files.writeString(file, line + System.lineSeparator(), StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      log.error("Dead-lettered {} journaled game actions and {} other events of game session {}"
+          + " to {}", performedActions.size(), events.size(), gameSessionId, file);
+    } catch (IOException e) {
+      log.error("Failed to dead-letter journaled game actions of game session {} to {}: {}",
+          gameSessionId, file, line, e);
+    }
+  }
+
+  private String toLine(DeadLetter deadLetter) {
+    try {
+      return objectMapper.writeValueAsString(deadLetter);
+    } catch (JsonProcessingException e) {
+      // Not expected for these records, but the entries must still end up somewhere
+      return String.valueOf(deadLetter);
+    }
+  }
+
+  private record DeadLetter(UUID gameSessionId, ZonedDateTime failedAt, String cause,
+                            List<DeadAction> actions, List<DeadEvent> events) {
+
+  }
+
+  private record DeadAction(UUID logId, UUID performerRoleId, UUID actionId, boolean itemAction,
+                            UUID targetItemId, ZonedDateTime timestamp, boolean success,
+                            String message, List<UUID> appliedTagIds, List<UUID> removedTagIds,
+                            List<DeadEvent> events) {
+
+    static DeadAction of(PerformedAction performedAction) {
+      return new DeadAction(performedAction.getLogId(), performedAction.getPerformerRoleId(),
+          performedAction.getActionId(), performedAction.isItemAction(),
+          performedAction.getTargetItemId(), performedAction.getTimestamp(),
+          performedAction.isSuccess(), performedAction.getMessage(),
+          tagIds(performedAction.getAppliedTags()), tagIds(performedAction.getRemovedTags()),
+          performedAction.getEvents().stream().map(DeadEvent::of).toList());
+    }
+
+    private static List<UUID> tagIds(List<Tag> tags) {
+      return Objects.isNull(tags) ? List.of() : tags.stream().map(Tag::getId).toList();
+    }
+  }
+
+  private record DeadEvent(UUID id, long sequenceNumber, GameSessionEventTypeEnum type,
+                           UUID gameRoleStateId, UUID appliedTagId, UUID tagId, UUID actionId,
+                           UUID targetItemId, Boolean success, ZonedDateTime occurredAt) {
+
+    static DeadEvent of(GameSessionEvent event) {
+      return new DeadEvent(event.getId(), event.getSequenceNumber(), event.getType(),
+          event.getGameRoleStateId(), event.getAppliedTagId(), event.getTagId(),
+          event.getActionId(), event.getTargetItemId(), event.getSuccess(),
+          event.getOccurredAt());
+    }
+  }
+}
@@ -0,0 +1,413 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.service.game.metrics.GameMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind journal for actions evaluated by the {@link GameSessionEngine}, and for admin edits
+ * of roles. Actions are queued
+ * in the order they were performed and written by a single background thread, in batches, through
+ * {@link GameActionJournalWriter}. Their effect on the roles is only appended as events; the same
+ * thread applies them with the {@link GameSessionSnapshotter} once a session has
+ * {@code larplaner.game.journal.snapshot-interval} events pending, and whenever the session is
+ * flushed.
+ * <p>
+ * A batch that fails is written again session by session, each with up to
+ * {@code larplaner.game.journal.max-write-attempts} attempts and exponential backoff. The entries
+ * of a session that still fail are handed to {@link GameActionDeadLetters} and the session is
+ * reported to the write failure listener; other sessions of the batch are not affected.
+ * <p>
+ * Code that reads a game session's state from the database should call {@link #flush(UUID)}
+ * first, so it observes every action that was already acknowledged to a player. That only waits
+ * if the session has actions that are not written yet or events that are not applied yet, and
+ * only applies the events of that session. Reads that can be served from the
+ * {@link GameSessionEngine} should not flush at all.
+ */
+@Component
+@Slf4j
+public class GameActionJournal {
+
+  private final GameActionJournalWriter writer;
+  private final GameSessionSnapshotter snapshotter;
+  private final GameMetrics gameMetrics;
+  private final GameActionDeadLetters deadLetters;
+  private final int maxBatchSize;
+  private final long flushTimeoutMillis;
+  private final int snapshotInterval;
+  private final int maxWriteAttempts;
+  private final long retryBackoffMillis;
+
+  private final BlockingQueue<QueuedActions> queue = new LinkedBlockingQueue<>();
+  /**
+   * Guards the sequences. A lock rather than a monitor, so a virtual thread waiting in
+   * {@link #flush()} doesn't pin its carrier thread.
+   */
+  private final ReentrantLock progressLock = new ReentrantLock();
+  private final Condition progressed = progressLock.newCondition();
+  private long appendedSequence = 0;
+  private long writtenSequence = 0;
+
+  /**
+   * Sequence of the last queued entry of each game session that has entries not written yet.
+   */
+  private final Map<UUID, Long> unwrittenSequences = new HashMap<>();
+
+  /**
+   * Number of written events not yet applied to the roles, by game session ID. Only changed by the
+   * worker thread.
+   */
+  private final Map<UUID, Long> pendingEvents = new ConcurrentHashMap<>();
+
+  private volatile boolean running = true;
+  private volatile Consumer<Set<UUID>> writeFailureListener = gameSessionIds -> {
+  };
+  private Thread worker;
+
+  public GameActionJournal(GameActionJournalWriter writer, GameSessionSnapshotter snapshotter,
+      GameMetrics gameMetrics, GameActionDeadLetters deadLetters,
+      @Value("${larplaner.game.journal.max-batch-size:100}") int maxBatchSize,
+      @Value("${larplaner.game.journal.flush-timeout-millis:10000}") long flushTimeoutMillis,
+      @Value("${larplaner.game.journal.snapshot-interval:500}") int snapshotInterval,
+      @Value("${larplaner.game.journal.max-write-attempts:3}") int maxWriteAttempts,
+      @Value("${larplaner.game.journal.retry-backoff-millis:200}") long retryBackoffMillis) {
+    this.writer = writer;
+    this.snapshotter = snapshotter;
+    this.gameMetrics = gameMetrics;
+    this.deadLetters = deadLetters;
+    this.maxBatchSize = maxBatchSize;
+    this.flushTimeoutMillis = flushTimeoutMillis;
+    this.snapshotInterval = snapshotInterval;
+    this.maxWriteAttempts = maxWriteAttempts;
+    this.retryBackoffMillis = retryBackoffMillis;
+  }
+
+  @PostConstruct
+  void start() {
+    // Events written before a restart are applied on the first flush
+    snapshotter.findGameSessionIdsWithPendingEvents()
+        .forEach(gameSessionId -> pendingEvents.put(gameSessionId, 1L));
+
+    worker = new Thread(this::run, "game-action-journal");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    flush();
+    running = false;
+    worker.interrupt();
+    worker.join(flushTimeoutMillis);
+  }
+
+  public void append(PerformedAction performedAction) {
+    appendAll(List.of(performedAction));
+  }
+
+  /**
+   * Appends the actions as one unit, so they are always written in the same transaction.
+   */
+  public void appendAll(List<PerformedAction> performedActions) {
+    progressLock.lock();
+    try {
+      queue.add(new QueuedActions(++appendedSequence, List.copyOf(performedActions), List.of(),
+          false, null));
+      performedActions.forEach(performedAction -> unwrittenSequences.put(
+          performedAction.getGameSessionId(), appendedSequence));
+    } finally {
+      progressLock.unlock();
+    }
+  }
+
+  /**
+   * Appends events that do not belong to an action, e.g. of an admin edit.
+   */
+  public void appendEvents(List<GameSessionEvent> events) {
+    progressLock.lock();
+    try {
+      queue.add(new QueuedActions(++appendedSequence, List.of(), List.copyOf(events), false,
+          null));
+      events.forEach(event -> unwrittenSequences.put(event.getGameSessionId(), appendedSequence));
+    } finally {
+      progressLock.unlock();
+    }
+  }
+
+  /**
+   * Called with the ID of a game session whose entries could not be written and were
+   * dead-lettered, so cached state derived from them can be discarded.
+   */
+  public void setWriteFailureListener(Consumer<Set<UUID>> writeFailureListener) {
+    this.writeFailureListener = writeFailureListener;
+  }
+
+  /**
+   * Blocks until every action appended before this call has been written (or has failed), and its
+   * events have been applied to the roles. Waits for every session, so only meant for shutdown and
+   * rare cases; reads of one session use {@link #flush(UUID)}.
+   */
+  public void flush() {
+    progressLock.lock();
+    try {
+      if (writtenSequence == appendedSequence && pendingEvents.isEmpty()) {
+        return;
+      }
+
+      queue.add(new QueuedActions(++appendedSequence, List.of(), List.of(), true, null));
+      awaitWritten(appendedSequence);
+    } finally {
+      progressLock.unlock();
+    }
+  }
+
+  /**
+   * Blocks until every action of the game session appended before this call has been written (or
+   * has failed), and the session's events have been applied to its roles. Returns right away if
+   * there is nothing of the session to write or apply.
+   *
+   * @return whether there was anything of the session to write or apply
+   */
+  public boolean flush(UUID gameSessionId) {
+    progressLock.lock();
+    try {
+      if (!unwrittenSequences.containsKey(gameSessionId)
+          && !pendingEvents.containsKey(gameSessionId)) {
+        return false;
+      }
+
+      queue.add(new QueuedActions(++appendedSequence, List.of(), List.of(), true, gameSessionId));
+      awaitWritten(appendedSequence);
+      return true;
+    } finally {
+      progressLock.unlock();
+    }
+  }
+
+  /**
+   * Must be called holding the progress lock.
+   */
+  private void awaitWritten(long target) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushTimeoutMillis);
+    while (writtenSequence < target) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        log.warn("Timed out waiting for game action journal to flush ({} of {} written)",
+            writtenSequence, target);
+        return;
+      }
+      try {
+        progressed.awaitNanos(remaining);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void run() {
+    while (running || !queue.isEmpty()) {
+      List<QueuedActions> batch = new ArrayList<>();
+      try {
+        QueuedActions first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+      } catch (InterruptedException e) {
+        if (!running) {
+          queue.drainTo(batch);
+        }
+      }
+      queue.drainTo(batch, maxBatchSize - batch.size());
+      if (!batch.isEmpty()) {
+        writeBatch(batch);
+      }
+    }
+  }
+
+  private void writeBatch(List<QueuedActions> batch) {
+    List<PerformedAction> performedActions = batch.stream()
+        .flatMap(queuedActions -> queuedActions.getPerformedActions().stream())
+        .toList();
+    List<GameSessionEvent> events = batch.stream()
+        .flatMap(queuedActions -> queuedActions.getEvents().stream())
+        .toList();
+    try {
+      if (!performedActions.isEmpty() || !events.isEmpty()) {
+        write(performedActions, events);
+      }
+      snapshot(batch.stream().anyMatch(QueuedActions::isFlushOfAllSessions),
+          batch.stream()
+              .map(QueuedActions::getFlushedGameSessionId)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toSet()));
+    } finally {
+      progressLock.lock();
+      try {
+        writtenSequence = batch.get(batch.size() - 1).getSequence();
+        unwrittenSequences.values().removeIf(sequence -> sequence <= writtenSequence);
+        progressed.signalAll();
+      } finally {
+        progressLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Writes the batch in one transaction. If that fails, writes each game session's part on its own,
+   * retrying with backoff, so a session whose entries cannot be written doesn't take the others
+   * down with it. Entries that still cannot be written are dead-lettered.
+   */
+  private void write(List<PerformedAction> performedActions, List<GameSessionEvent> events) {
+    Exception batchFailure = tryWrite(performedActions, events);
+    if (Objects.isNull(batchFailure)) {
+      return;
+    }
+    log.warn("Failed to write {} journaled game actions and {} other events, writing each game"
+        + " session on its own", performedActions.size(), events.size(), batchFailure);
+
+    Map<UUID, List<PerformedAction>> actionsBySession = performedActions.stream()
+        .collect(Collectors.groupingBy(PerformedAction::getGameSessionId, LinkedHashMap::new,
+            Collectors.toList()));
+    Map<UUID, List<GameSessionEvent>> eventsBySession = events.stream()
+        .collect(Collectors.groupingBy(GameSessionEvent::getGameSessionId, LinkedHashMap::new,
+            Collectors.toList()));
+    Set<UUID> gameSessionIds = new LinkedHashSet<>(actionsBySession.keySet());
+    gameSessionIds.addAll(eventsBySession.keySet());
+
+    for (UUID gameSessionId : gameSessionIds) {
+      writeSession(gameSessionId, actionsBySession.getOrDefault(gameSessionId, List.of()),
+          eventsBySession.getOrDefault(gameSessionId, List.of()));
+    }
+  }
+
+  private void writeSession(UUID gameSessionId, List<PerformedAction> performedActions,
+      List<GameSessionEvent> events) {
+    Exception failure = null;
+    for (int attempt = 1; attempt <= maxWriteAttempts; attempt++) {
+      if (attempt > 1 && !backOff(attempt)) {
+        break;
+      }
+      failure = tryWrite(performedActions, events);
+      if (Objects.isNull(failure)) {
+        return;
+      }
+      log.warn("Attempt {} of {} to write journaled game actions of game session {} failed",
+          attempt, maxWriteAttempts, gameSessionId, failure);
+    }
+
+    log.error("Failed to write {} journaled game actions and {} other events of game session {}",
+        performedActions.size(), events.size(), gameSessionId, failure);
+    deadLetters.add(gameSessionId, performedActions, events, failure);
+    writeFailureListener.accept(Set.of(gameSessionId));
+  }
+
+  /**
+   * @return false if interrupted, which only happens on shutdown, so there is no time to retry
+   */
+  private boolean backOff(int attempt) {
+    try {
+      Thread.sleep(retryBackoffMillis << (attempt - 2));
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * @return the cause if the entries could not be written, null if they were
+   */
+  private Exception tryWrite(List<PerformedAction> performedActions,
+      List<GameSessionEvent> events) {
+    Timer.Sample sample = gameMetrics.startTimer();
+    int count = performedActions.size() + events.size();
+    try {
+      writer.write(performedActions, events);
+    } catch (Exception e) {
+      gameMetrics.recordJournalWrite(sample, count, false);
+      return e;
+    }
+
+    gameMetrics.recordJournalWrite(sample, count, true);
+    log.debug("Wrote {} journaled game actions and {} other events", performedActions.size(),
+        events.size());
+    performedActions.forEach(performedAction -> pendingEvents.merge(
+        performedAction.getGameSessionId(), (long) performedAction.getEvents().size(),
+        Long::sum));
+    events.forEach(event -> pendingEvents.merge(event.getGameSessionId(), 1L, Long::sum));
+    return null;
+  }
+
+  /**
+   * Applies the events of the sessions that have reached the snapshot interval, and of the flushed
+   * ones.
+   *
+   * @param all     whether every session was flushed
+   * @param flushed IDs of the flushed sessions
+   */
+  private void snapshot(boolean all, Set<UUID> flushed) {
+    List<UUID> gameSessionIds = pendingEvents.entrySet().stream()
+        .filter(entry -> all || flushed.contains(entry.getKey())
+            || entry.getValue() >= snapshotInterval)
+        .map(Map.Entry::getKey)
+        .toList();
+    for (UUID gameSessionId : gameSessionIds) {
+      try {
+        gameMetrics.timeSnapshot(() -> snapshotter.snapshot(gameSessionId));
+        pendingEvents.remove(gameSessionId);
+      } catch (Exception e) {
+        log.error("Failed to apply journaled events of game session {}", gameSessionId, e);
+      }
+    }
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static class QueuedActions {
+
+    private final long sequence;
+    private final List<PerformedAction> performedActions;
+    private final List<GameSessionEvent> events;
+
+    /**
+     * Queued by {@link #flush()} and {@link #flush(UUID)}, which also wait for pending events to be
+     * applied.
+     */
+    private final boolean flush;
+
+    /**
+     * Session whose pending events the flush waits for, or null for all of them.
+     */
+    private final UUID flushedGameSessionId;
+
+    boolean isFlushOfAllSessions() {
+      return flush && Objects.isNull(flushedGameSessionId);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.action.Action;
+import com.larplaner.model.game.GameActionLog;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.repository.game.GameActionLogRepository;
+import com.larplaner.repository.game.GameItemStateRepository;
+import com.larplaner.repository.game.GameRoleStateRepository;
+import com.larplaner.repository.game.GameSessionEventRepository;
+import com.larplaner.repository.game.GameSessionRepository;
+import com.larplaner.repository.scenario.ScenarioActionRepository;
+import com.larplaner.repository.scenario.ScenarioItemActionRepository;
+import com.larplaner.repository.tag.TagRepository;
+import com.larplaner.service.game.metrics.GameMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies journaled {@link PerformedAction}s to the database. Entities are only referenced by ID,
+ * so writing an action does not load the scenario graph, and the performer's role is not touched:
+ * its changes are appended as {@link GameSessionEvent}s and applied later, in bulk, by the
+ * {@link GameSessionSnapshotter}.
+ * <p>
+ * The {@code event_append} and {@code log_insert} phases cover the persistence context work of
+ * each action; the statements themselves run in batches when the transaction commits, which
+ * {@code larplaner.game.journal.write} includes.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameActionJournalWriter {
+
+  private final GameSessionRepository gameSessionRepository;
+  private final GameRoleStateRepository gameRoleStateRepository;
+  private final GameItemStateRepository gameItemStateRepository;
+  private final GameActionLogRepository gameActionLogRepository;
+  private final GameSessionEventRepository gameSessionEventRepository;
+  private final ScenarioActionRepository scenarioActionRepository;
+  private final ScenarioItemActionRepository scenarioItemActionRepository;
+  private final TagRepository tagRepository;
+  private final GameMetrics gameMetrics;
+
+  /**
+   * @param events events that do not belong to any of the actions
+   */
+  @Transactional
+  public void write(List<PerformedAction> performedActions, List<GameSessionEvent> events) {
+    performedActions.forEach(this::write);
+    gameSessionEventRepository.saveAll(events);
+  }
+
+  private void write(PerformedAction performedAction) {
+    gameMetrics.timePhase(GameMetrics.PHASE_EVENT_APPEND, performedAction.getGameSessionId(),
+        () -> gameSessionEventRepository.saveAll(performedAction.getEvents()));
+    gameMetrics.timePhase(GameMetrics.PHASE_LOG_INSERT, performedAction.getGameSessionId(),
+        () -> insertLog(performedAction));
+  }
+
+  private GameActionLog insertLog(PerformedAction performedAction) {
+    return gameActionLogRepository.save(GameActionLog.builder()
+        .id(performedAction.getLogId())
+        .gameSession(gameSessionRepository.getReferenceById(performedAction.getGameSessionId()))
+        .action(getActionReference(performedAction))
+        .success(performedAction.isSuccess())
+        .message(performedAction.getMessage())
+        .appliedTags(toReferences(performedAction.getAppliedTags()))
+        .removedTags(toReferences(performedAction.getRemovedTags()))
+        .performerRole(gameRoleStateRepository.getReferenceById(
+            performedAction.getPerformerRoleId()))
+        .targetItem(Objects.isNull(performedAction.getTargetItemId()) ? null
+            : gameItemStateRepository.getReferenceById(performedAction.getTargetItemId()))
+        .timestamp(performedAction.getTimestamp())
+        .build());
+  }
+
+  private Action getActionReference(PerformedAction performedAction) {
+    return performedAction.isItemAction()
+        ? scenarioItemActionRepository.getReferenceById(performedAction.getActionId())
+        : scenarioActionRepository.getReferenceById(performedAction.getActionId());
+  }
+
+  private List<Tag> toReferences(List<Tag> tags) {
+    return tags.stream()
+        .map(tag -> tagRepository.getReferenceById(tag.getId()))
+        .collect(Collectors.toCollection(ArrayList::new));
+  }
+}
@@ -0,0 +1,16 @@
+package com.larplaner.service.game.engine;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Published by the {@link GameSessionEngine} while it still holds the session lock, so listeners
+ * receive the events of one session in the order the actions were performed.
+ */
+@Value
+public class GameActionsPerformedEvent {
+
+  UUID gameSessionId;
+  List<PerformedAction> performedActions;
+}
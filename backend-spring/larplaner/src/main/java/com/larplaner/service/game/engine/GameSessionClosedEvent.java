@@ -0,0 +1,14 @@
+package com.larplaner.service.game.engine;
+
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Published by the {@link GameSessionEngine} after a session ended or was deleted, following its
+ * {@link GameSessionEvictedEvent}, so state kept for it elsewhere can be dropped.
+ */
+@Value
+public class GameSessionClosedEvent {
+
+  UUID gameSessionId;
+}
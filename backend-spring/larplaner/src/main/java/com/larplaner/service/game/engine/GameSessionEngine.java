@@ -0,0 +1,637 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.dto.game.action.GameActionRequestDTO;
+import com.larplaner.model.TimeOrderedUuid;
+import com.larplaner.model.action.Action;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.game.GameSessionEventTypeEnum;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.service.game.metrics.GameMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps game sessions resident in memory and evaluates actions against that state without reading
+ * the database. Sessions are loaded on first use (or warmed up when their event becomes active) and
+ * every change is persisted asynchronously through the {@link GameActionJournal}.
+ * <p>
+ * Anything that changes game state in the database directly (scenario edits, ending the event)
+ * must {@link #evict(UUID)} the affected session, so it is reloaded on next use. Evictions requested
+ * inside a transaction run after it completes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameSessionEngine {
+
+  private final GameSessionStateLoader gameSessionStateLoader;
+  private final GameActionJournal gameActionJournal;
+  private final TagExpiryScheduler tagExpiryScheduler;
+  private final ApplicationEventPublisher eventPublisher;
+  private final GameMetrics gameMetrics;
+
+  private final Map<UUID, GameSessionState> sessions = new ConcurrentHashMap<>();
+  private final Map<UUID, UUID> sessionIdsByRoleStateId = new ConcurrentHashMap<>();
+
+  /**
+   * Incremented by every eviction, so a load that overlapped one is discarded and repeated.
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  @PostConstruct
+  void registerListeners() {
+    gameActionJournal.setWriteFailureListener(gameSessionIds -> gameSessionIds.forEach(this::evict));
+    tagExpiryScheduler.setExpiryHandler(this::expire);
+  }
+
+  public GameSessionState getSession(UUID gameSessionId) {
+    while (true) {
+      GameSessionState resident = sessions.get(gameSessionId);
+      if (Objects.nonNull(resident)) {
+        if (!resident.isEvicted()) {
+          return resident;
+        }
+        awaitRemoval(gameSessionId, resident);
+        continue;
+      }
+
+      long loadedGeneration = generation.get();
+      // Make sure everything already acknowledged for this session is visible to the loader
+      gameActionJournal.flush(gameSessionId);
+      GameSessionState loaded = gameSessionStateLoader.load(gameSessionId);
+
+      GameSessionState existing = sessions.putIfAbsent(gameSessionId, loaded);
+      if (Objects.nonNull(existing)) {
+        return existing;
+      }
+      if (generation.get() != loadedGeneration) {
+        // An eviction ran during the load, which may have read the state it was meant to drop
+        synchronized (loaded) {
+          loaded.setEvicted(true);
+          sessions.remove(gameSessionId, loaded);
+          loaded.notifyAll();
+        }
+        continue;
+      }
+
+      loaded.getRolesById().keySet()
+          .forEach(roleStateId -> sessionIdsByRoleStateId.put(roleStateId, gameSessionId));
+      synchronized (loaded) {
+        loaded.getRolesById().values().forEach(role -> role.getAppliedTags()
+            .forEach(appliedTag -> scheduleExpiry(loaded, role, appliedTag)));
+      }
+      log.info("Game session {} is now resident in game session engine", gameSessionId);
+      return loaded;
+    }
+  }
+
+  public GameSessionState getSessionByRoleStateId(UUID gameRoleStateId) {
+    UUID gameSessionId = findGameSessionIdByRoleStateId(gameRoleStateId)
+        .orElseThrow(() -> new EntityNotFoundException(
+            "Game role state not found with id: " + gameRoleStateId));
+
+    return getSession(gameSessionId);
+  }
+
+  public Optional<UUID> findGameSessionIdByRoleStateId(UUID gameRoleStateId) {
+    return Optional.ofNullable(sessionIdsByRoleStateId.get(gameRoleStateId))
+        .or(() -> gameSessionStateLoader.findGameSessionIdByRoleStateId(gameRoleStateId));
+  }
+
+  /**
+   * Copies of the applied tags of each role of the session, by game role state ID, if the session
+   * is resident. Never loads the session.
+   */
+  public Optional<Map<UUID, List<AppliedTagState>>> findResidentAppliedTags(UUID gameSessionId) {
+    GameSessionState session = sessions.get(gameSessionId);
+    if (Objects.isNull(session)) {
+      return Optional.empty();
+    }
+
+    synchronized (session) {
+      if (session.isEvicted()) {
+        return Optional.empty();
+      }
+
+      return Optional.of(session.getRolesById().values().stream()
+          .collect(Collectors.toMap(RoleState::getId, GameSessionEngine::copyAppliedTags)));
+    }
+  }
+
+  /**
+   * Drops the resident state of the game session. Inside a transaction this happens once it has
+   * completed, so a load running concurrently cannot keep the state from before the commit.
+   */
+  public void evict(UUID gameSessionId) {
+    afterCompletion(() -> evictNow(gameSessionId, GameSessionEvictedEvent.Cause.STATE_CHANGED));
+  }
+
+  public void evictByScenarioId(UUID scenarioId) {
+    afterCompletion(() -> {
+      generation.incrementAndGet();
+      sessions.values().stream()
+          .filter(session -> session.getScenarioId().equals(scenarioId))
+          .map(GameSessionState::getId)
+          .toList()
+          .forEach(gameSessionId -> evictNow(gameSessionId,
+              GameSessionEvictedEvent.Cause.SCENARIO_CHANGED));
+    });
+  }
+
+  /**
+   * Drops every resident session, e.g. after a tag definition changed.
+   */
+  public void evictAll() {
+    afterCompletion(() -> {
+      generation.incrementAndGet();
+      List.copyOf(sessions.keySet()).forEach(gameSessionId -> evictNow(gameSessionId,
+          GameSessionEvictedEvent.Cause.STATE_CHANGED));
+    });
+  }
+
+  /**
+   * Evicts the session for good, as it ended or was deleted, and publishes a
+   * {@link GameSessionClosedEvent}. Inside a transaction this happens once it has completed.
+   */
+  public void close(UUID gameSessionId) {
+    afterCompletion(() -> {
+      evictNow(gameSessionId, GameSessionEvictedEvent.Cause.CLOSED);
+      eventPublisher.publishEvent(new GameSessionClosedEvent(gameSessionId));
+    });
+  }
+
+  private void evictNow(UUID gameSessionId, GameSessionEvictedEvent.Cause cause) {
+    generation.incrementAndGet();
+    GameSessionState removed = sessions.get(gameSessionId);
+    if (Objects.isNull(removed)) {
+      return;
+    }
+
+    synchronized (removed) {
+      removed.setEvicted(true);
+      sessions.remove(gameSessionId, removed);
+      removed.notifyAll();
+    }
+    removed.getRolesById().keySet().forEach(sessionIdsByRoleStateId::remove);
+    tagExpiryScheduler.cancelAll(gameSessionId);
+    eventPublisher.publishEvent(new GameSessionEvictedEvent(gameSessionId, cause));
+    log.info("Game session {} was evicted from game session engine", gameSessionId);
+  }
+
+  /**
+   * Waits until a session that was marked evicted ahead of its eviction, as by
+   * {@link #editRoleTags}, is dropped. Must not be called from the transaction that evicts it.
+   */
+  private void awaitRemoval(UUID gameSessionId, GameSessionState evicted) {
+    synchronized (evicted) {
+      while (sessions.get(gameSessionId) == evicted) {
+        try {
+          evicted.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException(
+              "Interrupted while waiting for eviction of game session " + gameSessionId, e);
+        }
+      }
+    }
+  }
+
+  private static void afterCompletion(Runnable eviction) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      eviction.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        eviction.run();
+      }
+    });
+  }
+
+  public PerformedAction performAction(UUID gameSessionId, GameActionRequestDTO request) {
+    Timer.Sample sample = gameMetrics.startTimer();
+    String outcome = GameMetrics.OUTCOME_ERROR;
+    try {
+      while (true) {
+        GameSessionState session = gameMetrics.timePhase(GameMetrics.PHASE_SESSION_LOAD,
+            gameSessionId, () -> getSession(gameSessionId));
+        synchronized (session) {
+          if (!session.isEvicted()) {
+            PerformedAction performedAction = performAction(session, request);
+            outcome = performedAction.isSuccess()
+                ? GameMetrics.OUTCOME_SUCCESS
+                : GameMetrics.OUTCOME_FAILURE;
+            return performedAction;
+          }
+        }
+      }
+    } finally {
+      gameMetrics.recordAction(sample, gameSessionId,
+          GameMetrics.actionType(request.getTargetItemId()), outcome);
+    }
+  }
+
+  /**
+   * Performs all requests under a single lock of the session. Every request is validated before
+   * any of them is applied, and the results are handed to the journal together, so they are
+   * written in one batch.
+   */
+  public List<PerformedAction> performActions(UUID gameSessionId,
+      List<GameActionRequestDTO> requests) {
+    while (true) {
+      GameSessionState session = getSession(gameSessionId);
+      synchronized (session) {
+        if (!session.isEvicted()) {
+          List<ResolvedAction> resolvedActions = requests.stream()
+              .map(request -> resolve(session, request))
+              .toList();
+          List<PerformedAction> performedActions = resolvedActions.stream()
+              .map(resolvedAction -> execute(session, resolvedAction))
+              .toList();
+
+          gameActionJournal.appendAll(performedActions);
+          eventPublisher.publishEvent(
+              new GameActionsPerformedEvent(session.getId(), performedActions));
+          return performedActions;
+        }
+      }
+    }
+  }
+
+  public List<ScenarioAction> getAvailableActions(UUID gameRoleStateId) {
+    return withRole(gameRoleStateId, (session, role) -> {
+      long[] activeTags = role.getActiveTagMask();
+
+      return session.getScenarioActions().values().stream()
+          .filter(action -> action.canBeDisplayed(activeTags))
+          .map(CompiledAction::getAction)
+          .toList();
+    });
+  }
+
+  public List<ScenarioItemAction> getAvailableItemActions(UUID gameRoleStateId,
+      UUID scenarioItemId) {
+    return withRole(gameRoleStateId, (session, role) -> {
+      List<CompiledAction<ScenarioItemAction>> itemActions = Optional.ofNullable(
+              session.getItemActionsByScenarioItemId().get(scenarioItemId))
+          .orElseThrow(() -> new EntityNotFoundException(
+              "Scenario item not found with id: " + scenarioItemId));
+      long[] activeTags = role.getActiveTagMask();
+
+      return itemActions.stream()
+          .filter(action -> action.canBeDisplayed(activeTags))
+          .map(CompiledAction::getAction)
+          .toList();
+    });
+  }
+
+  /**
+   * The same as {@link #getAvailableActions} and {@link #getAvailableItemActions} for every item,
+   * as IDs.
+   *
+   * @param previous result of an earlier call for the same role, or null. If given, only the
+   *                 actions referencing a tag that was added or removed since are checked again,
+   *                 through the session's {@link ActionTagIndex}.
+   */
+  public VisibleActions getVisibleActions(UUID gameRoleStateId, VisibleActions previous) {
+    return withRole(gameRoleStateId, (session, role) -> {
+      long[] activeTags = role.getActiveTagMask();
+      if (Objects.isNull(previous) || previous.tagOrdinals() != session.getTagOrdinals()) {
+        return new VisibleActions(session.getId(),
+            visibleIds(session.getScenarioActions().values(), activeTags, new HashSet<>()),
+            visibleIds(session.getItemActionsByScenarioItemId().values().stream()
+                .flatMap(List::stream)
+                .toList(), activeTags, new HashSet<>()),
+            activeTags.clone(), session.getTagOrdinals());
+      }
+
+      long[] changedTags = TagMask.changed(previous.activeTags(), activeTags);
+      ActionTagIndex index = session.getActionTagIndex();
+      return new VisibleActions(session.getId(),
+          visibleIds(index.scenarioActionsReferencing(changedTags), activeTags,
+              new HashSet<>(previous.actionIds())),
+          visibleIds(index.itemActionsReferencing(changedTags), activeTags,
+              new HashSet<>(previous.itemActionIds())),
+          activeTags.clone(), session.getTagOrdinals());
+    });
+  }
+
+  /**
+   * Admin edit of a role: applied tags whose tag is not in {@code tags} are removed, and tags the
+   * role has no applied tag for are applied now. The edit is journaled as a
+   * {@link GameSessionEventTypeEnum#ROLE_EDITED} event followed by its tag events, then the session
+   * is evicted, as the new tags may not be known to its resident state. The resident state is
+   * marked evicted before the lock is released, so no action is evaluated against the tags from
+   * before the edit while the eviction waits for the transaction to complete.
+   *
+   * @return ID of the role's game session
+   */
+  public UUID editRoleTags(UUID gameRoleStateId, Collection<Tag> tags) {
+    UUID gameSessionId = withRole(gameRoleStateId, (session, role) -> {
+      ZonedDateTime now = ZonedDateTime.now();
+      Set<UUID> tagIds = tags.stream().map(Tag::getId).collect(Collectors.toSet());
+      Set<UUID> roleTagIds = role.getAppliedTags().stream()
+          .map(appliedTag -> appliedTag.getTag().getId())
+          .collect(Collectors.toSet());
+
+      List<GameSessionEvent> events = new ArrayList<>();
+      events.add(event(session, role, GameSessionEventTypeEnum.ROLE_EDITED, now).build());
+      role.getAppliedTags().stream()
+          .filter(appliedTag -> !tagIds.contains(appliedTag.getTag().getId()))
+          .forEach(appliedTag -> events.add(
+              event(session, role, GameSessionEventTypeEnum.TAG_REMOVED, now)
+                  .appliedTagId(appliedTag.getId())
+                  .tagId(appliedTag.getTag().getId())
+                  .build()));
+      tagIds.stream()
+          .filter(tagId -> !roleTagIds.contains(tagId))
+          .forEach(tagId -> events.add(
+              event(session, role, GameSessionEventTypeEnum.TAG_APPLIED, now)
+                  .appliedTagId(TimeOrderedUuid.next())
+                  .tagId(tagId)
+                  .build()));
+
+      gameActionJournal.appendEvents(events);
+      session.setEvicted(true);
+      return session.getId();
+    });
+    evict(gameSessionId);
+    return gameSessionId;
+  }
+
+  /**
+   * Adds the IDs of the visible {@code actions} to {@code ids} and removes the others.
+   */
+  private static Set<UUID> visibleIds(Collection<? extends CompiledAction<?>> actions,
+      long[] activeTags, Set<UUID> ids) {
+    for (CompiledAction<?> action : actions) {
+      if (action.canBeDisplayed(activeTags)) {
+        ids.add(action.getAction().getId());
+      } else {
+        ids.remove(action.getAction().getId());
+      }
+    }
+    return Collections.unmodifiableSet(ids);
+  }
+
+  private <T> T withRole(UUID gameRoleStateId,
+      BiFunction<GameSessionState, RoleState, T> function) {
+    while (true) {
+      GameSessionState session = getSessionByRoleStateId(gameRoleStateId);
+      synchronized (session) {
+        if (!session.isEvicted()) {
+          RoleState role = session.findRoleById(gameRoleStateId)
+              .orElseThrow(() -> new EntityNotFoundException(
+                  "Game role state not found with id: " + gameRoleStateId));
+          return function.apply(session, role);
+        }
+      }
+    }
+  }
+
+  private PerformedAction performAction(GameSessionState session, GameActionRequestDTO request) {
+    PerformedAction performedAction = gameMetrics.timePhase(GameMetrics.PHASE_TAG_EVALUATION,
+        session.getId(), () -> execute(session, resolve(session, request)));
+    gameActionJournal.append(performedAction);
+    eventPublisher.publishEvent(
+        new GameActionsPerformedEvent(session.getId(), List.of(performedAction)));
+    return performedAction;
+  }
+
+  private ResolvedAction resolve(GameSessionState session, GameActionRequestDTO request) {
+    RoleState performer = session.findRoleByScenarioRoleId(request.getPerformerRoleId())
+        .orElseThrow(() -> new EntityNotFoundException(
+            "Role not found in game session with id: " + request.getPerformerRoleId()));
+
+    UUID targetItemId = null;
+    CompiledAction<? extends Action> compiledAction;
+    if (Objects.isNull(request.getTargetItemId())) {
+      compiledAction = Optional.ofNullable(
+              session.getScenarioActions().get(request.getActionId()))
+          .orElseThrow(() -> new EntityNotFoundException(
+              "Scenario action not found with id: " + request.getActionId()));
+    } else {
+      targetItemId = Optional.ofNullable(
+              session.getItemStateIdsByScenarioItemId().get(request.getTargetItemId()))
+          .orElseThrow(() -> new EntityNotFoundException(
+              "Item not found in game session with id: " + request.getTargetItemId()));
+      compiledAction = session.findItemAction(request.getTargetItemId(), request.getActionId())
+          .orElseThrow(() -> new EntityNotFoundException(
+              "Scenario item action not found with id: " + request.getActionId()));
+    }
+
+    return new ResolvedAction(performer, compiledAction, targetItemId);
+  }
+
+  private PerformedAction execute(GameSessionState session, ResolvedAction resolvedAction) {
+    RoleState performer = resolvedAction.getPerformer();
+    CompiledAction<? extends Action> compiledAction = resolvedAction.getCompiledAction();
+    Action actionToPerform = compiledAction.getAction();
+    ZonedDateTime now = ZonedDateTime.now();
+    long[] activeTags = performer.getActiveTagMask();
+    var success = compiledAction.succeeds(activeTags);
+
+    List<Tag> tagsToRemove = success
+        ? actionToPerform.getTagsToRemoveOnSuccess()
+        : actionToPerform.getTagsToRemoveOnFailure();
+    List<Tag> tagsToApply = success
+        ? actionToPerform.getTagsToApplyOnSuccess()
+        : actionToPerform.getTagsToApplyOnFailure();
+
+    log.debug("Role {} performs action {} in game session {}: success = {}", performer.getId(),
+        actionToPerform.getId(), session.getId(), success);
+
+    var performedAction = PerformedAction.builder()
+        .logId(TimeOrderedUuid.next())
+        .gameSessionId(session.getId())
+        .performerRoleId(performer.getId())
+        .actionId(actionToPerform.getId())
+        .itemAction(actionToPerform instanceof ScenarioItemAction)
+        .targetItemId(resolvedAction.getTargetItemId())
+        .timestamp(now)
+        .success(success)
+        .message(success
+            ? actionToPerform.getMessageOnSuccess()
+            : actionToPerform.getMessageOnFailure())
+        .appliedTags(List.copyOf(tagsToApply))
+        .removedTags(List.copyOf(tagsToRemove));
+
+    List<GameSessionEvent> events = new ArrayList<>();
+    events.add(event(session, performer, GameSessionEventTypeEnum.ACTION_PERFORMED, now)
+        .actionId(actionToPerform.getId())
+        .targetItemId(resolvedAction.getTargetItemId())
+        .success(success)
+        .build());
+    updateAndRemoveRoleTags(session, performer, tagsToRemove, tagsToApply, activeTags, now,
+        performedAction, events);
+
+    return performedAction
+        .performerUserID(performer.getAssignedUserID())
+        .performerAppliedTags(copyAppliedTags(performer))
+        .events(events)
+        .build();
+  }
+
+  private void updateAndRemoveRoleTags(GameSessionState session, RoleState role,
+      Collection<Tag> tagsToRemove, Collection<Tag> tagsToApply, long[] activeTags,
+      ZonedDateTime now, PerformedAction.PerformedActionBuilder performedAction,
+      List<GameSessionEvent> events) {
+    TagOrdinals tagOrdinals = session.getTagOrdinals();
+    Map<Tag, AppliedTagState> tagsToRefresh = tagsToApply.stream()
+        .filter(tag -> TagMask.contains(activeTags, tagOrdinals.ordinalOf(tag)))
+        .distinct()
+        .map(role::findActiveAppliedTag)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toMap(AppliedTagState::getTag, Function.identity()));
+
+    Set<UUID> removedTagIds = tagsToRemove.stream().map(Tag::getId).collect(Collectors.toSet());
+    List<AppliedTagState> removedAppliedTags = role.getAppliedTags().stream()
+        .filter(appliedTag -> removedTagIds.contains(appliedTag.getTag().getId()))
+        .toList();
+    role.getAppliedTags().removeAll(removedAppliedTags);
+    removedAppliedTags.forEach(appliedTag -> events.add(
+        event(session, role, GameSessionEventTypeEnum.TAG_REMOVED, now)
+            .appliedTagId(appliedTag.getId())
+            .tagId(appliedTag.getTag().getId())
+            .build()));
+
+    List<AppliedTagState> addedAppliedTags = tagsToApply.stream()
+        .filter(tag -> !TagMask.contains(activeTags, tagOrdinals.ordinalOf(tag)))
+        .distinct()
+        .map(tag -> AppliedTagState.builder()
+            .id(TimeOrderedUuid.next())
+            .tag(tag)
+            .tagOrdinal(tagOrdinals.ordinalOf(tag))
+            .userID(role.getAssignedUserID())
+            .userEmail(role.getAssignedEmail())
+            .appliedToUserAt(now)
+            .build())
+        .toList();
+
+    Map<UUID, ZonedDateTime> refreshedAppliedTags = new HashMap<>();
+    tagsToRefresh.values().stream()
+        .filter(appliedTag -> role.getAppliedTags().remove(appliedTag))
+        .forEach(appliedTag -> {
+          appliedTag.setAppliedToUserAt(now);
+          role.getAppliedTags().add(0, appliedTag);
+          refreshedAppliedTags.put(appliedTag.getId(), now);
+          scheduleExpiry(session, role, appliedTag);
+          events.add(event(session, role, GameSessionEventTypeEnum.TAG_REFRESHED, now)
+              .appliedTagId(appliedTag.getId())
+              .build());
+        });
+    role.getAppliedTags().addAll(0, addedAppliedTags);
+    addedAppliedTags.forEach(appliedTag -> events.add(
+        event(session, role, GameSessionEventTypeEnum.TAG_APPLIED, now)
+            .appliedTagId(appliedTag.getId())
+            .tagId(appliedTag.getTag().getId())
+            .build()));
+    role.markAppliedTagsChanged();
+    addedAppliedTags.forEach(appliedTag -> scheduleExpiry(session, role, appliedTag));
+
+    performedAction
+        .removedTagIds(removedTagIds)
+        .addedAppliedTags(addedAppliedTags.stream().map(AppliedTagState::copy).toList())
+        .refreshedAppliedTags(refreshedAppliedTags);
+  }
+
+  private GameSessionEvent.GameSessionEventBuilder<?, ?> event(GameSessionState session,
+      RoleState role, GameSessionEventTypeEnum type, ZonedDateTime now) {
+    return GameSessionEvent.builder()
+        .gameSessionId(session.getId())
+        .sequenceNumber(session.nextEventSequence())
+        .type(type)
+        .gameRoleStateId(role.getId())
+        .occurredAt(now);
+  }
+
+  private static List<AppliedTagState> copyAppliedTags(RoleState role) {
+    return role.getAppliedTags().stream()
+        .map(AppliedTagState::copy)
+        .toList();
+  }
+
+  private void scheduleExpiry(GameSessionState session, RoleState role,
+      AppliedTagState appliedTag) {
+    ZonedDateTime expiresAt = appliedTag.getExpiresAt();
+    if (appliedTag.isActive() && Objects.nonNull(expiresAt)) {
+      tagExpiryScheduler.schedule(
+          new TagExpiry(session.getId(), role.getId(), appliedTag.getId(), expiresAt));
+    }
+  }
+
+  private void expire(TagExpiry expiry) {
+    GameSessionState session = sessions.get(expiry.getGameSessionId());
+    if (Objects.isNull(session)) {
+      return;
+    }
+
+    synchronized (session) {
+      if (session.isEvicted()) {
+        return;
+      }
+
+      RoleState role = session.findRoleById(expiry.getGameRoleStateId()).orElse(null);
+      if (Objects.isNull(role)) {
+        return;
+      }
+
+      // Skip entries of tags that were removed or refreshed after the entry was scheduled
+      AppliedTagState appliedTag = role.findAppliedTag(expiry.getAppliedTagId())
+          .filter(AppliedTagState::isActive)
+          .filter(tag -> expiry.getExpiresAt().isEqual(tag.getExpiresAt()))
+          .orElse(null);
+      if (Objects.isNull(appliedTag)) {
+        return;
+      }
+
+      appliedTag.setActive(false);
+      role.markAppliedTagsChanged();
+      log.debug("Applied tag {} of game role state {} expired", appliedTag.getId(), role.getId());
+
+      eventPublisher.publishEvent(new AppliedTagsExpiredEvent(session.getId(), role.getId(),
+          appliedTag.getId(), role.getAssignedUserID(), copyAppliedTags(role)));
+    }
+  }
+
+  /**
+   * A validated request: performer, action and (for item actions) the game item state ID.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  private static class ResolvedAction {
+
+    private final RoleState performer;
+    private final CompiledAction<? extends Action> compiledAction;
+    private final UUID targetItemId;
+  }
+}
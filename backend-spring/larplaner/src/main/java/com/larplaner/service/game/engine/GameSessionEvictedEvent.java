@@ -0,0 +1,31 @@
+package com.larplaner.service.game.engine;
+
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Published by the {@link GameSessionEngine} when a session is dropped because its state changed
+ * outside the engine (or could not be persisted), so clients should reload it. It is published
+ * once the change that evicted the session is complete, so the session can be loaded again.
+ */
+@Value
+public class GameSessionEvictedEvent {
+
+  UUID gameSessionId;
+  Cause cause;
+
+  public enum Cause {
+    /**
+     * Roles, tags or the journal of the session changed; its scenario and actions did not.
+     */
+    STATE_CHANGED,
+    /**
+     * The scenario changed, so actions may have been added or removed.
+     */
+    SCENARIO_CHANGED,
+    /**
+     * The session ended or was deleted and must not be loaded again.
+     */
+    CLOSED
+  }
+}
@@ -0,0 +1,42 @@
+package com.larplaner.service.game.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores {@link GameSessionSnapshotState} as gzip-compressed JSON. Applied tags of one session
+ * repeat the same tag IDs, users and dates over and over, so they compress well.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameSessionSnapshotCodec {
+
+  private final ObjectMapper objectMapper;
+
+  public byte[] encode(GameSessionSnapshotState state) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      objectMapper.writeValue(out, state);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public GameSessionSnapshotState decode(byte[] state) {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(state))) {
+      return objectMapper.readValue(in, GameSessionSnapshotState.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSessionSnapshot;
+import com.larplaner.model.tag.AppliedTag;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Content of a {@link GameSessionSnapshot}: the applied tags of every role, with tags referenced
+ * by ID.
+ */
+public record GameSessionSnapshotState(List<RoleSnapshot> roles) {
+
+  public static GameSessionSnapshotState fromEntities(Collection<GameRoleState> roles) {
+    return new GameSessionSnapshotState(roles.stream()
+        .map(role -> new RoleSnapshot(role.getId(), role.getAppliedTags().stream()
+            .map(AppliedTagSnapshot::fromEntity)
+            .toList()))
+        .toList());
+  }
+
+  public Optional<RoleSnapshot> findRole(UUID gameRoleStateId) {
+    return roles.stream().filter(role -> role.id().equals(gameRoleStateId)).findFirst();
+  }
+
+  public record RoleSnapshot(UUID id, List<AppliedTagSnapshot> appliedTags) {
+
+  }
+
+  public record AppliedTagSnapshot(UUID id, UUID tagId, String userID, String userEmail,
+                                   ZonedDateTime appliedToUserAt) {
+
+    static AppliedTagSnapshot fromEntity(AppliedTag appliedTag) {
+      return new AppliedTagSnapshot(appliedTag.getId(), appliedTag.getTag().getId(),
+          appliedTag.getUserID(), appliedTag.getUserEmail(), appliedTag.getAppliedToUserAt());
+    }
+  }
+}
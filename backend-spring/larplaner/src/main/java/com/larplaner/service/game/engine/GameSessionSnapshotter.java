@@ -0,0 +1,147 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSession;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.game.GameSessionSnapshot;
+import com.larplaner.model.tag.AppliedTag;
+import com.larplaner.repository.game.GameRoleStateRepository;
+import com.larplaner.repository.game.GameSessionEventRepository;
+import com.larplaner.repository.game.GameSessionRepository;
+import com.larplaner.repository.game.GameSessionSnapshotRepository;
+import com.larplaner.repository.tag.TagRepository;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies the {@link GameSessionEvent}s of a game session that came after its
+ * {@link GameSession#getSnapshotSequence()} to the applied tags of its {@link GameRoleState}s. Each
+ * role is loaded once however many events it has, and a tag that was applied and removed again in
+ * between is never written.
+ * <p>
+ * Once {@code larplaner.game.history.snapshot-interval} events were applied since the last
+ * {@link GameSessionSnapshot}, the roles are also archived in a new one, for point-in-time queries.
+ */
+@Component
+@Slf4j
+public class GameSessionSnapshotter {
+
+  private final GameSessionRepository gameSessionRepository;
+  private final GameSessionEventRepository gameSessionEventRepository;
+  private final GameSessionSnapshotRepository gameSessionSnapshotRepository;
+  private final GameRoleStateRepository gameRoleStateRepository;
+  private final TagRepository tagRepository;
+  private final GameSessionSnapshotCodec gameSessionSnapshotCodec;
+  private final int archiveInterval;
+
+  public GameSessionSnapshotter(GameSessionRepository gameSessionRepository,
+      GameSessionEventRepository gameSessionEventRepository,
+      GameSessionSnapshotRepository gameSessionSnapshotRepository,
+      GameRoleStateRepository gameRoleStateRepository, TagRepository tagRepository,
+      GameSessionSnapshotCodec gameSessionSnapshotCodec,
+      @Value("${larplaner.game.history.snapshot-interval:1000}") int archiveInterval) {
+    this.gameSessionRepository = gameSessionRepository;
+    this.gameSessionEventRepository = gameSessionEventRepository;
+    this.gameSessionSnapshotRepository = gameSessionSnapshotRepository;
+    this.gameRoleStateRepository = gameRoleStateRepository;
+    this.tagRepository = tagRepository;
+    this.gameSessionSnapshotCodec = gameSessionSnapshotCodec;
+    this.archiveInterval = archiveInterval;
+  }
+
+  @Transactional(readOnly = true)
+  public List<UUID> findGameSessionIdsWithPendingEvents() {
+    return gameSessionRepository.findIdsWithEventsAfterSnapshot();
+  }
+
+  @Transactional
+  public void snapshot(UUID gameSessionId) {
+    Long snapshotSequence = gameSessionRepository.findSnapshotSequenceById(gameSessionId)
+        .orElse(null);
+    if (Objects.isNull(snapshotSequence)) {
+      return;
+    }
+
+    List<GameSessionEvent> events = gameSessionEventRepository
+        .findByGameSessionIdAndSequenceNumberGreaterThanOrderBySequenceNumber(gameSessionId,
+            snapshotSequence);
+    if (events.isEmpty()) {
+      return;
+    }
+
+    Map<UUID, GameRoleState> roles = gameRoleStateRepository.findAllById(events.stream()
+            .map(GameSessionEvent::getGameRoleStateId)
+            .collect(Collectors.toSet()))
+        .stream()
+        .collect(Collectors.toMap(GameRoleState::getId, Function.identity()));
+    events.forEach(event -> {
+      GameRoleState role = roles.get(event.getGameRoleStateId());
+      if (Objects.nonNull(role)) {
+        apply(role, event);
+      }
+    });
+
+    GameSessionEvent lastEvent = events.get(events.size() - 1);
+    gameSessionRepository.updateSnapshotSequence(gameSessionId, lastEvent.getSequenceNumber());
+    log.debug("Snapshot of game session {} moved from event {} to {}", gameSessionId,
+        snapshotSequence, lastEvent.getSequenceNumber());
+
+    long archivedSequence = gameSessionSnapshotRepository.findLastSequenceNumber(gameSessionId)
+        .orElse(0L);
+    if (lastEvent.getSequenceNumber() - archivedSequence >= archiveInterval) {
+      archive(gameSessionId, lastEvent.getSequenceNumber(), lastEvent.getOccurredAt(),
+          gameRoleStateRepository.findByGameSession_Id(gameSessionId));
+    }
+  }
+
+  /**
+   * Stores the applied tags of the roles as a {@link GameSessionSnapshot}.
+   *
+   * @param roles all roles of the game session, with the events up to {@code sequenceNumber}
+   *              applied
+   */
+  @Transactional
+  public void archive(UUID gameSessionId, long sequenceNumber, ZonedDateTime takenAt,
+      Collection<GameRoleState> roles) {
+    byte[] state = gameSessionSnapshotCodec.encode(GameSessionSnapshotState.fromEntities(roles));
+    gameSessionSnapshotRepository.save(GameSessionSnapshot.builder()
+        .gameSessionId(gameSessionId)
+        .sequenceNumber(sequenceNumber)
+        .takenAt(takenAt)
+        .state(state)
+        .build());
+    log.debug("Archived game session {} at event {} in {} bytes", gameSessionId, sequenceNumber,
+        state.length);
+  }
+
+  private void apply(GameRoleState role, GameSessionEvent event) {
+    switch (event.getType()) {
+      case TAG_APPLIED -> role.getAppliedTags().add(AppliedTag.builder()
+          .id(event.getAppliedTagId())
+          .tag(tagRepository.getReferenceById(event.getTagId()))
+          .userID(role.getAssignedUserID())
+          .userEmail(role.getAssignedEmail())
+          .appliedToUserAt(event.getOccurredAt())
+          .build());
+      case TAG_REFRESHED -> role.getAppliedTags().stream()
+          .filter(appliedTag -> appliedTag.getId().equals(event.getAppliedTagId()))
+          .findFirst()
+          .ifPresent(appliedTag -> appliedTag.setAppliedToUserAt(event.getOccurredAt()));
+      case TAG_REMOVED -> role.getAppliedTags()
+          .removeIf(appliedTag -> appliedTag.getId().equals(event.getAppliedTagId()));
+      case ACTION_PERFORMED, ROLE_EDITED -> {
+        // Only mark what caused the events that follow; the role itself does not change
+      }
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.game.GameSession;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Resident snapshot of a {@link GameSession} used by the {@link GameSessionEngine}. Scenario
+ * actions are detached entities with all tag lists initialized, compiled against the session's
+ * {@link TagOrdinals} and treated as read-only. Role states are mutable and guarded by this
+ * object's monitor.
+ */
+@Getter
+@Builder
+public class GameSessionState {
+
+  private final UUID id;
+  private final UUID scenarioId;
+  private final TagOrdinals tagOrdinals;
+
+  /**
+   * Role states keyed by {@link RoleState#getScenarioRoleId()}.
+   */
+  private final Map<UUID, RoleState> rolesByScenarioRoleId;
+
+  /**
+   * Role states keyed by {@link RoleState#getId()} (game role state ID).
+   */
+  private final Map<UUID, RoleState> rolesById;
+
+  /**
+   * Game item state IDs keyed by scenario item ID.
+   */
+  private final Map<UUID, UUID> itemStateIdsByScenarioItemId;
+
+  /**
+   * Scenario actions in scenario order, keyed by ID.
+   */
+  private final Map<UUID, CompiledAction<ScenarioAction>> scenarioActions;
+
+  /**
+   * Item actions in scenario order, grouped by scenario item ID.
+   */
+  private final Map<UUID, List<CompiledAction<ScenarioItemAction>>> itemActionsByScenarioItemId;
+
+  /**
+   * Scenario and item actions keyed by the tags they reference.
+   */
+  private final ActionTagIndex actionTagIndex;
+
+  /**
+   * Set (under this object's monitor) once the state is dropped from the engine, or is about to be.
+   * Callers that acquire the monitor of an evicted state must fetch a fresh one instead of mutating
+   * it. The engine notifies waiters on this object's monitor once it is dropped.
+   */
+  @Setter
+  private volatile boolean evicted;
+
+  /**
+   * Sequence number of the last {@link GameSessionEvent} of this session, guarded by this object's
+   * monitor.
+   */
+  @Getter(AccessLevel.NONE)
+  private long lastEventSequence;
+
+  public long nextEventSequence() {
+    return ++lastEventSequence;
+  }
+
+  public Optional<RoleState> findRoleByScenarioRoleId(UUID scenarioRoleId) {
+    return Optional.ofNullable(rolesByScenarioRoleId.get(scenarioRoleId));
+  }
+
+  public Optional<RoleState> findRoleById(UUID roleStateId) {
+    return Optional.ofNullable(rolesById.get(roleStateId));
+  }
+
+  public Optional<CompiledAction<ScenarioItemAction>> findItemAction(UUID scenarioItemId,
+      UUID actionId) {
+    return itemActionsByScenarioItemId.getOrDefault(scenarioItemId, List.of())
+        .stream()
+        .filter(action -> action.getAction().getId().equals(actionId))
+        .findFirst();
+  }
+}
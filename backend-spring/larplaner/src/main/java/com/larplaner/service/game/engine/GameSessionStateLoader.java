@@ -0,0 +1,138 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.action.Action;
+import com.larplaner.model.game.GameItemState;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSession;
+import com.larplaner.model.scenario.Scenario;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioItem;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import com.larplaner.model.tag.AppliedTag;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.repository.game.GameRoleStateRepository;
+import com.larplaner.repository.game.GameSessionEventRepository;
+import com.larplaner.repository.game.GameSessionRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds {@link GameSessionState} from the database. Everything the engine reads later is
+ * initialized here, so the returned state can be used without an open persistence context.
+ * <p>
+ * Role states are read from the applied tags of {@link GameRoleState}, which only reflect the
+ * session's events after {@link GameActionJournal#flush(UUID)}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameSessionStateLoader {
+
+  private final GameSessionRepository gameSessionRepository;
+  private final GameRoleStateRepository gameRoleStateRepository;
+  private final GameSessionEventRepository gameSessionEventRepository;
+
+  @Transactional(readOnly = true)
+  public GameSessionState load(UUID gameSessionId) {
+    GameSession gameSession = gameSessionRepository.findById(gameSessionId)
+        .orElseThrow(() -> new EntityNotFoundException(
+            "Game session not found with id: " + gameSessionId));
+    Scenario scenario = gameSession.getEvent().getScenario();
+
+    TagOrdinals tagOrdinals = new TagOrdinals();
+    scenario.getActions().forEach(action -> registerTags(action, tagOrdinals));
+    scenario.getItems().forEach(item -> item.getActions()
+        .forEach(action -> registerTags(action, tagOrdinals)));
+    gameSession.getAssignedRoles().forEach(gameRoleState -> gameRoleState.getAppliedTags()
+        .forEach(appliedTag -> tagOrdinals.register(unproxiedTag(appliedTag))));
+
+    // Masks are sized by the number of ordinals, so everything must be registered before this point
+    ZonedDateTime now = ZonedDateTime.now();
+    List<RoleState> roles = gameSession.getAssignedRoles().stream()
+        .map(gameRoleState -> toRoleState(gameRoleState, tagOrdinals, now))
+        .toList();
+
+    Map<UUID, CompiledAction<ScenarioAction>> scenarioActions = scenario.getActions().stream()
+        .collect(Collectors.toMap(ScenarioAction::getId,
+            action -> new CompiledAction<>(action, tagOrdinals),
+            (first, second) -> first, LinkedHashMap::new));
+
+    Map<UUID, List<CompiledAction<ScenarioItemAction>>> itemActions = new HashMap<>();
+    for (ScenarioItem item : scenario.getItems()) {
+      itemActions.put(item.getId(), item.getActions().stream()
+          .map(action -> new CompiledAction<>(action, tagOrdinals))
+          .toList());
+    }
+
+    Map<UUID, UUID> itemStateIds = gameSession.getItems().stream()
+        .collect(Collectors.toMap(itemState -> itemState.getScenarioItem().getId(),
+            GameItemState::getId));
+
+    log.debug("Loaded game session {} with {} roles, {} actions, {} items and {} tags",
+        gameSessionId, roles.size(), scenarioActions.size(), itemStateIds.size(),
+        tagOrdinals.size());
+
+    return GameSessionState.builder()
+        .id(gameSession.getId())
+        .scenarioId(scenario.getId())
+        .tagOrdinals(tagOrdinals)
+        .rolesByScenarioRoleId(roles.stream()
+            .collect(Collectors.toMap(RoleState::getScenarioRoleId, Function.identity())))
+        .rolesById(roles.stream()
+            .collect(Collectors.toMap(RoleState::getId, Function.identity())))
+        .itemStateIdsByScenarioItemId(itemStateIds)
+        .scenarioActions(scenarioActions)
+        .itemActionsByScenarioItemId(itemActions)
+        .actionTagIndex(new ActionTagIndex(tagOrdinals, scenarioActions.values(),
+            itemActions.values().stream().flatMap(List::stream).toList()))
+        .lastEventSequence(gameSessionEventRepository.findLastSequenceNumber(gameSessionId))
+        .build();
+  }
+
+  @Transactional(readOnly = true)
+  public Optional<UUID> findGameSessionIdByRoleStateId(UUID gameRoleStateId) {
+    return gameRoleStateRepository.findGameSessionIdById(gameRoleStateId);
+  }
+
+  private RoleState toRoleState(GameRoleState gameRoleState, TagOrdinals tagOrdinals,
+      ZonedDateTime now) {
+    return new RoleState(gameRoleState, gameRoleState.getAppliedTags().stream()
+        .map(appliedTag -> {
+          Tag tag = unproxiedTag(appliedTag);
+          return AppliedTagState.fromEntity(appliedTag, tag, tagOrdinals.ordinalOf(tag), now);
+        })
+        .toList(), tagOrdinals);
+  }
+
+  private Tag unproxiedTag(AppliedTag appliedTag) {
+    return Hibernate.unproxy(appliedTag.getTag(), Tag.class);
+  }
+
+  /**
+   * Initializes all tag lists of the action, so they can be read after the persistence context is
+   * closed, and assigns ordinals to their tags.
+   */
+  private void registerTags(Action action, TagOrdinals tagOrdinals) {
+    tagOrdinals.registerAll(action.getRequiredTagsToDisplay());
+    tagOrdinals.registerAll(action.getForbiddenTagsToDisplay());
+    tagOrdinals.registerAll(action.getRequiredTagsToSucceed());
+    tagOrdinals.registerAll(action.getForbiddenTagsToSucceed());
+    tagOrdinals.registerAll(action.getTagsToApplyOnSuccess());
+    tagOrdinals.registerAll(action.getTagsToApplyOnFailure());
+    tagOrdinals.registerAll(action.getTagsToRemoveOnSuccess());
+    tagOrdinals.registerAll(action.getTagsToRemoveOnFailure());
+  }
+}
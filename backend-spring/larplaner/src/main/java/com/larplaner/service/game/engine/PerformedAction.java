@@ -0,0 +1,62 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.game.GameActionLog;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.tag.Tag;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Result of an action evaluated by the {@link GameSessionEngine}. It describes both the
+ * {@link GameActionLog} to be written and the changes made to the performer's applied tags, as
+ * {@link GameSessionEvent}s, and is handed to the {@link GameActionJournal} to be persisted.
+ */
+@Value
+@Builder
+public class PerformedAction {
+
+  UUID logId;
+  UUID gameSessionId;
+  UUID performerRoleId;
+  UUID actionId;
+  boolean itemAction;
+  UUID targetItemId;
+  ZonedDateTime timestamp;
+  boolean success;
+  String message;
+  List<Tag> appliedTags;
+  List<Tag> removedTags;
+
+  /**
+   * IDs of tags whose applied tags were removed from the performer.
+   */
+  Set<UUID> removedTagIds;
+
+  /**
+   * Snapshots of applied tags newly added to the performer.
+   */
+  List<AppliedTagState> addedAppliedTags;
+
+  /**
+   * New application time of already active applied tags, keyed by applied tag ID.
+   */
+  Map<UUID, ZonedDateTime> refreshedAppliedTags;
+
+  String performerUserID;
+
+  /**
+   * Copies of all the performer's applied tags after the action, most recently applied first.
+   */
+  List<AppliedTagState> performerAppliedTags;
+
+  /**
+   * Events appended to the journal of the game session, in sequence order: the action itself,
+   * followed by the removed, refreshed and applied tags.
+   */
+  List<GameSessionEvent> events;
+}
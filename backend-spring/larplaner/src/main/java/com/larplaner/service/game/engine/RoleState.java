@@ -0,0 +1,83 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.tag.Tag;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * In-memory counterpart of {@link GameRoleState}. Applied tags are kept in the same order as the
+ * entity exposes them (most recently applied first). Must only be mutated while holding the lock of
+ * the owning {@link GameSessionState}, and {@link #markAppliedTagsChanged()} must be called after
+ * every change of the applied tags.
+ */
+@Getter
+public class RoleState {
+
+  private final UUID id;
+  private final UUID scenarioRoleId;
+  private final String assignedEmail;
+  private final String assignedUserID;
+  private final List<AppliedTagState> appliedTags;
+
+  @Getter(AccessLevel.NONE)
+  private final long[] activeTagMask;
+
+  @Getter(AccessLevel.NONE)
+  private boolean activeTagMaskValid;
+
+  public RoleState(GameRoleState gameRoleState, List<AppliedTagState> appliedTags,
+      TagOrdinals tagOrdinals) {
+    this.id = gameRoleState.getId();
+    this.scenarioRoleId = gameRoleState.getScenarioRole().getId();
+    this.assignedEmail = gameRoleState.getAssignedEmail();
+    this.assignedUserID = gameRoleState.getAssignedUserID();
+    this.appliedTags = appliedTags.stream()
+        .sorted(Comparator.comparing(AppliedTagState::getAppliedToUserAt).reversed())
+        .collect(Collectors.toCollection(ArrayList::new));
+    this.activeTagMask = new long[tagOrdinals.words()];
+  }
+
+  public void markAppliedTagsChanged() {
+    activeTagMaskValid = false;
+  }
+
+  /**
+   * @return active tags as a {@link TagMask}. The returned array is owned by this role state and is
+   * only valid while the session lock is held.
+   */
+  public long[] getActiveTagMask() {
+    if (activeTagMaskValid) {
+      return activeTagMask;
+    }
+
+    TagMask.clear(activeTagMask);
+    for (AppliedTagState appliedTag : appliedTags) {
+      if (appliedTag.isActive()) {
+        TagMask.set(activeTagMask, appliedTag.getTagOrdinal());
+      }
+    }
+
+    activeTagMaskValid = true;
+    return activeTagMask;
+  }
+
+  public Optional<AppliedTagState> findAppliedTag(UUID appliedTagId) {
+    return appliedTags.stream()
+        .filter(appliedTag -> appliedTag.getId().equals(appliedTagId))
+        .findFirst();
+  }
+
+  public Optional<AppliedTagState> findActiveAppliedTag(Tag tag) {
+    return appliedTags.stream()
+        .filter(AppliedTagState::isActive)
+        .filter(appliedTag -> appliedTag.getTag().equals(tag))
+        .findFirst();
+  }
+}
@@ -0,0 +1,18 @@
+package com.larplaner.service.game.engine;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Scheduled expiry of one applied tag. Stale entries (the tag was refreshed or removed since) are
+ * recognized by comparing {@link #expiresAt} with the tag's current expiry.
+ */
+@Value
+public class TagExpiry {
+
+  UUID gameSessionId;
+  UUID gameRoleStateId;
+  UUID appliedTagId;
+  ZonedDateTime expiresAt;
+}
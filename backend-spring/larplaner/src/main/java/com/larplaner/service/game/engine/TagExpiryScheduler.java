@@ -0,0 +1,94 @@
+package com.larplaner.service.game.engine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fires {@link TagExpiry} entries once, when the applied tag runs out, so the engine can flip the
+ * tag to inactive instead of checking expiry dates on every evaluation. Entries are kept in a
+ * {@link TimingWheel} advanced by a single background thread once per tick, so a tag never expires
+ * early and stays active for at most about one tick past its deadline.
+ */
+@Component
+@Slf4j
+public class TagExpiryScheduler {
+
+  private static final int WHEEL_SIZE = 60;
+  private static final int WHEEL_LEVELS = 3;
+
+  private final long tickMillis;
+  private final TimingWheel<TagExpiry> wheel;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+      runnable -> {
+        Thread thread = new Thread(runnable, "tag-expiry-scheduler");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  private volatile Consumer<TagExpiry> expiryHandler = expiry -> {
+  };
+
+  public TagExpiryScheduler(
+      @Value("${larplaner.game.tag-expiry.tick-millis:1000}") long tickMillis) {
+    this.tickMillis = tickMillis;
+    this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS,
+        System.currentTimeMillis());
+  }
+
+  @PostConstruct
+  void start() {
+    executor.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Called on the scheduler thread for every entry whose deadline has passed.
+   */
+  public void setExpiryHandler(Consumer<TagExpiry> expiryHandler) {
+    this.expiryHandler = expiryHandler;
+  }
+
+  public void schedule(TagExpiry expiry) {
+    synchronized (wheel) {
+      wheel.schedule(expiry.getExpiresAt().toInstant().toEpochMilli(), expiry);
+    }
+  }
+
+  /**
+   * Drops all pending entries of a game session, e.g. when it is evicted from the engine.
+   */
+  public void cancelAll(UUID gameSessionId) {
+    synchronized (wheel) {
+      wheel.removeIf(expiry -> expiry.getGameSessionId().equals(gameSessionId));
+    }
+  }
+
+  private void tick() {
+    List<TagExpiry> expired;
+    synchronized (wheel) {
+      expired = wheel.advanceTo(System.currentTimeMillis());
+    }
+
+    for (TagExpiry expiry : expired) {
+      try {
+        expiryHandler.accept(expiry);
+      } catch (Exception e) {
+        log.error("Could not expire applied tag {} of game role state {}",
+            expiry.getAppliedTagId(), expiry.getGameRoleStateId(), e);
+      }
+    }
+  }
+}
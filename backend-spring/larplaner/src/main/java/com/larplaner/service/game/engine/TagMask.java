@@ -0,0 +1,91 @@
+package com.larplaner.service.game.engine;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Operations on tag sets stored as {@code long[]} bitmasks indexed by {@link TagOrdinals}. All masks
+ * of one game session have the same length.
+ */
+public final class TagMask {
+
+  private TagMask() {
+  }
+
+  public static int words(int size) {
+    return (size + Long.SIZE - 1) / Long.SIZE;
+  }
+
+  public static void set(long[] mask, int ordinal) {
+    mask[ordinal >>> 6] |= 1L << ordinal;
+  }
+
+  public static boolean contains(long[] mask, int ordinal) {
+    return (mask[ordinal >>> 6] & (1L << ordinal)) != 0;
+  }
+
+  public static void clear(long[] mask) {
+    Arrays.fill(mask, 0L);
+  }
+
+  /**
+   * @return whether every bit of {@code required} is set in {@code mask}
+   */
+  public static boolean containsAll(long[] mask, long[] required) {
+    for (int i = 0; i < required.length; i++) {
+      if ((mask[i] & required[i]) != required[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return whether any bit of {@code other} is set in {@code mask}
+   */
+  public static boolean intersects(long[] mask, long[] other) {
+    for (int i = 0; i < other.length; i++) {
+      if ((mask[i] & other[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return tags set in exactly one of the masks, i.e. the tags that changed between them
+   */
+  public static long[] changed(long[] before, long[] after) {
+    long[] changed = new long[after.length];
+    for (int i = 0; i < after.length; i++) {
+      changed[i] = before[i] ^ after[i];
+    }
+    return changed;
+  }
+
+  /**
+   * @return union of the masks, which must all have the same length
+   */
+  public static long[] union(long[]... masks) {
+    long[] union = new long[masks[0].length];
+    for (long[] mask : masks) {
+      for (int i = 0; i < mask.length; i++) {
+        union[i] |= mask[i];
+      }
+    }
+    return union;
+  }
+
+  /**
+   * Calls {@code consumer} with the ordinal of every bit set in {@code mask}, in ascending order.
+   */
+  public static void forEach(long[] mask, IntConsumer consumer) {
+    for (int i = 0; i < mask.length; i++) {
+      long word = mask[i];
+      while (word != 0) {
+        consumer.accept(i * Long.SIZE + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+  }
+}
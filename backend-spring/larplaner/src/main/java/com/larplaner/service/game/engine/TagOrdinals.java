@@ -0,0 +1,59 @@
+package com.larplaner.service.game.engine;
+
+import com.larplaner.model.tag.Tag;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Dense, per game session numbering of every tag the session's scenario can observe or apply. The
+ * ordinals index the bits of the masks built by {@link TagMask}.
+ */
+public class TagOrdinals {
+
+  private final Map<UUID, Integer> ordinalsByTagId = new HashMap<>();
+
+  /**
+   * @return ordinal of the tag, assigning the next free one if the tag was not seen before. Must
+   * only be called while the ordinals are being built.
+   */
+  int register(Tag tag) {
+    return ordinalsByTagId.computeIfAbsent(tag.getId(), id -> ordinalsByTagId.size());
+  }
+
+  /**
+   * Registers every tag, see {@link #register(Tag)}. Public for the benchmarks, which build their
+   * ordinals like {@link GameSessionStateLoader} does.
+   */
+  public void registerAll(Collection<Tag> tags) {
+    tags.forEach(this::register);
+  }
+
+  public int ordinalOf(Tag tag) {
+    Integer ordinal = ordinalsByTagId.get(tag.getId());
+    if (Objects.isNull(ordinal)) {
+      throw new IllegalStateException("Tag " + tag.getId() + " is not known to this game session");
+    }
+
+    return ordinal;
+  }
+
+  public int size() {
+    return ordinalsByTagId.size();
+  }
+
+  /**
+   * @return number of {@code long} words needed to hold a mask of all known tags
+   */
+  public int words() {
+    return TagMask.words(size());
+  }
+
+  public long[] maskOf(Collection<Tag> tags) {
+    long[] mask = new long[words()];
+    tags.forEach(tag -> TagMask.set(mask, ordinalOf(tag)));
+    return mask;
+  }
+}
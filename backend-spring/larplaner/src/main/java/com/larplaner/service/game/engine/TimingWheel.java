@@ -0,0 +1,129 @@
+package com.larplaner.service.game.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical timing wheel. Level {@code n} has {@code wheelSize} buckets, each spanning
+ * {@code tickMillis * wheelSize^n} milliseconds; entries further away than the top level can reach
+ * wait in an overflow list. An entry is placed once, cascades down at most once per level as time
+ * advances, and is returned by {@link #advanceTo(long)} on the first tick at or after its deadline.
+ * <p>
+ * Not thread safe, callers must synchronize.
+ */
+class TimingWheel<T> {
+
+  private final long tickMillis;
+  private final int wheelSize;
+  private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+  private final List<Entry<T>> overflow = new ArrayList<>();
+
+  /**
+   * Last tick that was processed.
+   */
+  private long currentTick;
+
+  TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    this.currentTick = startMillis / tickMillis;
+    for (int i = 0; i < levelCount; i++) {
+      @SuppressWarnings("unchecked")
+      List<Entry<T>>[] buckets = new List[wheelSize];
+      for (int j = 0; j < wheelSize; j++) {
+        buckets[j] = new ArrayList<>();
+      }
+      levels.add(buckets);
+    }
+  }
+
+  void schedule(long deadlineMillis, T value) {
+    // Round up, so an entry never fires before its deadline
+    long deadlineTick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+    place(new Entry<>(deadlineTick, value));
+  }
+
+  /**
+   * Advances the wheel up to (and including) the tick containing {@code nowMillis}.
+   *
+   * @return values whose deadline has passed, in deadline order
+   */
+  List<T> advanceTo(long nowMillis) {
+    List<T> expired = new ArrayList<>();
+    long targetTick = nowMillis / tickMillis;
+    while (currentTick < targetTick) {
+      currentTick++;
+      cascade();
+
+      List<Entry<T>> bucket = levels.get(0)[(int) (currentTick % wheelSize)];
+      for (Entry<T> entry : bucket) {
+        expired.add(entry.value);
+      }
+      bucket.clear();
+    }
+    return expired;
+  }
+
+  /**
+   * Moves entries of higher levels whose bucket starts at the current tick one level down.
+   */
+  private void cascade() {
+    long span = 1;
+    for (int level = 1; level < levels.size(); level++) {
+      span *= wheelSize;
+      if (currentTick % span != 0) {
+        return;
+      }
+
+      List<Entry<T>> bucket = levels.get(level)[(int) ((currentTick / span) % wheelSize)];
+      List<Entry<T>> entries = new ArrayList<>(bucket);
+      bucket.clear();
+      entries.forEach(this::place);
+    }
+
+    if (currentTick % (span * wheelSize) == 0) {
+      List<Entry<T>> entries = new ArrayList<>(overflow);
+      overflow.clear();
+      entries.forEach(this::place);
+    }
+  }
+
+  private void place(Entry<T> entry) {
+    long span = 1;
+    for (List<Entry<T>>[] buckets : levels) {
+      if (entry.deadlineTick / span - currentTick / span < wheelSize) {
+        buckets[(int) ((entry.deadlineTick / span) % wheelSize)].add(entry);
+        return;
+      }
+      span *= wheelSize;
+    }
+    overflow.add(entry);
+  }
+
+  int size() {
+    int size = overflow.size();
+    for (List<Entry<T>>[] buckets : levels) {
+      for (List<Entry<T>> bucket : buckets) {
+        size += bucket.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Removes all entries matching the predicate, e.g. everything belonging to an evicted session.
+   */
+  void removeIf(Predicate<T> predicate) {
+    for (List<Entry<T>>[] buckets : levels) {
+      for (List<Entry<T>> bucket : buckets) {
+        bucket.removeIf(entry -> predicate.test(entry.value));
+      }
+    }
+    overflow.removeIf(entry -> predicate.test(entry.value));
+  }
+
+  private record Entry<T>(long deadlineTick, T value) {
+
+  }
+}
@@ -0,0 +1,20 @@
+package com.larplaner.service.game.engine;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * IDs of the actions a role can currently see, as computed by
+ * {@link GameSessionEngine#getVisibleActions(UUID, VisibleActions)}.
+ *
+ * @param gameSessionId game session of the role
+ * @param actionIds     scenario actions
+ * @param itemActionIds item actions of all items of the scenario
+ * @param activeTags    copy of the role's active tags the IDs were computed from
+ * @param tagOrdinals   ordinals of {@code activeTags}, masks of different resident states of a
+ *                      session can't be compared
+ */
+public record VisibleActions(UUID gameSessionId, Set<UUID> actionIds, Set<UUID> itemActionIds,
+                             long[] activeTags, TagOrdinals tagOrdinals) {
+
+}
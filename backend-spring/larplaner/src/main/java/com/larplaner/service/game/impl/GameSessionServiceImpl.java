@@ -4,7 +4,9 @@ import com.larplaner.dto.BaseResponseDTO;
 import com.larplaner.dto.game.GameSessionDetailedResponseDTO;
 import com.larplaner.dto.game.action.GameActionRequestDTO;
 import com.larplaner.dto.game.actionLog.GameActionLogDetailedResponseDTO;
+import com.larplaner.dto.game.actionLog.GameActionLogPageResponseDTO;
 import com.larplaner.dto.game.actionLog.GameActionLogSummaryResponseDTO;
+import com.larplaner.dto.game.roleState.GameRoleStateAtResponseDTO;
 import com.larplaner.dto.game.roleState.GameRoleStateSummaryResponseDTO;
 import com.larplaner.dto.game.roleState.UpdateGameRoleStateRequestDTO;
 import com.larplaner.dto.scenario.action.ScenarioActionResponseDTO;
@@ -14,7 +16,7 @@ import com.larplaner.mapper.game.action.GameActionLogMapper;
 import com.larplaner.mapper.game.role.GameRoleStateMapper;
 import com.larplaner.mapper.scenario.ScenarioActionMapper;
 import com.larplaner.mapper.scenario.ScenarioItemActionMapper;
-import com.larplaner.model.action.Action;
+import com.larplaner.mapper.tag.AppliedTagMapper;
 import com.larplaner.model.event.Event;
 import com.larplaner.model.game.GameActionLog;
 import com.larplaner.model.game.GameItemState;
@@ -24,23 +26,33 @@ import com.larplaner.model.scenario.Scenario;
 import com.larplaner.model.tag.AppliedTag;
 import com.larplaner.model.tag.Tag;
 import com.larplaner.repository.game.GameActionLogRepository;
-import com.larplaner.repository.game.GameItemStateRepository;
 import com.larplaner.repository.game.GameRoleStateRepository;
+import com.larplaner.repository.game.GameSessionEventRepository;
 import com.larplaner.repository.game.GameSessionRepository;
-import com.larplaner.repository.scenario.ScenarioActionRepository;
-import com.larplaner.repository.scenario.ScenarioItemActionRepository;
+import com.larplaner.repository.game.GameSessionSnapshotRepository;
 import com.larplaner.service.admin.firebase.UserLookupService;
+import com.larplaner.service.admin.security.MembershipIndex;
 import com.larplaner.service.admin.security.SecurityService;
 import com.larplaner.service.game.GameSessionService;
+import com.larplaner.service.game.engine.AppliedTagState;
+import com.larplaner.service.game.engine.GameActionJournal;
+import com.larplaner.service.game.engine.GameSessionEngine;
+import com.larplaner.service.game.engine.GameSessionSnapshotter;
+import com.larplaner.service.game.metrics.GameMetrics;
+import com.larplaner.service.game.readmodel.GameActionHistoryQuery;
+import com.larplaner.service.game.readmodel.GameActionHistoryReadModel;
+import com.larplaner.service.game.readmodel.GameRoleStateHistoryReadModel;
+import com.larplaner.service.game.readmodel.GameSessionReadModel;
 import com.larplaner.service.tag.helper.TagHelper;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -52,34 +64,80 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class GameSessionServiceImpl implements GameSessionService {
 
+  /**
+   * The engine holds the session's lock while it performs a batch, so a batch is kept short
+   * enough not to hold up the players of the session.
+   */
+  public static final int MAX_ACTIONS_PER_BATCH = 500;
+
   private final GameSessionRepository gameSessionRepository;
+  private final GameSessionEventRepository gameSessionEventRepository;
+  private final GameSessionSnapshotRepository gameSessionSnapshotRepository;
   private final GameActionLogRepository gameActionLogRepository;
   private final GameSessionMapper gameSessionMapper;
   private final GameActionLogMapper gameActionLogMapper;
   private final UserLookupService userLookupService;
-  private final ScenarioActionRepository scenarioActionRepository;
-  private final ScenarioItemActionRepository scenarioItemActionRepository;
   private final GameRoleStateRepository gameRoleStateRepository;
   private final TagHelper tagHelper;
   private final ScenarioActionMapper scenarioActionMapper;
   private final ScenarioItemActionMapper scenarioItemActionMapper;
-  private final GameItemStateRepository gameItemStateRepository;
   private final GameRoleStateMapper gameRoleStateMapper;
+  private final AppliedTagMapper appliedTagMapper;
+  private final GameSessionEngine gameSessionEngine;
+  private final GameActionJournal gameActionJournal;
+  private final MembershipIndex membershipIndex;
+  private final GameSessionReadModel gameSessionReadModel;
+  private final GameActionHistoryReadModel gameActionHistoryReadModel;
+  private final GameRoleStateHistoryReadModel gameRoleStateHistoryReadModel;
+  private final GameSessionSnapshotter gameSessionSnapshotter;
+  private final GameMetrics gameMetrics;
 
   @Override
   public List<GameSessionDetailedResponseDTO> getAllGameSessions() {
-    return gameSessionRepository.findAll().stream()
-        .map(gameSessionMapper::toDetailedDTO)
-        .collect(Collectors.toList());
+    return gameSessionReadModel.findAllDetailed().stream()
+        .map(gameSession -> gameSessionEngine.findResidentAppliedTags(gameSession.getId())
+            .map(appliedTags -> withAppliedTags(gameSession, appliedTags))
+            .orElseGet(() -> gameActionJournal.flush(gameSession.getId())
+                ? gameSessionReadModel.findDetailedById(gameSession.getId()).orElse(null)
+                : gameSession))
+        .filter(Objects::nonNull)
+        .toList();
   }
 
+  /**
+   * The applied tags of a resident session are taken from the {@link GameSessionEngine}, which is
+   * ahead of the database; only a session that is not resident needs its journal flushed.
+   */
   @Override
   public GameSessionDetailedResponseDTO getGameSessionById(UUID id) {
-    return gameSessionRepository.findById(id)
-        .map(gameSessionMapper::toDetailedDTO)
+    Optional<Map<UUID, List<AppliedTagState>>> residentAppliedTags =
+        gameSessionEngine.findResidentAppliedTags(id);
+    if (residentAppliedTags.isEmpty()) {
+      gameActionJournal.flush(id);
+    }
+
+    return gameSessionReadModel.findDetailedById(id)
+        .map(gameSession -> residentAppliedTags
+            .map(appliedTags -> withAppliedTags(gameSession, appliedTags))
+            .orElse(gameSession))
         .orElse(null);
   }
 
+  private GameSessionDetailedResponseDTO withAppliedTags(GameSessionDetailedResponseDTO gameSession,
+      Map<UUID, List<AppliedTagState>> appliedTags) {
+    gameSession.getAssignedRoles().forEach(role -> withAppliedTags(role, appliedTags));
+    return gameSession;
+  }
+
+  private GameRoleStateSummaryResponseDTO withAppliedTags(GameRoleStateSummaryResponseDTO role,
+      Map<UUID, List<AppliedTagState>> appliedTags) {
+    Optional.ofNullable(appliedTags.get(role.getId()))
+        .ifPresent(roleAppliedTags -> role.setAppliedTags(roleAppliedTags.stream()
+            .map(appliedTagMapper::toDTO)
+            .collect(Collectors.toCollection(ArrayList::new))));
+    return role;
+  }
+
   @Override
   @Transactional
   public GameSessionDetailedResponseDTO createGameSession(Event event) {
@@ -98,6 +156,8 @@ public class GameSessionServiceImpl implements GameSessionService {
     event.setGameSession(gameSession);
 
     GameSession savedGameSession = gameSessionRepository.save(gameSession);
+    gameSessionSnapshotter.archive(savedGameSession.getId(), 0, savedGameSession.getStartTime(),
+        gameRoles);
 
     return gameSessionMapper.toDetailedDTO(savedGameSession);
   }
@@ -120,7 +180,7 @@ public class GameSessionServiceImpl implements GameSessionService {
                 buildAppliedTag(tag,
                     userIDs.get(assignedRole.getAssignedEmail()),
                     assignedRole.getAssignedEmail())
-            ).toList())
+            ).collect(Collectors.toCollection(ArrayList::new)))
             .build())
         .collect(Collectors.toCollection(ArrayList::new));
   }
@@ -139,19 +199,24 @@ public class GameSessionServiceImpl implements GameSessionService {
         .collect(Collectors.toCollection(ArrayList::new));
   }
 
+  /**
+   * The session is closed once the transaction has completed; evicting it before the delete would
+   * let any access in between load it again.
+   */
   @Override
+  @Transactional
   public void deleteGameSession(UUID id) {
+    gameActionJournal.flush(id);
+    gameSessionEventRepository.deleteByGameSessionId(id);
+    gameSessionSnapshotRepository.deleteByGameSessionId(id);
     gameSessionRepository.deleteById(id);
+    gameSessionEngine.close(id);
+    membershipIndex.invalidateGameSession(id);
   }
 
-  @Override
-  public List<GameActionLogSummaryResponseDTO> getAllGameHistory() {
-    return gameActionLogRepository.findAll()
-        .stream()
-        .map(gameActionLogMapper::toDTO)
-        .collect(Collectors.toList());
-  }
-
+  /**
+   * Not flushed, like a history query across all sessions.
+   */
   @Override
   public GameActionLogSummaryResponseDTO getGameHistoryById(UUID id) {
     return gameActionLogRepository
@@ -162,6 +227,7 @@ public class GameSessionServiceImpl implements GameSessionService {
 
   @Override
   public List<GameActionLogDetailedResponseDTO> getGameHistoryByGameId(UUID gameId) {
+    gameActionJournal.flush(gameId);
     return gameActionLogRepository
         .findByGameSession_Id(gameId)
         .stream()
@@ -169,6 +235,30 @@ public class GameSessionServiceImpl implements GameSessionService {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public GameActionLogPageResponseDTO getGameHistoryPage(GameActionHistoryQuery query,
+      String cursor, int limit) {
+    flushIfLimitedToSession(query);
+    return gameActionHistoryReadModel.findPage(query, cursor, limit);
+  }
+
+  @Override
+  public void exportGameHistory(GameActionHistoryQuery query,
+      Consumer<GameActionLogSummaryResponseDTO> consumer) {
+    flushIfLimitedToSession(query);
+    gameActionHistoryReadModel.forEach(query, consumer);
+  }
+
+  /**
+   * A query across all sessions is not flushed, as that would wait for every session: actions
+   * still queued in the journal show up once written.
+   */
+  private void flushIfLimitedToSession(GameActionHistoryQuery query) {
+    if (Objects.nonNull(query.getGameSessionId())) {
+      gameActionJournal.flush(query.getGameSessionId());
+    }
+  }
+
   @Override
   public List<GameActionLogSummaryResponseDTO> getUserGameHistoryByGameId(UUID gameId) {
     return getUserGameHistoryByGameId(SecurityService.getFirebaseToken().getUid(), gameId);
@@ -192,6 +282,7 @@ public class GameSessionServiceImpl implements GameSessionService {
       return new ArrayList<>();
     }
 
+    gameActionJournal.flush(gameId);
     return gameActionLogRepository.findByGameSession_IdAndPerformerRole_Id(gameId, userRoleId)
         .stream()
         .map(gameActionLogMapper::toDTO)
@@ -203,185 +294,78 @@ public class GameSessionServiceImpl implements GameSessionService {
     return gameActionLogMapper.toDTO(gameActionLogRepository.save(gameActionLog));
   }
 
+  @Override
   public GameActionLogSummaryResponseDTO performAction(UUID gameSessionId,
       GameActionRequestDTO gameActionRequestDTO) {
-    var game = gameSessionRepository.findById(gameSessionId)
-        .orElseThrow(EntityNotFoundException::new);
-
-    var userRole = game.getAssignedRoles().stream()
-        .filter(assignedRole -> assignedRole.getScenarioRole().getId()
-            .equals(gameActionRequestDTO.getPerformerRoleId()))
-        .findFirst().orElseThrow(EntityNotFoundException::new);
-
-    var targetItem = Objects.nonNull(gameActionRequestDTO.getTargetItemId())
-        ? gameItemStateRepository.findByGameSessionIdAndScenarioItemId(gameSessionId,
-            gameActionRequestDTO.getTargetItemId()).orElseThrow(EntityNotFoundException::new)
-        : null;
-
-    var actionToPerform = Objects.isNull(gameActionRequestDTO.getTargetItemId())
-        ? scenarioActionRepository.getReferenceById(gameActionRequestDTO.getActionId())
-        : scenarioItemActionRepository.getReferenceById(gameActionRequestDTO.getActionId());
-
-    var doesUserHaveEveryTagRequired = doesUserHaveEveryTagRequired(userRole, actionToPerform);
-    var doesUserHaveAnyForbiddenTags = doesUserHaveAnyForbiddenTags(userRole, actionToPerform);
-    log.debug("UserRole {} for email {}", userRole.getId(), userRole.getAssignedEmail());
-    log.debug("doesUserHaveEveryTagRequired = {}, doesUserHaveAnyForbiddenTags {}",
-        doesUserHaveEveryTagRequired,
-        doesUserHaveAnyForbiddenTags);
-
-    var success = doesUserHaveEveryTagRequired && !doesUserHaveAnyForbiddenTags;
-
-    var tagsToRemove = success
-        ? actionToPerform.getTagsToRemoveOnSuccess()
-        : actionToPerform.getTagsToRemoveOnFailure();
-
-    var tagsToApply = success
-        ? actionToPerform.getTagsToApplyOnSuccess()
-        : actionToPerform.getTagsToApplyOnFailure();
-
-    var messageToDisplay = success
-        ? actionToPerform.getMessageOnSuccess()
-        : actionToPerform.getMessageOnFailure();
-
-    log.debug("success = {}", success);
-    log.debug("tagsToRemove = {}", tagsToRemove);
-    log.debug("tagsToApply = {}", tagsToApply);
-    log.debug("messageToDisplay = {}", messageToDisplay);
-
-    updateAndRemoveUserTags(userRole, tagsToRemove, tagsToApply);
-
-    gameRoleStateRepository.save(userRole);
-
-    return createGameHistory(GameActionLog.builder()
-        .gameSession(game)
-        .action(actionToPerform)
-        .success(success)
-        .message(messageToDisplay)
-        .removedTags(tagsToRemove)
-        .appliedTags(tagsToApply)
-        .performerRole(userRole)
-        .targetItem(Objects.isNull(targetItem) ? null : targetItem)
-        .timestamp(ZonedDateTime.now())
-        .build());
-  }
-
-  private void updateAndRemoveUserTags(GameRoleState userRole, List<Tag> tagsToRemove,
-      List<Tag> tagsToApply) {
-    var tagsToModify = tagsToApply
-        .stream().filter(t -> userRole.getAllActiveTags().contains(t))
-        .toList();
-
-    var tagsToAdd = tagsToApply.
-        stream().filter(t -> !userRole.getAllActiveTags().contains(t))
-        .toList();
-
-    userRole.getAppliedTags().removeIf(appliedTag -> tagsToRemove.contains(appliedTag.getTag()));
-
-    userRole.getAppliedTags().addAll(
-        tagsToAdd
-            .stream()
-            .map(tag -> buildAppliedTag(tag, userRole.getAssignedUserID(),
-                userRole.getAssignedEmail())
-            ).toList());
-
-    //TODO: Test, this should "refresh" tag if user already has it, instead of applying it again
-    // MAYBE move this logic to GameRoleState idk
-    tagsToModify.forEach(tag -> {
-      var appliedTag = userRole.findAppliedTagByTag(tag).orElseThrow(EntityNotFoundException::new);
-      appliedTag.setAppliedToUserAt(ZonedDateTime.now());
-    });
+    return gameActionLogMapper.toDTO(
+        gameSessionEngine.performAction(gameSessionId, gameActionRequestDTO));
   }
 
-  private boolean doesUserHaveEveryTagRequired(GameRoleState userRole, Action actionToPerform) {
-    return userRole.getAllActiveTags()
-        .containsAll(actionToPerform.getRequiredTagsToSucceed());
-  }
-
-  private boolean doesUserHaveAnyForbiddenTags(GameRoleState userRole, Action actionToPerform) {
-    return userRole.getAllActiveTags()
+  @Override
+  public List<GameActionLogSummaryResponseDTO> performActions(UUID gameSessionId,
+      List<GameActionRequestDTO> gameActionRequestDTOs) {
+    if (gameActionRequestDTOs.size() > MAX_ACTIONS_PER_BATCH) {
+      throw new IllegalArgumentException(String.format(
+          "At most %d actions can be performed at once, got %d", MAX_ACTIONS_PER_BATCH,
+          gameActionRequestDTOs.size()));
+    }
+    return gameSessionEngine.performActions(gameSessionId, gameActionRequestDTOs)
         .stream()
-        .anyMatch(actionToPerform.getForbiddenTagsToSucceed()::contains);
+        .map(gameActionLogMapper::toDTO)
+        .toList();
   }
 
   public GameSessionDetailedResponseDTO updateRoleState(UUID roleStateID,
       UpdateGameRoleStateRequestDTO requestDTO) {
-    var userRole = gameRoleStateRepository.findById(roleStateID)
-        .orElseThrow(EntityNotFoundException::new);
-
-    var tagsInRole = userRole.getAppliedTags().stream().map(AppliedTag::getTag)
-        .collect(Collectors.toSet());
-    var tagsInRequest = new HashSet<>(tagHelper.processTags(requestDTO.getActiveTags()));
-
-    var tagsToAdd = tagsInRequest
-        .stream()
-        .filter(o -> !tagsInRole.contains(o))
-        .map(tag ->
-            buildAppliedTag(tag, userRole.getAssignedUserID(), userRole.getAssignedEmail()))
-        .toList();
-
-    var tagsToRemove = userRole.getAppliedTags()
-        .stream().filter(o -> !tagsInRequest.contains(o.getTag()))
-        .collect(Collectors.toSet());
+    UUID gameSessionId = gameSessionEngine.editRoleTags(roleStateID,
+        tagHelper.processTags(requestDTO.getActiveTags()));
+    gameActionJournal.flush(gameSessionId);
 
-    //TODO: check this later
-    userRole.getAppliedTags().addAll(tagsToAdd);
-    userRole.getAppliedTags().removeAll(tagsToRemove);
+    return gameSessionReadModel.findDetailedById(gameSessionId).orElse(null);
+  }
 
-    return gameSessionMapper.toDetailedDTO(
-        gameRoleStateRepository.save(userRole).getGameSession()
-    );
+  @Override
+  public GameRoleStateAtResponseDTO getRoleStateAt(UUID roleStateID, ZonedDateTime at) {
+    gameSessionEngine.findGameSessionIdByRoleStateId(roleStateID)
+        .ifPresent(gameActionJournal::flush);
+    return gameRoleStateHistoryReadModel.findAt(roleStateID, at);
   }
 
   @Override
   public List<ScenarioActionResponseDTO> getAvailableActionsForUser(UUID gameSessionRoleId) {
-    var gameRoleState = gameRoleStateRepository.findById(gameSessionRoleId)
-        .orElseThrow(EntityNotFoundException::new);
-
-    var scenario = gameRoleState.getGameSession().getEvent().getScenario();
-
-    return scenario.getActions()
-        .stream()
-        .filter(action -> canActionBeDisplayedForUser(gameRoleState, action))
-        .map(scenarioActionMapper::toDTO)
-        .toList();
+    return gameMetrics.timeAvailableActions(GameMetrics.ACTION,
+        () -> gameSessionEngine.getAvailableActions(gameSessionRoleId)
+            .stream()
+            .map(scenarioActionMapper::toDTO)
+            .toList());
   }
 
   @Override
   public List<ScenarioItemActionResponseDTO> getAvailableItemActionsForUser(UUID gameSessionRoleId,
       UUID itemId) {
-    var gameRoleState = gameRoleStateRepository.findById(gameSessionRoleId)
-        .orElseThrow(EntityNotFoundException::new);
-
-    var scenarioItem = gameRoleState.getGameSession().getEvent().getScenario().getItems()
-        .stream()
-        .filter(item -> item.getId().equals(itemId))
-        .findFirst()
-        .orElseThrow(EntityNotFoundException::new);
-
-    return scenarioItem.getActions()
-        .stream()
-        .filter(action -> canActionBeDisplayedForUser(gameRoleState, action))
-        .map(scenarioItemActionMapper::toDTO)
-        .toList();
+    return gameMetrics.timeAvailableActions(GameMetrics.ITEM_ACTION,
+        () -> gameSessionEngine.getAvailableItemActions(gameSessionRoleId, itemId)
+            .stream()
+            .map(scenarioItemActionMapper::toDTO)
+            .toList());
   }
 
   @Override
   public GameRoleStateSummaryResponseDTO getUserRoleStateForUserId(UUID gameId, String userId) {
+    Optional<Map<UUID, List<AppliedTagState>>> residentAppliedTags =
+        gameSessionEngine.findResidentAppliedTags(gameId);
+    if (residentAppliedTags.isEmpty()) {
+      gameActionJournal.flush(gameId);
+    }
+
     var foundUserRole = gameRoleStateRepository.findByGameSession_IdAndAssignedUserID(gameId,
             userId)
         .orElseThrow(EntityNotFoundException::new);
 
-    return gameRoleStateMapper.toDTO(foundUserRole);
-  }
-
-  private boolean canActionBeDisplayedForUser(GameRoleState gameRoleState, Action action) {
-    Collection<Tag> allActiveTags = gameRoleState.getAllActiveTags();
-    var doesUserHaveAllRequiredTags = allActiveTags.containsAll(action.getRequiredTagsToDisplay());
-    var doesUserHaveAnyForbiddenTags = action.getForbiddenTagsToDisplay()
-        .stream()
-        .anyMatch(allActiveTags::contains);
-
-    return doesUserHaveAllRequiredTags && !doesUserHaveAnyForbiddenTags;
+    GameRoleStateSummaryResponseDTO role = gameRoleStateMapper.toDTO(foundUserRole);
+    return residentAppliedTags
+        .map(appliedTags -> withAppliedTags(role, appliedTags))
+        .orElse(role);
   }
 
   private AppliedTag buildAppliedTag(Tag tag, String userID, String email) {
@@ -0,0 +1,128 @@
+package com.larplaner.service.game.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters of the game engine. Per-session meters carry a {@code session} tag, whose cardinality is
+ * bounded by {@link GameSessionMeterFilter}; every other tag has a fixed set of values.
+ * <ul>
+ *   <li>{@code larplaner.game.action} - performing one action, by session, type and outcome</li>
+ *   <li>{@code larplaner.game.action.phase} - where that time goes: {@code session_load} and
+ *   {@code tag_evaluation} while the player waits, {@code event_append} and {@code log_insert} in
+ *   the journal</li>
+ *   <li>{@code larplaner.game.available_actions} - listing the actions a role can perform</li>
+ *   <li>{@code larplaner.game.journal.write} and {@code larplaner.game.journal.batch.size} - one
+ *   journal transaction, including its commit</li>
+ *   <li>{@code larplaner.game.journal.dead_letters} - journaled actions and events that could not
+ *   be written even after retrying</li>
+ *   <li>{@code larplaner.game.snapshot} - applying the journaled events of one session to its
+ *   roles</li>
+ *   <li>{@code larplaner.stomp.send} - one STOMP send, by destination</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class GameMetrics {
+
+  public static final String ACTION = "action";
+  public static final String ITEM_ACTION = "item_action";
+
+  public static final String PHASE_SESSION_LOAD = "session_load";
+  public static final String PHASE_TAG_EVALUATION = "tag_evaluation";
+  public static final String PHASE_EVENT_APPEND = "event_append";
+  public static final String PHASE_LOG_INSERT = "log_insert";
+
+  public static final String OUTCOME_SUCCESS = "success";
+  public static final String OUTCOME_FAILURE = "failure";
+  public static final String OUTCOME_ERROR = "error";
+
+  private final MeterRegistry meterRegistry;
+
+  public static String actionType(UUID targetItemId) {
+    return targetItemId == null ? ACTION : ITEM_ACTION;
+  }
+
+  public Timer.Sample startTimer() {
+    return Timer.start(meterRegistry);
+  }
+
+  /**
+   * @param outcome {@link #OUTCOME_SUCCESS} or {@link #OUTCOME_FAILURE} for an action that was
+   *                performed, {@link #OUTCOME_ERROR} for one that was rejected
+   */
+  public void recordAction(Timer.Sample sample, UUID gameSessionId, String type, String outcome) {
+    sample.stop(Timer.builder("larplaner.game.action")
+        .description("Time to perform one game action")
+        .tag(GameSessionMeterFilter.SESSION_TAG, String.valueOf(gameSessionId))
+        .tag("type", type)
+        .tag("outcome", outcome)
+        .register(meterRegistry));
+  }
+
+  public <T> T timePhase(String phase, UUID gameSessionId, Supplier<T> supplier) {
+    return Timer.builder("larplaner.game.action.phase")
+        .description("Time spent in one phase of performing a game action")
+        .tag(GameSessionMeterFilter.SESSION_TAG, String.valueOf(gameSessionId))
+        .tag("phase", phase)
+        .register(meterRegistry)
+        .record(supplier);
+  }
+
+  public <T> T timeAvailableActions(String type, Supplier<T> supplier) {
+    return Timer.builder("larplaner.game.available_actions")
+        .description("Time to list the actions a role can perform")
+        .tag("type", type)
+        .register(meterRegistry)
+        .record(supplier);
+  }
+
+  public void recordJournalWrite(Timer.Sample sample, int actionCount, boolean written) {
+    sample.stop(Timer.builder("larplaner.game.journal.write")
+        .description("Time to write one batch of journaled game actions")
+        .tag("outcome", written ? OUTCOME_SUCCESS : OUTCOME_ERROR)
+        .register(meterRegistry));
+    DistributionSummary.builder("larplaner.game.journal.batch.size")
+        .description("Game actions written per journal transaction")
+        .register(meterRegistry)
+        .record(actionCount);
+  }
+
+  public void recordJournalDeadLetters(int count) {
+    Counter.builder("larplaner.game.journal.dead_letters")
+        .description("Journaled game actions and events that could not be written")
+        .register(meterRegistry)
+        .increment(count);
+  }
+
+  public void timeSnapshot(Runnable snapshot) {
+    Timer.builder("larplaner.game.snapshot")
+        .description("Time to apply the journaled events of a game session to its roles")
+        .register(meterRegistry)
+        .record(snapshot);
+  }
+
+  /**
+   * @param destination a fixed name for the kind of topic, never the topic itself
+   */
+  public void timeStompSend(String destination, Runnable send) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = OUTCOME_ERROR;
+    try {
+      send.run();
+      outcome = OUTCOME_SUCCESS;
+    } finally {
+      sample.stop(Timer.builder("larplaner.stomp.send")
+          .description("Time to hand one message to the STOMP broker")
+          .tag("destination", destination)
+          .tag("outcome", outcome)
+          .register(meterRegistry));
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.larplaner.service.game.metrics;
+
+import com.larplaner.service.game.engine.GameSessionClosedEvent;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounds the number of distinct {@value #SESSION_TAG} tag values. The first
+ * {@code larplaner.metrics.max-session-tags} game sessions get their own series, later ones are
+ * reported as {@value #OTHER_SESSIONS} until a session that got its own series is closed (its
+ * event ended, or it was deleted), which frees its slot.
+ */
+@Component
+public class GameSessionMeterFilter implements MeterFilter {
+
+  public static final String SESSION_TAG = "session";
+  public static final String OTHER_SESSIONS = "other";
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final int maxSessions;
+  private final Set<String> admittedSessions = new HashSet<>();
+
+  public GameSessionMeterFilter(ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${larplaner.metrics.max-session-tags:50}") int maxSessions) {
+    this.meterRegistry = meterRegistry;
+    this.maxSessions = maxSessions;
+  }
+
+  @Override
+  public Meter.Id map(Meter.Id id) {
+    String session = id.getTag(SESSION_TAG);
+    if (Objects.isNull(session) || OTHER_SESSIONS.equals(session) || admit(session)) {
+      return id;
+    }
+    return id.replaceTags(Tags.of(id.getTagsAsIterable()).and(SESSION_TAG, OTHER_SESSIONS));
+  }
+
+  @EventListener
+  public void onGameSessionClosed(GameSessionClosedEvent event) {
+    release(event.getGameSessionId());
+  }
+
+  /**
+   * Removes the meters of a game session that ended or no longer exists.
+   */
+  public void release(UUID gameSessionId) {
+    String session = gameSessionId.toString();
+    synchronized (admittedSessions) {
+      if (!admittedSessions.remove(session)) {
+        return;
+      }
+    }
+
+    meterRegistry.ifAvailable(registry -> registry.getMeters().stream()
+        .filter(meter -> session.equals(meter.getId().getTag(SESSION_TAG)))
+        .toList()
+        .forEach(registry::remove));
+  }
+
+  private boolean admit(String session) {
+    synchronized (admittedSessions) {
+      if (admittedSessions.contains(session)) {
+        return true;
+      }
+      if (admittedSessions.size() >= maxSessions) {
+        return false;
+      }
+      return admittedSessions.add(session);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.larplaner.service.game.readmodel;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Filters for reading game history. Every filter is optional.
+ */
+@Value
+@Builder(toBuilder = true)
+public class GameActionHistoryQuery {
+
+  UUID gameSessionId;
+  UUID performerRoleId;
+  UUID targetItemId;
+  Boolean success;
+
+  /**
+   * Inclusive.
+   */
+  ZonedDateTime from;
+
+  /**
+   * Exclusive.
+   */
+  ZonedDateTime to;
+}
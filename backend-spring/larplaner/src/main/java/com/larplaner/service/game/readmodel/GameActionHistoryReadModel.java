@@ -0,0 +1,196 @@
+package com.larplaner.service.game.readmodel;
+
+import com.larplaner.dto.game.actionLog.GameActionLogPageResponseDTO;
+import com.larplaner.dto.game.actionLog.GameActionLogSummaryResponseDTO;
+import com.larplaner.dto.tag.TagResponseDTO;
+import com.larplaner.mapper.tag.TagMapper;
+import com.larplaner.model.tag.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reads game history newest first, paged by a keyset cursor on {@code (timestamp, id)}, so a page
+ * costs the same no matter how deep into the history it is. Rows are read as flat projections (plus
+ * one query per tag list), without loading the action, role and item graphs of every log.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameActionHistoryReadModel {
+
+  public static final int MAX_PAGE_SIZE = 500;
+
+  private final EntityManager entityManager;
+  private final TagMapper tagMapper;
+  private final PlatformTransactionManager transactionManager;
+
+  /**
+   * @param cursor {@code nextCursor} of the previous page, or null for the first page
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  @Transactional(readOnly = true)
+  public GameActionLogPageResponseDTO findPage(GameActionHistoryQuery query, String cursor,
+      int limit) {
+    int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    List<GameActionLogSummaryResponseDTO> rows = fetch(query, Cursor.decode(cursor), pageSize + 1);
+
+    if (rows.size() <= pageSize) {
+      return GameActionLogPageResponseDTO.builder().items(rows).build();
+    }
+
+    List<GameActionLogSummaryResponseDTO> page = new ArrayList<>(rows.subList(0, pageSize));
+    return GameActionLogPageResponseDTO.builder()
+        .items(page)
+        .nextCursor(Cursor.of(page.get(page.size() - 1)).encode())
+        .build();
+  }
+
+  /**
+   * Passes every matching log to the consumer, newest first, reading {@value #MAX_PAGE_SIZE} at a
+   * time. Each page is read in its own short transaction, so a slow consumer doesn't hold a
+   * connection.
+   */
+  public void forEach(GameActionHistoryQuery query,
+      Consumer<GameActionLogSummaryResponseDTO> consumer) {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+
+    Cursor cursor = null;
+    List<GameActionLogSummaryResponseDTO> rows;
+    do {
+      Cursor pageCursor = cursor;
+      rows = transactionTemplate.execute(status -> fetch(query, pageCursor, MAX_PAGE_SIZE));
+      rows.forEach(consumer);
+      if (!rows.isEmpty()) {
+        cursor = Cursor.of(rows.get(rows.size() - 1));
+      }
+    } while (rows.size() == MAX_PAGE_SIZE);
+  }
+
+  private List<GameActionLogSummaryResponseDTO> fetch(GameActionHistoryQuery query, Cursor cursor,
+      int limit) {
+    StringBuilder jpql = new StringBuilder("""
+        select l.id, l.gameSession.id, l.action.id, l.timestamp, l.performerRole.id, i.id,
+          l.success, l.message
+        from GameActionLog l left join l.targetItem i
+        where 1 = 1""");
+    Map<String, Object> parameters = new HashMap<>();
+
+    addFilter(jpql, parameters, "l.gameSession.id = :gameSessionId", "gameSessionId",
+        query.getGameSessionId());
+    addFilter(jpql, parameters, "l.performerRole.id = :performerRoleId", "performerRoleId",
+        query.getPerformerRoleId());
+    addFilter(jpql, parameters, "i.id = :targetItemId", "targetItemId", query.getTargetItemId());
+    addFilter(jpql, parameters, "l.success = :success", "success", query.getSuccess());
+    addFilter(jpql, parameters, "l.timestamp >= :from", "from", query.getFrom());
+    addFilter(jpql, parameters, "l.timestamp < :to", "to", query.getTo());
+    if (Objects.nonNull(cursor)) {
+      jpql.append(" and (l.timestamp < :cursorTimestamp"
+          + " or (l.timestamp = :cursorTimestamp and l.id < :cursorId))");
+      parameters.put("cursorTimestamp", cursor.timestamp());
+      parameters.put("cursorId", cursor.id());
+    }
+    jpql.append(" order by l.timestamp desc, l.id desc");
+
+    TypedQuery<Object[]> typedQuery = entityManager.createQuery(jpql.toString(), Object[].class)
+        .setMaxResults(limit);
+    parameters.forEach(typedQuery::setParameter);
+
+    List<GameActionLogSummaryResponseDTO> rows = typedQuery.getResultList().stream()
+        .<GameActionLogSummaryResponseDTO>map(row -> GameActionLogSummaryResponseDTO.builder()
+            .id((UUID) row[0])
+            .gameSessionId((UUID) row[1])
+            .actionId((UUID) row[2])
+            .timestamp((ZonedDateTime) row[3])
+            .performerRoleId((UUID) row[4])
+            .targetItemId((UUID) row[5])
+            .success((Boolean) row[6])
+            .message((String) row[7])
+            .build())
+        .toList();
+
+    if (!rows.isEmpty()) {
+      List<UUID> ids = rows.stream().map(GameActionLogSummaryResponseDTO::getId).toList();
+      Map<UUID, List<TagResponseDTO>> appliedTags = fetchTags("appliedTags", ids);
+      Map<UUID, List<TagResponseDTO>> removedTags = fetchTags("removedTags", ids);
+      rows.forEach(row -> {
+        row.setAppliedTags(appliedTags.getOrDefault(row.getId(), new ArrayList<>()));
+        row.setRemovedTags(removedTags.getOrDefault(row.getId(), new ArrayList<>()));
+      });
+    }
+
+    log.debug("Read {} game history rows for {}", rows.size(), query);
+    return rows;
+  }
+
+  private Map<UUID, List<TagResponseDTO>> fetchTags(String tagList, List<UUID> logIds) {
+    Map<UUID, List<TagResponseDTO>> tagsByLogId = new HashMap<>();
+    entityManager.createQuery(
+            "select l.id, t from GameActionLog l join l." + tagList + " t where l.id in :ids",
+            Object[].class)
+        .setParameter("ids", logIds)
+        .getResultList()
+        .forEach(row -> tagsByLogId.computeIfAbsent((UUID) row[0], id -> new ArrayList<>())
+            .add(tagMapper.toDTO((Tag) row[1])));
+    return tagsByLogId;
+  }
+
+  private static void addFilter(StringBuilder jpql, Map<String, Object> parameters,
+      String condition, String name, Object value) {
+    if (Objects.nonNull(value)) {
+      jpql.append(" and ").append(condition);
+      parameters.put(name, value);
+    }
+  }
+
+  /**
+   * Position after the last row of a page, encoded as URL-safe base64 of
+   * {@code <instant>|<id>}.
+   */
+  private record Cursor(ZonedDateTime timestamp, UUID id) {
+
+    static Cursor of(GameActionLogSummaryResponseDTO row) {
+      return new Cursor(row.getTimestamp(), row.getId());
+    }
+
+    static Cursor decode(String cursor) {
+      if (Objects.isNull(cursor) || cursor.isBlank()) {
+        return null;
+      }
+
+      try {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor),
+            StandardCharsets.UTF_8).split("\\|");
+        return new Cursor(Instant.parse(parts[0]).atZone(ZoneOffset.UTC),
+            UUID.fromString(parts[1]));
+      } catch (IllegalArgumentException | DateTimeParseException
+               | ArrayIndexOutOfBoundsException e) {
+        throw new IllegalArgumentException("Invalid game history cursor: " + cursor);
+      }
+    }
+
+    String encode() {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(
+          (timestamp.toInstant() + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.larplaner.service.game.readmodel;
+
+import com.larplaner.dto.game.roleState.GameRoleStateAtResponseDTO;
+import com.larplaner.mapper.tag.AppliedTagMapper;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.game.GameSessionSnapshot;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.repository.game.GameRoleStateRepository;
+import com.larplaner.repository.game.GameSessionEventRepository;
+import com.larplaner.repository.game.GameSessionSnapshotRepository;
+import com.larplaner.repository.tag.TagRepository;
+import com.larplaner.service.game.engine.AppliedTagState;
+import com.larplaner.service.game.engine.GameSessionSnapshotCodec;
+import com.larplaner.service.game.engine.GameSessionSnapshotState.AppliedTagSnapshot;
+import com.larplaner.service.game.engine.GameSessionSnapshotState.RoleSnapshot;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Answers what tags a role had at a point in time. The state is rebuilt from the latest
+ * {@link GameSessionSnapshot} taken at or before that time, and only the role's own events between
+ * the snapshot and that time are replayed, so the cost depends on the snapshot interval rather
+ * than on the length of the game.
+ * <p>
+ * Whether a tag was still active is decided with the current definition of its tag.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameRoleStateHistoryReadModel {
+
+  private final GameRoleStateRepository gameRoleStateRepository;
+  private final GameSessionSnapshotRepository gameSessionSnapshotRepository;
+  private final GameSessionEventRepository gameSessionEventRepository;
+  private final GameSessionSnapshotCodec gameSessionSnapshotCodec;
+  private final TagRepository tagRepository;
+  private final AppliedTagMapper appliedTagMapper;
+
+  @Transactional(readOnly = true)
+  public GameRoleStateAtResponseDTO findAt(UUID gameRoleStateId, ZonedDateTime at) {
+    GameRoleState role = gameRoleStateRepository.findById(gameRoleStateId)
+        .orElseThrow(() -> new EntityNotFoundException(
+            "Game role state not found with id: " + gameRoleStateId));
+    UUID gameSessionId = role.getGameSession().getId();
+    GameSessionSnapshot snapshot = gameSessionSnapshotRepository
+        .findFirstByGameSessionIdAndTakenAtLessThanEqualOrderBySequenceNumberDesc(gameSessionId, at)
+        .orElseThrow(() -> new EntityNotFoundException(
+            "No state of game session " + gameSessionId + " is known at " + at));
+
+    List<AppliedTagSnapshot> snapshotTags = gameSessionSnapshotCodec.decode(snapshot.getState())
+        .findRole(gameRoleStateId)
+        .map(RoleSnapshot::appliedTags)
+        .orElse(List.of());
+    List<GameSessionEvent> events = gameSessionEventRepository
+        .findByGameRoleStateIdAndSequenceNumberGreaterThanAndOccurredAtLessThanEqualOrderBySequenceNumber(
+            gameRoleStateId, snapshot.getSequenceNumber(), at);
+    Map<UUID, Tag> tags = findTags(snapshotTags, events);
+
+    Map<UUID, AppliedTagState> appliedTags = new LinkedHashMap<>();
+    snapshotTags.stream()
+        .filter(appliedTag -> tags.containsKey(appliedTag.tagId()))
+        .forEach(appliedTag -> appliedTags.put(appliedTag.id(), AppliedTagState.builder()
+            .id(appliedTag.id())
+            .tag(tags.get(appliedTag.tagId()))
+            .userID(appliedTag.userID())
+            .userEmail(appliedTag.userEmail())
+            .appliedToUserAt(appliedTag.appliedToUserAt())
+            .build()));
+    events.forEach(event -> apply(role, appliedTags, event, tags));
+
+    long sequenceNumber = events.isEmpty()
+        ? snapshot.getSequenceNumber()
+        : events.get(events.size() - 1).getSequenceNumber();
+    return GameRoleStateAtResponseDTO.builder()
+        .id(gameRoleStateId)
+        .gameSessionId(gameSessionId)
+        .at(at)
+        .sequenceNumber(sequenceNumber)
+        .appliedTags(appliedTags.values().stream()
+            .filter(appliedTag -> appliedTag.isActiveAt(at))
+            .sorted(Comparator.comparing(AppliedTagState::getAppliedToUserAt).reversed())
+            .map(appliedTagMapper::toDTO)
+            .toList())
+        .build();
+  }
+
+  private Map<UUID, Tag> findTags(List<AppliedTagSnapshot> snapshotTags,
+      List<GameSessionEvent> events) {
+    Set<UUID> tagIds = Stream.concat(
+            snapshotTags.stream().map(AppliedTagSnapshot::tagId),
+            events.stream().map(GameSessionEvent::getTagId))
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    return tagRepository.findAllById(tagIds).stream()
+        .collect(Collectors.toMap(Tag::getId, Function.identity()));
+  }
+
+  /**
+   * Same as the {@code GameSessionSnapshotter} applies events to the role's rows.
+   */
+  private void apply(GameRoleState role, Map<UUID, AppliedTagState> appliedTags,
+      GameSessionEvent event, Map<UUID, Tag> tags) {
+    switch (event.getType()) {
+      case TAG_APPLIED -> {
+        Tag tag = tags.get(event.getTagId());
+        if (Objects.nonNull(tag)) {
+          appliedTags.put(event.getAppliedTagId(), AppliedTagState.builder()
+              .id(event.getAppliedTagId())
+              .tag(tag)
+              .userID(role.getAssignedUserID())
+              .userEmail(role.getAssignedEmail())
+              .appliedToUserAt(event.getOccurredAt())
+              .build());
+        }
+      }
+      case TAG_REFRESHED -> {
+        AppliedTagState appliedTag = appliedTags.get(event.getAppliedTagId());
+        if (Objects.nonNull(appliedTag)) {
+          appliedTag.setAppliedToUserAt(event.getOccurredAt());
+        }
+      }
+      case TAG_REMOVED -> appliedTags.remove(event.getAppliedTagId());
+      case ACTION_PERFORMED, ROLE_EDITED -> {
+        // The role itself does not change
+      }
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.larplaner.service.game.readmodel;
+
+import com.larplaner.dto.game.GameSessionDetailedResponseDTO;
+import com.larplaner.mapper.game.GameSessionMapper;
+import com.larplaner.model.BaseEntity;
+import com.larplaner.model.game.GameItemState;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSession;
+import com.larplaner.model.scenario.ScenarioItem;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads game sessions for {@link GameSessionMapper#toDetailedDTO}. Instead of letting the mapper
+ * lazily load every role, applied tag, item and item action one by one, the whole graph is fetched
+ * up front with a fixed number of queries (at most {@value #MAX_STATEMENTS}), independent of how
+ * many sessions, roles, items or actions there are. Each query fetches at most one collection, so
+ * the result sets don't multiply.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameSessionReadModel {
+
+  /**
+   * Sessions, roles, applied tags, items, item actions and one query per action tag list.
+   */
+  static final int MAX_STATEMENTS = 5 + 8;
+
+  private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+  private static final List<String> ACTION_TAG_LISTS = List.of(
+      "requiredTagsToDisplay",
+      "forbiddenTagsToDisplay",
+      "requiredTagsToSucceed",
+      "forbiddenTagsToSucceed",
+      "tagsToApplyOnSuccess",
+      "tagsToApplyOnFailure",
+      "tagsToRemoveOnSuccess",
+      "tagsToRemoveOnFailure");
+
+  private final GameSessionMapper gameSessionMapper;
+  private final EntityManager entityManager;
+
+  @Transactional(readOnly = true)
+  public Optional<GameSessionDetailedResponseDTO> findDetailedById(UUID id) {
+    List<GameSession> gameSessions = entityManager.createQuery(
+            "select s from GameSession s left join fetch s.event where s.id = :id",
+            GameSession.class)
+        .setParameter("id", id)
+        .getResultList();
+
+    return toDetailedDTOs(gameSessions).stream().findFirst();
+  }
+
+  @Transactional(readOnly = true)
+  public List<GameSessionDetailedResponseDTO> findAllDetailed() {
+    List<GameSession> gameSessions = entityManager.createQuery(
+            "select s from GameSession s left join fetch s.event", GameSession.class)
+        .getResultList();
+
+    return toDetailedDTOs(gameSessions);
+  }
+
+  private List<GameSessionDetailedResponseDTO> toDetailedDTOs(List<GameSession> gameSessions) {
+    if (gameSessions.isEmpty()) {
+      return List.of();
+    }
+
+    List<UUID> gameSessionIds = gameSessions.stream().map(BaseEntity::getId).toList();
+    fetchRoles(gameSessionIds);
+    fetchItems(gameSessionIds);
+
+    List<UUID> scenarioItemIds = gameSessions.stream()
+        .flatMap(gameSession -> gameSession.getItems().stream())
+        .map(GameItemState::getScenarioItem)
+        .filter(Objects::nonNull)
+        .map(BaseEntity::getId)
+        .distinct()
+        .toList();
+    fetchItemActions(scenarioItemIds);
+
+    log.debug("Fetched {} game sessions with {} distinct scenario items", gameSessions.size(),
+        scenarioItemIds.size());
+
+    return gameSessions.stream().map(gameSessionMapper::toDetailedDTO).toList();
+  }
+
+  private void fetchRoles(List<UUID> gameSessionIds) {
+    entityManager.createQuery("""
+            select s from GameSession s
+            left join fetch s.assignedRoles r
+            left join fetch r.scenarioRole sr
+            left join fetch sr.role
+            left join fetch sr.scenario
+            where s.id in :ids""", GameSession.class)
+        .setParameter("ids", gameSessionIds)
+        .getResultList();
+
+    entityManager.createQuery("""
+            select r from GameRoleState r
+            left join fetch r.appliedTags t
+            left join fetch t.tag
+            where r.gameSession.id in :ids""", GameRoleState.class)
+        .setParameter("ids", gameSessionIds)
+        .getResultList();
+  }
+
+  private void fetchItems(List<UUID> gameSessionIds) {
+    entityManager.createQuery("""
+            select s from GameSession s
+            left join fetch s.items i
+            left join fetch i.scenarioItem si
+            left join fetch si.scenario
+            where s.id in :ids""", GameSession.class)
+        .setParameter("ids", gameSessionIds)
+        .getResultList();
+  }
+
+  private void fetchItemActions(List<UUID> scenarioItemIds) {
+    if (scenarioItemIds.isEmpty()) {
+      return;
+    }
+
+    entityManager.createQuery(
+            "select si from ScenarioItem si left join fetch si.actions where si.id in :ids",
+            ScenarioItem.class)
+        .setParameter("ids", scenarioItemIds)
+        .getResultList();
+
+    for (String tagList : ACTION_TAG_LISTS) {
+      EntityGraph<ScenarioItemAction> graph = entityManager.createEntityGraph(
+          ScenarioItemAction.class);
+      graph.addAttributeNodes(tagList);
+
+      entityManager.createQuery(
+              "select a from ScenarioItemAction a where a.item.id in :ids",
+              ScenarioItemAction.class)
+          .setParameter("ids", scenarioItemIds)
+          .setHint(FETCH_GRAPH_HINT, graph)
+          .getResultList();
+    }
+  }
+}
@@ -18,6 +18,13 @@ public interface ScenarioService {
 
   ScenarioResponseDTO updateScenario(UUID id, UpdateScenarioRequestDTO scenarioDTO);
 
+  /**
+   * Like {@link #updateScenario}, but anything that is null in the request is left as it is. A
+   * list that is present still replaces the current one: entries with an ID are updated, entries
+   * without one are added and entries that are not listed are removed.
+   */
+  ScenarioResponseDTO patchScenario(UUID id, UpdateScenarioRequestDTO scenarioDTO);
+
   void deleteScenario(UUID id);
 
   ScenarioDetailedResponseDTO getDetailedScenarioById(UUID id);
@@ -1,5 +1,6 @@
 package com.larplaner.service.scenario.impl;
 
+import com.larplaner.dto.action.ActionRequestDTO;
 import com.larplaner.dto.scenario.ScenarioDetailedResponseDTO;
 import com.larplaner.dto.scenario.ScenarioRequestDTO;
 import com.larplaner.dto.scenario.ScenarioResponseDTO;
@@ -14,6 +15,7 @@ import com.larplaner.dto.scenario.role.ScenarioRoleRequestDTO;
 import com.larplaner.dto.scenario.role.UpdateScenarioRoleRequestDTO;
 import com.larplaner.exception.EntityCouldNotBeDeleted;
 import com.larplaner.exception.EntityCouldNotBeEdited;
+import com.larplaner.mapper.action.ActionMapper;
 import com.larplaner.mapper.scenario.ScenarioActionMapper;
 import com.larplaner.mapper.scenario.ScenarioItemActionMapper;
 import com.larplaner.mapper.scenario.ScenarioItemMapper;
@@ -28,12 +30,11 @@ import com.larplaner.model.scenario.ScenarioItem;
 import com.larplaner.model.scenario.ScenarioItemAction;
 import com.larplaner.model.scenario.ScenarioRole;
 import com.larplaner.repository.event.EventRepository;
-import com.larplaner.repository.scenario.ScenarioActionRepository;
-import com.larplaner.repository.scenario.ScenarioItemActionRepository;
-import com.larplaner.repository.scenario.ScenarioItemRepository;
 import com.larplaner.repository.scenario.ScenarioRepository;
-import com.larplaner.repository.scenario.ScenarioRoleRepository;
+import com.larplaner.service.admin.security.MembershipIndex;
+import com.larplaner.service.game.engine.GameSessionEngine;
 import com.larplaner.service.scenario.ScenarioService;
+import com.larplaner.service.tag.helper.TagHelper;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.ArrayList;
 import java.util.List;
@@ -42,6 +43,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -61,11 +63,11 @@ public class ScenarioServiceImpl implements ScenarioService {
   private final ScenarioItemMapper scenarioItemMapper;
 
   private final ScenarioItemActionMapper scenarioItemActionMapper;
-  private final ScenarioRoleRepository scenarioRoleRepository;
-  private final ScenarioItemRepository scenarioItemRepository;
-  private final ScenarioActionRepository scenarioActionRepository;
-  private final ScenarioItemActionRepository scenarioItemActionRepository;
+  private final ActionMapper actionMapper;
+  private final TagHelper tagHelper;
   private final EventRepository eventRepository;
+  private final GameSessionEngine gameSessionEngine;
+  private final MembershipIndex membershipIndex;
 
   @Override
   @Transactional(readOnly = true)
@@ -93,6 +95,9 @@ public class ScenarioServiceImpl implements ScenarioService {
   @Override
   @Transactional
   public ScenarioResponseDTO createScenario(ScenarioRequestDTO scenarioDTO) {
+    preloadTags(scenarioDTO.getActions(), Optional.ofNullable(scenarioDTO.getItems())
+        .orElse(List.of()).stream()
+        .map(ScenarioItemRequestDTO::getActions));
     Scenario scenario = scenarioMapper.toEntity(scenarioDTO);
 
     createScenarioRoles(scenario, scenarioDTO.getRoles());
@@ -107,22 +112,59 @@ public class ScenarioServiceImpl implements ScenarioService {
   @Override
   @Transactional
   public ScenarioResponseDTO updateScenario(UUID id, UpdateScenarioRequestDTO scenarioDTO) {
+    return updateScenario(id, scenarioDTO, false);
+  }
+
+  @Override
+  @Transactional
+  public ScenarioResponseDTO patchScenario(UUID id, UpdateScenarioRequestDTO scenarioDTO) {
+    return updateScenario(id, scenarioDTO, true);
+  }
+
+  /**
+   * Changes the existing entities in place, so only what actually changed is written: Hibernate
+   * skips entities whose fields got their current values, and tag lists are diffed by the mappers.
+   *
+   * @param patch whether lists that are null in the DTO are left as they are, instead of being
+   *              cleared
+   */
+  private ScenarioResponseDTO updateScenario(UUID id, UpdateScenarioRequestDTO scenarioDTO,
+      boolean patch) {
     Scenario existingScenario = scenarioRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Scenario not found with id: " + id));
 
+    preloadTags(scenarioDTO.getActions(), Optional.ofNullable(scenarioDTO.getItems())
+        .orElse(List.of()).stream()
+        .map(UpdateScenarioItemRequestDTO::getActions));
     scenarioMapper.updateEntityFromDTO(scenarioDTO, existingScenario);
 
-    processScenarioRoles(existingScenario, scenarioDTO.getRoles());
-    processScenarioItems(existingScenario, scenarioDTO.getItems());
-    processScenarioActions(existingScenario, scenarioDTO.getActions());
+    processScenarioRoles(existingScenario, scenarioDTO.getRoles(), patch);
+    processScenarioItems(existingScenario, scenarioDTO.getItems(), patch);
+    processScenarioActions(existingScenario, scenarioDTO.getActions(), patch);
 
     Scenario updatedScenario = scenarioRepository.save(existingScenario);
 
     updateEventAssignedRoles(updatedScenario);
+    gameSessionEngine.evictByScenarioId(updatedScenario.getId());
+    membershipIndex.invalidateScenario(updatedScenario.getId());
 
     return scenarioMapper.toDTO(updatedScenario);
   }
 
+  /**
+   * Resolves the tags of all actions and item actions with one query, instead of one query per tag
+   * list of every action.
+   */
+  private void preloadTags(List<? extends ActionRequestDTO> actions,
+      Stream<? extends List<? extends ActionRequestDTO>> itemActions) {
+    tagHelper.preload(Stream.concat(
+            Stream.ofNullable(actions),
+            itemActions.filter(Objects::nonNull))
+        .flatMap(List::stream)
+        .flatMap(actionMapper::referencedTagIds)
+        .collect(Collectors.toSet()));
+  }
+
   private void updateEventAssignedRoles(Scenario updatedScenario) {
     List<Event> eventsThatShouldHaveRolesUpdated = eventRepository.findAllByScenario_IdAndStatus(
         updatedScenario.getId(),
@@ -146,6 +188,8 @@ public class ScenarioServiceImpl implements ScenarioService {
     });
 
     eventRepository.saveAll(eventsThatShouldHaveRolesUpdated);
+    eventsThatShouldHaveRolesUpdated.forEach(
+        event -> membershipIndex.invalidateEvent(event.getId()));
     log.debug("Updated {} events related to scenario", eventsThatShouldHaveRolesUpdated.size());
   }
 
@@ -158,6 +202,7 @@ public class ScenarioServiceImpl implements ScenarioService {
 
     try {
       scenarioRepository.deleteById(id);
+      membershipIndex.invalidateScenario(id);
     } catch (DataIntegrityViolationException e) {
       log.warn("Failed to delete scenario {} due to a data integrity violation.", id, e);
       throw new EntityCouldNotBeDeleted(
@@ -221,7 +266,10 @@ public class ScenarioServiceImpl implements ScenarioService {
   }
 
   private void processScenarioRoles(Scenario existingScenario,
-      List<UpdateScenarioRoleRequestDTO> roles) {
+      List<UpdateScenarioRoleRequestDTO> roles, boolean patch) {
+    if (Objects.isNull(roles) && patch) {
+      return;
+    }
     if (Objects.isNull(roles) || roles.isEmpty()) {
       checkIfRolesCanBeAddedOrDeleted(existingScenario);
       deleteScenarioRoles(existingScenario, existingScenario.getRoles());
@@ -243,7 +291,9 @@ public class ScenarioServiceImpl implements ScenarioService {
       }
     });
 
-    var rolesToDelete = scenarioRoleRepository.findAllById(existingRolesIds);
+    var rolesToDelete = existingRoles.stream()
+        .filter(role -> existingRolesIds.contains(role.getId()))
+        .toList();
 
     if (!rolesToDelete.isEmpty() || !rolesToAdd.isEmpty()) {
       checkIfRolesCanBeAddedOrDeleted(existingScenario);
@@ -286,7 +336,10 @@ public class ScenarioServiceImpl implements ScenarioService {
   }
 
   private void processScenarioItems(Scenario existingScenario,
-      List<UpdateScenarioItemRequestDTO> items) {
+      List<UpdateScenarioItemRequestDTO> items, boolean patch) {
+    if (Objects.isNull(items) && patch) {
+      return;
+    }
     if (Objects.isNull(items) || items.isEmpty()) {
       deleteScenarioItems(existingScenario, existingScenario.getItems());
       return;
@@ -307,15 +360,17 @@ public class ScenarioServiceImpl implements ScenarioService {
       }
     });
 
-    var itemsToDelete = scenarioItemRepository.findAllById(existingItemIds);
+    var itemsToDelete = existingItems.stream()
+        .filter(item -> existingItemIds.contains(item.getId()))
+        .toList();
 
     createScenarioItems(existingScenario, itemsToAdd);
-    updateScenarioItems(existingScenario, itemsToUpdate);
+    updateScenarioItems(existingScenario, itemsToUpdate, patch);
     deleteScenarioItems(existingScenario, itemsToDelete);
   }
 
   private void updateScenarioItems(Scenario existingScenario,
-      List<UpdateScenarioItemRequestDTO> itemsToUpdate) {
+      List<UpdateScenarioItemRequestDTO> itemsToUpdate, boolean patch) {
     if (Objects.isNull(itemsToUpdate) || itemsToUpdate.isEmpty()) {
       return;
     }
@@ -329,7 +384,7 @@ public class ScenarioServiceImpl implements ScenarioService {
           UpdateScenarioItemRequestDTO updateScenarioItemDTO = updateDTOMap.get(
               scenarioItem.getId());
           scenarioItemMapper.updateEntityFromUpdateDTO(scenarioItem, updateScenarioItemDTO);
-          processScenarioItemActions(scenarioItem, updateScenarioItemDTO.getActions());
+          processScenarioItemActions(scenarioItem, updateScenarioItemDTO.getActions(), patch);
         });
   }
 
@@ -339,7 +394,10 @@ public class ScenarioServiceImpl implements ScenarioService {
   }
 
   private void processScenarioItemActions(ScenarioItem scenarioItem,
-      List<UpdateScenarioItemActionRequestDTO> actions) {
+      List<UpdateScenarioItemActionRequestDTO> actions, boolean patch) {
+    if (Objects.isNull(actions) && patch) {
+      return;
+    }
     if (Objects.isNull(actions) || actions.isEmpty()) {
       deleteScenarioItemActions(scenarioItem, scenarioItem.getActions());
       return;
@@ -360,16 +418,18 @@ public class ScenarioServiceImpl implements ScenarioService {
       }
     });
 
-    var actionsToDelete = scenarioItemActionRepository.findAllById(existingItemActionIds);
+    var actionsToDelete = existingItemActions.stream()
+        .filter(action -> existingItemActionIds.contains(action.getId()))
+        .toList();
 
     actionsToAdd.forEach(
         action -> scenarioItem.addScenarioItemAction(scenarioItemActionMapper.toEntity(action)));
-    updateScenarioItemActions(scenarioItem, actionsToUpdate);
+    updateScenarioItemActions(scenarioItem, actionsToUpdate, patch);
     deleteScenarioItemActions(scenarioItem, actionsToDelete);
   }
 
   private void updateScenarioItemActions(ScenarioItem scenarioItem,
-      ArrayList<UpdateScenarioItemActionRequestDTO> actionsToUpdate) {
+      ArrayList<UpdateScenarioItemActionRequestDTO> actionsToUpdate, boolean patch) {
     if (actionsToUpdate.isEmpty()) {
       return;
     }
@@ -382,7 +442,11 @@ public class ScenarioServiceImpl implements ScenarioService {
         .forEach(itemAction -> {
           UpdateScenarioItemActionRequestDTO updateScenarioItemDTO = updateDTOMap.get(
               itemAction.getId());
-          scenarioItemActionMapper.updateEntityFromDTO(updateScenarioItemDTO, itemAction);
+          if (patch) {
+            scenarioItemActionMapper.patchEntityFromDTO(updateScenarioItemDTO, itemAction);
+          } else {
+            scenarioItemActionMapper.updateEntityFromDTO(updateScenarioItemDTO, itemAction);
+          }
         });
   }
 
@@ -392,7 +456,10 @@ public class ScenarioServiceImpl implements ScenarioService {
   }
 
   private void processScenarioActions(Scenario existingScenario,
-      List<UpdateScenarioActionRequestDTO> actions) {
+      List<UpdateScenarioActionRequestDTO> actions, boolean patch) {
+    if (Objects.isNull(actions) && patch) {
+      return;
+    }
     if (Objects.isNull(actions) || actions.isEmpty()) {
       deleteScenarioActions(existingScenario, existingScenario.getActions());
       return;
@@ -413,15 +480,17 @@ public class ScenarioServiceImpl implements ScenarioService {
       }
     });
 
-    var actionsToDelete = scenarioActionRepository.findAllById(existingActionIds);
+    var actionsToDelete = existingActions.stream()
+        .filter(action -> existingActionIds.contains(action.getId()))
+        .toList();
 
     createScenarioActions(existingScenario, actionsToAdd);
-    updateScenarioActions(existingScenario, actionsToUpdate);
+    updateScenarioActions(existingScenario, actionsToUpdate, patch);
     deleteScenarioActions(existingScenario, actionsToDelete);
   }
 
   private void updateScenarioActions(Scenario existingScenario,
-      List<UpdateScenarioActionRequestDTO> actionsToUpdate) {
+      List<UpdateScenarioActionRequestDTO> actionsToUpdate, boolean patch) {
     if (actionsToUpdate.isEmpty()) {
       return;
     }
@@ -433,7 +502,11 @@ public class ScenarioServiceImpl implements ScenarioService {
         .filter(action -> updateDTOMap.containsKey(action.getId()))
         .forEach(scenarioAction -> {
           UpdateScenarioActionRequestDTO updateActionDTO = updateDTOMap.get(scenarioAction.getId());
-          scenarioActionMapper.updateEntityFromDTO(updateActionDTO, scenarioAction);
+          if (patch) {
+            scenarioActionMapper.patchEntityFromDTO(updateActionDTO, scenarioAction);
+          } else {
+            scenarioActionMapper.updateEntityFromDTO(updateActionDTO, scenarioAction);
+          }
         });
   }
 
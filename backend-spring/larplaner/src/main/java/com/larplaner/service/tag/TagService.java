@@ -3,6 +3,7 @@ package com.larplaner.service.tag;
 import java.util.List;
 import java.util.UUID;
 
+import com.larplaner.dto.tag.TagPageResponseDTO;
 import com.larplaner.dto.tag.TagRequestDTO;
 import com.larplaner.dto.tag.TagResponseDTO;
 import com.larplaner.dto.tag.UpdateTagRequestDTO;
@@ -13,6 +14,13 @@ public interface TagService {
 
   List<TagResponseDTO> getAllTags(String searchTerm);
 
+  /**
+   * @param page zero-based page number
+   * @param size tags per page, at most 100
+   * @return tags whose value contains the query, exact and prefix matches first
+   */
+  TagPageResponseDTO searchTags(String query, int page, int size);
+
   TagResponseDTO getTagById(UUID id);
 
   List<TagResponseDTO> createTags(List<TagRequestDTO> tagRequestDTOList);
@@ -1,26 +1,174 @@
 package com.larplaner.service.tag.helper;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.larplaner.model.tag.Tag;
 import com.larplaner.repository.tag.TagRepository;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Resolves tag IDs to {@link Tag}s through two caches, so mapping a request that references the
+ * same tags many times does not query them again and again:
+ * <ul>
+ *   <li>per transaction: every tag the transaction resolved, including tags it created itself.
+ *   {@link #preload} fills it with all tags of a request in one query.</li>
+ *   <li>per application: tags of committed transactions. Tags only hold plain values, so the
+ *   detached instances can be shared; {@link #invalidate} drops a tag that was changed.</li>
+ * </ul>
+ */
 @Component
-@RequiredArgsConstructor
-@Slf4j
 public class TagHelper {
 
   private final TagRepository tagRepository;
 
+  private final Cache<UUID, Tag> tagsById;
+
+  /**
+   * Incremented by {@link #invalidate}, so a transaction that loaded a tag before it changed does
+   * not put the old version into the application cache when it commits.
+   */
+  private final AtomicLong generation = new AtomicLong();
+
+  public TagHelper(TagRepository tagRepository,
+      @Value("${larplaner.tags.cache.max-size:10000}") long maxSize) {
+    this.tagRepository = tagRepository;
+    this.tagsById = Caffeine.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * @return the tags with the given IDs that exist, each once, in a new list the caller may change
+   */
   public List<Tag> processTags(List<UUID> tagIds) {
     if (tagIds == null || tagIds.isEmpty()) {
       return new ArrayList<>();
     }
 
-    return tagRepository.findAllById(tagIds);
+    Map<UUID, Tag> tags = resolve(tagIds);
+    return tagIds.stream()
+        .distinct()
+        .map(tags::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toCollection(ArrayList::new));
+  }
+
+  /**
+   * Loads all tags with the given IDs that are not cached yet with a single query, so later calls
+   * of {@link #processTags} in the same transaction don't have to.
+   */
+  public void preload(Collection<UUID> tagIds) {
+    if (!tagIds.isEmpty()) {
+      resolve(tagIds);
+    }
+  }
+
+  /**
+   * Drops the tag from the application cache, now and again when the current transaction ends.
+   */
+  public void invalidate(UUID tagId) {
+    Runnable invalidation = () -> {
+      generation.incrementAndGet();
+      tagsById.invalidate(tagId);
+    };
+    invalidation.run();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          invalidation.run();
+        }
+      });
+    }
+  }
+
+  private Map<UUID, Tag> resolve(Collection<UUID> tagIds) {
+    TransactionTags transactionTags = currentTransactionTags();
+    Map<UUID, Tag> tags = new HashMap<>();
+    Set<UUID> missingIds = new HashSet<>();
+    for (UUID tagId : tagIds) {
+      Tag tag = transactionTags.tags.get(tagId);
+      if (Objects.isNull(tag)) {
+        tag = tagsById.getIfPresent(tagId);
+      }
+      if (Objects.nonNull(tag)) {
+        tags.put(tagId, tag);
+      } else if (Objects.nonNull(tagId) && !transactionTags.notFound.contains(tagId)) {
+        missingIds.add(tagId);
+      }
+    }
+
+    if (!missingIds.isEmpty()) {
+      tagRepository.findAllById(missingIds).forEach(tag -> {
+        tags.put(tag.getId(), tag);
+        transactionTags.tags.put(tag.getId(), tag);
+        missingIds.remove(tag.getId());
+      });
+      transactionTags.notFound.addAll(missingIds);
+      if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+        transactionTags.committed();
+      }
+    }
+    return tags;
+  }
+
+  /**
+   * Outside a transaction every call gets its own instance, whose tags go straight to the
+   * application cache.
+   */
+  private TransactionTags currentTransactionTags() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return new TransactionTags(generation.get());
+    }
+
+    TransactionTags transactionTags =
+        (TransactionTags) TransactionSynchronizationManager.getResource(this);
+    if (Objects.isNull(transactionTags)) {
+      TransactionTags created = new TransactionTags(generation.get());
+      TransactionSynchronizationManager.bindResource(this, created);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          created.committed();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(TagHelper.this);
+        }
+      });
+      transactionTags = created;
+    }
+    return transactionTags;
+  }
+
+  private class TransactionTags {
+
+    private final long generation;
+    private final Map<UUID, Tag> tags = new HashMap<>();
+    private final Set<UUID> notFound = new HashSet<>();
+
+    TransactionTags(long generation) {
+      this.generation = generation;
+    }
+
+    void committed() {
+      if (generation == TagHelper.this.generation.get()) {
+        tagsById.putAll(tags);
+      }
+    }
   }
-}
\ No newline at end of file
+}
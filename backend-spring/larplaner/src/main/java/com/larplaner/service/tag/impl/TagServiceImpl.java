@@ -1,5 +1,6 @@
 package com.larplaner.service.tag.impl;
 
+import com.larplaner.dto.tag.TagPageResponseDTO;
 import com.larplaner.dto.tag.TagRequestDTO;
 import com.larplaner.dto.tag.TagResponseDTO;
 import com.larplaner.dto.tag.UpdateTagRequestDTO;
@@ -7,7 +8,10 @@ import com.larplaner.exception.EntityCouldNotBeAdded;
 import com.larplaner.mapper.tag.TagMapper;
 import com.larplaner.model.tag.Tag;
 import com.larplaner.repository.tag.TagRepository;
+import com.larplaner.service.game.engine.GameSessionEngine;
 import com.larplaner.service.tag.TagService;
+import com.larplaner.service.tag.helper.TagHelper;
+import com.larplaner.service.tag.index.TagSearchIndex;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.UUID;
@@ -21,8 +25,13 @@ import org.springframework.util.StringUtils;
 @RequiredArgsConstructor
 public class TagServiceImpl implements TagService {
 
+  public static final int MAX_PAGE_SIZE = 100;
+
   private final TagRepository tagRepository;
   private final TagMapper tagMapper;
+  private final GameSessionEngine gameSessionEngine;
+  private final TagHelper tagHelper;
+  private final TagSearchIndex tagSearchIndex;
 
   @Override
   @Transactional(readOnly = true)
@@ -33,15 +42,29 @@ public class TagServiceImpl implements TagService {
   @Override
   @Transactional(readOnly = true)
   public List<TagResponseDTO> getAllTags(String searchTerm) {
-    List<Tag> tagList = StringUtils.hasText(searchTerm)
-        ? tagRepository.findByValueContainingIgnoreCase(searchTerm)
-        : tagRepository.findAll();
+    if (StringUtils.hasText(searchTerm)) {
+      return tagSearchIndex.search(searchTerm, 0, Integer.MAX_VALUE).tags();
+    }
 
-    return tagList.stream()
+    return tagRepository.findAll().stream()
         .map(tagMapper::toDTO)
         .collect(Collectors.toList());
   }
 
+  @Override
+  public TagPageResponseDTO searchTags(String query, int page, int size) {
+    int pageNumber = Math.max(0, page);
+    int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    var result = tagSearchIndex.search(query, pageNumber * pageSize, pageSize);
+
+    return TagPageResponseDTO.builder()
+        .items(result.tags())
+        .page(pageNumber)
+        .size(pageSize)
+        .totalElements(result.total())
+        .build();
+  }
+
   @Override
   public TagResponseDTO getTagById(UUID id) {
     return tagRepository.findById(id)
@@ -63,7 +86,9 @@ public class TagServiceImpl implements TagService {
           .collect(Collectors.joining(",")));
     }
 
-    return tagRepository.saveAll(tags).stream().map(tagMapper::toDTO).toList();
+    var savedTags = tagRepository.saveAll(tags);
+    savedTags.forEach(tagSearchIndex::put);
+    return savedTags.stream().map(tagMapper::toDTO).toList();
   }
 
   @Override
@@ -71,7 +96,12 @@ public class TagServiceImpl implements TagService {
     Tag tag = tagRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Tag not found with id: " + id));
     tagMapper.updateEntityFromDTO(updateTagRequestDTO, tag);
-    return tagMapper.toDTO(tagRepository.save(tag));
+    var savedTag = tagRepository.save(tag);
+    tagHelper.invalidate(id);
+    tagSearchIndex.put(savedTag);
+    gameSessionEngine.evictAll();
+
+    return tagMapper.toDTO(savedTag);
   }
 
   @Override
@@ -80,5 +110,8 @@ public class TagServiceImpl implements TagService {
       throw new EntityNotFoundException("Tag not found with id: " + id);
     }
     tagRepository.deleteById(id);
+    tagHelper.invalidate(id);
+    tagSearchIndex.remove(id);
+    gameSessionEngine.evictAll();
   }
 }
\ No newline at end of file
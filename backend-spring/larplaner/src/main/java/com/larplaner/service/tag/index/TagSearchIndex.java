@@ -0,0 +1,238 @@
+package com.larplaner.service.tag.index;
+
+import com.larplaner.dto.tag.TagResponseDTO;
+import com.larplaner.mapper.tag.TagMapper;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.repository.tag.TagRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of every tag's value for case-insensitive substring search, so searching the
+ * catalog doesn't need a {@code lower(value) like '%x%'} scan of the tags table. Values are split
+ * into trigrams; a query of three or more characters only looks at tags that contain all of its
+ * trigrams, shorter queries scan the values in memory.
+ * <p>
+ * The index is loaded with the first search and kept in sync by {@code TagServiceImpl}, which calls
+ * {@link #put} and {@link #remove} for every change. Both take effect when the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class TagSearchIndex {
+
+  private static final int GRAM = 3;
+
+  /**
+   * Exact matches first, then values starting with the query, then values with a word starting with
+   * it, then any other values containing it. Shorter values come first within each rank.
+   */
+  private static final Comparator<Match> RANKING = Comparator
+      .comparingInt(Match::rank)
+      .thenComparingInt(match -> match.entry().normalized().length())
+      .thenComparing(match -> match.entry().normalized())
+      .thenComparing(match -> match.entry().tag().getId());
+
+  private final TagRepository tagRepository;
+  private final TagMapper tagMapper;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<UUID, Entry> entriesById = new HashMap<>();
+  private final Map<String, Set<UUID>> idsByTrigram = new HashMap<>();
+  private boolean loaded;
+
+  /**
+   * @return the tags whose value contains the query, ranked, skipping {@code offset} and at most
+   * {@code limit} of them
+   */
+  public Result search(String query, int offset, int limit) {
+    ensureLoaded();
+    String normalized = normalize(query);
+
+    lock.readLock().lock();
+    try {
+      List<Match> matches = candidates(normalized)
+          .map(entry -> new Match(entry, rank(entry.normalized(), normalized)))
+          .filter(match -> match.rank() >= 0)
+          .sorted(RANKING)
+          .toList();
+
+      List<TagResponseDTO> tags = matches.stream()
+          .skip(offset)
+          .limit(limit)
+          .map(match -> match.entry().tag())
+          .toList();
+      return new Result(tags, matches.size());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Call when a tag is created or its value changes.
+   */
+  public void put(Tag tag) {
+    TagResponseDTO indexed = tagMapper.toDTO(tag);
+    afterCommit(() -> replace(indexed.getId(), indexed));
+  }
+
+  public void remove(UUID tagId) {
+    afterCommit(() -> replace(tagId, null));
+  }
+
+  private Stream<Entry> candidates(String query) {
+    if (query.length() < GRAM) {
+      return entriesById.values().stream();
+    }
+
+    List<Set<UUID>> postings = new ArrayList<>();
+    for (String trigram : trigrams(query)) {
+      Set<UUID> ids = idsByTrigram.get(trigram);
+      if (Objects.isNull(ids)) {
+        return Stream.empty();
+      }
+      postings.add(ids);
+    }
+    postings.sort(Comparator.comparingInt(Set::size));
+
+    return postings.get(0).stream()
+        .filter(id -> postings.stream().skip(1).allMatch(ids -> ids.contains(id)))
+        .map(entriesById::get);
+  }
+
+  /**
+   * @return the rank of the value for {@link #RANKING}, or -1 if it doesn't contain the query
+   */
+  private static int rank(String value, String query) {
+    if (value.equals(query)) {
+      return 0;
+    }
+    int index = value.indexOf(query);
+    if (index < 0) {
+      return -1;
+    }
+    if (index == 0) {
+      return 1;
+    }
+    do {
+      if (!Character.isLetterOrDigit(value.charAt(index - 1))) {
+        return 2;
+      }
+      index = value.indexOf(query, index + 1);
+    } while (index > 0);
+    return 3;
+  }
+
+  private void ensureLoaded() {
+    lock.readLock().lock();
+    try {
+      if (loaded) {
+        return;
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    // Changes committed while loading wait for the lock and are applied on top
+    lock.writeLock().lock();
+    try {
+      if (!loaded) {
+        tagRepository.findAll().stream().map(tagMapper::toDTO).forEach(this::index);
+        loaded = true;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Until the index is loaded there is nothing to change; loading reads the committed tags.
+   */
+  private void replace(UUID tagId, TagResponseDTO tag) {
+    lock.writeLock().lock();
+    try {
+      if (!loaded) {
+        return;
+      }
+      Entry entry = entriesById.remove(tagId);
+      if (Objects.nonNull(entry)) {
+        for (String trigram : trigrams(entry.normalized())) {
+          Set<UUID> ids = idsByTrigram.get(trigram);
+          ids.remove(tagId);
+          if (ids.isEmpty()) {
+            idsByTrigram.remove(trigram);
+          }
+        }
+      }
+      if (Objects.nonNull(tag)) {
+        index(tag);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void index(TagResponseDTO tag) {
+    Entry entry = new Entry(tag, normalize(tag.getValue()));
+    entriesById.put(tag.getId(), entry);
+    for (String trigram : trigrams(entry.normalized())) {
+      idsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(tag.getId());
+    }
+  }
+
+  private static Collection<String> trigrams(String value) {
+    Set<String> trigrams = new HashSet<>();
+    for (int i = 0; i + GRAM <= value.length(); i++) {
+      trigrams.add(value.substring(i, i + GRAM));
+    }
+    return trigrams;
+  }
+
+  private static String normalize(String value) {
+    return Objects.requireNonNullElse(value, "").trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static void afterCommit(Runnable change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      change.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        change.run();
+      }
+    });
+  }
+
+  /**
+   * @param total how many tags match, on all pages
+   */
+  public record Result(List<TagResponseDTO> tags, long total) {
+
+  }
+
+  private record Entry(TagResponseDTO tag, String normalized) {
+
+  }
+
+  private record Match(Entry entry, int rank) {
+
+  }
+}
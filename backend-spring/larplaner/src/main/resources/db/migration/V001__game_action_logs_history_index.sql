@@ -0,0 +1,2 @@
+-- Backs the keyset-paged game history, ordered by (timestamp, id) within a session.
+create index if not exists idx_game_action_logs_history on game_action_logs (session_id, timestamp, id);
@@ -0,0 +1,24 @@
+-- Append-only journal of role changes, replayed on top of the applied tags as of snapshot_sequence.
+create table if not exists game_session_events (
+  success boolean,
+  type smallint not null check (type between 0 and 4),
+  created_at timestamp(6) with time zone not null,
+  last_modified_at timestamp(6) with time zone not null,
+  occurred_at timestamp(6) with time zone not null,
+  sequence_number bigint not null,
+  action_id uuid,
+  applied_tag_id uuid,
+  game_role_state_id uuid not null,
+  game_session_id uuid not null,
+  id uuid not null,
+  tag_id uuid,
+  target_item_id uuid,
+  primary key (id),
+  constraint uk_game_session_events_sequence unique (game_session_id, sequence_number)
+);
+
+create index if not exists idx_game_session_events_role
+  on game_session_events (game_role_state_id, sequence_number);
+
+-- Existing sessions have no events yet, so their applied tags are current as of sequence 0.
+alter table game_sessions add column if not exists snapshot_sequence bigint default 0 not null;
@@ -0,0 +1,12 @@
+-- Compressed role states of a game session as of an event sequence number.
+create table if not exists game_session_snapshots (
+  created_at timestamp(6) with time zone not null,
+  last_modified_at timestamp(6) with time zone not null,
+  sequence_number bigint not null,
+  taken_at timestamp(6) with time zone not null,
+  game_session_id uuid not null,
+  id uuid not null,
+  state bytea not null,
+  primary key (id),
+  constraint uk_game_session_snapshots_sequence unique (game_session_id, sequence_number)
+);
@@ -0,0 +1,2 @@
+-- Backs the keyset-paged game history across all sessions, ordered by (timestamp, id).
+create index if not exists idx_game_action_logs_timestamp on game_action_logs (timestamp, id);
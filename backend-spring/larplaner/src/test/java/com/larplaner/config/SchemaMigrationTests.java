@@ -0,0 +1,39 @@
+package com.larplaner.config;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Production only validates the schema. The context starts only if the schema before the first
+ * migration, with every script of {@code db/migration} applied the way the prod profile applies
+ * them, matches the entities.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:schema-migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+        + "NON_KEYWORDS=VALUE",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.jpa.properties.hibernate.globally_quoted_identifiers=false",
+    "spring.sql.init.mode=always",
+    "spring.sql.init.schema-locations="
+        + "classpath:db/baseline-schema.sql,classpath:db/migration/*.sql"
+})
+class SchemaMigrationTests {
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Test
+  void migrationsCanBeAppliedAgain() throws Exception {
+    ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+        new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql"));
+
+    assertThatCode(() -> populator.execute(dataSource)).doesNotThrowAnyException();
+  }
+}
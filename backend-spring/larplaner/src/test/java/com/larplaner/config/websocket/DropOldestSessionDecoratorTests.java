@@ -0,0 +1,184 @@
+package com.larplaner.config.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+/**
+ * A stalled subscriber: its session blocks in {@code sendMessage} until the client reads again.
+ */
+class DropOldestSessionDecoratorTests {
+
+  private static final int SEND_TIME_LIMIT = 300;
+  /**
+   * Room for three of the four-byte messages.
+   */
+  private static final int BUFFER_SIZE_LIMIT = 12;
+
+  private final ExecutorService flushExecutor = Executors.newCachedThreadPool();
+  private final Counter droppedMessages = new SimpleMeterRegistry().counter("dropped");
+
+  private final CountDownLatch stalledWriteStarted = new CountDownLatch(1);
+  private final CountDownLatch clientReadsAgain = new CountDownLatch(1);
+  private final BlockingQueue<String> stalledClientReceived = new LinkedBlockingQueue<>();
+  private final BlockingQueue<String> healthyClientReceived = new LinkedBlockingQueue<>();
+
+  private DropOldestSessionDecorator stalledSession;
+  private DropOldestSessionDecorator healthySession;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    WebSocketSession stalled = mock(WebSocketSession.class);
+    when(stalled.getId()).thenReturn("stalled");
+    doAnswer(invocation -> {
+      stalledWriteStarted.countDown();
+      clientReadsAgain.await();
+      stalledClientReceived.add(payload(invocation.getArgument(0)));
+      return null;
+    }).when(stalled).sendMessage(any());
+
+    WebSocketSession healthy = mock(WebSocketSession.class);
+    when(healthy.getId()).thenReturn("healthy");
+    doAnswer(invocation -> healthyClientReceived.add(payload(invocation.getArgument(0))))
+        .when(healthy).sendMessage(any());
+
+    stalledSession = new DropOldestSessionDecorator(stalled, flushExecutor, SEND_TIME_LIMIT,
+        BUFFER_SIZE_LIMIT, droppedMessages);
+    healthySession = new DropOldestSessionDecorator(healthy, flushExecutor, SEND_TIME_LIMIT,
+        BUFFER_SIZE_LIMIT, droppedMessages);
+  }
+
+  @AfterEach
+  void tearDown() {
+    clientReadsAgain.countDown();
+    flushExecutor.shutdownNow();
+  }
+
+  @Test
+  void stalledSubscriberLosesOldestMessagesWithoutHoldingUpOthers() throws Exception {
+    stalledSession.sendMessage(new TextMessage("m-00"));
+    assertThat(stalledWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    long start = System.nanoTime();
+    for (int i = 1; i < 20; i++) {
+      stalledSession.sendMessage(new TextMessage(String.format("m-%02d", i)));
+    }
+    healthySession.sendMessage(new TextMessage("ok"));
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+        .isLessThan(SEND_TIME_LIMIT);
+
+    assertThat(healthyClientReceived.poll(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    assertThat(stalledSession.getBufferedMessageCount()).isEqualTo(3);
+    assertThat(droppedMessages.count()).isEqualTo(16);
+
+    clientReadsAgain.countDown();
+    List<String> received = IntStream.range(0, 4)
+        .mapToObj(i -> poll(stalledClientReceived))
+        .toList();
+    assertThat(received).containsExactly("m-00", "m-17", "m-18", "m-19");
+  }
+
+  @Test
+  void closesSessionThatStaysStalledLongerThanSendTimeLimit() throws Exception {
+    stalledSession.sendMessage(new TextMessage("m-00"));
+    assertThat(stalledWriteStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    stalledSession.sendMessage(new TextMessage("m-01"));
+
+    Thread.sleep(SEND_TIME_LIMIT + 100);
+
+    assertThatThrownBy(() -> stalledSession.sendMessage(new TextMessage("m-02")))
+        .isInstanceOf(SessionLimitExceededException.class);
+    assertThat(stalledSession.getBufferedMessageCount()).isZero();
+  }
+
+  @Test
+  void timerClosesStalledSessionsThatOccupyEveryFlushThread() throws Exception {
+    WebSocketBrokerTuning tuning = new WebSocketBrokerTuning(new SimpleMeterRegistry(), 10000, 1,
+        100, 1, 2, 1, SEND_TIME_LIMIT, BUFFER_SIZE_LIMIT);
+    try {
+      List<WebSocketSession> stalled = IntStream.range(0, 3)
+          .mapToObj(i -> stalledUntilClosed("stalled-" + i))
+          .toList();
+      WebSocketSession healthy = mock(WebSocketSession.class);
+      when(healthy.getId()).thenReturn("healthy");
+      doAnswer(invocation -> healthyClientReceived.add(payload(invocation.getArgument(0))))
+          .when(healthy).sendMessage(any());
+
+      // two stalled writes take both flush threads, the third waits in the queue and the healthy
+      // session finds the queue full, and nothing is sent to any of them afterwards
+      long start = System.nanoTime();
+      for (WebSocketSession session : stalled) {
+        tuning.decorate(session).sendMessage(new TextMessage("m-00"));
+      }
+      tuning.decorate(healthy).sendMessage(new TextMessage("ok"));
+
+      assertThat(healthyClientReceived.poll(5, TimeUnit.SECONDS)).isEqualTo("ok");
+      assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+          .isLessThan(4 * SEND_TIME_LIMIT);
+      for (WebSocketSession session : stalled) {
+        verify(session, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+      }
+    } finally {
+      tuning.stop();
+    }
+  }
+
+  /**
+   * A session whose writes block until it is closed, like a socket whose peer stopped reading.
+   */
+  private static WebSocketSession stalledUntilClosed(String id) {
+    try {
+      WebSocketSession session = mock(WebSocketSession.class);
+      CountDownLatch closed = new CountDownLatch(1);
+      when(session.getId()).thenReturn(id);
+      doAnswer(invocation -> {
+        closed.await();
+        throw new IOException("Session closed");
+      }).when(session).sendMessage(any());
+      doAnswer(invocation -> {
+        closed.countDown();
+        return null;
+      }).when(session).close(any());
+      return session;
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String payload(WebSocketMessage<?> message) {
+    return ((TextMessage) message).getPayload();
+  }
+
+  private static String poll(BlockingQueue<String> queue) {
+    try {
+      return queue.poll(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
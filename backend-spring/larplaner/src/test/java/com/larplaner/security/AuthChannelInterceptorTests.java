@@ -0,0 +1,98 @@
+package com.larplaner.security;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.larplaner.service.admin.security.FirebaseAuthenticationService;
+import com.larplaner.service.admin.security.MembershipIndex;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+class AuthChannelInterceptorTests {
+
+  private final UUID gameSessionId = UUID.randomUUID();
+  private final UUID ownRoleId = UUID.randomUUID();
+  private final UUID otherRoleId = UUID.randomUUID();
+
+  private final Authentication player = new TestingAuthenticationToken("player", null,
+      "ROLE_USER");
+  private final Authentication outsider = new TestingAuthenticationToken("outsider", null,
+      "ROLE_USER");
+  private final Authentication admin = new TestingAuthenticationToken("admin", null,
+      "ROLE_ADMIN");
+
+  private AuthChannelInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    MembershipIndex membershipIndex = mock(MembershipIndex.class);
+    when(membershipIndex.isUserInGameSession(gameSessionId, "player")).thenReturn(true);
+    when(membershipIndex.isUserInGameRoleState(ownRoleId, "player")).thenReturn(true);
+
+    interceptor = new AuthChannelInterceptor(mock(FirebaseAuthenticationService.class),
+        membershipIndex);
+  }
+
+  @Test
+  void allowsPlayersOnlyTheTopicsOfTheirOwnRole() {
+    assertAllowed(player, "/topic/game/%s/role/%s/delta".formatted(gameSessionId, ownRoleId));
+    assertAllowed(player, "/topic/game/%s/role/%s/actions".formatted(gameSessionId, ownRoleId));
+    assertAllowed(player, "/topic/game/%s/action/byUserId/player".formatted(gameSessionId));
+
+    assertDenied(player, "/topic/game/%s/role/%s/delta".formatted(gameSessionId, otherRoleId));
+    assertDenied(player, "/topic/game/%s/action/byUserId/other".formatted(gameSessionId));
+  }
+
+  @Test
+  void allowsTheSessionDeltaOnlyToAdmins() {
+    String destination = "/topic/game/%s/delta".formatted(gameSessionId);
+
+    assertDenied(player, destination);
+    assertAllowed(admin, destination);
+  }
+
+  @Test
+  void allowsOtherGameTopicsOnlyToMembersOfTheSession() {
+    String destination = "/topic/game/%s/action".formatted(gameSessionId);
+
+    assertAllowed(player, destination);
+    assertDenied(outsider, destination);
+    assertDenied(player, "/topic/game/not-an-id/action");
+  }
+
+  @Test
+  void allowsPatternsOnlyToAdmins() {
+    assertDenied(player, "/topic/game/**");
+    assertDenied(player, "/topic/game/%s/role/*/delta".formatted(gameSessionId));
+    assertAllowed(admin, "/topic/game/**");
+  }
+
+  private void assertAllowed(Authentication user, String destination) {
+    assertThatCode(() -> interceptor.preSend(subscribe(user, destination),
+        mock(MessageChannel.class))).doesNotThrowAnyException();
+  }
+
+  private void assertDenied(Authentication user, String destination) {
+    assertThatThrownBy(() -> interceptor.preSend(subscribe(user, destination),
+        mock(MessageChannel.class))).isInstanceOf(AccessDeniedException.class);
+  }
+
+  private static Message<byte[]> subscribe(Authentication user, String destination) {
+    StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+    accessor.setUser(user);
+    accessor.setDestination(destination);
+    accessor.setLeaveMutable(true);
+    return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+  }
+}
@@ -0,0 +1,68 @@
+package com.larplaner.service.admin.firebase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.larplaner.exception.firebase.UserEmailWasNotRegistered;
+import com.larplaner.service.admin.firebase.impl.InMemoryUserDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserLookupServiceTests {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private InMemoryUserDirectory userDirectory;
+  private UserLookupService userLookupService;
+
+  @BeforeEach
+  void setUp() {
+    userDirectory = new InMemoryUserDirectory(false);
+    userDirectory.register("alice", "alice@example.com");
+    userLookupService = new UserLookupService(userDirectory, meterRegistry);
+  }
+
+  @Test
+  void mapsUnregisteredEmailsToAnEmptyUid() {
+    assertThat(userLookupService.getUserIDsByEmails(
+        List.of("Alice@example.com", "nobody@example.com")))
+        .containsEntry("Alice@example.com", "alice")
+        .containsEntry("nobody@example.com", "");
+  }
+
+  @Test
+  void failsForASingleUnregisteredEmail() {
+    assertThat(userLookupService.getUserIDByEmail("alice@example.com")).isEqualTo("alice");
+    assertThatThrownBy(() -> userLookupService.getUserIDByEmail("nobody@example.com"))
+        .isInstanceOf(UserEmailWasNotRegistered.class);
+  }
+
+  @Test
+  void timesLookupsByOutcome() {
+    userLookupService.getUserInfoById("alice");
+    assertThatThrownBy(() -> userLookupService.getUserInfoById("nobody"))
+        .isInstanceOf(EntityNotFoundException.class);
+
+    assertThat(meterRegistry.get("larplaner.users.lookup")
+        .tag("operation", "get_user_info")
+        .tag("outcome", "success")
+        .timer()
+        .count()).isOne();
+    assertThat(meterRegistry.get("larplaner.users.lookup")
+        .tag("operation", "get_user_info")
+        .tag("outcome", "error")
+        .timer()
+        .count()).isOne();
+  }
+
+  @Test
+  void registersUnknownEmailsWithAStableUidIfEnabled() {
+    UserLookupService autoRegistering = new UserLookupService(new InMemoryUserDirectory(true),
+        meterRegistry);
+
+    assertThat(autoRegistering.getUserIDByEmail("Bob@example.com"))
+        .isEqualTo(InMemoryUserDirectory.userIdFor("bob@example.com"));
+  }
+}
@@ -0,0 +1,165 @@
+package com.larplaner.service.admin.firebase.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.GetUsersResult;
+import com.google.firebase.auth.UserIdentifier;
+import com.google.firebase.auth.UserRecord;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FirebaseUserDirectoryTests {
+
+  private static final Pattern EMAIL_IDENTIFIER = Pattern.compile("EmailIdentifier\\((.*)\\)");
+  private static final int MAX_CONCURRENT_REQUESTS = 2;
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+  private final AtomicInteger runningRequests = new AtomicInteger();
+  private final AtomicInteger maxRunningRequests = new AtomicInteger();
+
+  private FirebaseAuth firebaseAuth;
+  private FirebaseUserDirectory directory;
+
+  @BeforeEach
+  void setUp() throws FirebaseAuthException {
+    firebaseAuth = mock(FirebaseAuth.class);
+    when(firebaseAuth.getUsers(anyList())).thenAnswer(
+        invocation -> getUsers(invocation.getArgument(0)));
+
+    directory = new FirebaseUserDirectory(() -> firebaseAuth, nanos::get, 10, 10_000,
+        MAX_CONCURRENT_REQUESTS);
+  }
+
+  @AfterEach
+  void tearDown() {
+    directory.stop();
+  }
+
+  @Test
+  void resolvesEmailsInChunksOfAtMostOneHundredRunningAFewAtATime() {
+    List<String> emails = IntStream.range(0, 450)
+        .mapToObj(i -> "Player" + i + "@example.com")
+        .toList();
+
+    Map<String, String> userIDs = directory.findUserIDsByEmails(emails);
+
+    assertThat(userIDs).hasSize(450);
+    assertThat(userIDs.get("Player7@example.com")).isEqualTo(uidOf("player7@example.com"));
+    assertThat(requestSizes).hasSize(5)
+        .allSatisfy(size -> assertThat(size)
+            .isLessThanOrEqualTo(FirebaseUserDirectory.MAX_IDENTIFIERS_PER_REQUEST));
+    assertThat(requestSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(450);
+    assertThat(maxRunningRequests).hasValueLessThanOrEqualTo(MAX_CONCURRENT_REQUESTS);
+  }
+
+  @Test
+  void leavesOutEmailsWithoutUser() {
+    assertThat(directory.findUserIDsByEmails(List.of("alice@example.com", "nobody@example.com")))
+        .containsOnlyKeys("alice@example.com");
+  }
+
+  @Test
+  void servesResolvedUsersFromTheCacheUntilTheirTtl() throws FirebaseAuthException {
+    directory.findUserIDsByEmails(List.of("alice@example.com"));
+
+    assertThat(directory.findUserIDsByEmails(List.of("ALICE@example.com")))
+        .containsEntry("ALICE@example.com", uidOf("alice@example.com"));
+    assertThat(directory.getUserInfoById(uidOf("alice@example.com")).getEmail())
+        .isEqualTo("alice@example.com");
+    assertThat(requestSizes).hasSize(1);
+    verify(firebaseAuth, never()).getUser(uidOf("alice@example.com"));
+
+    nanos.addAndGet(TimeUnit.MINUTES.toNanos(10));
+    directory.findUserIDsByEmails(List.of("alice@example.com"));
+
+    assertThat(requestSizes).hasSize(2);
+  }
+
+  @Test
+  void throwsEntityNotFoundForAnUnknownUid() throws FirebaseAuthException {
+    when(firebaseAuth.getUser("unknown")).thenThrow(new FirebaseAuthException(
+        ErrorCode.NOT_FOUND, "No user record found", null, null, AuthErrorCode.USER_NOT_FOUND));
+
+    assertThatThrownBy(() -> directory.getUserInfoById("unknown"))
+        .isInstanceOf(EntityNotFoundException.class);
+  }
+
+  @Test
+  void failsOnOtherErrorsWithoutCaching() throws FirebaseAuthException {
+    when(firebaseAuth.getUser("alice")).thenThrow(new FirebaseAuthException(
+        ErrorCode.UNAVAILABLE, "Service unavailable", null, null, null));
+
+    assertThatThrownBy(() -> directory.getUserInfoById("alice"))
+        .isNotInstanceOf(EntityNotFoundException.class)
+        .hasMessageContaining("Service unavailable");
+    assertThatThrownBy(() -> directory.getUserInfoById("alice"))
+        .hasMessageContaining("Service unavailable");
+    verify(firebaseAuth, times(2)).getUser("alice");
+  }
+
+  /**
+   * Every email except those of {@code nobody} belongs to a user.
+   */
+  private GetUsersResult getUsers(List<UserIdentifier> identifiers) throws InterruptedException {
+    int running = runningRequests.incrementAndGet();
+    maxRunningRequests.accumulateAndGet(running, Math::max);
+    try {
+      requestSizes.add(identifiers.size());
+      Thread.sleep(20);
+
+      Set<UserRecord> users = identifiers.stream()
+          .map(FirebaseUserDirectoryTests::emailOf)
+          .filter(email -> !email.startsWith("nobody"))
+          .map(FirebaseUserDirectoryTests::userRecord)
+          .collect(Collectors.toSet());
+      GetUsersResult result = mock(GetUsersResult.class);
+      when(result.getUsers()).thenReturn(users);
+      return result;
+    } finally {
+      runningRequests.decrementAndGet();
+    }
+  }
+
+  private static String emailOf(UserIdentifier identifier) {
+    Matcher matcher = EMAIL_IDENTIFIER.matcher(identifier.toString());
+    assertThat(matcher.matches()).isTrue();
+    return matcher.group(1);
+  }
+
+  private static UserRecord userRecord(String email) {
+    UserRecord userRecord = mock(UserRecord.class);
+    when(userRecord.getUid()).thenReturn(uidOf(email));
+    when(userRecord.getEmail()).thenReturn(email);
+    return userRecord;
+  }
+
+  private static String uidOf(String email) {
+    return "uid-" + Objects.requireNonNull(email);
+  }
+}
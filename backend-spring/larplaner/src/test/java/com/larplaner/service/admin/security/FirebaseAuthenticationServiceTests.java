@@ -0,0 +1,106 @@
+package com.larplaner.service.admin.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.auth.AuthErrorCode;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+class FirebaseAuthenticationServiceTests {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T18:00:00Z");
+
+  private final AtomicLong nanos = new AtomicLong();
+  private FirebaseAuth firebaseAuth;
+  private FirebaseAuthenticationService service;
+
+  @BeforeEach
+  void setUp() {
+    firebaseAuth = mock(FirebaseAuth.class);
+    service = new FirebaseAuthenticationService(() -> firebaseAuth,
+        Clock.fixed(NOW, ZoneOffset.UTC), nanos::get, 100, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void verifiesARepeatedTokenOnlyOnce() throws FirebaseAuthException {
+    FirebaseToken token = token("alice", 3600, true);
+    when(firebaseAuth.verifyIdToken("token")).thenReturn(token);
+
+    Authentication first = service.getAuthentication("token");
+    Authentication second = service.getAuthentication("token");
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.getName()).isEqualTo("alice");
+    assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+        .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    verify(firebaseAuth, times(1)).verifyIdToken("token");
+    assertThat(service.getCacheStats().hitCount()).isOne();
+  }
+
+  @Test
+  void keepsATokenUntilItsExpClaim() throws FirebaseAuthException {
+    FirebaseToken token = token("alice", 60, false);
+    when(firebaseAuth.verifyIdToken("token")).thenReturn(token);
+    service.getAuthentication("token");
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+    service.getAuthentication("token");
+    verify(firebaseAuth, times(1)).verifyIdToken("token");
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    service.getAuthentication("token");
+    verify(firebaseAuth, times(2)).verifyIdToken("token");
+  }
+
+  @Test
+  void doesNotCacheATokenThatAlreadyExpired() throws FirebaseAuthException {
+    FirebaseToken token = token("alice", -1, false);
+    when(firebaseAuth.verifyIdToken("token")).thenReturn(token);
+
+    service.getAuthentication("token");
+    service.getAuthentication("token");
+
+    verify(firebaseAuth, times(2)).verifyIdToken("token");
+  }
+
+  @Test
+  void doesNotCacheAnInvalidToken() throws FirebaseAuthException {
+    when(firebaseAuth.verifyIdToken("invalid")).thenThrow(new FirebaseAuthException(
+        ErrorCode.INVALID_ARGUMENT, "Invalid token", null, null, AuthErrorCode.EXPIRED_ID_TOKEN));
+
+    assertThatThrownBy(() -> service.getAuthentication("invalid"))
+        .isInstanceOf(FirebaseAuthException.class);
+    assertThatThrownBy(() -> service.getAuthentication("invalid"))
+        .isInstanceOf(FirebaseAuthException.class);
+
+    verify(firebaseAuth, times(2)).verifyIdToken("invalid");
+    assertThat(service.getCacheStats().hitCount()).isZero();
+  }
+
+  private static FirebaseToken token(String uid, long expiresInSeconds, boolean admin) {
+    FirebaseToken token = mock(FirebaseToken.class);
+    when(token.getUid()).thenReturn(uid);
+    when(token.getClaims()).thenReturn(Map.of(
+        "exp", NOW.getEpochSecond() + expiresInSeconds,
+        "isAdmin", admin));
+    return token;
+  }
+}
@@ -0,0 +1,88 @@
+package com.larplaner.service.broker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.larplaner.service.broker.impl.InMemoryBrokerRelay;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+
+/**
+ * This application context is one node; a hand-made {@link InMemoryBrokerRelay} plays another.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:broker-relay;DATABASE_TO_UPPER=FALSE",
+    "larplaner.websocket.relay=in-memory"
+})
+class BrokerRelayBridgeTests {
+
+  @Autowired
+  private SimpMessagingTemplate messagingTemplate;
+
+  @Autowired
+  @Qualifier("brokerChannel")
+  private AbstractSubscribableChannel brokerChannel;
+
+  private InMemoryBrokerRelay otherNode;
+
+  private final BlockingQueue<BrokerRelayMessage> relayed = new LinkedBlockingQueue<>();
+
+  private final BlockingQueue<Message<?>> delivered = new LinkedBlockingQueue<>();
+
+  private final MessageHandler localBroker = delivered::add;
+
+  @BeforeEach
+  void setUp() {
+    otherNode = new InMemoryBrokerRelay();
+    otherNode.subscribe(relayed::add);
+    brokerChannel.subscribe(localBroker);
+  }
+
+  @AfterEach
+  void tearDown() {
+    brokerChannel.unsubscribe(localBroker);
+    otherNode.stop();
+  }
+
+  @Test
+  void publishesTopicMessagesToOtherNodes() throws InterruptedException {
+    messagingTemplate.convertAndSend("/topic/game/1/delta", Map.of("sequence", 1));
+
+    BrokerRelayMessage message = relayed.poll(5, TimeUnit.SECONDS);
+    assertThat(message).isNotNull();
+    assertThat(message.destination()).isEqualTo("/topic/game/1/delta");
+    assertThat(message.contentType()).startsWith("application/json");
+    assertThat(new String(message.payload(), StandardCharsets.UTF_8))
+        .isEqualTo("{\"sequence\":1}");
+  }
+
+  @Test
+  void deliversMessagesOfOtherNodesLocallyWithoutPublishingThemAgain()
+      throws InterruptedException {
+    otherNode.publish(new BrokerRelayMessage("other-node", "/topic/game/1/action", "text/plain",
+        "User performed action".getBytes(StandardCharsets.UTF_8)));
+
+    assertThat(relayed.poll(5, TimeUnit.SECONDS)).isNotNull();
+    Message<?> message = delivered.poll(5, TimeUnit.SECONDS);
+    assertThat(message).isNotNull();
+    assertThat(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))
+        .isEqualTo("/topic/game/1/action");
+    assertThat(message.getHeaders().get(BrokerRelayBridge.RELAYED_FROM_HEADER))
+        .isEqualTo("other-node");
+    // only the message of the other node itself, no echo from this node
+    assertThat(relayed.poll(500, TimeUnit.MILLISECONDS)).isNull();
+  }
+}
@@ -0,0 +1,196 @@
+package com.larplaner.service.game.broadcast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.larplaner.dto.game.delta.AvailableActionsDeltaDTO;
+import com.larplaner.service.game.engine.AppliedTagState;
+import com.larplaner.service.game.engine.GameActionsPerformedEvent;
+import com.larplaner.service.game.engine.GameSessionEngine;
+import com.larplaner.service.game.engine.GameSessionEvictedEvent;
+import com.larplaner.service.game.engine.PerformedAction;
+import com.larplaner.service.game.engine.VisibleActions;
+import com.larplaner.service.game.metrics.GameMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+class AvailableActionsBroadcasterTests {
+
+  private final UUID gameSessionId = UUID.randomUUID();
+  private final UUID roleId = UUID.randomUUID();
+  private final String destination = String.format("/topic/game/%s/role/%s/actions",
+      gameSessionId, roleId);
+
+  private final UUID alwaysVisible = UUID.randomUUID();
+  private final UUID hiddenByTag = UUID.randomUUID();
+  private final UUID shownByTag = UUID.randomUUID();
+
+  private SimpMessagingTemplate messagingTemplate;
+  private GameSessionEngine gameSessionEngine;
+  private AvailableActionsBroadcaster broadcaster;
+
+  @BeforeEach
+  void setUp() {
+    messagingTemplate = mock(SimpMessagingTemplate.class);
+    gameSessionEngine = mock(GameSessionEngine.class);
+    GameMetrics gameMetrics = mock(GameMetrics.class);
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return null;
+    }).when(gameMetrics).timeStompSend(anyString(), any());
+
+    broadcaster = new AvailableActionsBroadcaster(messagingTemplate, gameSessionEngine,
+        gameMetrics, 60);
+  }
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.stop();
+  }
+
+  @Test
+  void sendsAllActionsOnSubscribeAndThenOnlyTheChanges() {
+    when(gameSessionEngine.getVisibleActions(eq(roleId), any())).thenReturn(
+        visible(alwaysVisible, hiddenByTag));
+    broadcaster.onSubscribed(new AvailableActionsSubscribedEvent(roleId));
+
+    AvailableActionsDeltaDTO full = awaitDelta(1);
+    assertThat(full.isFull()).isTrue();
+    assertThat(full.getSequence()).isEqualTo(1);
+    assertThat(full.getAddedActionIds()).containsExactlyInAnyOrder(alwaysVisible, hiddenByTag);
+
+    when(gameSessionEngine.getVisibleActions(eq(roleId), any())).thenReturn(
+        visible(alwaysVisible, shownByTag));
+    broadcaster.onActionsPerformed(actionChangingTags());
+
+    AvailableActionsDeltaDTO delta = awaitDelta(2);
+    assertThat(delta.isFull()).isFalse();
+    assertThat(delta.getSequence()).isEqualTo(2);
+    assertThat(delta.getAddedActionIds()).containsExactly(shownByTag);
+    assertThat(delta.getRemovedActionIds()).containsExactly(hiddenByTag);
+  }
+
+  @Test
+  void sendsNothingWhenVisibleActionsDidNotChange() {
+    when(gameSessionEngine.getVisibleActions(eq(roleId), any())).thenReturn(
+        visible(alwaysVisible));
+    broadcaster.onSubscribed(new AvailableActionsSubscribedEvent(roleId));
+    awaitDelta(1);
+
+    broadcaster.onActionsPerformed(actionChangingTags());
+
+    verify(gameSessionEngine, timeout(5000).times(2))
+        .getVisibleActions(eq(roleId), any());
+    verify(messagingTemplate, after(200).times(1)).convertAndSend(anyString(), any(Object.class));
+  }
+
+  @Test
+  void sendsTheChangesOfAnAdminEditAfterTheEvictedSessionWasReloaded() {
+    VisibleActions subscribed = visible(alwaysVisible, hiddenByTag);
+    when(gameSessionEngine.getVisibleActions(eq(roleId), any())).thenReturn(subscribed);
+    broadcaster.onSubscribed(new AvailableActionsSubscribedEvent(roleId));
+    awaitDelta(1);
+
+    when(gameSessionEngine.getVisibleActions(roleId, subscribed)).thenReturn(
+        visible(alwaysVisible, shownByTag));
+    broadcaster.onGameSessionEvicted(new GameSessionEvictedEvent(gameSessionId,
+        GameSessionEvictedEvent.Cause.STATE_CHANGED));
+
+    AvailableActionsDeltaDTO delta = awaitDelta(2);
+    assertThat(delta.isResync()).isFalse();
+    assertThat(delta.isFull()).isFalse();
+    assertThat(delta.getSequence()).isEqualTo(2);
+    assertThat(delta.getAddedActionIds()).containsExactly(shownByTag);
+    assertThat(delta.getRemovedActionIds()).containsExactly(hiddenByTag);
+  }
+
+  @Test
+  void ignoresEvictionsOfOtherSessions() {
+    when(gameSessionEngine.getVisibleActions(eq(roleId), any())).thenReturn(
+        visible(alwaysVisible));
+    broadcaster.onSubscribed(new AvailableActionsSubscribedEvent(roleId));
+    awaitDelta(1);
+
+    broadcaster.onGameSessionEvicted(new GameSessionEvictedEvent(UUID.randomUUID(),
+        GameSessionEvictedEvent.Cause.STATE_CHANGED));
+
+    verify(gameSessionEngine, after(200).times(1)).getVisibleActions(any(), any());
+  }
+
+  @Test
+  void sendsResyncOnScenarioChangeWithoutLoadingTheSession() {
+    when(gameSessionEngine.getVisibleActions(eq(roleId), any())).thenReturn(
+        visible(alwaysVisible, hiddenByTag));
+    broadcaster.onSubscribed(new AvailableActionsSubscribedEvent(roleId));
+    awaitDelta(1);
+
+    broadcaster.onGameSessionEvicted(new GameSessionEvictedEvent(gameSessionId,
+        GameSessionEvictedEvent.Cause.SCENARIO_CHANGED));
+
+    AvailableActionsDeltaDTO resync = awaitDelta(2);
+    assertThat(resync.isResync()).isTrue();
+    assertThat(resync.getSequence()).isEqualTo(2);
+    assertThat(resync.getAddedActionIds()).isEmpty();
+    verify(gameSessionEngine, after(200).times(1)).getVisibleActions(any(), any());
+
+    when(gameSessionEngine.getVisibleActions(eq(roleId), any())).thenReturn(
+        visible(alwaysVisible, shownByTag));
+    broadcaster.onActionsPerformed(actionChangingTags());
+
+    AvailableActionsDeltaDTO full = awaitDelta(3);
+    assertThat(full.isFull()).isTrue();
+    assertThat(full.getSequence()).isEqualTo(3);
+    assertThat(full.getAddedActionIds()).containsExactlyInAnyOrder(alwaysVisible, shownByTag);
+    verify(gameSessionEngine, times(2)).getVisibleActions(eq(roleId), isNull());
+  }
+
+  @Test
+  void ignoresRolesNobodySubscribedTo() {
+    broadcaster.onActionsPerformed(actionChangingTags());
+
+    verify(gameSessionEngine, after(200).never()).getVisibleActions(any(), any());
+  }
+
+  /**
+   * @param count number of deltas sent so far, including the expected one
+   */
+  private AvailableActionsDeltaDTO awaitDelta(int count) {
+    ArgumentCaptor<AvailableActionsDeltaDTO> captor =
+        ArgumentCaptor.forClass(AvailableActionsDeltaDTO.class);
+    verify(messagingTemplate, timeout(5000).times(count))
+        .convertAndSend(eq(destination), captor.capture());
+    List<AvailableActionsDeltaDTO> deltas = captor.getAllValues();
+    return deltas.get(deltas.size() - 1);
+  }
+
+  private VisibleActions visible(UUID... actionIds) {
+    return new VisibleActions(gameSessionId, Set.of(actionIds), Set.of(), new long[0], null);
+  }
+
+  private GameActionsPerformedEvent actionChangingTags() {
+    return new GameActionsPerformedEvent(gameSessionId, List.of(PerformedAction.builder()
+        .gameSessionId(gameSessionId)
+        .performerRoleId(roleId)
+        .removedTagIds(Set.of(UUID.randomUUID()))
+        .addedAppliedTags(List.<AppliedTagState>of())
+        .refreshedAppliedTags(Map.of())
+        .build()));
+  }
+}
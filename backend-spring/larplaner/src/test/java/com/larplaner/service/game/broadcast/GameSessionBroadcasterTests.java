@@ -0,0 +1,137 @@
+package com.larplaner.service.game.broadcast;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.larplaner.dto.game.delta.GameSessionDeltaDTO;
+import com.larplaner.dto.tag.AppliedTagResponseDTO;
+import com.larplaner.mapper.game.action.GameActionLogMapper;
+import com.larplaner.mapper.tag.AppliedTagMapper;
+import com.larplaner.service.game.engine.AppliedTagState;
+import com.larplaner.service.game.engine.GameActionsPerformedEvent;
+import com.larplaner.service.game.engine.GameSessionClosedEvent;
+import com.larplaner.service.game.engine.PerformedAction;
+import com.larplaner.service.game.metrics.GameMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+class GameSessionBroadcasterTests {
+
+  private final UUID gameSessionId = UUID.randomUUID();
+  private final UUID aliceRoleId = UUID.randomUUID();
+  private final UUID bobRoleId = UUID.randomUUID();
+  private final String sessionTopic = String.format("/topic/game/%s/delta", gameSessionId);
+  private final String aliceTopic = String.format("/topic/game/%s/role/%s/delta", gameSessionId,
+      aliceRoleId);
+
+  private final AppliedTagState alicePoisoned = AppliedTagState.builder()
+      .id(UUID.randomUUID())
+      .build();
+  private final AppliedTagResponseDTO alicePoisonedDTO = AppliedTagResponseDTO.builder()
+      .id(alicePoisoned.getId())
+      .build();
+
+  private SimpMessagingTemplate messagingTemplate;
+  private GameSessionBroadcaster broadcaster;
+
+  @BeforeEach
+  void setUp() {
+    messagingTemplate = mock(SimpMessagingTemplate.class);
+    AppliedTagMapper appliedTagMapper = mock(AppliedTagMapper.class);
+    when(appliedTagMapper.toDTO(alicePoisoned)).thenReturn(alicePoisonedDTO);
+    GameMetrics gameMetrics = mock(GameMetrics.class);
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return null;
+    }).when(gameMetrics).timeStompSend(anyString(), any());
+
+    broadcaster = new GameSessionBroadcaster(messagingTemplate, mock(GameActionLogMapper.class),
+        appliedTagMapper, gameMetrics, 10, 500);
+  }
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.stop();
+  }
+
+  @Test
+  void sendsRoleChangesOnlyToTheRoleAndEverythingToTheSessionTopic() {
+    broadcaster.onActionsPerformed(new GameActionsPerformedEvent(gameSessionId, List.of(
+        performedBy(aliceRoleId, "alice", List.of(alicePoisoned)),
+        performedBy(bobRoleId, "bob", List.of()))));
+
+    GameSessionDeltaDTO sessionDelta = awaitDelta(sessionTopic, 1);
+    assertThat(sessionDelta.getActions()).hasSize(2);
+    assertThat(sessionDelta.getRoles()).hasSize(2);
+
+    GameSessionDeltaDTO aliceDelta = awaitDelta(aliceTopic, 1);
+    assertThat(aliceDelta.getGameRoleStateId()).isEqualTo(aliceRoleId);
+    assertThat(aliceDelta.getSequence()).isEqualTo(1);
+    assertThat(aliceDelta.getActions()).hasSize(1);
+    assertThat(aliceDelta.getRoles())
+        .allSatisfy(role -> assertThat(role.getGameRoleStateId()).isEqualTo(aliceRoleId));
+  }
+
+  @Test
+  void sendsTheAppliedTagsCarriedByTheAction() {
+    broadcaster.onActionsPerformed(new GameActionsPerformedEvent(gameSessionId, List.of(
+        performedBy(aliceRoleId, "alice", List.of(alicePoisoned)))));
+
+    verify(messagingTemplate, timeout(5000)).convertAndSend(
+        String.format("/topic/game/%s/action/byUserId/alice", gameSessionId),
+        (Object) List.of(alicePoisonedDTO));
+  }
+
+  @Test
+  void startsSequencesAgainAfterTheSessionWasClosed() {
+    broadcaster.onActionsPerformed(new GameActionsPerformedEvent(gameSessionId, List.of(
+        performedBy(aliceRoleId, "alice", List.of()))));
+    assertThat(awaitDelta(aliceTopic, 1).getSequence()).isEqualTo(1);
+
+    broadcaster.onGameSessionClosed(new GameSessionClosedEvent(gameSessionId));
+    awaitDelta(sessionTopic, 2);
+
+    broadcaster.onActionsPerformed(new GameActionsPerformedEvent(gameSessionId, List.of(
+        performedBy(aliceRoleId, "alice", List.of()))));
+    assertThat(awaitDelta(sessionTopic, 3).getSequence()).isEqualTo(1);
+    assertThat(awaitDelta(aliceTopic, 2).getSequence()).isEqualTo(1);
+  }
+
+  /**
+   * @param count number of deltas sent to the topic so far, including the expected one
+   */
+  private GameSessionDeltaDTO awaitDelta(String topic, int count) {
+    ArgumentCaptor<GameSessionDeltaDTO> captor = ArgumentCaptor.forClass(GameSessionDeltaDTO.class);
+    verify(messagingTemplate, timeout(5000).times(count))
+        .convertAndSend(eq(topic), captor.capture());
+    List<GameSessionDeltaDTO> deltas = captor.getAllValues();
+    return deltas.get(deltas.size() - 1);
+  }
+
+  private PerformedAction performedBy(UUID roleId, String userID,
+      List<AppliedTagState> appliedTags) {
+    return PerformedAction.builder()
+        .gameSessionId(gameSessionId)
+        .performerRoleId(roleId)
+        .removedTagIds(Set.of())
+        .addedAppliedTags(List.of())
+        .refreshedAppliedTags(Map.of())
+        .performerUserID(userID)
+        .performerAppliedTags(appliedTags)
+        .build();
+  }
+}
@@ -0,0 +1,66 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import com.larplaner.model.tag.Tag;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ActionTagIndexTests {
+
+  private final Tag poisoned = Tag.builder().value("poisoned").build();
+  private final Tag hasKey = Tag.builder().value("has key").build();
+  private final Tag unused = Tag.builder().value("unused").build();
+
+  private final TagOrdinals tagOrdinals = new TagOrdinals();
+
+  private CompiledAction<ScenarioAction> drinkAntidote;
+  private CompiledAction<ScenarioAction> lookAround;
+  private CompiledAction<ScenarioItemAction> openDoor;
+  private ActionTagIndex index;
+
+  @BeforeEach
+  void setUp() {
+    tagOrdinals.registerAll(List.of(poisoned, hasKey, unused));
+
+    drinkAntidote = new CompiledAction<>(ScenarioAction.builder()
+        .requiredTagsToDisplay(List.of(poisoned))
+        .build(), tagOrdinals);
+    lookAround = new CompiledAction<>(ScenarioAction.builder().build(), tagOrdinals);
+    openDoor = new CompiledAction<>(ScenarioItemAction.builder()
+        .forbiddenTagsToDisplay(List.of(poisoned))
+        .requiredTagsToSucceed(List.of(hasKey))
+        .build(), tagOrdinals);
+
+    index = new ActionTagIndex(tagOrdinals, List.of(drinkAntidote, lookAround), List.of(openDoor));
+  }
+
+  @Test
+  void findsActionsReferencingChangedTagInAnyList() {
+    long[] changed = changed(poisoned);
+
+    assertThat(index.scenarioActionsReferencing(changed)).containsExactly(drinkAntidote);
+    assertThat(index.itemActionsReferencing(changed)).containsExactly(openDoor);
+    assertThat(index.itemActionsReferencing(changed(hasKey))).containsExactly(openDoor);
+  }
+
+  @Test
+  void returnsEachActionOnceForSeveralChangedTags() {
+    assertThat(index.itemActionsReferencing(changed(poisoned, hasKey))).containsExactly(openDoor);
+  }
+
+  @Test
+  void findsNothingForTagsNoActionReferences() {
+    assertThat(index.scenarioActionsReferencing(changed(unused))).isEmpty();
+    assertThat(index.itemActionsReferencing(changed(unused))).isEmpty();
+  }
+
+  private long[] changed(Tag... tags) {
+    long[] before = tagOrdinals.maskOf(List.of());
+    long[] after = tagOrdinals.maskOf(List.of(tags));
+    return TagMask.changed(before, after);
+  }
+}
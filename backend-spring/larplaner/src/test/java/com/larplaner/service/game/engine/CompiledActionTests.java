@@ -0,0 +1,147 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioRole;
+import com.larplaner.model.tag.Tag;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The masks must decide exactly like the tag list checks they replaced: an action is displayed
+ * (or succeeds) if the role has every required tag and none of the forbidden ones.
+ */
+class CompiledActionTests {
+
+  /**
+   * Spans three mask words, so ordinals on both sides of a word boundary are covered.
+   */
+  private static final int TAG_COUNT = 150;
+
+  private final List<Tag> tags = IntStream.range(0, TAG_COUNT)
+      .<Tag>mapToObj(i -> Tag.builder().value("tag " + i).build())
+      .toList();
+  private final TagOrdinals tagOrdinals = new TagOrdinals();
+
+  @BeforeEach
+  void setUp() {
+    tagOrdinals.registerAll(tags);
+  }
+
+  @Test
+  void decidesLikeTheTagListsForRandomActionsAndRoles() {
+    Random random = new Random(42);
+
+    for (int i = 0; i < 5000; i++) {
+      ScenarioAction action = ScenarioAction.builder()
+          .requiredTagsToDisplay(randomTags(random, 3))
+          .forbiddenTagsToDisplay(randomTags(random, 3))
+          .requiredTagsToSucceed(randomTags(random, 3))
+          .forbiddenTagsToSucceed(randomTags(random, 3))
+          .build();
+      CompiledAction<ScenarioAction> compiled = new CompiledAction<>(action, tagOrdinals);
+      Set<Tag> activeTags = new HashSet<>(randomTags(random, 40));
+      long[] activeMask = tagOrdinals.maskOf(activeTags);
+
+      assertThat(compiled.canBeDisplayed(activeMask))
+          .as("display of action %d", i)
+          .isEqualTo(allowedByLists(activeTags, action.getRequiredTagsToDisplay(),
+              action.getForbiddenTagsToDisplay()));
+      assertThat(compiled.succeeds(activeMask))
+          .as("success of action %d", i)
+          .isEqualTo(allowedByLists(activeTags, action.getRequiredTagsToSucceed(),
+              action.getForbiddenTagsToSucceed()));
+    }
+  }
+
+  @Test
+  void checksTagsOnBothSidesOfAWordBoundary() {
+    Tag lastOfFirstWord = tags.get(63);
+    Tag firstOfSecondWord = tags.get(64);
+    CompiledAction<ScenarioAction> action = new CompiledAction<>(ScenarioAction.builder()
+        .requiredTagsToDisplay(List.of(lastOfFirstWord))
+        .forbiddenTagsToDisplay(List.of(firstOfSecondWord))
+        .build(), tagOrdinals);
+
+    assertThat(action.canBeDisplayed(tagOrdinals.maskOf(List.of(lastOfFirstWord)))).isTrue();
+    assertThat(action.canBeDisplayed(tagOrdinals.maskOf(List.of(firstOfSecondWord)))).isFalse();
+    assertThat(action.canBeDisplayed(
+        tagOrdinals.maskOf(List.of(lastOfFirstWord, firstOfSecondWord)))).isFalse();
+  }
+
+  @Test
+  void displaysAndSucceedsWithoutTagConditions() {
+    CompiledAction<ScenarioAction> action = new CompiledAction<>(ScenarioAction.builder().build(),
+        tagOrdinals);
+
+    assertThat(action.canBeDisplayed(tagOrdinals.maskOf(List.of()))).isTrue();
+    assertThat(action.succeeds(tagOrdinals.maskOf(tags))).isTrue();
+  }
+
+  @Test
+  void countsOnlyActiveAppliedTagsOfARole() {
+    Tag poisoned = tags.get(70);
+    Tag blessed = tags.get(3);
+    RoleState role = new RoleState(GameRoleState.builder()
+        .scenarioRole(ScenarioRole.builder().build())
+        .build(), List.of(appliedTag(poisoned), appliedTag(blessed)), tagOrdinals);
+    CompiledAction<ScenarioAction> drinkAntidote = new CompiledAction<>(ScenarioAction.builder()
+        .requiredTagsToDisplay(List.of(poisoned))
+        .forbiddenTagsToSucceed(List.of(blessed))
+        .build(), tagOrdinals);
+
+    assertThat(drinkAntidote.canBeDisplayed(role.getActiveTagMask())).isTrue();
+    assertThat(drinkAntidote.succeeds(role.getActiveTagMask())).isFalse();
+
+    role.getAppliedTags().forEach(appliedTag -> appliedTag.setActive(false));
+    role.markAppliedTagsChanged();
+
+    assertThat(drinkAntidote.canBeDisplayed(role.getActiveTagMask())).isFalse();
+    assertThat(drinkAntidote.succeeds(role.getActiveTagMask())).isTrue();
+  }
+
+  @Test
+  void rejectsTagsUnknownToTheSession() {
+    Tag unknown = Tag.builder().value("unknown").build();
+
+    assertThatThrownBy(() -> new CompiledAction<>(ScenarioAction.builder()
+        .requiredTagsToDisplay(List.of(unknown))
+        .build(), tagOrdinals))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static boolean allowedByLists(Set<Tag> activeTags, Collection<Tag> required,
+      Collection<Tag> forbidden) {
+    return activeTags.containsAll(required) && forbidden.stream().noneMatch(activeTags::contains);
+  }
+
+  /**
+   * Up to {@code max} tags, possibly repeated, as tag lists of actions may contain a tag twice.
+   */
+  private List<Tag> randomTags(Random random, int max) {
+    List<Tag> randomTags = new ArrayList<>();
+    for (int i = random.nextInt(max + 1); i > 0; i--) {
+      randomTags.add(tags.get(random.nextInt(TAG_COUNT)));
+    }
+    return randomTags;
+  }
+
+  private AppliedTagState appliedTag(Tag tag) {
+    return AppliedTagState.builder()
+        .tag(tag)
+        .tagOrdinal(tagOrdinals.ordinalOf(tag))
+        .appliedToUserAt(ZonedDateTime.now())
+        .build();
+  }
+}
@@ -0,0 +1,155 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.service.game.metrics.GameMetrics;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class GameActionJournalTests {
+
+  private final UUID aliceSessionId = UUID.randomUUID();
+  private final UUID bobSessionId = UUID.randomUUID();
+
+  private GameActionJournalWriter writer;
+  private GameSessionSnapshotter snapshotter;
+  private GameActionDeadLetters deadLetters;
+  private final List<Set<UUID>> failedSessionIds = new CopyOnWriteArrayList<>();
+  private GameActionJournal journal;
+
+  @BeforeEach
+  void setUp() {
+    writer = mock(GameActionJournalWriter.class);
+    snapshotter = mock(GameSessionSnapshotter.class);
+    deadLetters = mock(GameActionDeadLetters.class);
+
+    GameMetrics gameMetrics = mock(GameMetrics.class);
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(gameMetrics).timeSnapshot(any());
+
+    journal = new GameActionJournal(writer, snapshotter, gameMetrics, deadLetters, 100, 5000, 500,
+        3, 1);
+    journal.setWriteFailureListener(failedSessionIds::add);
+    journal.start();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    journal.stop();
+  }
+
+  @Test
+  void writesActionsInTheOrderTheyWereAppended() {
+    List<PerformedAction> written = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+        .when(writer).write(anyList(), anyList());
+    PerformedAction first = performedAction(aliceSessionId);
+    PerformedAction second = performedAction(bobSessionId);
+    PerformedAction third = performedAction(aliceSessionId);
+
+    journal.append(first);
+    journal.append(second);
+    journal.append(third);
+    journal.flush();
+
+    assertThat(written).containsExactly(first, second, third);
+  }
+
+  @Test
+  void flushOfOneSessionWaitsForItsActionsAndAppliesOnlyItsEvents() {
+    journal.append(performedAction(aliceSessionId));
+    journal.append(performedAction(bobSessionId));
+
+    assertThat(journal.flush(aliceSessionId)).isTrue();
+
+    verify(writer, atLeastOnce()).write(anyList(), anyList());
+    verify(snapshotter).snapshot(aliceSessionId);
+    verify(snapshotter, never()).snapshot(bobSessionId);
+    assertThat(journal.flush(aliceSessionId)).isFalse();
+    assertThat(journal.flush(UUID.randomUUID())).isFalse();
+  }
+
+  @Test
+  void retriesAFailedWrite() {
+    PerformedAction performedAction = performedAction(aliceSessionId);
+    doThrow(new DataIntegrityViolationException("batch"))
+        .doThrow(new DataIntegrityViolationException("first attempt"))
+        .doNothing()
+        .when(writer).write(List.of(performedAction), List.of());
+
+    journal.append(performedAction);
+    journal.flush(aliceSessionId);
+
+    verify(writer, times(3)).write(List.of(performedAction), List.of());
+    verify(snapshotter).snapshot(aliceSessionId);
+    verify(deadLetters, never()).add(any(), anyList(), anyList(), any());
+    assertThat(failedSessionIds).isEmpty();
+  }
+
+  @Test
+  void deadLettersOnlyTheSessionThatCannotBeWritten() {
+    PerformedAction alice = performedAction(aliceSessionId);
+    PerformedAction bob = performedAction(bobSessionId);
+    GameSessionEvent bobEdit = event(bobSessionId);
+    List<Object> written = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> {
+      List<PerformedAction> performedActions = invocation.getArgument(0);
+      if (performedActions.contains(alice)) {
+        throw new DataIntegrityViolationException("alice");
+      }
+      written.addAll(performedActions);
+      written.addAll(invocation.getArgument(1));
+      return null;
+    }).when(writer).write(anyList(), anyList());
+
+    journal.appendAll(List.of(alice, bob));
+    journal.appendEvents(List.of(bobEdit));
+    journal.flush();
+
+    verify(writer, times(3)).write(eq(List.of(alice)), anyList());
+    assertThat(written).containsExactly(bob, bobEdit);
+    ArgumentCaptor<Exception> cause = ArgumentCaptor.forClass(Exception.class);
+    verify(deadLetters).add(eq(aliceSessionId), eq(List.of(alice)), eq(List.of()),
+        cause.capture());
+    assertThat(cause.getValue()).hasMessage("alice");
+    verify(deadLetters, never()).add(eq(bobSessionId), anyList(), anyList(), any());
+    assertThat(failedSessionIds).containsExactly(Set.of(aliceSessionId));
+    verify(snapshotter).snapshot(bobSessionId);
+    verify(snapshotter, never()).snapshot(aliceSessionId);
+  }
+
+  private static PerformedAction performedAction(UUID gameSessionId) {
+    return PerformedAction.builder()
+        .logId(UUID.randomUUID())
+        .gameSessionId(gameSessionId)
+        .events(List.of(event(gameSessionId)))
+        .build();
+  }
+
+  private static GameSessionEvent event(UUID gameSessionId) {
+    return GameSessionEvent.builder()
+        .gameSessionId(gameSessionId)
+        .build();
+  }
+}
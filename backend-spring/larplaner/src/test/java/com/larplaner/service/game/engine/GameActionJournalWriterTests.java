@@ -0,0 +1,103 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.larplaner.model.game.GameActionLog;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.repository.game.GameActionLogRepository;
+import com.larplaner.repository.game.GameItemStateRepository;
+import com.larplaner.repository.game.GameRoleStateRepository;
+import com.larplaner.repository.game.GameSessionEventRepository;
+import com.larplaner.repository.game.GameSessionRepository;
+import com.larplaner.repository.scenario.ScenarioActionRepository;
+import com.larplaner.repository.scenario.ScenarioItemActionRepository;
+import com.larplaner.repository.tag.TagRepository;
+import com.larplaner.service.game.metrics.GameMetrics;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+class GameActionJournalWriterTests {
+
+  private final UUID gameSessionId = UUID.randomUUID();
+  private final Tag poisoned = Tag.builder().value("poisoned").build();
+  private final Tag poisonedReference = Tag.builder().value("poisoned").build();
+  private final ScenarioItemAction openDoor = ScenarioItemAction.builder().build();
+
+  private GameSessionEventRepository gameSessionEventRepository;
+  private GameActionLogRepository gameActionLogRepository;
+  private ScenarioActionRepository scenarioActionRepository;
+  private GameActionJournalWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    gameSessionEventRepository = mock(GameSessionEventRepository.class);
+    gameActionLogRepository = mock(GameActionLogRepository.class);
+    scenarioActionRepository = mock(ScenarioActionRepository.class);
+    ScenarioItemActionRepository scenarioItemActionRepository =
+        mock(ScenarioItemActionRepository.class);
+    when(scenarioItemActionRepository.getReferenceById(openDoor.getId())).thenReturn(openDoor);
+    TagRepository tagRepository = mock(TagRepository.class);
+    when(tagRepository.getReferenceById(poisoned.getId())).thenReturn(poisonedReference);
+    GameMetrics gameMetrics = mock(GameMetrics.class);
+    when(gameMetrics.timePhase(anyString(), any(), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
+    writer = new GameActionJournalWriter(mock(GameSessionRepository.class),
+        mock(GameRoleStateRepository.class), mock(GameItemStateRepository.class),
+        gameActionLogRepository, gameSessionEventRepository, scenarioActionRepository,
+        scenarioItemActionRepository, tagRepository, gameMetrics);
+  }
+
+  @Test
+  void writesEventsOfEachActionBeforeItsLogAndOtherEventsLast() {
+    GameSessionEvent actionEvent = event();
+    GameSessionEvent otherEvent = event();
+    PerformedAction performedAction = PerformedAction.builder()
+        .logId(UUID.randomUUID())
+        .gameSessionId(gameSessionId)
+        .performerRoleId(UUID.randomUUID())
+        .actionId(openDoor.getId())
+        .itemAction(true)
+        .targetItemId(UUID.randomUUID())
+        .timestamp(ZonedDateTime.now())
+        .success(true)
+        .appliedTags(List.of(poisoned))
+        .removedTags(List.of())
+        .events(List.of(actionEvent))
+        .build();
+
+    writer.write(List.of(performedAction), List.of(otherEvent));
+
+    InOrder inOrder = inOrder(gameSessionEventRepository, gameActionLogRepository);
+    inOrder.verify(gameSessionEventRepository).saveAll(List.of(actionEvent));
+    ArgumentCaptor<GameActionLog> log = ArgumentCaptor.forClass(GameActionLog.class);
+    inOrder.verify(gameActionLogRepository).save(log.capture());
+    inOrder.verify(gameSessionEventRepository).saveAll(List.of(otherEvent));
+
+    assertThat(log.getValue().getId()).isEqualTo(performedAction.getLogId());
+    assertThat(log.getValue().getAction()).isSameAs(openDoor);
+    assertThat(log.getValue().getAppliedTags()).containsExactly(poisonedReference);
+    verify(scenarioActionRepository, never()).getReferenceById(any());
+  }
+
+  private GameSessionEvent event() {
+    return GameSessionEvent.builder()
+        .gameSessionId(gameSessionId)
+        .build();
+  }
+}
@@ -0,0 +1,212 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.larplaner.dto.game.action.GameActionRequestDTO;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.game.GameSessionEventTypeEnum;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioRole;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.service.game.metrics.GameMetrics;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class GameSessionEngineTests {
+
+  private final UUID gameSessionId = UUID.randomUUID();
+  private final Tag poisoned = Tag.builder().value("poisoned").build();
+  private final ScenarioRole scenarioRole = ScenarioRole.builder().build();
+  private final GameRoleState gameRoleState = GameRoleState.builder()
+      .scenarioRole(scenarioRole)
+      .assignedUserID("alice")
+      .build();
+  private final ScenarioAction drinkPoison = ScenarioAction.builder()
+      .tagsToApplyOnSuccess(List.of(poisoned))
+      .build();
+
+  private GameSessionStateLoader loader;
+  private GameActionJournal journal;
+  private ApplicationEventPublisher eventPublisher;
+  private GameSessionEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    loader = mock(GameSessionStateLoader.class);
+    journal = mock(GameActionJournal.class);
+    eventPublisher = mock(ApplicationEventPublisher.class);
+    GameMetrics gameMetrics = mock(GameMetrics.class);
+    when(gameMetrics.timePhase(anyString(), any(), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
+    engine = new GameSessionEngine(loader, journal, mock(TagExpiryScheduler.class),
+        eventPublisher, gameMetrics);
+  }
+
+  @Test
+  void flushesTheJournalBeforeLoadingTheSession() {
+    when(loader.load(gameSessionId)).thenReturn(newState());
+
+    engine.getSession(gameSessionId);
+
+    InOrder inOrder = inOrder(journal, loader);
+    inOrder.verify(journal).flush(gameSessionId);
+    inOrder.verify(loader).load(gameSessionId);
+  }
+
+  @Test
+  void journalsActionsInTheOrderTheyWerePerformed() {
+    when(loader.load(gameSessionId)).thenReturn(newState());
+
+    PerformedAction first = engine.performAction(gameSessionId, drinkPoisonRequest());
+    PerformedAction second = engine.performAction(gameSessionId, drinkPoisonRequest());
+
+    ArgumentCaptor<PerformedAction> captor = ArgumentCaptor.forClass(PerformedAction.class);
+    verify(journal, times(2)).append(captor.capture());
+    assertThat(captor.getAllValues()).containsExactly(first, second);
+
+    List<GameSessionEvent> events = new ArrayList<>(first.getEvents());
+    events.addAll(second.getEvents());
+    assertThat(events).extracting(GameSessionEvent::getSequenceNumber)
+        .containsExactly(1L, 2L, 3L, 4L);
+    assertThat(events).extracting(GameSessionEvent::getType).containsExactly(
+        GameSessionEventTypeEnum.ACTION_PERFORMED, GameSessionEventTypeEnum.TAG_APPLIED,
+        GameSessionEventTypeEnum.ACTION_PERFORMED, GameSessionEventTypeEnum.TAG_REFRESHED);
+    verify(eventPublisher).publishEvent(
+        new GameActionsPerformedEvent(gameSessionId, List.of(first)));
+  }
+
+  @Test
+  void performsTheActionOnTheReloadedSessionIfItWasEvictedWhileWaiting() throws Exception {
+    GameSessionState evicted = newState();
+    GameSessionState reloaded = newState();
+    when(loader.load(gameSessionId)).thenReturn(evicted, reloaded);
+
+    FutureTask<PerformedAction> performAction = new FutureTask<>(
+        () -> engine.performAction(gameSessionId, drinkPoisonRequest()));
+    Thread player = new Thread(performAction);
+    synchronized (engine.getSession(gameSessionId)) {
+      player.start();
+      while (player.getState() != Thread.State.BLOCKED) {
+        Thread.onSpinWait();
+      }
+      engine.evict(gameSessionId);
+    }
+
+    assertThat(performAction.get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+    verify(loader, times(2)).load(gameSessionId);
+    verify(eventPublisher).publishEvent(
+        new GameSessionEvictedEvent(gameSessionId, GameSessionEvictedEvent.Cause.STATE_CHANGED));
+    assertThat(evicted.isEvicted()).isTrue();
+    assertThat(appliedTagsOf(evicted)).isEmpty();
+    assertThat(appliedTagsOf(reloaded)).extracting(AppliedTagState::getTag)
+        .containsExactly(poisoned);
+  }
+
+  @Test
+  void performsAnActionRacingAnAdminEditOnlyAfterTheEditEvictedTheSession() throws Exception {
+    GameSessionState edited = newState();
+    GameSessionState reloaded = newState();
+    when(loader.load(gameSessionId)).thenReturn(edited, reloaded);
+    engine.performAction(gameSessionId, drinkPoisonRequest());
+
+    FutureTask<PerformedAction> performAction = new FutureTask<>(
+        () -> engine.performAction(gameSessionId, drinkPoisonRequest()));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      engine.editRoleTags(gameRoleState.getId(), List.of());
+      new Thread(performAction).start();
+
+      assertThatThrownBy(() -> performAction.get(200, TimeUnit.MILLISECONDS))
+          .isInstanceOf(TimeoutException.class);
+      assertThat(edited.isEvicted()).isTrue();
+      assertThat(engine.findResidentAppliedTags(gameSessionId)).isEmpty();
+
+      TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+          synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // The edit removed the poison, so it is applied again instead of refreshed
+    assertThat(performAction.get(5, TimeUnit.SECONDS).getEvents())
+        .extracting(GameSessionEvent::getType)
+        .containsExactly(GameSessionEventTypeEnum.ACTION_PERFORMED,
+            GameSessionEventTypeEnum.TAG_APPLIED);
+    verify(journal, times(2)).append(any());
+    verify(loader, times(2)).load(gameSessionId);
+    assertThat(appliedTagsOf(edited)).extracting(AppliedTagState::getTag)
+        .containsExactly(poisoned);
+  }
+
+  @Test
+  void discardsALoadThatOverlappedAnEviction() {
+    GameSessionState stale = newState();
+    GameSessionState fresh = newState();
+    when(loader.load(gameSessionId))
+        .thenAnswer(invocation -> {
+          engine.evictAll();
+          return stale;
+        })
+        .thenReturn(fresh);
+
+    assertThat(engine.getSession(gameSessionId)).isSameAs(fresh);
+    assertThat(stale.isEvicted()).isTrue();
+    assertThat(engine.getSession(gameSessionId)).isSameAs(fresh);
+  }
+
+  private List<AppliedTagState> appliedTagsOf(GameSessionState session) {
+    return session.findRoleById(gameRoleState.getId()).orElseThrow().getAppliedTags();
+  }
+
+  private GameActionRequestDTO drinkPoisonRequest() {
+    GameActionRequestDTO request = new GameActionRequestDTO();
+    request.setPerformerRoleId(scenarioRole.getId());
+    request.setActionId(drinkPoison.getId());
+    return request;
+  }
+
+  private GameSessionState newState() {
+    TagOrdinals tagOrdinals = new TagOrdinals();
+    tagOrdinals.register(poisoned);
+    CompiledAction<ScenarioAction> compiledAction = new CompiledAction<>(drinkPoison, tagOrdinals);
+    RoleState role = new RoleState(gameRoleState, List.of(), tagOrdinals);
+
+    Map<UUID, CompiledAction<ScenarioAction>> scenarioActions = new LinkedHashMap<>();
+    scenarioActions.put(drinkPoison.getId(), compiledAction);
+    return GameSessionState.builder()
+        .id(gameSessionId)
+        .scenarioId(UUID.randomUUID())
+        .tagOrdinals(tagOrdinals)
+        .rolesByScenarioRoleId(Map.of(scenarioRole.getId(), role))
+        .rolesById(Map.of(role.getId(), role))
+        .itemStateIdsByScenarioItemId(Map.of())
+        .scenarioActions(scenarioActions)
+        .itemActionsByScenarioItemId(Map.of())
+        .actionTagIndex(new ActionTagIndex(tagOrdinals, scenarioActions.values(), List.of()))
+        .build();
+  }
+}
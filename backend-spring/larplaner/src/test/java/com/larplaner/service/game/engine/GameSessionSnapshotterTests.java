@@ -0,0 +1,210 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.larplaner.dto.game.action.GameActionRequestDTO;
+import com.larplaner.model.event.Event;
+import com.larplaner.model.event.EventStatusEnum;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSession;
+import com.larplaner.model.role.Role;
+import com.larplaner.model.scenario.Scenario;
+import com.larplaner.model.scenario.ScenarioAction;
+import com.larplaner.model.scenario.ScenarioRole;
+import com.larplaner.model.tag.AppliedTag;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.repository.game.GameRoleStateRepository;
+import com.larplaner.repository.game.GameSessionEventRepository;
+import com.larplaner.repository.game.GameSessionRepository;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The applied tags of a role in the database are only brought up to date by applying its events
+ * to the last snapshot of the role. Whatever mix of applied, refreshed and removed tags the
+ * engine produced, that must end up with the tags the engine holds.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:snapshotter;DATABASE_TO_UPPER=FALSE",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class GameSessionSnapshotterTests {
+
+  @Autowired
+  private GameSessionEngine gameSessionEngine;
+
+  @Autowired
+  private GameActionJournal gameActionJournal;
+
+  @Autowired
+  private GameSessionRepository gameSessionRepository;
+
+  @Autowired
+  private GameSessionEventRepository gameSessionEventRepository;
+
+  @Autowired
+  private GameRoleStateRepository gameRoleStateRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private UUID gameSessionId;
+  private UUID gameRoleStateId;
+  private UUID scenarioRoleId;
+  private ScenarioAction poison;
+  private ScenarioAction bless;
+  private ScenarioAction curse;
+  private ScenarioAction antidote;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate.executeWithoutResult(status -> persistGameSession());
+  }
+
+  @Test
+  void snapshotAndPendingEventsRebuildTheLiveAppliedTags() {
+    perform(poison, bless, poison, curse);
+    assertThat(gameActionJournal.flush(gameSessionId)).isTrue();
+    List<AppliedTagRow> snapshotted = storedAppliedTags();
+    assertThat(snapshotted).containsExactlyInAnyOrderElementsOf(liveAppliedTags());
+
+    // Antidote succeeds once and then fails, which refreshes the curse
+    perform(antidote, antidote, bless, poison);
+    List<AppliedTagRow> live = liveAppliedTags();
+    assertThat(storedAppliedTags()).isEqualTo(snapshotted);
+
+    assertThat(gameActionJournal.flush(gameSessionId)).isTrue();
+    assertThat(storedAppliedTags()).containsExactlyInAnyOrderElementsOf(live);
+    assertThat(gameSessionRepository.findSnapshotSequenceById(gameSessionId))
+        .contains(gameSessionEventRepository.findLastSequenceNumber(gameSessionId));
+
+    gameSessionEngine.evict(gameSessionId);
+    assertThat(gameSessionEngine.getSession(gameSessionId).findRoleById(gameRoleStateId)
+        .orElseThrow()
+        .getAppliedTags())
+        .extracting(AppliedTagRow::of)
+        .containsExactlyInAnyOrderElementsOf(live);
+  }
+
+  private void perform(ScenarioAction... actions) {
+    for (ScenarioAction action : actions) {
+      GameActionRequestDTO request = new GameActionRequestDTO();
+      request.setPerformerRoleId(scenarioRoleId);
+      request.setActionId(action.getId());
+      gameSessionEngine.performAction(gameSessionId, request);
+    }
+  }
+
+  private List<AppliedTagRow> liveAppliedTags() {
+    return gameSessionEngine.findResidentAppliedTags(gameSessionId).orElseThrow()
+        .get(gameRoleStateId)
+        .stream()
+        .map(AppliedTagRow::of)
+        .toList();
+  }
+
+  private List<AppliedTagRow> storedAppliedTags() {
+    return transactionTemplate.execute(status -> gameRoleStateRepository
+        .findById(gameRoleStateId)
+        .orElseThrow()
+        .getAppliedTags()
+        .stream()
+        .map(AppliedTagRow::of)
+        .toList());
+  }
+
+  private void persistGameSession() {
+    Tag poisoned = persistTag("poisoned", 0);
+    Tag blessed = persistTag("blessed", 60);
+    Tag cursed = persistTag("cursed", 0);
+
+    Role role = Role.builder().name("role").description("description").build();
+    entityManager.persist(role);
+    Scenario scenario = Scenario.builder().name("scenario").description("description").build();
+    ScenarioRole scenarioRole = ScenarioRole.builder().role(role).build();
+    scenario.addScenarioRole(scenarioRole);
+    poison = action("poison").tagsToApplyOnSuccess(List.of(poisoned)).build();
+    bless = action("bless")
+        .tagsToApplyOnSuccess(List.of(blessed))
+        .tagsToRemoveOnSuccess(List.of(cursed))
+        .build();
+    curse = action("curse")
+        .tagsToApplyOnSuccess(List.of(cursed))
+        .tagsToRemoveOnSuccess(List.of(blessed))
+        .build();
+    antidote = action("antidote")
+        .requiredTagsToSucceed(List.of(poisoned))
+        .tagsToRemoveOnSuccess(List.of(poisoned))
+        .tagsToApplyOnFailure(List.of(cursed))
+        .build();
+    List.of(poison, bless, curse, antidote).forEach(scenario::addScenarioAction);
+    entityManager.persist(scenario);
+
+    GameSession gameSession = GameSession.builder().startTime(ZonedDateTime.now()).build();
+    GameRoleState gameRoleState = GameRoleState.builder()
+        .gameSession(gameSession)
+        .scenarioRole(scenarioRole)
+        .assignedEmail("player@example.com")
+        .assignedUserID("player")
+        .build();
+    gameSession.getAssignedRoles().add(gameRoleState);
+    Event event = Event.builder()
+        .name("event")
+        .scenario(scenario)
+        .status(EventStatusEnum.ACTIVE)
+        .gameSession(gameSession)
+        .build();
+    gameSession.setEvent(event);
+    entityManager.persist(event);
+
+    gameSessionId = gameSession.getId();
+    gameRoleStateId = gameRoleState.getId();
+    scenarioRoleId = scenarioRole.getId();
+  }
+
+  private Tag persistTag(String value, int expiresAfterMinutes) {
+    Tag tag = Tag.builder().value(value).expiresAfterMinutes(expiresAfterMinutes).build();
+    entityManager.persist(tag);
+    return tag;
+  }
+
+  private static ScenarioAction.ScenarioActionBuilder<?, ?> action(String name) {
+    return ScenarioAction.builder()
+        .name(name)
+        .description("description")
+        .messageOnSuccess("success")
+        .messageOnFailure("failure");
+  }
+
+  private record AppliedTagRow(UUID id, UUID tagId, Instant appliedToUserAt) {
+
+    static AppliedTagRow of(AppliedTagState appliedTag) {
+      return new AppliedTagRow(appliedTag.getId(), appliedTag.getTag().getId(),
+          toMicros(appliedTag.getAppliedToUserAt()));
+    }
+
+    static AppliedTagRow of(AppliedTag appliedTag) {
+      return new AppliedTagRow(appliedTag.getId(), appliedTag.getTag().getId(),
+          toMicros(appliedTag.getAppliedToUserAt()));
+    }
+
+    /**
+     * The database rounds timestamps to the microsecond, the engine keeps the clock's precision.
+     */
+    private static Instant toMicros(ZonedDateTime dateTime) {
+      return dateTime.toInstant().plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+    }
+  }
+}
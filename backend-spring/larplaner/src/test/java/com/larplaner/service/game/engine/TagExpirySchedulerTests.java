@@ -0,0 +1,99 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TagExpirySchedulerTests {
+
+  private final UUID aliceSessionId = UUID.randomUUID();
+  private final UUID bobSessionId = UUID.randomUUID();
+
+  private final Map<TagExpiry, ZonedDateTime> firedAt = new ConcurrentHashMap<>();
+  private TagExpiryScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = new TagExpiryScheduler(10);
+    scheduler.setExpiryHandler(expiry -> firedAt.put(expiry, ZonedDateTime.now()));
+    scheduler.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.stop();
+  }
+
+  @Test
+  void firesEntriesInDeadlineOrderAndNotBeforeTheirDeadline() throws InterruptedException {
+    CountDownLatch fired = new CountDownLatch(2);
+    scheduler.setExpiryHandler(expiry -> {
+      firedAt.put(expiry, ZonedDateTime.now());
+      fired.countDown();
+    });
+    TagExpiry soon = expiry(aliceSessionId, 50);
+    TagExpiry later = expiry(aliceSessionId, 150);
+
+    scheduler.schedule(later);
+    scheduler.schedule(soon);
+
+    assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(firedAt).containsOnlyKeys(soon, later);
+    assertThat(firedAt.get(soon)).isAfterOrEqualTo(soon.getExpiresAt());
+    assertThat(firedAt.get(later)).isAfterOrEqualTo(later.getExpiresAt());
+    assertThat(firedAt.get(soon)).isBefore(firedAt.get(later));
+  }
+
+  @Test
+  void dropsTheEntriesOfACancelledSession() throws InterruptedException {
+    TagExpiry alice = expiry(aliceSessionId, 50);
+    TagExpiry bob = expiry(bobSessionId, 100);
+    scheduler.schedule(alice);
+    scheduler.schedule(bob);
+
+    scheduler.cancelAll(aliceSessionId);
+    awaitFired(bob);
+
+    assertThat(firedAt).containsOnlyKeys(bob);
+  }
+
+  @Test
+  void keepsFiringAfterAHandlerFailed() throws InterruptedException {
+    TagExpiry failing = expiry(aliceSessionId, 30);
+    TagExpiry next = expiry(bobSessionId, 80);
+    scheduler.setExpiryHandler(expiry -> {
+      firedAt.put(expiry, ZonedDateTime.now());
+      if (expiry.equals(failing)) {
+        throw new IllegalStateException("Session is gone");
+      }
+    });
+
+    scheduler.schedule(failing);
+    scheduler.schedule(next);
+    awaitFired(next);
+
+    assertThat(firedAt).containsOnlyKeys(List.of(failing, next));
+  }
+
+  private void awaitFired(TagExpiry expiry) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!firedAt.containsKey(expiry) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(firedAt).containsKey(expiry);
+  }
+
+  private static TagExpiry expiry(UUID gameSessionId, long inMillis) {
+    return new TagExpiry(gameSessionId, UUID.randomUUID(), UUID.randomUUID(),
+        ZonedDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(inMillis)));
+  }
+}
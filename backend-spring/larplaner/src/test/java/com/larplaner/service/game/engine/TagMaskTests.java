@@ -0,0 +1,75 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class TagMaskTests {
+
+  private static final int SIZE = 200;
+
+  @Test
+  void behavesLikeSetsOfOrdinals() {
+    Random random = new Random(7);
+
+    for (int i = 0; i < 1000; i++) {
+      Set<Integer> before = randomOrdinals(random);
+      Set<Integer> after = randomOrdinals(random);
+      long[] beforeMask = maskOf(before);
+      long[] afterMask = maskOf(after);
+
+      Set<Integer> changed = new TreeSet<>(before);
+      changed.addAll(after);
+      Set<Integer> unchanged = new HashSet<>(before);
+      unchanged.retainAll(after);
+      changed.removeAll(unchanged);
+      assertThat(ordinalsOf(TagMask.changed(beforeMask, afterMask)))
+          .containsExactlyElementsOf(changed);
+
+      Set<Integer> union = new TreeSet<>(before);
+      union.addAll(after);
+      assertThat(ordinalsOf(TagMask.union(beforeMask, afterMask)))
+          .containsExactlyElementsOf(union);
+
+      assertThat(TagMask.containsAll(beforeMask, afterMask)).isEqualTo(before.containsAll(after));
+      assertThat(TagMask.intersects(beforeMask, afterMask)).isEqualTo(!unchanged.isEmpty());
+      int ordinal = random.nextInt(SIZE);
+      assertThat(TagMask.contains(beforeMask, ordinal)).isEqualTo(before.contains(ordinal));
+    }
+  }
+
+  @Test
+  void clearsEveryWord() {
+    long[] mask = maskOf(Set.of(0, 63, 64, 199));
+
+    TagMask.clear(mask);
+
+    assertThat(ordinalsOf(mask)).isEmpty();
+  }
+
+  private static Set<Integer> randomOrdinals(Random random) {
+    Set<Integer> ordinals = new HashSet<>();
+    for (int i = random.nextInt(20); i > 0; i--) {
+      ordinals.add(random.nextInt(SIZE));
+    }
+    return ordinals;
+  }
+
+  private static long[] maskOf(Set<Integer> ordinals) {
+    long[] mask = new long[TagMask.words(SIZE)];
+    ordinals.forEach(ordinal -> TagMask.set(mask, ordinal));
+    return mask;
+  }
+
+  private static List<Integer> ordinalsOf(long[] mask) {
+    List<Integer> ordinals = new ArrayList<>();
+    TagMask.forEach(mask, ordinals::add);
+    return ordinals;
+  }
+}
@@ -0,0 +1,103 @@
+package com.larplaner.service.game.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTests {
+
+  private static final long TICK = 10;
+  private static final int WHEEL_SIZE = 4;
+
+  /**
+   * Level 0 reaches 4 ticks ahead, level 1 16 ticks, anything further waits in the overflow list.
+   */
+  private final TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 2, 0);
+
+  @Test
+  void firesOnTheFirstTickAtOrAfterTheDeadline() {
+    wheel.schedule(25, "antidote");
+
+    assertThat(wheel.advanceTo(29)).isEmpty();
+    assertThat(wheel.advanceTo(30)).containsExactly("antidote");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void firesDeadlinesThatHavePassedOnTheNextTick() {
+    wheel.advanceTo(100);
+    wheel.schedule(50, "late");
+
+    assertThat(wheel.advanceTo(109)).isEmpty();
+    assertThat(wheel.advanceTo(110)).containsExactly("late");
+  }
+
+  @Test
+  void cascadesEntriesOfHigherLevelsAndTheOverflowInDeadlineOrder() {
+    wheel.schedule(1000, "overflow");
+    wheel.schedule(150, "level 1");
+    wheel.schedule(35, "level 0");
+
+    assertThat(wheel.advanceTo(140)).containsExactly("level 0");
+    assertThat(wheel.advanceTo(150)).containsExactly("level 1");
+    assertThat(wheel.advanceTo(990)).isEmpty();
+    assertThat(wheel.advanceTo(1000)).containsExactly("overflow");
+  }
+
+  @Test
+  void firesEntriesWhoseBucketWrappedAroundTheWheel() {
+    wheel.advanceTo(30);
+    // Tick 5 is in bucket 1, behind the current bucket 3
+    wheel.schedule(50, "wrapped");
+    // Tick 9 shares bucket 1 of level 0, one rotation later
+    wheel.schedule(90, "next rotation");
+
+    assertThat(wheel.advanceTo(49)).isEmpty();
+    assertThat(wheel.advanceTo(50)).containsExactly("wrapped");
+    assertThat(wheel.advanceTo(89)).isEmpty();
+    assertThat(wheel.advanceTo(90)).containsExactly("next rotation");
+  }
+
+  @Test
+  void removesCancelledEntriesOnEveryLevel() {
+    wheel.schedule(20, "alice");
+    wheel.schedule(100, "alice");
+    wheel.schedule(1000, "alice");
+    wheel.schedule(30, "bob");
+
+    wheel.removeIf("alice"::equals);
+
+    assertThat(wheel.size()).isOne();
+    assertThat(wheel.advanceTo(2000)).containsExactly("bob");
+  }
+
+  @Test
+  void neverFiresEarlyNorLaterThanTheTickOfTheDeadline() {
+    Random random = new Random(42);
+    long start = 1_000_003;
+    TimingWheel<Long> offsetWheel = new TimingWheel<>(TICK, WHEEL_SIZE, 2, start);
+    long now = start;
+    List<Long> pending = new ArrayList<>();
+
+    for (int step = 0; step < 2000; step++) {
+      for (int i = random.nextInt(3); i > 0; i--) {
+        long deadline = now + 1 + random.nextInt(400);
+        offsetWheel.schedule(deadline, deadline);
+        pending.add(deadline);
+      }
+
+      now += random.nextInt(30);
+      long tickStart = now / TICK * TICK;
+      List<Long> expired = offsetWheel.advanceTo(now);
+      assertThat(expired)
+          .allSatisfy(deadline -> assertThat(deadline).isLessThanOrEqualTo(tickStart));
+      assertThat(expired.stream().map(deadline -> (deadline + TICK - 1) / TICK).toList())
+          .isSorted();
+      expired.forEach(pending::remove);
+      assertThat(pending).allSatisfy(deadline -> assertThat(deadline).isGreaterThan(tickStart));
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.larplaner.service.game.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.larplaner.service.game.engine.GameSessionClosedEvent;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+class GameSessionMeterFilterTests {
+
+  private final UUID aliceSessionId = UUID.randomUUID();
+  private final UUID bobSessionId = UUID.randomUUID();
+  private final UUID carolSessionId = UUID.randomUUID();
+
+  private SimpleMeterRegistry meterRegistry;
+  private GameSessionMeterFilter filter;
+  private GameMetrics gameMetrics;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+    doAnswer(invocation -> {
+      invocation.<Consumer<MeterRegistry>>getArgument(0).accept(meterRegistry);
+      return null;
+    }).when(meterRegistryProvider).ifAvailable(any());
+
+    filter = new GameSessionMeterFilter(meterRegistryProvider, 1);
+    meterRegistry.config().meterFilter(filter);
+    gameMetrics = new GameMetrics(meterRegistry);
+  }
+
+  @Test
+  void reportsSessionsBeyondTheLimitAsOther() {
+    recordAction(aliceSessionId);
+    recordAction(bobSessionId);
+
+    assertThat(sessionTags()).containsExactlyInAnyOrder(aliceSessionId.toString(),
+        GameSessionMeterFilter.OTHER_SESSIONS);
+  }
+
+  @Test
+  void freesTheSlotAndRemovesTheMetersOfAClosedSession() {
+    recordAction(aliceSessionId);
+
+    filter.onGameSessionClosed(new GameSessionClosedEvent(aliceSessionId));
+    recordAction(carolSessionId);
+
+    assertThat(sessionTags()).containsExactly(carolSessionId.toString());
+  }
+
+  private void recordAction(UUID gameSessionId) {
+    gameMetrics.recordAction(gameMetrics.startTimer(), gameSessionId, GameMetrics.ACTION,
+        GameMetrics.OUTCOME_SUCCESS);
+  }
+
+  private List<String> sessionTags() {
+    return meterRegistry.getMeters().stream()
+        .map(Meter::getId)
+        .map(id -> id.getTag(GameSessionMeterFilter.SESSION_TAG))
+        .toList();
+  }
+}
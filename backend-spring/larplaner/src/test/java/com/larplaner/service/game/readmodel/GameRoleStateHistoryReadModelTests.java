@@ -0,0 +1,202 @@
+package com.larplaner.service.game.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.larplaner.dto.game.roleState.GameRoleStateAtResponseDTO;
+import com.larplaner.dto.tag.AppliedTagResponseDTO;
+import com.larplaner.model.event.Event;
+import com.larplaner.model.event.EventStatusEnum;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSession;
+import com.larplaner.model.game.GameSessionEvent;
+import com.larplaner.model.game.GameSessionEventTypeEnum;
+import com.larplaner.model.role.Role;
+import com.larplaner.model.scenario.Scenario;
+import com.larplaner.model.scenario.ScenarioRole;
+import com.larplaner.model.tag.AppliedTag;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.repository.game.GameSessionEventRepository;
+import com.larplaner.service.game.engine.GameSessionSnapshotter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Pins which snapshot and events a point-in-time query includes: everything that happened at or
+ * before {@code at}, and nothing after it. All timestamps are whole microseconds, the precision
+ * the database keeps, so the boundaries are exact.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:role-state-history;DATABASE_TO_UPPER=FALSE",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional
+class GameRoleStateHistoryReadModelTests {
+
+  private static final ZonedDateTime START = ZonedDateTime.of(2026, 1, 1, 18, 0, 0, 0,
+      ZoneOffset.UTC);
+  private static final ZonedDateTime POISONED_AT = START.plusMinutes(5);
+  private static final ZonedDateTime BLESSED_AT = START.plusMinutes(10);
+  private static final ZonedDateTime CURED_AT = START.plusMinutes(20);
+  private static final int BLESSING_MINUTES = 60;
+
+  @Autowired
+  private GameRoleStateHistoryReadModel gameRoleStateHistoryReadModel;
+
+  @Autowired
+  private GameSessionSnapshotter gameSessionSnapshotter;
+
+  @Autowired
+  private GameSessionEventRepository gameSessionEventRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private GameRoleState role;
+  private UUID poisonedId;
+  private UUID blessedId;
+
+  @BeforeEach
+  void setUp() {
+    Tag poisoned = persistTag("poisoned", 0);
+    Tag blessed = persistTag("blessed", BLESSING_MINUTES);
+    role = persistRole();
+    poisonedId = UUID.randomUUID();
+    blessedId = UUID.randomUUID();
+    UUID gameSessionId = role.getGameSession().getId();
+
+    gameSessionSnapshotter.archive(gameSessionId, 0, START, List.of(role));
+    gameSessionEventRepository.saveAll(List.of(
+        event(1, GameSessionEventTypeEnum.TAG_APPLIED, poisonedId, poisoned, POISONED_AT),
+        event(2, GameSessionEventTypeEnum.TAG_APPLIED, blessedId, blessed, BLESSED_AT),
+        event(3, GameSessionEventTypeEnum.TAG_REMOVED, poisonedId, poisoned, CURED_AT)));
+
+    // The snapshotter archives the roles with the events up to the sequence number applied
+    role.getAppliedTags().add(appliedTag(poisonedId, poisoned, POISONED_AT));
+    role.getAppliedTags().add(appliedTag(blessedId, blessed, BLESSED_AT));
+    gameSessionSnapshotter.archive(gameSessionId, 2, BLESSED_AT, List.of(role));
+    entityManager.flush();
+  }
+
+  @Test
+  void knowsNothingBeforeTheFirstSnapshot() {
+    assertThatThrownBy(() -> findAt(START.minus(1, ChronoUnit.MICROS)))
+        .isInstanceOf(EntityNotFoundException.class);
+  }
+
+  @Test
+  void includesTheSnapshotTakenAtTheQueriedTime() {
+    GameRoleStateAtResponseDTO state = findAt(START);
+
+    assertThat(state.getSequenceNumber()).isZero();
+    assertThat(state.getAppliedTags()).isEmpty();
+  }
+
+  @Test
+  void includesEventsThatOccurredAtTheQueriedTimeAndNoneAfter() {
+    assertThat(findAt(POISONED_AT.minus(1, ChronoUnit.MICROS)).getSequenceNumber()).isZero();
+
+    GameRoleStateAtResponseDTO state = findAt(POISONED_AT);
+    assertThat(state.getSequenceNumber()).isOne();
+    assertThat(appliedTagIds(state)).containsExactly(poisonedId);
+  }
+
+  @Test
+  void replaysOnlyEventsAfterTheLatestSnapshot() {
+    GameRoleStateAtResponseDTO atSnapshot = findAt(BLESSED_AT);
+    assertThat(atSnapshot.getSequenceNumber()).isEqualTo(2);
+    assertThat(appliedTagIds(atSnapshot)).containsExactly(blessedId, poisonedId);
+
+    GameRoleStateAtResponseDTO beforeCure = findAt(CURED_AT.minus(1, ChronoUnit.MICROS));
+    assertThat(beforeCure.getSequenceNumber()).isEqualTo(2);
+    assertThat(appliedTagIds(beforeCure)).containsExactly(blessedId, poisonedId);
+
+    GameRoleStateAtResponseDTO cured = findAt(CURED_AT);
+    assertThat(cured.getSequenceNumber()).isEqualTo(3);
+    assertThat(appliedTagIds(cured)).containsExactly(blessedId);
+  }
+
+  @Test
+  void dropsTagsThatExpiredAtTheQueriedTime() {
+    ZonedDateTime expiresAt = BLESSED_AT.plusMinutes(BLESSING_MINUTES);
+
+    assertThat(appliedTagIds(findAt(expiresAt.minus(1, ChronoUnit.MICROS))))
+        .containsExactly(blessedId);
+    assertThat(appliedTagIds(findAt(expiresAt))).isEmpty();
+  }
+
+  private GameRoleStateAtResponseDTO findAt(ZonedDateTime at) {
+    entityManager.clear();
+    return gameRoleStateHistoryReadModel.findAt(role.getId(), at);
+  }
+
+  private static List<UUID> appliedTagIds(GameRoleStateAtResponseDTO state) {
+    return state.getAppliedTags().stream().map(AppliedTagResponseDTO::getId).toList();
+  }
+
+  private GameSessionEvent event(long sequenceNumber, GameSessionEventTypeEnum type,
+      UUID appliedTagId, Tag tag, ZonedDateTime occurredAt) {
+    return GameSessionEvent.builder()
+        .gameSessionId(role.getGameSession().getId())
+        .sequenceNumber(sequenceNumber)
+        .type(type)
+        .gameRoleStateId(role.getId())
+        .appliedTagId(appliedTagId)
+        .tagId(tag.getId())
+        .occurredAt(occurredAt)
+        .build();
+  }
+
+  private AppliedTag appliedTag(UUID id, Tag tag, ZonedDateTime appliedToUserAt) {
+    return AppliedTag.builder()
+        .id(id)
+        .tag(tag)
+        .userID(role.getAssignedUserID())
+        .userEmail(role.getAssignedEmail())
+        .appliedToUserAt(appliedToUserAt)
+        .build();
+  }
+
+  private Tag persistTag(String value, int expiresAfterMinutes) {
+    Tag tag = Tag.builder().value(value).expiresAfterMinutes(expiresAfterMinutes).build();
+    entityManager.persist(tag);
+    return tag;
+  }
+
+  private GameRoleState persistRole() {
+    Role role = Role.builder().name("role").description("description").build();
+    entityManager.persist(role);
+    Scenario scenario = Scenario.builder().name("scenario").description("description").build();
+    ScenarioRole scenarioRole = ScenarioRole.builder().role(role).build();
+    scenario.addScenarioRole(scenarioRole);
+    entityManager.persist(scenario);
+
+    GameSession gameSession = GameSession.builder().startTime(START).build();
+    GameRoleState gameRoleState = GameRoleState.builder()
+        .gameSession(gameSession)
+        .scenarioRole(scenarioRole)
+        .assignedEmail("player@example.com")
+        .assignedUserID("player")
+        .build();
+    gameSession.getAssignedRoles().add(gameRoleState);
+    Event event = Event.builder()
+        .name("event")
+        .scenario(scenario)
+        .status(EventStatusEnum.ACTIVE)
+        .gameSession(gameSession)
+        .build();
+    gameSession.setEvent(event);
+    entityManager.persist(event);
+    return gameRoleState;
+  }
+}
@@ -0,0 +1,171 @@
+package com.larplaner.service.game.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.larplaner.dto.game.GameSessionDetailedResponseDTO;
+import com.larplaner.model.event.Event;
+import com.larplaner.model.event.EventStatusEnum;
+import com.larplaner.model.game.GameItemState;
+import com.larplaner.model.game.GameRoleState;
+import com.larplaner.model.game.GameSession;
+import com.larplaner.model.role.Role;
+import com.larplaner.model.scenario.Scenario;
+import com.larplaner.model.scenario.ScenarioItem;
+import com.larplaner.model.scenario.ScenarioItemAction;
+import com.larplaner.model.scenario.ScenarioRole;
+import com.larplaner.model.tag.AppliedTag;
+import com.larplaner.model.tag.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:read-model;DATABASE_TO_UPPER=FALSE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional
+class GameSessionReadModelTests {
+
+  @Autowired
+  private GameSessionReadModel gameSessionReadModel;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void fetchesSnapshotWithFixedNumberOfStatements() {
+    UUID smallSessionId = persistGameSession(1, 1, 1);
+    UUID largeSessionId = persistGameSession(6, 5, 4);
+    entityManager.flush();
+    entityManager.clear();
+
+    long smallStatements = countStatements(() -> {
+      GameSessionDetailedResponseDTO dto = gameSessionReadModel.findDetailedById(smallSessionId)
+          .orElseThrow();
+      assertThat(dto.getAssignedRoles()).hasSize(1);
+    });
+    entityManager.clear();
+
+    long largeStatements = countStatements(() -> {
+      GameSessionDetailedResponseDTO dto = gameSessionReadModel.findDetailedById(largeSessionId)
+          .orElseThrow();
+      assertThat(dto.getAssignedRoles()).hasSize(6);
+      assertThat(dto.getAssignedRoles().get(0).getAppliedTags()).hasSize(3);
+      assertThat(dto.getItems()).hasSize(5);
+      assertThat(dto.getItems().get(0).getScenarioItem().getActions()).hasSize(4);
+      assertThat(dto.getItems().get(0).getScenarioItem().getActions().get(0)
+          .getRequiredTagsToSucceed()).hasSize(2);
+    });
+    entityManager.clear();
+
+    assertThat(smallStatements).isPositive();
+    assertThat(largeStatements).isEqualTo(smallStatements);
+    assertThat(largeStatements).isLessThanOrEqualTo(GameSessionReadModel.MAX_STATEMENTS);
+  }
+
+  @Test
+  void fetchesAllSnapshotsWithFixedNumberOfStatements() {
+    for (int i = 0; i < 4; i++) {
+      persistGameSession(3, 2, 2);
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    long statements = countStatements(() ->
+        assertThat(gameSessionReadModel.findAllDetailed()).hasSize(4));
+
+    assertThat(statements).isLessThanOrEqualTo(GameSessionReadModel.MAX_STATEMENTS);
+  }
+
+  private long countStatements(Runnable runnable) {
+    statistics.clear();
+    runnable.run();
+    return statistics.getPrepareStatementCount();
+  }
+
+  private UUID persistGameSession(int roleCount, int itemCount, int actionsPerItem) {
+    List<Tag> tags = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Tag tag = Tag.builder().value("tag-" + UUID.randomUUID()).build();
+      entityManager.persist(tag);
+      tags.add(tag);
+    }
+
+    Scenario scenario = Scenario.builder().name("scenario").description("description").build();
+    for (int i = 0; i < roleCount; i++) {
+      Role role = Role.builder().name("role-" + UUID.randomUUID()).description("description")
+          .tags(new ArrayList<>(tags)).build();
+      entityManager.persist(role);
+      scenario.addScenarioRole(ScenarioRole.builder().role(role).build());
+    }
+    for (int i = 0; i < itemCount; i++) {
+      ScenarioItem item = ScenarioItem.builder().name("item " + i).description("description")
+          .build();
+      for (int j = 0; j < actionsPerItem; j++) {
+        item.addScenarioItemAction(ScenarioItemAction.builder()
+            .name("action " + j)
+            .description("description")
+            .messageOnSuccess("success")
+            .messageOnFailure("failure")
+            .requiredTagsToSucceed(new ArrayList<>(tags.subList(0, 2)))
+            .tagsToApplyOnSuccess(new ArrayList<>(tags.subList(2, 3)))
+            .build());
+      }
+      scenario.addScenarioItem(item);
+    }
+    entityManager.persist(scenario);
+
+    GameSession gameSession = GameSession.builder().startTime(ZonedDateTime.now()).build();
+    for (ScenarioRole scenarioRole : scenario.getRoles()) {
+      gameSession.getAssignedRoles().add(GameRoleState.builder()
+          .gameSession(gameSession)
+          .scenarioRole(scenarioRole)
+          .assignedEmail("player@example.com")
+          .assignedUserID(UUID.randomUUID().toString())
+          .appliedTags(tags.stream()
+              .map(tag -> AppliedTag.builder().tag(tag).appliedToUserAt(ZonedDateTime.now())
+                  .build())
+              .collect(Collectors.toCollection(ArrayList::new)))
+          .build());
+    }
+    for (ScenarioItem scenarioItem : scenario.getItems()) {
+      gameSession.getItems().add(GameItemState.builder()
+          .gameSession(gameSession)
+          .scenarioItem(scenarioItem)
+          .build());
+    }
+
+    Event event = Event.builder()
+        .name("event")
+        .scenario(scenario)
+        .status(EventStatusEnum.ACTIVE)
+        .gameSession(gameSession)
+        .build();
+    gameSession.setEvent(event);
+    entityManager.persist(event);
+
+    return gameSession.getId();
+  }
+}
@@ -0,0 +1,285 @@
+package com.larplaner.service.scenario;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.larplaner.dto.action.ActionRequestDTO;
+import com.larplaner.dto.scenario.ScenarioRequestDTO;
+import com.larplaner.dto.scenario.UpdateScenarioRequestDTO;
+import com.larplaner.dto.scenario.action.ScenarioActionRequestDTO;
+import com.larplaner.dto.scenario.action.UpdateScenarioActionRequestDTO;
+import com.larplaner.dto.scenario.item.ScenarioItemRequestDTO;
+import com.larplaner.dto.scenario.item.UpdateScenarioItemRequestDTO;
+import com.larplaner.dto.scenario.itemAction.ScenarioItemActionRequestDTO;
+import com.larplaner.dto.scenario.itemAction.UpdateScenarioItemActionRequestDTO;
+import com.larplaner.dto.scenario.role.ScenarioRoleRequestDTO;
+import com.larplaner.dto.scenario.role.UpdateScenarioRoleRequestDTO;
+import com.larplaner.model.action.Action;
+import com.larplaner.model.role.Role;
+import com.larplaner.model.scenario.Scenario;
+import com.larplaner.model.tag.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.hibernate.SessionEventListener;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:scenario-statements;DATABASE_TO_UPPER=FALSE",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session.events.auto="
+        + "com.larplaner.service.scenario.ScenarioStatementCountTests$JdbcRoundTrips"
+})
+@Transactional
+class ScenarioStatementCountTests {
+
+  private static final int ACTIONS = 200;
+  private static final int ITEMS = 4;
+  private static final int ACTIONS_PER_ITEM = 5;
+  private static final int TAGS_PER_LIST = 2;
+  private static final int TAG_LISTS_PER_ACTION = 8;
+
+  @Autowired
+  private ScenarioService scenarioService;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+  private int batchSize;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void importsLargeScenarioInBatches() {
+    ScenarioRequestDTO request = buildScenarioRequest();
+
+    int actions = ACTIONS + ITEMS * ACTIONS_PER_ITEM;
+    int entities = 1 + 1 + ITEMS + actions;
+    int joinRows = actions * TAG_LISTS_PER_ACTION * TAGS_PER_LIST;
+
+    statistics.clear();
+    long createRoundTrips = JdbcRoundTrips.count(() -> assertThat(
+        scenarioService.createScenario(request).getId()).isNotNull());
+    long flushRoundTrips = JdbcRoundTrips.count(entityManager::flush);
+
+    // One query resolves every tag of the request; new entities are persisted, not merged
+    assertThat(createRoundTrips).isLessThanOrEqualTo(1);
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(entities);
+    // One statement per full batch, plus a partial batch for each table and join table
+    int tables = 4 + TAG_LISTS_PER_ACTION;
+    assertThat(flushRoundTrips)
+        .isLessThanOrEqualTo((entities + joinRows) / batchSize + tables);
+  }
+
+  @Test
+  void updatesOnlyTheChangedAction() {
+    UUID scenarioId = scenarioService.createScenario(buildScenarioRequest()).getId();
+    entityManager.flush();
+    entityManager.clear();
+
+    UpdateScenarioRequestDTO request = toUpdateRequest(
+        entityManager.find(Scenario.class, scenarioId));
+    request.getActions().get(0).setDescription("changed description");
+    entityManager.clear();
+
+    statistics.clear();
+    scenarioService.updateScenario(scenarioId, request);
+    entityManager.flush();
+
+    assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    assertThat(statistics.getEntityInsertCount()).isZero();
+    assertThat(statistics.getEntityDeleteCount()).isZero();
+    assertThat(statistics.getCollectionRecreateCount()).isZero();
+    assertThat(statistics.getCollectionUpdateCount()).isZero();
+    assertThat(statistics.getCollectionRemoveCount()).isZero();
+  }
+
+  @Test
+  void patchLeavesOmittedListsAlone() {
+    UUID scenarioId = scenarioService.createScenario(buildScenarioRequest()).getId();
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics.clear();
+    scenarioService.patchScenario(scenarioId,
+        UpdateScenarioRequestDTO.builder().name("renamed").build());
+    entityManager.flush();
+    entityManager.clear();
+
+    assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+    assertThat(statistics.getEntityDeleteCount()).isZero();
+    Scenario scenario = entityManager.find(Scenario.class, scenarioId);
+    assertThat(scenario.getName()).isEqualTo("renamed");
+    assertThat(scenario.getActions()).hasSize(ACTIONS);
+    assertThat(scenario.getItems()).hasSize(ITEMS);
+  }
+
+  /**
+   * Counts statements and batches sent to the database, which is what batching reduces. Hibernate
+   * statistics count prepared statements, and a batch statement is prepared only once per flush.
+   */
+  public static class JdbcRoundTrips implements SessionEventListener {
+
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    static long count(Runnable runnable) {
+      long before = ROUND_TRIPS.get();
+      runnable.run();
+      return ROUND_TRIPS.get() - before;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+      ROUND_TRIPS.incrementAndGet();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+      ROUND_TRIPS.incrementAndGet();
+    }
+  }
+
+  private ScenarioRequestDTO buildScenarioRequest() {
+    List<UUID> tagIds = persistTags(TAG_LISTS_PER_ACTION * TAGS_PER_LIST);
+    Role role = Role.builder().name("role").description("description").build();
+    entityManager.persist(role);
+    entityManager.flush();
+
+    return ScenarioRequestDTO.builder()
+        .name("scenario")
+        .description("description")
+        .roles(List.of(ScenarioRoleRequestDTO.builder().roleId(role.getId()).build()))
+        .actions(IntStream.range(0, ACTIONS)
+            .<ScenarioActionRequestDTO>mapToObj(i -> {
+              var action = ScenarioActionRequestDTO.builder();
+              describeAction(action, "action " + i, tagIds);
+              return action.build();
+            })
+            .toList())
+        .items(IntStream.range(0, ITEMS)
+            .<ScenarioItemRequestDTO>mapToObj(i -> ScenarioItemRequestDTO.builder()
+                .name("item " + i)
+                .description("description")
+                .actions(IntStream.range(0, ACTIONS_PER_ITEM)
+                    .<ScenarioItemActionRequestDTO>mapToObj(j -> {
+                      var action = ScenarioItemActionRequestDTO.builder();
+                      describeAction(action, "item action " + j, tagIds);
+                      return action.build();
+                    })
+                    .toList())
+                .build())
+            .toList())
+        .build();
+  }
+
+  /**
+   * The request an editor sends to save the scenario without changing anything.
+   */
+  private static UpdateScenarioRequestDTO toUpdateRequest(Scenario scenario) {
+    return UpdateScenarioRequestDTO.builder()
+        .name(scenario.getName())
+        .description(scenario.getDescription())
+        .roles(scenario.getRoles().stream()
+            .<UpdateScenarioRoleRequestDTO>map(role -> UpdateScenarioRoleRequestDTO.builder()
+                .id(role.getId())
+                .roleId(role.getRole().getId())
+                .build())
+            .toList())
+        .actions(scenario.getActions().stream()
+            .<UpdateScenarioActionRequestDTO>map(action -> {
+              var request = UpdateScenarioActionRequestDTO.builder().id(action.getId());
+              describeAction(request, action);
+              return request.build();
+            })
+            .toList())
+        .items(scenario.getItems().stream()
+            .<UpdateScenarioItemRequestDTO>map(item -> UpdateScenarioItemRequestDTO.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .actions(item.getActions().stream()
+                    .<UpdateScenarioItemActionRequestDTO>map(action -> {
+                      var request = UpdateScenarioItemActionRequestDTO.builder()
+                          .id(action.getId());
+                      describeAction(request, action);
+                      return request.build();
+                    })
+                    .toList())
+                .build())
+            .toList())
+        .build();
+  }
+
+  private static void describeAction(ActionRequestDTO.ActionRequestDTOBuilder<?, ?> request,
+      Action action) {
+    request.name(action.getName())
+        .description(action.getDescription())
+        .messageOnSuccess(action.getMessageOnSuccess())
+        .messageOnFailure(action.getMessageOnFailure())
+        .requiredTagsToDisplay(tagIds(action.getRequiredTagsToDisplay()))
+        .requiredTagsToSucceed(tagIds(action.getRequiredTagsToSucceed()))
+        .forbiddenTagsToDisplay(tagIds(action.getForbiddenTagsToDisplay()))
+        .forbiddenTagsToSucceed(tagIds(action.getForbiddenTagsToSucceed()))
+        .tagsToApplyOnSuccess(tagIds(action.getTagsToApplyOnSuccess()))
+        .tagsToApplyOnFailure(tagIds(action.getTagsToApplyOnFailure()))
+        .tagsToRemoveOnSuccess(tagIds(action.getTagsToRemoveOnSuccess()))
+        .tagsToRemoveOnFailure(tagIds(action.getTagsToRemoveOnFailure()));
+  }
+
+  private static List<UUID> tagIds(List<Tag> tags) {
+    return tags.stream().map(Tag::getId).toList();
+  }
+
+  private List<UUID> persistTags(int count) {
+    List<UUID> tagIds = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Tag tag = Tag.builder().value("tag-" + i).build();
+      entityManager.persist(tag);
+      tagIds.add(tag.getId());
+    }
+    return tagIds;
+  }
+
+  /**
+   * Fills every tag list of the action with its own {@value #TAGS_PER_LIST} tags.
+   */
+  private static void describeAction(ActionRequestDTO.ActionRequestDTOBuilder<?, ?> action,
+      String name, List<UUID> tagIds) {
+    action.name(name)
+        .description("description")
+        .messageOnSuccess("success")
+        .messageOnFailure("failure")
+        .requiredTagsToDisplay(tagList(tagIds, 0))
+        .requiredTagsToSucceed(tagList(tagIds, 1))
+        .forbiddenTagsToDisplay(tagList(tagIds, 2))
+        .forbiddenTagsToSucceed(tagList(tagIds, 3))
+        .tagsToApplyOnSuccess(tagList(tagIds, 4))
+        .tagsToApplyOnFailure(tagList(tagIds, 5))
+        .tagsToRemoveOnSuccess(tagList(tagIds, 6))
+        .tagsToRemoveOnFailure(tagList(tagIds, 7));
+  }
+
+  private static List<UUID> tagList(List<UUID> tagIds, int list) {
+    return tagIds.subList(list * TAGS_PER_LIST, (list + 1) * TAGS_PER_LIST);
+  }
+}
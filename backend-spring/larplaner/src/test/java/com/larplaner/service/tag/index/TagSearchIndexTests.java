@@ -0,0 +1,76 @@
+package com.larplaner.service.tag.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.larplaner.dto.tag.TagResponseDTO;
+import com.larplaner.mapper.tag.TagMapper;
+import com.larplaner.model.tag.Tag;
+import com.larplaner.repository.tag.TagRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TagSearchIndexTests {
+
+  private TagRepository tagRepository;
+
+  private TagSearchIndex tagSearchIndex;
+
+  private final List<Tag> tags = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    tagRepository = mock(TagRepository.class);
+    when(tagRepository.findAll()).thenReturn(tags);
+    tagSearchIndex = new TagSearchIndex(tagRepository, new TagMapper());
+
+    for (String value : List.of("poisoned", "Poison", "antidote", "cured of poison", "apoison",
+        "poison_resistant", "blessed")) {
+      tags.add(Tag.builder().value(value).build());
+    }
+  }
+
+  @Test
+  void ranksExactThenPrefixThenWordThenSubstringMatches() {
+    assertThat(values(tagSearchIndex.search("POISON", 0, 10)))
+        .containsExactly("Poison", "poisoned", "poison_resistant", "cured of poison", "apoison");
+    assertThat(values(tagSearchIndex.search("ed", 0, 10)))
+        .containsExactly("blessed", "poisoned", "cured of poison");
+  }
+
+  @Test
+  void pagesThroughAllMatches() {
+    TagSearchIndex.Result firstPage = tagSearchIndex.search("poison", 0, 2);
+    TagSearchIndex.Result lastPage = tagSearchIndex.search("poison", 4, 2);
+
+    assertThat(firstPage.total()).isEqualTo(5);
+    assertThat(values(firstPage)).containsExactly("Poison", "poisoned");
+    assertThat(values(lastPage)).containsExactly("apoison");
+  }
+
+  @Test
+  void followsTagChangesWithoutReloading() {
+    assertThat(tagSearchIndex.search("bless", 0, 10).total()).isEqualTo(1);
+
+    Tag blessed = tags.get(6);
+    blessed.setValue("cursed");
+    tagSearchIndex.put(blessed);
+    Tag created = Tag.builder().value("blessing").build();
+    tagSearchIndex.put(created);
+    tagSearchIndex.remove(tags.get(0).getId());
+
+    assertThat(values(tagSearchIndex.search("bless", 0, 10))).containsExactly("blessing");
+    assertThat(values(tagSearchIndex.search("curse", 0, 10))).containsExactly("cursed");
+    assertThat(values(tagSearchIndex.search("poisoned", 0, 10))).isEmpty();
+    verify(tagRepository, times(1)).findAll();
+  }
+
+  private static List<String> values(TagSearchIndex.Result result) {
+    return result.tags().stream().map(TagResponseDTO::getValue).toList();
+  }
+}
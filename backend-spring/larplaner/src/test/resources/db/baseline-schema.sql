@@ -0,0 +1,69 @@
+-- Schema before the first migration in db/migration, as Hibernate generates it for PostgreSQL.
+create table actions (created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, id uuid not null, item_id uuid, scenario_id uuid, dtype varchar(31) not null, message_on_failure varchar(1024), message_on_success varchar(1024), description varchar(4096), name varchar(255), primary key (id));
+create table actions_forbidden_tags_to_display (action_id uuid not null, forbidden_tags_to_display_id uuid not null);
+create table actions_forbidden_tags_to_succeed (action_id uuid not null, forbidden_tags_to_succeed_id uuid not null);
+create table actions_required_tags_to_display (action_id uuid not null, required_tags_to_display_id uuid not null);
+create table actions_required_tags_to_succeed (action_id uuid not null, required_tags_to_succeed_id uuid not null);
+create table actions_tags_to_apply_on_failure (action_id uuid not null, tags_to_apply_on_failure_id uuid not null);
+create table actions_tags_to_apply_on_success (action_id uuid not null, tags_to_apply_on_success_id uuid not null);
+create table actions_tags_to_remove_on_failure (action_id uuid not null, tags_to_remove_on_failure_id uuid not null);
+create table actions_tags_to_remove_on_success (action_id uuid not null, tags_to_remove_on_success_id uuid not null);
+create table applied_tag (applied_to_user_at timestamp(6) with time zone, created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, id uuid not null, tag_id uuid not null, user_email varchar(255), userid varchar(255), primary key (id));
+create table assigned_roles (created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, event_id uuid, id uuid not null, scenario_role_id uuid, assigned_email varchar(255), primary key (id));
+create table events (status smallint check (status between 0 and 2), created_at timestamp(6) with time zone not null, date timestamp(6) with time zone, last_modified_at timestamp(6) with time zone not null, game_session_id uuid unique, id uuid not null, scenario_id uuid, description varchar(4096), img varchar(4096), name varchar(255), primary key (id));
+create table game_action_logs (success boolean, created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, timestamp timestamp(6) with time zone, action_id uuid, id uuid not null, performer_role_id uuid, session_id uuid, target_item_id uuid, message varchar(255), primary key (id));
+create table game_action_logs_applied_tags (applied_tags_id uuid not null, game_action_log_id uuid not null);
+create table game_action_logs_removed_tags (game_action_log_id uuid not null, removed_tags_id uuid not null);
+create table game_item_states (created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, current_holder_role_id uuid, game_session_id uuid, id uuid not null, scenario_item_id uuid, primary key (id));
+create table game_role_states (created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, game_session_id uuid, id uuid not null, scenario_role_id uuid, assigned_email varchar(255), assigned_userid varchar(255), primary key (id));
+create table game_role_states_applied_tags (applied_tags_id uuid not null unique, game_role_state_id uuid not null);
+create table game_sessions (created_at timestamp(6) with time zone not null, end_time timestamp(6) with time zone, last_modified_at timestamp(6) with time zone not null, start_time timestamp(6) with time zone, id uuid not null, primary key (id));
+create table roles (created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, id uuid not null, description varchar(4096), name varchar(255) not null unique, primary key (id));
+create table roles_tags (role_id uuid not null, tags_id uuid not null);
+create table scenario_items (created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, id uuid not null, scenario_id uuid, description varchar(4096), name varchar(255), primary key (id));
+create table scenario_roles (created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, id uuid not null, role_id uuid, scenario_id uuid, description_for_others varchar(4096), description_for_owner varchar(4096), description_forgm varchar(4096), primary key (id));
+create table scenarios (created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, id uuid not null, description varchar(4096), name varchar(255), primary key (id));
+create table tags (expires_after_minutes integer, is_unique boolean, created_at timestamp(6) with time zone not null, last_modified_at timestamp(6) with time zone not null, id uuid not null, value varchar(255), primary key (id));
+alter table if exists actions add constraint FK9kr4vg91xg3gnb9li5nr28uco foreign key (scenario_id) references scenarios;
+alter table if exists actions add constraint FKesqq7lb2ifhp7q7nolcp7w0d0 foreign key (item_id) references scenario_items;
+alter table if exists actions_forbidden_tags_to_display add constraint FKrhq6p15s2mtipppfxnq1obd0 foreign key (forbidden_tags_to_display_id) references tags;
+alter table if exists actions_forbidden_tags_to_display add constraint FKc79ow0n0rptqqqml7c4ohq4nn foreign key (action_id) references actions;
+alter table if exists actions_forbidden_tags_to_succeed add constraint FKmj2oapf7211jh16b6u3al3968 foreign key (forbidden_tags_to_succeed_id) references tags;
+alter table if exists actions_forbidden_tags_to_succeed add constraint FK5y2nbttjqqmlosmv3prfm00y1 foreign key (action_id) references actions;
+alter table if exists actions_required_tags_to_display add constraint FKs60i9oxt6a1jnn8uinid008fm foreign key (required_tags_to_display_id) references tags;
+alter table if exists actions_required_tags_to_display add constraint FKdvycncp5vh7n93rcd57s4xj3y foreign key (action_id) references actions;
+alter table if exists actions_required_tags_to_succeed add constraint FKlhuw3qwobroxkagt8opveec1v foreign key (required_tags_to_succeed_id) references tags;
+alter table if exists actions_required_tags_to_succeed add constraint FK4ab2jhqk870raqakmtxp0nqee foreign key (action_id) references actions;
+alter table if exists actions_tags_to_apply_on_failure add constraint FKb6csiqqsulh9pyiivl10c0mt2 foreign key (tags_to_apply_on_failure_id) references tags;
+alter table if exists actions_tags_to_apply_on_failure add constraint FKssruymt71yio7anauoosettij foreign key (action_id) references actions;
+alter table if exists actions_tags_to_apply_on_success add constraint FKssmlc69n00rieij7r8m61avtr foreign key (tags_to_apply_on_success_id) references tags;
+alter table if exists actions_tags_to_apply_on_success add constraint FKnlu73dd0ommbdyrpsv6ydj0us foreign key (action_id) references actions;
+alter table if exists actions_tags_to_remove_on_failure add constraint FKnf3kwk5xc7umyd6btvut2ljd1 foreign key (tags_to_remove_on_failure_id) references tags;
+alter table if exists actions_tags_to_remove_on_failure add constraint FKiecpop93c8j4mie8l5qlyxnn4 foreign key (action_id) references actions;
+alter table if exists actions_tags_to_remove_on_success add constraint FKkdq2hnq7xh9jox8sjc9vuixxc foreign key (tags_to_remove_on_success_id) references tags;
+alter table if exists actions_tags_to_remove_on_success add constraint FKcfhntq3i81ec3t08fsyc454me foreign key (action_id) references actions;
+alter table if exists applied_tag add constraint FKk5i3cmg6f70f5lysd2etfhfxk foreign key (tag_id) references tags;
+alter table if exists assigned_roles add constraint FKm5dmmflpe3v0cqmuj0igx0s4m foreign key (event_id) references events;
+alter table if exists assigned_roles add constraint FK57o9jsni4pm21t8uvci12n49d foreign key (scenario_role_id) references scenario_roles;
+alter table if exists events add constraint FK50t47fj8xqlusb9ocy85plwb5 foreign key (game_session_id) references game_sessions;
+alter table if exists events add constraint FKnaed08802rrad4i97t5t8skk2 foreign key (scenario_id) references scenarios;
+alter table if exists game_action_logs add constraint FKt29y1pay2ibebcyti3c69jre foreign key (action_id) references actions;
+alter table if exists game_action_logs add constraint FK4tbb11j6cxhrfcj82eiuhsnor foreign key (session_id) references game_sessions;
+alter table if exists game_action_logs add constraint FKssfbdxo80j3syv5wyw6kkfp65 foreign key (performer_role_id) references game_role_states;
+alter table if exists game_action_logs add constraint FKja8gu1dll031nn35tlbn4ldhs foreign key (target_item_id) references game_item_states;
+alter table if exists game_action_logs_applied_tags add constraint FKehleyhtqopt3l03gr0m6nnttv foreign key (applied_tags_id) references tags;
+alter table if exists game_action_logs_applied_tags add constraint FK3rc7irycdptrbravnjicflkbu foreign key (game_action_log_id) references game_action_logs;
+alter table if exists game_action_logs_removed_tags add constraint FKihhx1hvk2e0n6wgnkq5278wc5 foreign key (removed_tags_id) references tags;
+alter table if exists game_action_logs_removed_tags add constraint FKl5aags9rcsnom17sak3r6qk9d foreign key (game_action_log_id) references game_action_logs;
+alter table if exists game_item_states add constraint FKsm1s9akyyxlc1qk1675s9fxov foreign key (current_holder_role_id) references game_role_states;
+alter table if exists game_item_states add constraint FKmfnxyphj84m1hbteauqwr4h5a foreign key (game_session_id) references game_sessions;
+alter table if exists game_item_states add constraint FKtcv3ko4hfbd0b300620ke3epo foreign key (scenario_item_id) references scenario_items;
+alter table if exists game_role_states add constraint FKsr30hbb72udlpc3fvm2xswcjk foreign key (game_session_id) references game_sessions;
+alter table if exists game_role_states add constraint FKjuht0vipjw8r74u0ag02h20r0 foreign key (scenario_role_id) references scenario_roles;
+alter table if exists game_role_states_applied_tags add constraint FKcsnw2xccgiclm278erxx9dlem foreign key (applied_tags_id) references applied_tag;
+alter table if exists game_role_states_applied_tags add constraint FKi8tnmymxi9l4fjt4ln1ry1doe foreign key (game_role_state_id) references game_role_states;
+alter table if exists roles_tags add constraint FKo0gn3pksnij72hqf1b456sh76 foreign key (tags_id) references tags;
+alter table if exists roles_tags add constraint FKbthsxpjxiv18giefwjafnk1qc foreign key (role_id) references roles;
+alter table if exists scenario_items add constraint FKllpxuokjm35cvjq7u7cn8b6vt foreign key (scenario_id) references scenarios;
+alter table if exists scenario_roles add constraint FKbebmpeivf2xrqlq2i50mkafk2 foreign key (role_id) references roles;
+alter table if exists scenario_roles add constraint FKrw794xehldua8gp290ien31gq foreign key (scenario_id) references scenarios;